@@ -82,6 +82,39 @@ public interface Constants {
 
     int DEFAULT_WARMUP = 10 * 60 * 1000;
 
+    /**
+     * The share of the calls a zone aware consumer sends out of its zone while all of its local providers are healthy
+     */
+    String LOCALITY_SPILL_RATIO_KEY = "locality.spill.ratio";
+
+    double DEFAULT_LOCALITY_SPILL_RATIO = 0;
+
+    /**
+     * The active calls from which a local provider is considered saturated, 0 for no limit
+     */
+    String LOCALITY_MAX_ACTIVE_KEY = "locality.max.active";
+
+    /**
+     * The error rate from which a local provider is considered unhealthy
+     */
+    String LOCALITY_MAX_ERROR_RATE_KEY = "locality.max.error.rate";
+
+    double DEFAULT_LOCALITY_MAX_ERROR_RATE = 0.5;
+
+    /**
+     * The calls a local provider must have served in a window before its error rate is taken into account
+     */
+    String LOCALITY_MIN_CALLS_KEY = "locality.min.calls";
+
+    int DEFAULT_LOCALITY_MIN_CALLS = 20;
+
+    /**
+     * The window in milliseconds over which the error rate of a local provider is measured
+     */
+    String LOCALITY_WINDOW_KEY = "locality.window";
+
+    int DEFAULT_LOCALITY_WINDOW = 10 * 1000;
+
     String CONFIG_VERSION_KEY = "configVersion";
 
     String OVERRIDE_PROVIDERS_KEY = "providerAddresses";
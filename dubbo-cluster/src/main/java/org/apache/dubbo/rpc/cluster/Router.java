@@ -65,6 +65,20 @@ public interface Router extends Comparable<Router> {
 
     }
 
+    /**
+     * Notify the router of the changes of the invoker list, a router which keeps state per invoker only needs to
+     * update the state of the changed ones. It notifies the full list by default.
+     *
+     * @param invokers the full invoker list after the change
+     * @param added    the invokers added
+     * @param removed  the invokers removed
+     * @param <T>      invoker's type
+     * @since 2.7.8
+     */
+    default <T> void notifyDelta(List<Invoker<T>> invokers, List<Invoker<T>> added, List<Invoker<T>> removed) {
+        notify(invokers);
+    }
+
     /**
      * To decide whether this router need to execute every time an RPC comes or should only execute when addresses or
      * rule change.
@@ -109,4 +109,16 @@ public class RouterChain<T> {
         this.invokers = (invokers == null ? Collections.emptyList() : invokers);
         routers.forEach(router -> router.notify(this.invokers));
     }
+
+    /**
+     * Notify router chain of the changes of the addresses from registry.
+     *
+     * @param invokers the full list of addresses after the change
+     * @param added    the addresses added
+     * @param removed  the addresses removed
+     */
+    public void setInvokers(List<Invoker<T>> invokers, List<Invoker<T>> added, List<Invoker<T>> removed) {
+        this.invokers = (invokers == null ? Collections.emptyList() : invokers);
+        routers.forEach(router -> router.notifyDelta(this.invokers, added, removed));
+    }
 }
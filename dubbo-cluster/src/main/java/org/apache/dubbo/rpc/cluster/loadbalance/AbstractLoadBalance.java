@@ -20,6 +20,7 @@ import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.utils.CollectionUtils;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.WarmupStatus;
 import org.apache.dubbo.rpc.cluster.LoadBalance;
 
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.List;
 import static org.apache.dubbo.common.constants.CommonConstants.TIMESTAMP_KEY;
 import static org.apache.dubbo.common.constants.RegistryConstants.REGISTRY_KEY;
 import static org.apache.dubbo.common.constants.RegistryConstants.REGISTRY_SERVICE_REFERENCE_PATH;
+import static org.apache.dubbo.rpc.Constants.WARMUP_ADAPTIVE_KEY;
 import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_WARMUP;
 import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_WEIGHT;
 import static org.apache.dubbo.rpc.cluster.Constants.WARMUP_KEY;
@@ -50,6 +52,28 @@ public abstract class AbstractLoadBalance implements LoadBalance {
         return ww < 1 ? 1 : (Math.min(ww, weight));
     }
 
+    /**
+     * Calculate the weight according to the warm-up progress the provider reports, and to its latency compared with
+     * the one of the service while it is within the warmup time, the new weight will be within 1(inclusive) to
+     * weight(inclusive)
+     *
+     * @param status    the warm-up status of the invoker
+     * @param warmingUp whether the uptime is within the warmup time
+     * @param weight    the weight of an invoker, which may already take warmup into account
+     * @return weight which takes the warm-up progress and latency into account
+     */
+    static int calculateAdaptiveWeight(WarmupStatus status, boolean warmingUp, int weight) {
+        double factor = status.getProgress() / (double) WarmupStatus.WARM;
+        if (warmingUp) {
+            factor = Math.min(factor, status.getLatencyRatio());
+        }
+        if (factor >= 1) {
+            return weight;
+        }
+        int ww = (int) (weight * factor);
+        return ww < 1 ? 1 : ww;
+    }
+
     @Override
     public <T> Invoker<T> select(List<Invoker<T>> invokers, URL url, Invocation invocation) {
         if (CollectionUtils.isEmpty(invokers)) {
@@ -67,6 +91,7 @@ public abstract class AbstractLoadBalance implements LoadBalance {
     /**
      * Get the weight of the invoker's invocation which takes warmup time into account
      * if the uptime is within the warmup time, the weight will be reduce proportionally
+     * with warmup.adaptive, the weight is also reduced by the warm-up progress and latency of the invoker
      *
      * @param invoker    the invoker
      * @param invocation the invocation of this invoker
@@ -79,8 +104,9 @@ public abstract class AbstractLoadBalance implements LoadBalance {
         if (REGISTRY_SERVICE_REFERENCE_PATH.equals(url.getServiceInterface())) {
             weight = url.getParameter(REGISTRY_KEY + "." + WEIGHT_KEY, DEFAULT_WEIGHT);
         } else {
-            weight = url.getMethodParameter(invocation.getMethodName(), WEIGHT_KEY, DEFAULT_WEIGHT);
+            weight = url.getMethodParameterView(invocation.getMethodName()).getWeight(DEFAULT_WEIGHT);
             if (weight > 0) {
+                boolean warmingUp = false;
                 long timestamp = invoker.getUrl().getParameter(TIMESTAMP_KEY, 0L);
                 if (timestamp > 0L) {
                     long uptime = System.currentTimeMillis() - timestamp;
@@ -90,8 +116,13 @@ public abstract class AbstractLoadBalance implements LoadBalance {
                     int warmup = invoker.getUrl().getParameter(WARMUP_KEY, DEFAULT_WARMUP);
                     if (uptime > 0 && uptime < warmup) {
                         weight = calculateWarmupWeight((int)uptime, warmup, weight);
+                        warmingUp = true;
                     }
                 }
+                // the adaptive warm-up only ever lowers the weight given by the uptime
+                if (url.getParameter(WARMUP_ADAPTIVE_KEY, false)) {
+                    weight = calculateAdaptiveWeight(WarmupStatus.getStatus(url), warmingUp, weight);
+                }
             }
         }
         return Math.max(weight, 0);
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router.locality;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.utils.CollectionUtils;
+import org.apache.dubbo.common.utils.StringUtils;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcStatus;
+import org.apache.dubbo.rpc.cluster.router.AbstractRouter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.dubbo.common.constants.RegistryConstants.REGION_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.ZONE_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_LOCALITY_MAX_ERROR_RATE;
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_LOCALITY_MIN_CALLS;
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_LOCALITY_SPILL_RATIO;
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_LOCALITY_WINDOW;
+import static org.apache.dubbo.rpc.cluster.Constants.DEFAULT_WEIGHT;
+import static org.apache.dubbo.rpc.cluster.Constants.LOCALITY_MAX_ACTIVE_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.LOCALITY_MAX_ERROR_RATE_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.LOCALITY_MIN_CALLS_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.LOCALITY_SPILL_RATIO_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.LOCALITY_WINDOW_KEY;
+import static org.apache.dubbo.rpc.cluster.Constants.WEIGHT_KEY;
+
+/**
+ * LocalityRouter, routes the calls of a consumer having a {@code zone}, and optionally a {@code region}, to the
+ * providers of the same zone, or of the same region when they are spilled over.
+ * <p>
+ * A local provider which is not available, has {@code locality.max.active} calls in flight or an error rate of at least
+ * {@code locality.max.error.rate} over the last {@code locality.window} is degraded. The share of the local weight
+ * which is degraded, on top of the standing {@code locality.spill.ratio}, is the share of the calls spilled over to the
+ * other zones, so that a small or sick zone is relieved progressively rather than wholesale.
+ * <p>
+ * The active calls and the failures come from {@link RpcStatus}, which the ActiveLimitFilter maintains for the
+ * providers having a zone.
+ *
+ * @since 2.7.8
+ */
+public class LocalityRouter extends AbstractRouter {
+
+    public static final String NAME = "LOCALITY_ROUTER";
+
+    private static final int LOCALITY_ROUTER_DEFAULT_PRIORITY = 200;
+
+    private final String zone;
+
+    private final String region;
+
+    private final double spillRatio;
+
+    private final int maxActive;
+
+    private final double maxErrorRate;
+
+    private final int minCalls;
+
+    private final long window;
+
+    private final ConcurrentMap<Invoker<?>, ErrorRate> errorRates = new ConcurrentHashMap<>();
+
+    public LocalityRouter(URL url) {
+        super(url);
+        this.priority = LOCALITY_ROUTER_DEFAULT_PRIORITY;
+        this.zone = url.getParameter(ZONE_KEY);
+        this.region = url.getParameter(REGION_KEY);
+        this.spillRatio = Math.min(Math.max(url.getParameter(LOCALITY_SPILL_RATIO_KEY, DEFAULT_LOCALITY_SPILL_RATIO), 0), 1);
+        this.maxActive = url.getParameter(LOCALITY_MAX_ACTIVE_KEY, 0);
+        this.maxErrorRate = url.getParameter(LOCALITY_MAX_ERROR_RATE_KEY, DEFAULT_LOCALITY_MAX_ERROR_RATE);
+        this.minCalls = url.getParameter(LOCALITY_MIN_CALLS_KEY, DEFAULT_LOCALITY_MIN_CALLS);
+        this.window = url.getParameter(LOCALITY_WINDOW_KEY, DEFAULT_LOCALITY_WINDOW);
+    }
+
+    @Override
+    public <T> List<Invoker<T>> route(List<Invoker<T>> invokers, URL url, Invocation invocation) throws RpcException {
+        if (CollectionUtils.isEmpty(invokers) || StringUtils.isEmpty(zone)) {
+            return invokers;
+        }
+
+        List<Invoker<T>> local = new ArrayList<>();
+        List<Invoker<T>> others = new ArrayList<>();
+        List<Invoker<T>> sameRegion = new ArrayList<>();
+        for (Invoker<T> invoker : invokers) {
+            URL providerUrl = invoker.getUrl();
+            if (zone.equals(providerUrl.getParameter(ZONE_KEY))) {
+                local.add(invoker);
+            } else {
+                others.add(invoker);
+                if (region != null && region.equals(providerUrl.getParameter(REGION_KEY))) {
+                    sameRegion.add(invoker);
+                }
+            }
+        }
+        if (local.isEmpty() || others.isEmpty()) {
+            return invokers;
+        }
+        List<Invoker<T>> spillover = sameRegion.isEmpty() ? others : sameRegion;
+
+        long now = System.currentTimeMillis();
+        String methodName = invocation.getMethodName();
+        List<Invoker<T>> healthy = new ArrayList<>(local.size());
+        long totalWeight = 0;
+        long healthyWeight = 0;
+        for (Invoker<T> invoker : local) {
+            int weight = Math.max(invoker.getUrl().getMethodParameter(methodName, WEIGHT_KEY, DEFAULT_WEIGHT), 0);
+            totalWeight += weight;
+            if (isHealthy(invoker, now)) {
+                healthy.add(invoker);
+                healthyWeight += weight;
+            }
+        }
+        if (healthy.isEmpty()) {
+            return spillover;
+        }
+
+        double degraded = totalWeight > 0 ? 1 - (double) healthyWeight / totalWeight
+                : 1 - (double) healthy.size() / local.size();
+        double spill = spillRatio + (1 - spillRatio) * degraded;
+        if (spill > 0 && ThreadLocalRandom.current().nextDouble() < spill) {
+            return spillover;
+        }
+        return healthy;
+    }
+
+    @Override
+    public <T> void notify(List<Invoker<T>> invokers) {
+        if (CollectionUtils.isEmpty(invokers)) {
+            errorRates.clear();
+        } else {
+            errorRates.keySet().retainAll(new HashSet<>(invokers));
+        }
+    }
+
+    @Override
+    public <T> void notifyDelta(List<Invoker<T>> invokers, List<Invoker<T>> added, List<Invoker<T>> removed) {
+        if (removed != null) {
+            removed.forEach(errorRates::remove);
+        }
+    }
+
+    private boolean isHealthy(Invoker<?> invoker, long now) {
+        if (!invoker.isAvailable()) {
+            return false;
+        }
+        RpcStatus status = RpcStatus.getStatus(invoker.getUrl());
+        if (maxActive > 0 && status.getActive() >= maxActive) {
+            return false;
+        }
+        return errorRates.computeIfAbsent(invoker, k -> new ErrorRate(status, now)).get(status, now) < maxErrorRate;
+    }
+
+    /**
+     * The error rate of a provider over its last complete window
+     */
+    private class ErrorRate {
+
+        private volatile long windowStart;
+
+        private long total;
+
+        private long failed;
+
+        private volatile double rate;
+
+        ErrorRate(RpcStatus status, long now) {
+            this.windowStart = now;
+            this.total = status.getTotal();
+            this.failed = status.getFailed();
+        }
+
+        double get(RpcStatus status, long now) {
+            if (now - windowStart >= window) {
+                synchronized (this) {
+                    if (now - windowStart >= window) {
+                        long currentTotal = status.getTotal();
+                        long currentFailed = status.getFailed();
+                        long calls = currentTotal - total;
+                        // too few calls to judge, a provider left out during the last window is tried again
+                        rate = calls >= minCalls ? (double) (currentFailed - failed) / calls : 0;
+                        total = currentTotal;
+                        failed = currentFailed;
+                        windowStart = now;
+                    }
+                }
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router.locality;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.cluster.CacheableRouterFactory;
+import org.apache.dubbo.rpc.cluster.Router;
+
+import static org.apache.dubbo.common.constants.RegistryConstants.ZONE_KEY;
+
+/**
+ * Locality router factory, active for the consumers having a zone
+ *
+ * @since 2.7.8
+ */
+@Activate(order = 200, value = ZONE_KEY)
+public class LocalityRouterFactory extends CacheableRouterFactory {
+
+    public static final String NAME = "locality";
+
+    @Override
+    protected Router createRouter(URL url) {
+        return new LocalityRouter(url);
+    }
+}
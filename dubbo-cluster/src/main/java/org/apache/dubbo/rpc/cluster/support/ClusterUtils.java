@@ -40,6 +40,8 @@ import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.TIMESTAMP_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.REGION_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.ZONE_KEY;
 
 /**
  * ClusterUtils
@@ -94,6 +96,9 @@ public class ClusterUtils {
             copyOfLocalMap.remove(METHODS_KEY);
             copyOfLocalMap.remove(TIMESTAMP_KEY);
             copyOfLocalMap.remove(TAG_KEY);
+            // the locality of the consumer must not hide the one of the provider
+            copyOfLocalMap.remove(ZONE_KEY);
+            copyOfLocalMap.remove(REGION_KEY);
 
             map.putAll(copyOfLocalMap);
 
@@ -20,6 +20,7 @@ import org.apache.dubbo.common.URL;
 import org.apache.dubbo.rpc.Invocation;
 import org.apache.dubbo.rpc.Invoker;
 import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.WarmupStatus;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,7 @@ import java.util.List;
 
 import static org.apache.dubbo.common.constants.CommonConstants.TIMESTAMP_KEY;
 import static org.apache.dubbo.common.constants.RegistryConstants.REGISTRY_KEY;
+import static org.apache.dubbo.rpc.Constants.WARMUP_ADAPTIVE_KEY;
 import static org.apache.dubbo.rpc.cluster.Constants.WEIGHT_KEY;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -79,4 +81,45 @@ public class AbstractLoadBalanceTest {
         Assertions.assertEquals(100, balance.getWeight(invoker1, invocation));
         Assertions.assertEquals(20, balance.getWeight(invoker2, invocation));
     }
+
+    @Test
+    public void testGetAdaptiveWeight() {
+        RpcInvocation invocation = new RpcInvocation();
+        invocation.setMethodName("say");
+
+        URL warmUrl = URL.valueOf("dubbo://10.20.30.1:20880/AdaptiveDemoService")
+                .addParameter(TIMESTAMP_KEY, System.currentTimeMillis() - 20 * 60 * 1000L)
+                .addParameter(WARMUP_ADAPTIVE_KEY, true);
+        Invoker warmInvoker = mock(Invoker.class, Mockito.withSettings().stubOnly());
+        given(warmInvoker.getUrl()).willReturn(warmUrl);
+
+        URL warmingUrl = URL.valueOf("dubbo://10.20.30.2:20880/AdaptiveDemoService")
+                .addParameter(TIMESTAMP_KEY, System.currentTimeMillis() - 5 * 60 * 1000L);
+        Invoker warmingInvoker = mock(Invoker.class, Mockito.withSettings().stubOnly());
+        given(warmingInvoker.getUrl()).willReturn(warmingUrl);
+        Invoker adaptiveWarmingInvoker = mock(Invoker.class, Mockito.withSettings().stubOnly());
+        given(adaptiveWarmingInvoker.getUrl()).willReturn(warmingUrl.addParameter(WARMUP_ADAPTIVE_KEY, true));
+
+        // nothing observed yet
+        Assertions.assertEquals(100, balance.getWeight(warmInvoker, invocation));
+        int rampWeight = balance.getWeight(warmingInvoker, invocation);
+        Assertions.assertTrue(Math.abs(balance.getWeight(adaptiveWarmingInvoker, invocation) - rampWeight) <= 1);
+
+        // the warming up provider answers slower than the service
+        for (int i = 0; i < 100; i++) {
+            WarmupStatus.getStatus(warmUrl).record(WarmupStatus.WARM, 1000000L);
+        }
+        for (int i = 0; i < 20; i++) {
+            WarmupStatus.getStatus(warmingUrl).record(WarmupStatus.WARM, 8000000L);
+        }
+        Assertions.assertEquals(100, balance.getWeight(warmInvoker, invocation));
+        Assertions.assertTrue(balance.getWeight(adaptiveWarmingInvoker, invocation) < rampWeight * 0.6);
+        Assertions.assertTrue(Math.abs(balance.getWeight(warmingInvoker, invocation) - rampWeight) <= 1);
+
+        // the warm provider reports it is half warm, past its warmup time as well
+        WarmupStatus.getStatus(warmUrl).record(50, 1000000L);
+        Assertions.assertEquals(50, balance.getWeight(warmInvoker, invocation));
+        WarmupStatus.getStatus(warmUrl).record(WarmupStatus.WARM, 1000000L);
+        Assertions.assertEquals(100, balance.getWeight(warmInvoker, invocation));
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.cluster.router.locality;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.RpcStatus;
+import org.apache.dubbo.rpc.cluster.Router;
+import org.apache.dubbo.rpc.cluster.router.MockInvoker;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class LocalityRouterTest {
+
+    private static final String CONSUMER_URL = "consumer://127.0.0.1/com.foo.BarService?zone=a&region=r1";
+
+    private static int port = 20880;
+
+    @Test
+    public void testRouteToLocalZone() {
+        Router router = new LocalityRouterFactory().getRouter(URL.valueOf(CONSUMER_URL));
+        Invoker<String> local1 = invoker("a", "r1", true);
+        Invoker<String> local2 = invoker("a", "r1", true);
+        Invoker<String> remote = invoker("b", "r1", true);
+        List<Invoker<String>> invokers = Arrays.asList(local1, remote, local2);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(Arrays.asList(local1, local2), router.route(invokers, router.getUrl(), invocation()));
+        }
+    }
+
+    @Test
+    public void testRouteWithoutZone() {
+        Router router = new LocalityRouter(URL.valueOf("consumer://127.0.0.1/com.foo.BarService"));
+        List<Invoker<String>> invokers = Arrays.asList(invoker("a", "r1", true), invoker("b", "r1", true));
+
+        Assertions.assertSame(invokers, router.route(invokers, router.getUrl(), invocation()));
+    }
+
+    @Test
+    public void testRouteWithoutLocalProvider() {
+        Router router = new LocalityRouter(URL.valueOf(CONSUMER_URL));
+        List<Invoker<String>> invokers = Arrays.asList(invoker("b", "r1", true), invoker("c", "r2", true));
+
+        Assertions.assertSame(invokers, router.route(invokers, router.getUrl(), invocation()));
+    }
+
+    @Test
+    public void testSpillOverToSameRegion() {
+        Router router = new LocalityRouter(URL.valueOf(CONSUMER_URL));
+        Invoker<String> local = invoker("a", "r1", false);
+        Invoker<String> sameRegion = invoker("b", "r1", true);
+        Invoker<String> otherRegion = invoker("c", "r2", true);
+        List<Invoker<String>> invokers = Arrays.asList(local, sameRegion, otherRegion);
+
+        Assertions.assertEquals(Arrays.asList(sameRegion), router.route(invokers, router.getUrl(), invocation()));
+    }
+
+    @Test
+    public void testSpillOverByDegradedWeight() {
+        Router router = new LocalityRouter(URL.valueOf(CONSUMER_URL));
+        Invoker<String> healthy = invoker("a", "r1", true, 100);
+        Invoker<String> degraded = invoker("a", "r1", false, 300);
+        Invoker<String> remote = invoker("b", "r1", true);
+        List<Invoker<String>> invokers = Arrays.asList(healthy, degraded, remote);
+
+        int spilled = 0;
+        for (int i = 0; i < 10000; i++) {
+            List<Invoker<String>> routed = router.route(invokers, router.getUrl(), invocation());
+            if (routed.equals(Arrays.asList(remote))) {
+                spilled++;
+            } else {
+                Assertions.assertEquals(Arrays.asList(healthy), routed);
+            }
+        }
+        // 3/4 of the local weight is degraded
+        Assertions.assertTrue(spilled > 7000 && spilled < 8000, "spilled " + spilled);
+    }
+
+    @Test
+    public void testStandingSpillRatio() {
+        Router router = new LocalityRouter(URL.valueOf(CONSUMER_URL + "&locality.spill.ratio=0.2"));
+        Invoker<String> local = invoker("a", "r1", true);
+        Invoker<String> remote = invoker("b", "r1", true);
+        List<Invoker<String>> invokers = Arrays.asList(local, remote);
+
+        int spilled = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (router.route(invokers, router.getUrl(), invocation()).contains(remote)) {
+                spilled++;
+            }
+        }
+        Assertions.assertTrue(spilled > 1500 && spilled < 2500, "spilled " + spilled);
+    }
+
+    @Test
+    public void testSaturatedLocalProvider() {
+        Router router = new LocalityRouter(URL.valueOf(CONSUMER_URL + "&locality.max.active=2"));
+        Invoker<String> local = invoker("a", "r1", true);
+        Invoker<String> remote = invoker("b", "r1", true);
+        List<Invoker<String>> invokers = Arrays.asList(local, remote);
+
+        RpcStatus.beginCount(local.getUrl(), "echo");
+        Assertions.assertEquals(Arrays.asList(local), router.route(invokers, router.getUrl(), invocation()));
+        RpcStatus.beginCount(local.getUrl(), "echo");
+        Assertions.assertEquals(Arrays.asList(remote), router.route(invokers, router.getUrl(), invocation()));
+        RpcStatus.endCount(local.getUrl(), "echo", 1, true);
+        Assertions.assertEquals(Arrays.asList(local), router.route(invokers, router.getUrl(), invocation()));
+        RpcStatus.endCount(local.getUrl(), "echo", 1, true);
+    }
+
+    @Test
+    public void testFailingLocalProvider() {
+        Router router = new LocalityRouter(URL.valueOf(CONSUMER_URL + "&locality.window=0&locality.min.calls=10"));
+        Invoker<String> local = invoker("a", "r1", true);
+        Invoker<String> remote = invoker("b", "r1", true);
+        List<Invoker<String>> invokers = Arrays.asList(local, remote);
+
+        Assertions.assertEquals(Arrays.asList(local), router.route(invokers, router.getUrl(), invocation()));
+        for (int i = 0; i < 10; i++) {
+            RpcStatus.beginCount(local.getUrl(), "echo");
+            RpcStatus.endCount(local.getUrl(), "echo", 1, i % 2 == 0);
+        }
+        Assertions.assertEquals(Arrays.asList(remote), router.route(invokers, router.getUrl(), invocation()));
+        // no call in the last window, the provider is tried again
+        Assertions.assertEquals(Arrays.asList(local), router.route(invokers, router.getUrl(), invocation()));
+    }
+
+    private static RpcInvocation invocation() {
+        RpcInvocation invocation = new RpcInvocation();
+        invocation.setMethodName("echo");
+        return invocation;
+    }
+
+    private static Invoker<String> invoker(String zone, String region, boolean available) {
+        return invoker(zone, region, available, 100);
+    }
+
+    private static Invoker<String> invoker(String zone, String region, boolean available, int weight) {
+        URL url = URL.valueOf("dubbo://10.20.30." + (port % 250) + ":" + (port++) + "/com.foo.BarService?zone=" + zone
+                + "&region=" + region + "&weight=" + weight);
+        return new MockInvoker<String>(url, available);
+    }
+}
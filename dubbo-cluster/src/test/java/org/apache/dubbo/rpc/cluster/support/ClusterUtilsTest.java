@@ -44,6 +44,8 @@ import static org.apache.dubbo.common.constants.CommonConstants.THREAD_NAME_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.TIMESTAMP_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.VERSION_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.REGION_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.ZONE_KEY;
 
 public class ClusterUtilsTest {
 
@@ -114,9 +116,9 @@ public class ClusterUtilsTest {
     public void testUseProviderParams() {
         // present in both local and remote, but uses remote value.
         URL localURL = URL.valueOf("dubbo://localhost:20880/DemoService?version=local&group=local&dubbo=local&release=local" +
-                "&methods=local&tag=local&timestamp=local");
+                "&methods=local&tag=local&timestamp=local&zone=local&region=local");
         URL remoteURL = URL.valueOf("dubbo://localhost:20880/DemoService?version=remote&group=remote&dubbo=remote&release=remote" +
-                "&methods=remote&tag=remote&timestamp=remote");
+                "&methods=remote&tag=remote&timestamp=remote&zone=remote&region=remote");
         URL mergedUrl = ClusterUtils.mergeUrl(remoteURL, localURL.getParameters());
 
         Assertions.assertEquals(remoteURL.getParameter(VERSION_KEY), mergedUrl.getParameter(VERSION_KEY));
@@ -126,6 +128,8 @@ public class ClusterUtilsTest {
         Assertions.assertEquals(remoteURL.getParameter(METHODS_KEY), mergedUrl.getParameter(METHODS_KEY));
         Assertions.assertEquals(remoteURL.getParameter(TIMESTAMP_KEY), mergedUrl.getParameter(TIMESTAMP_KEY));
         Assertions.assertEquals(remoteURL.getParameter(TAG_KEY), mergedUrl.getParameter(TAG_KEY));
+        Assertions.assertEquals(remoteURL.getParameter(ZONE_KEY), mergedUrl.getParameter(ZONE_KEY));
+        Assertions.assertEquals(remoteURL.getParameter(REGION_KEY), mergedUrl.getParameter(REGION_KEY));
 
         // present in local url but not in remote url, parameters of remote url is empty
         localURL = URL.valueOf("dubbo://localhost:20880/DemoService?version=local&group=local&dubbo=local&release=local" +
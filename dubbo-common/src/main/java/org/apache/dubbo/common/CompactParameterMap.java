@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import org.apache.dubbo.common.utils.InternedStrings;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable parameter map of a {@link URL} sharing most of its memory with the ones of the other URLs: the keys
+ * and their index are shared by the maps with the same keys (e.g. the providers of a service), the values are
+ * interned, so that a map only holds an array of references instead of an entry per parameter. The map is serialized
+ * as a {@link HashMap}, the shared keys and values only make sense in the current process.
+ *
+ * @see URL#compact()
+ * @since 2.7.8
+ */
+final class CompactParameterMap extends AbstractMap<String, String> implements Serializable {
+
+    private static final long serialVersionUID = -3475286394418623471L;
+
+    private static final Comparator<String> KEY_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /**
+     * Direct mapped as {@link InternedStrings}: a slot holds the last key set hashed to it
+     */
+    private static final KeySet[] KEY_SETS = new KeySet[1024];
+
+    private static final InternedStrings VALUES = new InternedStrings(8192, 1024);
+
+    private final KeySet keys;
+
+    private final String[] values;
+
+    private transient Set<Map.Entry<String, String>> entrySet;
+
+    private CompactParameterMap(KeySet keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    static CompactParameterMap of(Map<String, String> parameters) {
+        if (parameters instanceof CompactParameterMap) {
+            return (CompactParameterMap) parameters;
+        }
+        String[] keys = parameters.keySet().toArray(new String[0]);
+        Arrays.sort(keys, KEY_ORDER);
+        KeySet keySet = KeySet.of(keys);
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = VALUES.intern(parameters.get(keys[i]));
+        }
+        return new CompactParameterMap(keySet, values);
+    }
+
+    @Override
+    public String get(Object key) {
+        Integer i = keys.index.get(key);
+        return i == null ? null : values[i];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.index.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        Set<Map.Entry<String, String>> entries = entrySet;
+        if (entries == null) {
+            entries = new AbstractSet<Map.Entry<String, String>>() {
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    return new Iterator<Map.Entry<String, String>>() {
+
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < values.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            if (next >= values.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = next++;
+                            return new SimpleImmutableEntry<>(keys.keys[i], values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return new HashMap<>(this);
+    }
+
+    /**
+     * The sorted keys of the maps and their index
+     */
+    private static final class KeySet {
+
+        private final String[] keys;
+
+        private final int hash;
+
+        private final Map<String, Integer> index;
+
+        private KeySet(String[] keys, int hash) {
+            this.keys = keys;
+            this.hash = hash;
+            this.index = new HashMap<>((int) (keys.length / 0.75f) + 1);
+            for (int i = 0; i < keys.length; i++) {
+                index.put(keys[i], i);
+            }
+        }
+
+        static KeySet of(String[] keys) {
+            int hash = Arrays.hashCode(keys);
+            int slot = (hash ^ (hash >>> 16)) & (KEY_SETS.length - 1);
+            KeySet keySet = KEY_SETS[slot];
+            if (keySet != null && keySet.hash == hash && Arrays.equals(keySet.keys, keys)) {
+                return keySet;
+            }
+            keySet = new KeySet(keys, hash);
+            KEY_SETS[slot] = keySet;
+            return keySet;
+        }
+    }
+}
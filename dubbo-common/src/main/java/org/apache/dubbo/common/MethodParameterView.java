@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import org.apache.dubbo.common.utils.StringUtils;
+
+import static org.apache.dubbo.common.constants.CommonConstants.LOADBALANCE_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.RETRIES_KEY;
+import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
+
+/**
+ * The parameters of a method of a {@link URL} read on every invocation, parsed once per URL and method.
+ * Get it with {@link URL#getMethodParameterView(String)}, each accessor returns the same as the corresponding
+ * {@code URL#getMethodParameter(method, key, defaultValue)}.
+ *
+ * @since 2.7.8
+ */
+public final class MethodParameterView {
+
+    /**
+     * org.apache.dubbo.rpc.Constants#ACTIVES_KEY
+     */
+    static final String ACTIVES_KEY = "actives";
+
+    /**
+     * org.apache.dubbo.rpc.Constants#EXECUTES_KEY
+     */
+    static final String EXECUTES_KEY = "executes";
+
+    /**
+     * org.apache.dubbo.rpc.cluster.Constants#WEIGHT_KEY
+     */
+    static final String WEIGHT_KEY = "weight";
+
+    /**
+     * org.apache.dubbo.remoting.Constants#SENT_KEY
+     */
+    static final String SENT_KEY = "sent";
+
+    /**
+     * org.apache.dubbo.rpc.Constants#ASYNC_KEY
+     */
+    static final String ASYNC_KEY = "async";
+
+    /**
+     * org.apache.dubbo.rpc.Constants#RETURN_KEY
+     */
+    static final String RETURN_KEY = "return";
+
+    /**
+     * org.apache.dubbo.rpc.Constants#DEPRECATED_KEY
+     */
+    static final String DEPRECATED_KEY = "deprecated";
+
+    /**
+     * org.apache.dubbo.rpc.cluster.Constants#CLUSTER_STICKY_KEY
+     */
+    static final String STICKY_KEY = "sticky";
+
+    private static final String[] INT_KEYS = {TIMEOUT_KEY, RETRIES_KEY, ACTIVES_KEY, EXECUTES_KEY, WEIGHT_KEY};
+
+    private static final int TIMEOUT = 0;
+    private static final int RETRIES = 1;
+    private static final int ACTIVES = 2;
+    private static final int EXECUTES = 3;
+    private static final int WEIGHT = 4;
+
+    private static final byte ABSENT = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+
+    private final URL url;
+
+    private final String method;
+
+    /**
+     * The bits of the int parameters that are set, and of the ones that are not int
+     */
+    private final int present;
+    private final int invalid;
+
+    private final int timeout;
+    private final int retries;
+    private final int actives;
+    private final int executes;
+    private final int weight;
+
+    private final byte sent;
+    private final byte async;
+    private final byte returnValue;
+    private final byte deprecated;
+    private final byte sticky;
+
+    private final String loadbalance;
+
+    MethodParameterView(URL url, String method) {
+        this.url = url;
+        this.method = method;
+
+        int present = 0;
+        int invalid = 0;
+        int[] values = new int[INT_KEYS.length];
+        for (int i = 0; i < INT_KEYS.length; i++) {
+            String value = url.getMethodParameter(method, INT_KEYS[i]);
+            if (StringUtils.isNotEmpty(value)) {
+                try {
+                    values[i] = Integer.parseInt(value);
+                    present |= 1 << i;
+                } catch (NumberFormatException e) {
+                    invalid |= 1 << i;
+                }
+            }
+        }
+        this.present = present;
+        this.invalid = invalid;
+        this.timeout = values[TIMEOUT];
+        this.retries = values[RETRIES];
+        this.actives = values[ACTIVES];
+        this.executes = values[EXECUTES];
+        this.weight = values[WEIGHT];
+
+        this.sent = parseBoolean(url.getMethodParameter(method, SENT_KEY));
+        this.async = parseBoolean(url.getMethodParameter(method, ASYNC_KEY));
+        this.returnValue = parseBoolean(url.getMethodParameter(method, RETURN_KEY));
+        this.deprecated = parseBoolean(url.getMethodParameter(method, DEPRECATED_KEY));
+        this.sticky = parseBoolean(url.getMethodParameter(method, STICKY_KEY));
+
+        this.loadbalance = url.getMethodParameter(method, LOADBALANCE_KEY);
+    }
+
+    private static byte parseBoolean(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return ABSENT;
+        }
+        return Boolean.parseBoolean(value) ? TRUE : FALSE;
+    }
+
+    private static boolean getBoolean(byte value, boolean defaultValue) {
+        return value == ABSENT ? defaultValue : value == TRUE;
+    }
+
+    private int getInt(int index, int value, int defaultValue) {
+        int bit = 1 << index;
+        if ((present & bit) != 0) {
+            return value;
+        }
+        if ((invalid & bit) != 0) {
+            // fails as the URL does
+            return url.getMethodParameter(method, INT_KEYS[index], defaultValue);
+        }
+        return defaultValue;
+    }
+
+    private static int positive(int value, int defaultValue) {
+        return value <= 0 ? defaultValue : value;
+    }
+
+    private static void checkPositive(int defaultValue) {
+        if (defaultValue <= 0) {
+            throw new IllegalArgumentException("defaultValue <= 0");
+        }
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public int getTimeout(int defaultValue) {
+        return getInt(TIMEOUT, timeout, defaultValue);
+    }
+
+    public int getPositiveTimeout(int defaultValue) {
+        checkPositive(defaultValue);
+        return positive(getTimeout(defaultValue), defaultValue);
+    }
+
+    public int getRetries(int defaultValue) {
+        return getInt(RETRIES, retries, defaultValue);
+    }
+
+    public int getActives(int defaultValue) {
+        return getInt(ACTIVES, actives, defaultValue);
+    }
+
+    public int getExecutes(int defaultValue) {
+        return getInt(EXECUTES, executes, defaultValue);
+    }
+
+    public int getWeight(int defaultValue) {
+        return getInt(WEIGHT, weight, defaultValue);
+    }
+
+    public boolean isSent(boolean defaultValue) {
+        return getBoolean(sent, defaultValue);
+    }
+
+    public boolean isAsync(boolean defaultValue) {
+        return getBoolean(async, defaultValue);
+    }
+
+    public boolean isReturn(boolean defaultValue) {
+        return getBoolean(returnValue, defaultValue);
+    }
+
+    public boolean isDeprecated(boolean defaultValue) {
+        return getBoolean(deprecated, defaultValue);
+    }
+
+    public boolean isSticky(boolean defaultValue) {
+        return getBoolean(sticky, defaultValue);
+    }
+
+    public String getLoadbalance(String defaultValue) {
+        return StringUtils.isEmpty(loadbalance) ? defaultValue : loadbalance;
+    }
+}
@@ -117,6 +117,8 @@ class URL implements Serializable {
 
     private volatile transient Map<String, Map<String, Number>> methodNumbers;
 
+    private volatile transient Map<String, MethodParameterView> methodParameterViews;
+
     private volatile transient Map<String, URL> urls;
 
     private volatile transient String ip;
@@ -211,6 +213,14 @@ class URL implements Serializable {
             path = path.substring(1);
         }
         this.path = path;
+        if (parameters instanceof CompactParameterMap) {
+            // immutable, and the method parameters are compacted as well
+            this.parameters = parameters;
+            Map<String, Map<String, String>> compactMethodParameters = new HashMap<>(methodParameters.size());
+            methodParameters.forEach((method, keyMap) -> compactMethodParameters.put(method, CompactParameterMap.of(keyMap)));
+            this.methodParameters = Collections.unmodifiableMap(compactMethodParameters);
+            return;
+        }
         if (parameters == null) {
             parameters = new HashMap<>();
         } else {
@@ -220,6 +230,21 @@ class URL implements Serializable {
         this.methodParameters = Collections.unmodifiableMap(methodParameters);
     }
 
+    /**
+     * The same URL holding its parameters in a compact form shared with the other compact URLs: the URLs with the
+     * same parameter keys share the keys, and equal values are interned. Meant for the URLs held in large numbers,
+     * e.g. the providers notified by the registries.
+     *
+     * @return this URL if its parameters are already compact
+     * @since 2.7.8
+     */
+    public URL compact() {
+        if (parameters instanceof CompactParameterMap) {
+            return this;
+        }
+        return new URL(protocol, username, password, host, port, path, CompactParameterMap.of(parameters), methodParameters);
+    }
+
     private static String getAddress(String host, int port) {
         return port <= 0 ? host : host + ':' + port;
     }
@@ -965,6 +990,27 @@ class URL implements Serializable {
         return StringUtils.isEmpty(value) ? defaultValue : Boolean.parseBoolean(value);
     }
 
+    /**
+     * @param method the method name, or null for the parameters of the URL
+     * @return the parsed parameters of the method read on every invocation
+     * @since 2.7.8
+     */
+    public MethodParameterView getMethodParameterView(String method) {
+        // concurrent initialization is tolerant
+        Map<String, MethodParameterView> views = methodParameterViews;
+        if (views == null) {
+            views = new ConcurrentHashMap<>();
+            methodParameterViews = views;
+        }
+        String key = method == null ? "" : method;
+        MethodParameterView view = views.get(key);
+        if (view == null) {
+            view = new MethodParameterView(this, method);
+            views.putIfAbsent(key, view);
+        }
+        return view;
+    }
+
     public boolean hasMethodParameter(String method, String key) {
         if (method == null) {
             String suffix = "." + key;
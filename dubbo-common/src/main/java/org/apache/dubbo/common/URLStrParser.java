@@ -149,7 +149,8 @@ public final class URLStrParser {
         if (endIdx > starIdx) {
             host = decodedBody.substring(starIdx, endIdx);
         }
-        return new URL(protocol, username, password, host, port, path, parameters);
+        return new URL(protocol, username, password, host, port, path,
+                CompactParameterMap.of(parameters == null ? Collections.emptyMap() : parameters));
     }
 
     /**
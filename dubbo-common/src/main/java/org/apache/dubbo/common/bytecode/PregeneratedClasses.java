@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.bytecode;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+
+/**
+ * Lookup of the {@link Wrapper}, {@link Proxy} and adaptive extension classes generated at build time by the
+ * dubbo-metadata-processor annotation processor, so that they do not have to be generated and compiled at runtime.
+ * <p>
+ * A pre-generated class sits next to the class it was generated for and is named after it:
+ * <ul>
+ * <li>{@code com.foo.DemoServiceImpl$DubboWrapper} extends {@link Wrapper} for {@code com.foo.DemoServiceImpl}</li>
+ * <li>{@code com.foo.DemoService$DubboProxy} extends {@link Proxy}, its instances are of the nested class
+ * {@code com.foo.DemoService$DubboProxy$Instance}</li>
+ * <li>{@code com.foo.Protocol$Adaptive} is the adaptive extension of the SPI {@code com.foo.Protocol}</li>
+ * </ul>
+ * The lookup can be turned off with the system property {@value #ENABLED_KEY}.
+ */
+public final class PregeneratedClasses {
+
+    private static final Logger logger = LoggerFactory.getLogger(PregeneratedClasses.class);
+
+    public static final String ENABLED_KEY = "dubbo.bytecode.pregenerated";
+
+    public static final String WRAPPER_SUFFIX = "$DubboWrapper";
+
+    public static final String PROXY_SUFFIX = "$DubboProxy";
+
+    public static final String PROXY_INSTANCE_SUFFIX = "$Instance";
+
+    public static final String ADAPTIVE_SUFFIX = "$Adaptive";
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_KEY));
+
+    private PregeneratedClasses() {
+    }
+
+    public static String wrapperClassName(Class<?> type) {
+        return type.getName() + WRAPPER_SUFFIX;
+    }
+
+    public static String proxyClassName(Class<?> type) {
+        return type.getName() + PROXY_SUFFIX;
+    }
+
+    /**
+     * The same name as the adaptive class generated at runtime, see AdaptiveClassCodeGenerator.
+     */
+    public static String adaptiveClassName(Class<?> type) {
+        return type.getPackage().getName() + "." + type.getSimpleName() + ADAPTIVE_SUFFIX;
+    }
+
+    /**
+     * Load a pre-generated class.
+     *
+     * @param className   the name of the pre-generated class
+     * @param classLoader the class loader of the class it was generated for
+     * @param superType   the type the pre-generated class must extend or implement
+     * @return the class, or null if it does not exist or the lookup is disabled
+     */
+    public static <T> Class<? extends T> find(String className, ClassLoader classLoader, Class<T> superType) {
+        if (!ENABLED || classLoader == null) {
+            return null;
+        }
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!superType.isAssignableFrom(type)) {
+            logger.warn("Ignore the pre-generated class " + className + ", it is not a " + superType.getName());
+            return null;
+        }
+        return type.asSubclass(superType);
+    }
+}
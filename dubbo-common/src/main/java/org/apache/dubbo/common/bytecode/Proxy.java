@@ -25,6 +25,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -135,6 +136,10 @@ public abstract class Proxy {
         String pkg = null;
         ClassGenerator ccp = null, ccm = null;
         try {
+            proxy = loadPregeneratedProxy(cl, ics);
+            if (proxy != null) {
+                return proxy;
+            }
             ccp = ClassGenerator.newInstance(cl);
 
             Set<String> worked = new HashSet<>();
@@ -228,6 +233,43 @@ public abstract class Proxy {
         return proxy;
     }
 
+    /**
+     * Find a proxy generated at build time whose instances implement exactly the given interfaces.
+     */
+    private static Proxy loadPregeneratedProxy(ClassLoader cl, Class<?>[] ics) {
+        Set<Class<?>> interfaces = new HashSet<>(Arrays.asList(ics));
+        for (Class<?> ic : ics) {
+            String name = PregeneratedClasses.proxyClassName(ic);
+            Class<?> instanceClass = PregeneratedClasses.find(name + PregeneratedClasses.PROXY_INSTANCE_SUFFIX, cl, ic);
+            if (instanceClass == null
+                    || !interfaces.equals(new HashSet<>(Arrays.asList(instanceClass.getInterfaces())))) {
+                continue;
+            }
+            Class<? extends Proxy> pc = PregeneratedClasses.find(name, cl, Proxy.class);
+            if (pc != null) {
+                try {
+                    return pc.newInstance();
+                } catch (Throwable e) {
+                    throw new RuntimeException("Failed to create the pre-generated proxy " + name, e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rethrow what the {@link InvocationHandler} of a pre-generated proxy instance threw, checked exceptions
+     * included, as the proxies generated at runtime do.
+     */
+    protected static RuntimeException rethrow(Throwable t) {
+        throw Proxy.<RuntimeException>sneakyThrow(t);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T sneakyThrow(Throwable t) throws T {
+        throw (T) t;
+    }
+
     private static String asArgument(Class<?> cl, String name) {
         if (cl.isPrimitive()) {
             if (Boolean.TYPE == cl) {
@@ -113,7 +113,23 @@ public abstract class Wrapper {
             return OBJECT_WRAPPER;
         }
 
-        return WRAPPER_MAP.computeIfAbsent(c, key -> makeWrapper(key));
+        return WRAPPER_MAP.computeIfAbsent(c, key -> {
+            Wrapper wrapper = loadPregeneratedWrapper(key);
+            return wrapper != null ? wrapper : makeWrapper(key);
+        });
+    }
+
+    private static Wrapper loadPregeneratedWrapper(Class<?> c) {
+        Class<? extends Wrapper> wc = PregeneratedClasses.find(PregeneratedClasses.wrapperClassName(c),
+                ClassUtils.getClassLoader(c), Wrapper.class);
+        if (wc == null) {
+            return null;
+        }
+        try {
+            return wc.newInstance();
+        } catch (Throwable e) {
+            throw new RuntimeException("Failed to create the pre-generated wrapper " + wc.getName(), e);
+        }
     }
 
     private static Wrapper makeWrapper(Class<?> c) {
@@ -82,6 +82,10 @@ public interface CommonConstants {
 
     int DEFAULT_THREADS = 200;
 
+    int DEFAULT_EXPORT_THREAD_NUM = 10;
+
+    int DEFAULT_REFER_THREAD_NUM = 10;
+
     String EXECUTOR_SERVICE_COMPONENT_KEY = ExecutorService.class.getName();
 
     String THREADPOOL_KEY = "threadpool";
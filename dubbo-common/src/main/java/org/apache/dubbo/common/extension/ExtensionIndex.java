@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.extension;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The index of the extension configuration files of a class loader, merged at startup from the {@value #RESOURCE}
+ * resources written at build time by {@link ExtensionIndexGenerator}, one per jar.
+ * <p>
+ * An index holds the content of all the extension configuration files of its jar:
+ * <pre>
+ * [META-INF/dubbo/internal/org.apache.dubbo.rpc.Protocol]
+ * dubbo=org.apache.dubbo.rpc.protocol.dubbo.DubboProtocol
+ * +filter=org.apache.dubbo.rpc.protocol.ProtocolFilterWrapper
+ * </pre>
+ * The classes of the entries starting with {@value #EAGER_PREFIX} (adaptive, wrapper and activate classes) are loaded
+ * with the other extension classes, the other entries are named and their classes are only loaded when requested.
+ * <p>
+ * The configuration files of the indexed jars are not read any more. With {@value #ENABLED_KEY}=exclusive the class
+ * loader is not even searched for them, which requires every jar with extensions to be indexed;
+ * {@value #ENABLED_KEY}=false ignores the indexes.
+ *
+ * @since 2.7.8
+ */
+final class ExtensionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtensionIndex.class);
+
+    static final String RESOURCE = "META-INF/dubbo/extensions.index";
+
+    static final String ENABLED_KEY = "dubbo.extension.index";
+
+    static final String EXCLUSIVE = "exclusive";
+
+    static final char EAGER_PREFIX = '+';
+
+    private static final ExtensionIndex EMPTY = new ExtensionIndex(false);
+
+    private static final Map<ClassLoader, ExtensionIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final boolean exclusive;
+
+    /**
+     * The locations of the indexed jars or directories
+     */
+    private final List<String> roots = new ArrayList<>();
+
+    /**
+     * The entries by configuration file
+     */
+    private final Map<String, List<Entry>> entries = new HashMap<>();
+
+    private ExtensionIndex(boolean exclusive) {
+        this.exclusive = exclusive;
+    }
+
+    static ExtensionIndex getIndex(ClassLoader classLoader) {
+        String enabled = System.getProperty(ENABLED_KEY);
+        if ("false".equalsIgnoreCase(enabled)) {
+            return EMPTY;
+        }
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        // the indexes of the jars of a class loader are read once for all the extension types
+        return INDEXES.computeIfAbsent(classLoader, cl -> load(cl, EXCLUSIVE.equalsIgnoreCase(enabled)));
+    }
+
+    private static ExtensionIndex load(ClassLoader classLoader, boolean exclusive) {
+        ExtensionIndex index = new ExtensionIndex(exclusive);
+        try {
+            Enumeration<URL> urls = classLoader.getResources(RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try {
+                    index.read(url);
+                } catch (Throwable t) {
+                    logger.error("Failed to read the extension index " + url, t);
+                }
+            }
+        } catch (Throwable t) {
+            logger.error("Failed to load the extension indexes", t);
+        }
+        return index;
+    }
+
+    private void read(URL url) throws Exception {
+        Map<String, List<Entry>> read = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            List<Entry> fileEntries = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int ci = line.indexOf('#');
+                if (ci >= 0) {
+                    line = line.substring(0, ci);
+                }
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (line.charAt(0) == '[' && line.charAt(line.length() - 1) == ']') {
+                    fileEntries = read.computeIfAbsent(line.substring(1, line.length() - 1).trim(), k -> new ArrayList<>());
+                } else if (fileEntries == null) {
+                    throw new IllegalStateException("No configuration file before the entry " + line);
+                } else if (line.charAt(0) == EAGER_PREFIX) {
+                    fileEntries.add(new Entry(url, line.substring(1).trim(), true));
+                } else {
+                    fileEntries.add(new Entry(url, line, false));
+                }
+            }
+        }
+        // the index is only taken into account if it could be read entirely
+        String location = url.toString();
+        roots.add(location.substring(0, location.length() - RESOURCE.length()));
+        read.forEach((file, fileEntries) -> entries.computeIfAbsent(file, k -> new ArrayList<>()).addAll(fileEntries));
+    }
+
+    /**
+     * @return true if the class loader must not be searched for the configuration files
+     */
+    boolean isExclusive() {
+        return exclusive;
+    }
+
+    /**
+     * @return true if the configuration file is indexed
+     */
+    boolean isIndexed(URL resource) {
+        String location = resource.toString();
+        for (String root : roots) {
+            if (location.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param file the configuration file, e.g. META-INF/dubbo/internal/org.apache.dubbo.rpc.Protocol
+     * @return the indexed entries of the file in all the jars
+     */
+    List<Entry> getEntries(String file) {
+        List<Entry> fileEntries = entries.get(file);
+        return fileEntries == null ? Collections.emptyList() : fileEntries;
+    }
+
+    static final class Entry {
+
+        /**
+         * The index the entry comes from
+         */
+        final URL index;
+
+        /**
+         * The line of the configuration file, name=class or class
+         */
+        final String line;
+
+        final boolean eager;
+
+        Entry(URL index, String line, boolean eager) {
+            this.index = index;
+            this.line = line;
+            this.eager = eager;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.extension;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.utils.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.apache.dubbo.common.extension.ExtensionIndex.EAGER_PREFIX;
+import static org.apache.dubbo.common.extension.ExtensionIndex.RESOURCE;
+
+/**
+ * Writes the {@link ExtensionIndex} of a classes directory, run at build time once the classes are compiled:
+ * <pre>
+ * java org.apache.dubbo.common.extension.ExtensionIndexGenerator target/classes [classpath entries...]
+ * </pre>
+ * The classes directory and the classpath entries must allow loading the extension types and classes, whose
+ * entries are otherwise indexed as the ones loaded with the other extension classes.
+ *
+ * @since 2.7.8
+ */
+public class ExtensionIndexGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtensionIndexGenerator.class);
+
+    private static final Pattern NAME_SEPARATOR = Pattern.compile("\\s*[,]+\\s*");
+
+    private final Path classesDirectory;
+
+    private final ClassLoader classLoader;
+
+    public ExtensionIndexGenerator(Path classesDirectory, ClassLoader classLoader) {
+        this.classesDirectory = classesDirectory;
+        this.classLoader = classLoader;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: java " + ExtensionIndexGenerator.class.getName() + " <classes directory> [classpath entries...]");
+            System.exit(1);
+        }
+        List<URL> urls = new ArrayList<>();
+        for (String arg : args) {
+            urls.add(new File(arg).toURI().toURL());
+        }
+        try (URLClassLoader classLoader = new URLClassLoader(urls.toArray(new URL[0]), ExtensionIndexGenerator.class.getClassLoader())) {
+            new ExtensionIndexGenerator(Paths.get(args[0]), classLoader).generate();
+        }
+    }
+
+    /**
+     * Write the index, or delete it if there is no extension configuration file.
+     *
+     * @return the content of the index
+     */
+    public String generate() throws IOException {
+        // the sorted content of the configuration files, by file
+        Map<String, List<String>> files = new TreeMap<>();
+        for (LoadingStrategy strategy : ExtensionLoader.getLoadingStrategies()) {
+            String directory = strategy.directory();
+            Path path = classesDirectory.resolve(directory);
+            if (!Files.isDirectory(path)) {
+                continue;
+            }
+            try (Stream<Path> children = Files.list(path)) {
+                children.filter(Files::isRegularFile).sorted().forEach(file -> {
+                    String resource = directory + file.getFileName();
+                    if (!RESOURCE.equals(resource)) {
+                        List<String> entries = index(file);
+                        if (entries != null) {
+                            files.put(resource, entries);
+                        }
+                    }
+                });
+            }
+        }
+
+        Path index = classesDirectory.resolve(RESOURCE);
+        if (files.isEmpty()) {
+            Files.deleteIfExists(index);
+            return "";
+        }
+        StringBuilder content = new StringBuilder("# Generated by ").append(getClass().getName()).append('\n');
+        files.forEach((file, entries) -> {
+            content.append('\n').append('[').append(file).append(']').append('\n');
+            entries.forEach(entry -> content.append(entry).append('\n'));
+        });
+        Files.createDirectories(index.getParent());
+        try (Writer writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            writer.write(content.toString());
+        }
+        logger.info("Indexed " + files.size() + " extension configuration files in " + index);
+        return content.toString();
+    }
+
+    /**
+     * @return the entries of the configuration file, or null if it does not configure a Dubbo extension
+     */
+    private List<String> index(Path file) {
+        Class<?> type = loadType(file.getFileName().toString());
+        if (type != null && !(type.isInterface() && type.isAnnotationPresent(SPI.class))) {
+            // a configuration file of java.util.ServiceLoader
+            return null;
+        }
+        List<String> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int ci = line.indexOf('#');
+                if (ci >= 0) {
+                    line = line.substring(0, ci);
+                }
+                line = line.trim();
+                if (line.length() > 0) {
+                    entries.add(index(type, line));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the extension configuration file " + file, e);
+        }
+        return entries;
+    }
+
+    /**
+     * The entry of the line, which is lazily loaded if it is a named extension
+     */
+    private String index(Class<?> type, String line) {
+        String name = null;
+        String className = line;
+        int i = line.indexOf('=');
+        if (i > 0) {
+            name = line.substring(0, i).trim();
+            className = line.substring(i + 1).trim();
+        }
+        if (type == null || className.isEmpty()) {
+            return EAGER_PREFIX + line;
+        }
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(className, false, classLoader);
+            if (!type.isAssignableFrom(clazz) || clazz.isAnnotationPresent(Adaptive.class) || isWrapperClass(type, clazz)
+                    || isActivateClass(clazz)) {
+                return EAGER_PREFIX + line;
+            }
+            clazz.getConstructor();
+        } catch (Throwable t) {
+            // reported at runtime
+            return EAGER_PREFIX + line;
+        }
+        if (StringUtils.isEmpty(name)) {
+            name = findAnnotationName(type, clazz);
+            if (name.isEmpty()) {
+                return EAGER_PREFIX + line;
+            }
+        }
+        return String.join(",", NAME_SEPARATOR.split(name)) + "=" + className;
+    }
+
+    private Class<?> loadType(String typeName) {
+        try {
+            return Class.forName(typeName, false, classLoader);
+        } catch (Throwable t) {
+            if (typeName.startsWith("com.alibaba")) {
+                return loadType(typeName.replace("com.alibaba", "org.apache"));
+            }
+            return null;
+        }
+    }
+
+    private static boolean isWrapperClass(Class<?> type, Class<?> clazz) {
+        try {
+            clazz.getConstructor(type);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean isActivateClass(Class<?> clazz) {
+        for (Annotation annotation : clazz.getAnnotations()) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType == Activate.class || annotationType == com.alibaba.dubbo.common.extension.Activate.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * See ExtensionLoader#findAnnotationName
+     */
+    @SuppressWarnings("deprecation")
+    private static String findAnnotationName(Class<?> type, Class<?> clazz) {
+        org.apache.dubbo.common.Extension extension = clazz.getAnnotation(org.apache.dubbo.common.Extension.class);
+        if (extension != null) {
+            return extension.value();
+        }
+
+        String name = clazz.getSimpleName();
+        if (name.endsWith(type.getSimpleName())) {
+            name = name.substring(0, name.length() - type.getSimpleName().length());
+        }
+        return name.toLowerCase();
+    }
+}
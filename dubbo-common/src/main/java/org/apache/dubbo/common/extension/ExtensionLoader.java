@@ -17,6 +17,7 @@
 package org.apache.dubbo.common.extension;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.bytecode.PregeneratedClasses;
 import org.apache.dubbo.common.context.Lifecycle;
 import org.apache.dubbo.common.extension.support.ActivateComparator;
 import org.apache.dubbo.common.lang.Prioritized;
@@ -32,6 +33,7 @@ import org.apache.dubbo.common.utils.ReflectUtils;
 import org.apache.dubbo.common.utils.StringUtils;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -40,13 +42,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -88,6 +93,8 @@ public class ExtensionLoader<T> {
 
     private static final ConcurrentMap<Class<?>, Object> EXTENSION_INSTANCES = new ConcurrentHashMap<>(64);
 
+    private static final int MAX_CACHED_ACTIVATE_SIGNATURES = 1024;
+
     private final Class<?> type;
 
     private final ExtensionFactory objectFactory;
@@ -96,7 +103,17 @@ public class ExtensionLoader<T> {
 
     private final Holder<Map<String, Class<?>>> cachedClasses = new Holder<>();
 
+    /**
+     * The class names of the indexed extensions whose classes are not loaded yet, by extension name
+     */
+    private final Map<String, String> cachedLazyClassNames = Collections.synchronizedMap(new LinkedHashMap<>());
+
     private final Map<String, Object> cachedActivates = new ConcurrentHashMap<>();
+    private volatile Set<String> cachedActivateKeys;
+    /**
+     * The activated extensions, by signature of the activation
+     */
+    private final ConcurrentMap<String, List<T>> cachedActivateExtensions = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Holder<Object>> cachedInstances = new ConcurrentHashMap<>();
     private final Holder<Object> cachedAdaptiveInstance = new Holder<>();
     private volatile Class<?> cachedAdaptiveClass = null;
@@ -206,7 +223,14 @@ public class ExtensionLoader<T> {
 
     public String getExtensionName(Class<?> extensionClass) {
         getExtensionClasses();// load class
-        return cachedNames.get(extensionClass);
+        String name = cachedNames.get(extensionClass);
+        if (name == null) {
+            String lazyName = findLazyExtensionName(extensionClass.getName());
+            if (lazyName != null && loadLazyExtensionClass(lazyName) == extensionClass) {
+                name = cachedNames.get(extensionClass);
+            }
+        }
+        return name;
     }
 
     /**
@@ -257,6 +281,94 @@ public class ExtensionLoader<T> {
      * @see org.apache.dubbo.common.extension.Activate
      */
     public List<T> getActivateExtension(URL url, String[] values, String group) {
+        // the activated extensions only depend on the group, the names and the parameters of the activate keys
+        String signature = url == null ? null : getActivateSignature(url, values, group);
+        if (signature != null) {
+            List<T> cached = cachedActivateExtensions.get(signature);
+            if (cached != null) {
+                return new ArrayList<>(cached);
+            }
+        }
+        List<T> activateExtensions = loadActivateExtension(url, values, group);
+        if (signature != null) {
+            if (cachedActivateExtensions.size() >= MAX_CACHED_ACTIVATE_SIGNATURES) {
+                cachedActivateExtensions.clear();
+            }
+            cachedActivateExtensions.put(signature, Collections.unmodifiableList(new ArrayList<>(activateExtensions)));
+        }
+        return activateExtensions;
+    }
+
+    /**
+     * The signature of an activation: the group, the names, and the URL parameters an {@link Activate#value()}
+     * depends on, sorted by key.
+     */
+    private String getActivateSignature(URL url, String[] values, String group) {
+        Set<String> activateKeys = getActivateKeys();
+        StringBuilder signature = new StringBuilder(64);
+        signature.append(group).append('|');
+        if (values != null) {
+            for (String value : values) {
+                signature.append(value).append(',');
+            }
+        }
+        signature.append('|');
+        Map<String, String> parameters = url.getParameters();
+        if (!activateKeys.isEmpty() && !parameters.isEmpty()) {
+            Map<String, String> activateParameters = new TreeMap<>();
+            for (Map.Entry<String, String> entry : parameters.entrySet()) {
+                if (isActivateKey(activateKeys, entry.getKey())) {
+                    activateParameters.put(entry.getKey(), entry.getValue());
+                }
+            }
+            activateParameters.forEach((k, v) -> signature.append(k).append('=').append(v).append('&'));
+        }
+        return signature.toString();
+    }
+
+    /**
+     * @return true if the parameter matches one of the keys, as in {@link #isActive(String[], URL)}
+     */
+    private static boolean isActivateKey(Set<String> activateKeys, String parameterKey) {
+        if (activateKeys.contains(parameterKey)) {
+            return true;
+        }
+        for (int i = parameterKey.indexOf('.'); i >= 0; i = parameterKey.indexOf('.', i + 1)) {
+            if (activateKeys.contains(parameterKey.substring(i + 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the keys of the {@link Activate#value()} of all the activate extensions
+     */
+    private Set<String> getActivateKeys() {
+        Set<String> activateKeys = cachedActivateKeys;
+        if (activateKeys == null) {
+            getExtensionClasses();
+            activateKeys = new HashSet<>();
+            for (Object activate : cachedActivates.values()) {
+                String[] activateValue;
+                if (activate instanceof Activate) {
+                    activateValue = ((Activate) activate).value();
+                } else if (activate instanceof com.alibaba.dubbo.common.extension.Activate) {
+                    activateValue = ((com.alibaba.dubbo.common.extension.Activate) activate).value();
+                } else {
+                    continue;
+                }
+                for (String key : activateValue) {
+                    int i = key.indexOf(':');
+                    activateKeys.add(i >= 0 ? key.substring(0, i) : key);
+                }
+            }
+            cachedActivateKeys = activateKeys;
+        }
+        return activateKeys;
+    }
+
+    private List<T> loadActivateExtension(URL url, String[] values, String group) {
         List<T> activateExtensions = new ArrayList<>();
         List<String> names = values == null ? new ArrayList<>(0) : asList(values);
         if (!names.contains(REMOVE_VALUE_PREFIX + DEFAULT_KEY)) {
@@ -460,7 +572,11 @@ public class ExtensionLoader<T> {
 
     public Set<String> getSupportedExtensions() {
         Map<String, Class<?>> clazzes = getExtensionClasses();
-        return Collections.unmodifiableSet(new TreeSet<>(clazzes.keySet()));
+        Set<String> names = new TreeSet<>(clazzes.keySet());
+        synchronized (cachedLazyClassNames) {
+            names.addAll(cachedLazyClassNames.keySet());
+        }
+        return Collections.unmodifiableSet(names);
     }
 
     public Set<T> getSupportedExtensionInstances() {
@@ -507,7 +623,7 @@ public class ExtensionLoader<T> {
             if (StringUtils.isBlank(name)) {
                 throw new IllegalStateException("Extension name is blank (Extension " + type + ")!");
             }
-            if (cachedClasses.get().containsKey(name)) {
+            if (containsExtension(name)) {
                 throw new IllegalStateException("Extension name " +
                         name + " already exists (Extension " + type + ")!");
             }
@@ -548,14 +664,16 @@ public class ExtensionLoader<T> {
             if (StringUtils.isBlank(name)) {
                 throw new IllegalStateException("Extension name is blank (Extension " + type + ")!");
             }
-            if (!cachedClasses.get().containsKey(name)) {
+            if (!containsExtension(name)) {
                 throw new IllegalStateException("Extension name " +
                         name + " doesn't exist (Extension " + type + ")!");
             }
 
             cachedNames.put(clazz, name);
             cachedClasses.get().put(name, clazz);
+            cachedLazyClassNames.remove(name);
             cachedInstances.remove(name);
+            cachedActivateExtensions.clear();
         } else {
             if (cachedAdaptiveClass == null) {
                 throw new IllegalStateException("Adaptive Extension doesn't exist (Extension " + type + ")!");
@@ -620,7 +738,7 @@ public class ExtensionLoader<T> {
 
     @SuppressWarnings("unchecked")
     private T createExtension(String name) {
-        Class<?> clazz = getExtensionClasses().get(name);
+        Class<?> clazz = getExtensionClass(name);
         if (clazz == null) {
             throw findException(name);
         }
@@ -646,7 +764,7 @@ public class ExtensionLoader<T> {
     }
 
     private boolean containsExtension(String name) {
-        return getExtensionClasses().containsKey(name);
+        return getExtensionClasses().containsKey(name) || cachedLazyClassNames.containsKey(name);
     }
 
     private T injectExtension(T instance) {
@@ -727,7 +845,67 @@ public class ExtensionLoader<T> {
         if (name == null) {
             throw new IllegalArgumentException("Extension name == null");
         }
-        return getExtensionClasses().get(name);
+        Class<?> clazz = getExtensionClasses().get(name);
+        return clazz != null ? clazz : loadLazyExtensionClass(name);
+    }
+
+    /**
+     * Load the class of an indexed extension on its first use, see {@link ExtensionIndex}
+     *
+     * @return the class, or null if there is no such lazy extension or its class could not be loaded
+     */
+    private Class<?> loadLazyExtensionClass(String name) {
+        if (!cachedLazyClassNames.containsKey(name)) {
+            return null;
+        }
+        synchronized (cachedClasses) {
+            Map<String, Class<?>> classes = cachedClasses.get();
+            String className = cachedLazyClassNames.get(name);
+            if (className == null) {
+                return classes.get(name);
+            }
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(className, true, findClassLoader());
+                if (!type.isAssignableFrom(clazz)) {
+                    throw new IllegalStateException("Error occurred when loading extension class (interface: " +
+                            type + ", class line: " + clazz.getName() + "), class "
+                            + clazz.getName() + " is not subtype of interface.");
+                }
+                clazz.getConstructor();
+            } catch (Throwable t) {
+                IllegalStateException e = new IllegalStateException("Failed to load extension class (interface: " + type + ", class line: " + className + ") from the extension index, cause: " + t.getMessage(), t);
+                exceptions.put(className, e);
+                synchronized (cachedLazyClassNames) {
+                    cachedLazyClassNames.values().removeIf(className::equals);
+                }
+                return null;
+            }
+            // all the names of the class, in the order of the configuration files
+            synchronized (cachedLazyClassNames) {
+                Iterator<Map.Entry<String, String>> iterator = cachedLazyClassNames.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, String> entry = iterator.next();
+                    if (className.equals(entry.getValue())) {
+                        cacheName(clazz, entry.getKey());
+                        classes.put(entry.getKey(), clazz);
+                        iterator.remove();
+                    }
+                }
+            }
+            return clazz;
+        }
+    }
+
+    private String findLazyExtensionName(String className) {
+        synchronized (cachedLazyClassNames) {
+            for (Map.Entry<String, String> entry : cachedLazyClassNames.entrySet()) {
+                if (className.equals(entry.getValue())) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
     }
 
     private Map<String, Class<?>> getExtensionClasses() {
@@ -750,7 +928,8 @@ public class ExtensionLoader<T> {
     private Map<String, Class<?>> loadExtensionClasses() {
         cacheDefaultExtensionName();
 
-        Map<String, Class<?>> extensionClasses = new HashMap<>();
+        // lazily indexed classes may be added later on
+        Map<String, Class<?>> extensionClasses = new ConcurrentHashMap<>();
 
         for (LoadingStrategy strategy : strategies) {
             loadDirectory(extensionClasses, strategy.directory(), type.getName(), strategy.preferExtensionClassLoader(), strategy.overridden(), strategy.excludedPackages());
@@ -790,35 +969,53 @@ public class ExtensionLoader<T> {
                                boolean extensionLoaderClassLoaderFirst, boolean overridden, String... excludedPackages) {
         String fileName = dir + type;
         try {
-            Enumeration<java.net.URL> urls = null;
             ClassLoader classLoader = findClassLoader();
 
             // try to load from ExtensionLoader's ClassLoader first
             if (extensionLoaderClassLoaderFirst) {
                 ClassLoader extensionLoaderClassLoader = ExtensionLoader.class.getClassLoader();
-                if (ClassLoader.getSystemClassLoader() != extensionLoaderClassLoader) {
-                    urls = extensionLoaderClassLoader.getResources(fileName);
+                if (ClassLoader.getSystemClassLoader() != extensionLoaderClassLoader
+                        && loadResources(extensionClasses, extensionLoaderClassLoader, classLoader, fileName, overridden, excludedPackages)) {
+                    return;
                 }
             }
 
-            if (urls == null || !urls.hasMoreElements()) {
-                if (classLoader != null) {
-                    urls = classLoader.getResources(fileName);
-                } else {
-                    urls = ClassLoader.getSystemResources(fileName);
-                }
-            }
+            loadResources(extensionClasses, classLoader, classLoader, fileName, overridden, excludedPackages);
+        } catch (Throwable t) {
+            logger.error("Exception occurred when loading extension class (interface: " +
+                    type + ", description file: " + fileName + ").", t);
+        }
+    }
 
-            if (urls != null) {
-                while (urls.hasMoreElements()) {
-                    java.net.URL resourceURL = urls.nextElement();
+    /**
+     * Load the configuration files found by the resource loader, from the {@link ExtensionIndex} for the indexed jars
+     *
+     * @return true if any configuration file is found
+     */
+    private boolean loadResources(Map<String, Class<?>> extensionClasses, ClassLoader resourceLoader, ClassLoader classLoader,
+                                  String fileName, boolean overridden, String... excludedPackages) throws IOException {
+        boolean found = false;
+        ExtensionIndex index = ExtensionIndex.getIndex(resourceLoader);
+        if (!index.isExclusive()) {
+            Enumeration<java.net.URL> urls = resourceLoader != null ? resourceLoader.getResources(fileName)
+                    : ClassLoader.getSystemResources(fileName);
+            while (urls.hasMoreElements()) {
+                java.net.URL resourceURL = urls.nextElement();
+                found = true;
+                if (!index.isIndexed(resourceURL)) {
                     loadResource(extensionClasses, classLoader, resourceURL, overridden, excludedPackages);
                 }
             }
-        } catch (Throwable t) {
-            logger.error("Exception occurred when loading extension class (interface: " +
-                    type + ", description file: " + fileName + ").", t);
         }
+        for (ExtensionIndex.Entry entry : index.getEntries(fileName)) {
+            found = true;
+            if (entry.eager) {
+                loadLine(extensionClasses, classLoader, entry.index, entry.line, overridden, excludedPackages);
+            } else {
+                loadLazyLine(extensionClasses, entry.line, overridden, excludedPackages);
+            }
+        }
+        return found;
     }
 
     private void loadResource(Map<String, Class<?>> extensionClasses, ClassLoader classLoader,
@@ -833,20 +1030,7 @@ public class ExtensionLoader<T> {
                     }
                     line = line.trim();
                     if (line.length() > 0) {
-                        try {
-                            String name = null;
-                            int i = line.indexOf('=');
-                            if (i > 0) {
-                                name = line.substring(0, i).trim();
-                                line = line.substring(i + 1).trim();
-                            }
-                            if (line.length() > 0 && !isExcluded(line, excludedPackages)) {
-                                loadClass(extensionClasses, resourceURL, Class.forName(line, true, classLoader), name, overridden);
-                            }
-                        } catch (Throwable t) {
-                            IllegalStateException e = new IllegalStateException("Failed to load extension class (interface: " + type + ", class line: " + line + ") in " + resourceURL + ", cause: " + t.getMessage(), t);
-                            exceptions.put(line, e);
-                        }
+                        loadLine(extensionClasses, classLoader, resourceURL, line, overridden, excludedPackages);
                     }
                 }
             }
@@ -856,6 +1040,38 @@ public class ExtensionLoader<T> {
         }
     }
 
+    private void loadLine(Map<String, Class<?>> extensionClasses, ClassLoader classLoader, java.net.URL resourceURL,
+                          String line, boolean overridden, String... excludedPackages) {
+        try {
+            String name = null;
+            int i = line.indexOf('=');
+            if (i > 0) {
+                name = line.substring(0, i).trim();
+                line = line.substring(i + 1).trim();
+            }
+            if (line.length() > 0 && !isExcluded(line, excludedPackages)) {
+                loadClass(extensionClasses, resourceURL, Class.forName(line, true, classLoader), name, overridden);
+            }
+        } catch (Throwable t) {
+            IllegalStateException e = new IllegalStateException("Failed to load extension class (interface: " + type + ", class line: " + line + ") in " + resourceURL + ", cause: " + t.getMessage(), t);
+            exceptions.put(line, e);
+        }
+    }
+
+    /**
+     * Register a named extension of the {@link ExtensionIndex}, without loading its class
+     */
+    private void loadLazyLine(Map<String, Class<?>> extensionClasses, String line, boolean overridden, String... excludedPackages) {
+        int i = line.indexOf('=');
+        String className = line.substring(i + 1).trim();
+        if (i <= 0 || isExcluded(className, excludedPackages)) {
+            return;
+        }
+        for (String name : NAME_SEPARATOR.split(line.substring(0, i).trim())) {
+            saveInExtensionClass(extensionClasses, className, name, overridden);
+        }
+    }
+
     private boolean isExcluded(String className, String... excludedPackages) {
         if (excludedPackages != null) {
             for (String excludePackage : excludedPackages) {
@@ -912,10 +1128,32 @@ public class ExtensionLoader<T> {
      */
     private void saveInExtensionClass(Map<String, Class<?>> extensionClasses, Class<?> clazz, String name, boolean overridden) {
         Class<?> c = extensionClasses.get(name);
-        if (c == null || overridden) {
+        String lazyClassName = cachedLazyClassNames.get(name);
+        if ((c == null && lazyClassName == null) || overridden) {
             extensionClasses.put(name, clazz);
+            cachedLazyClassNames.remove(name);
+        } else if (c == null && lazyClassName.equals(clazz.getName())) {
+            // indexed and not indexed in different jars
+            extensionClasses.put(name, clazz);
+            cachedLazyClassNames.remove(name);
         } else if (c != clazz) {
-            String duplicateMsg = "Duplicate extension " + type.getName() + " name " + name + " on " + c.getName() + " and " + clazz.getName();
+            String duplicateMsg = "Duplicate extension " + type.getName() + " name " + name + " on " + (c != null ? c.getName() : lazyClassName) + " and " + clazz.getName();
+            logger.error(duplicateMsg);
+            throw new IllegalStateException(duplicateMsg);
+        }
+    }
+
+    /**
+     * put the class name of a lazily loaded extension in cachedLazyClassNames
+     */
+    private void saveInExtensionClass(Map<String, Class<?>> extensionClasses, String className, String name, boolean overridden) {
+        Class<?> c = extensionClasses.get(name);
+        String lazyClassName = cachedLazyClassNames.get(name);
+        if ((c == null && lazyClassName == null) || overridden) {
+            extensionClasses.remove(name);
+            cachedLazyClassNames.put(name, className);
+        } else if (!className.equals(c != null ? c.getName() : lazyClassName)) {
+            String duplicateMsg = "Duplicate extension " + type.getName() + " name " + name + " on " + (c != null ? c.getName() : lazyClassName) + " and " + className;
             logger.error(duplicateMsg);
             throw new IllegalStateException(duplicateMsg);
         }
@@ -1010,8 +1248,12 @@ public class ExtensionLoader<T> {
     }
 
     private Class<?> createAdaptiveExtensionClass() {
-        String code = new AdaptiveClassCodeGenerator(type, cachedDefaultName).generate();
         ClassLoader classLoader = findClassLoader();
+        Class<?> pregenerated = PregeneratedClasses.find(PregeneratedClasses.adaptiveClassName(type), classLoader, type);
+        if (pregenerated != null) {
+            return pregenerated;
+        }
+        String code = new AdaptiveClassCodeGenerator(type, cachedDefaultName).generate();
         org.apache.dubbo.common.compiler.Compiler compiler = ExtensionLoader.getExtensionLoader(org.apache.dubbo.common.compiler.Compiler.class).getAdaptiveExtension();
         return compiler.compile(code, classLoader);
     }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Input stream whose remaining bytes can be read in place through a {@link ByteBuffer}, so that codecs can
+ * parse the underlying memory instead of pulling the bytes through {@link java.io.InputStream#read()}.
+ */
+public interface ByteBufferReadable {
+
+    /**
+     * Get the remaining bytes of the stream, from the current read position. Reading the returned buffer
+     * doesn't move the stream, call {@link java.io.InputStream#skip(long)} with the number of consumed bytes.
+     *
+     * @return the remaining bytes, never null
+     */
+    ByteBuffer readableBuffer();
+
+    /**
+     * Whether the bytes stay valid and unchanged once the stream has been consumed, so that decoded values
+     * may keep referencing them instead of copying.
+     */
+    boolean isAliasable();
+}
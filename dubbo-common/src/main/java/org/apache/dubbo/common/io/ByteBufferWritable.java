@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Output stream able to hand out its next bytes as a {@link ByteBuffer}, so that codecs knowing the size
+ * of their output up front can encode into the underlying memory directly.
+ */
+public interface ByteBufferWritable {
+
+    /**
+     * Reserve the next {@code length} bytes of the stream and expose them for writing. The stream position is
+     * moved past the reserved bytes, which must all be written by the caller.
+     *
+     * @param length number of bytes to reserve
+     * @return buffer sharing the memory of the stream, positioned at the first reserved byte with exactly
+     * {@code length} bytes remaining, or null if the memory can't be shared, nothing is reserved in that case
+     */
+    ByteBuffer writableBuffer(int length);
+}
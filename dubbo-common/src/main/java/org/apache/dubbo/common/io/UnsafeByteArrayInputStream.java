@@ -18,27 +18,42 @@ package org.apache.dubbo.common.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * UnsafeByteArrayInputStream.
  */
-public class UnsafeByteArrayInputStream extends InputStream {
+public class UnsafeByteArrayInputStream extends InputStream implements ByteBufferReadable {
     protected byte[] mData;
 
     protected int mPosition, mLimit, mMark = 0;
 
+    private final boolean mAliasable;
+
     public UnsafeByteArrayInputStream(byte[] buf) {
         this(buf, 0, buf.length);
     }
 
+    /**
+     * @param aliasable true if the array is owned by this stream and never modified, see {@link #isAliasable()}
+     */
+    public UnsafeByteArrayInputStream(byte[] buf, boolean aliasable) {
+        this(buf, 0, buf.length, aliasable);
+    }
+
     public UnsafeByteArrayInputStream(byte[] buf, int offset) {
         this(buf, offset, buf.length - offset);
     }
 
     public UnsafeByteArrayInputStream(byte[] buf, int offset, int length) {
+        this(buf, offset, length, false);
+    }
+
+    private UnsafeByteArrayInputStream(byte[] buf, int offset, int length, boolean aliasable) {
         mData = buf;
         mPosition = mMark = offset;
         mLimit = Math.min(offset + length, buf.length);
+        mAliasable = aliasable;
     }
 
     @Override
@@ -115,4 +130,14 @@ public class UnsafeByteArrayInputStream extends InputStream {
     public int size() {
         return mData == null ? 0 : mData.length;
     }
+
+    @Override
+    public ByteBuffer readableBuffer() {
+        return ByteBuffer.wrap(mData, mPosition, Math.max(mLimit - mPosition, 0));
+    }
+
+    @Override
+    public boolean isAliasable() {
+        return mAliasable;
+    }
 }
@@ -24,7 +24,7 @@ import java.nio.ByteBuffer;
 /**
  * UnsafeByteArrayOutputStream.
  */
-public class UnsafeByteArrayOutputStream extends OutputStream {
+public class UnsafeByteArrayOutputStream extends OutputStream implements ByteBufferWritable {
     protected byte[] mBuffer;
 
     protected int mCount;
@@ -66,6 +66,20 @@ public class UnsafeByteArrayOutputStream extends OutputStream {
         mCount = newcount;
     }
 
+    @Override
+    public ByteBuffer writableBuffer(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        int newcount = mCount + length;
+        if (newcount > mBuffer.length) {
+            mBuffer = Bytes.copyOf(mBuffer, Math.max(mBuffer.length << 1, newcount));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(mBuffer, mCount, length);
+        mCount = newcount;
+        return buffer;
+    }
+
     public int size() {
         return mCount;
     }
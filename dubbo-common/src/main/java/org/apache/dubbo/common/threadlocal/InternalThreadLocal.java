@@ -125,6 +125,20 @@ public class InternalThreadLocal<V> {
         return initialize(threadLocalMap);
     }
 
+    /**
+     * Returns the current value for the current thread, or null if it is not set,
+     * without triggering a call to {@link #initialValue()}.
+     */
+    @SuppressWarnings("unchecked")
+    public final V getIfSet() {
+        InternalThreadLocalMap threadLocalMap = InternalThreadLocalMap.getIfSet();
+        if (threadLocalMap == null) {
+            return null;
+        }
+        Object v = threadLocalMap.indexedVariable(index);
+        return v != InternalThreadLocalMap.UNSET ? (V) v : null;
+    }
+
     private V initialize(InternalThreadLocalMap threadLocalMap) {
         V v = null;
         try {
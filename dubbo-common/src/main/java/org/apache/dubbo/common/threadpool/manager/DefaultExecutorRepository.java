@@ -22,16 +22,23 @@ import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.threadpool.ThreadPool;
 import org.apache.dubbo.common.utils.NamedThreadFactory;
+import org.apache.dubbo.config.ConsumerConfig;
+import org.apache.dubbo.config.ProviderConfig;
+import org.apache.dubbo.rpc.model.ApplicationModel;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER_SIDE;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_EXPORT_THREAD_NUM;
+import static org.apache.dubbo.common.constants.CommonConstants.DEFAULT_REFER_THREAD_NUM;
 import static org.apache.dubbo.common.constants.CommonConstants.EXECUTOR_SERVICE_COMPONENT_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.SIDE_KEY;
 import static org.apache.dubbo.common.constants.CommonConstants.THREADS_KEY;
@@ -50,6 +57,10 @@ public class DefaultExecutorRepository implements ExecutorRepository {
 
     private ScheduledExecutorService serviceExporterExecutor;
 
+    private volatile ExecutorService serviceExportExecutor;
+
+    private volatile ExecutorService serviceReferExecutor;
+
     private ScheduledExecutorService reconnectScheduledExecutor;
 
     private ConcurrentMap<String, ConcurrentMap<Integer, ExecutorService>> data = new ConcurrentHashMap<>();
@@ -167,11 +178,52 @@ public class DefaultExecutorRepository implements ExecutorRepository {
         return serviceExporterExecutor;
     }
 
+    @Override
+    public ExecutorService getServiceExportExecutor() {
+        if (serviceExportExecutor == null) {
+            synchronized (this) {
+                if (serviceExportExecutor == null) {
+                    int threads = ApplicationModel.getConfigManager().getDefaultProvider()
+                            .map(ProviderConfig::getExportThreadNum)
+                            .orElse(DEFAULT_EXPORT_THREAD_NUM);
+                    serviceExportExecutor = createBoundedExecutor(threads, "Dubbo-service-export");
+                }
+            }
+        }
+        return serviceExportExecutor;
+    }
+
+    @Override
+    public ExecutorService getServiceReferExecutor() {
+        if (serviceReferExecutor == null) {
+            synchronized (this) {
+                if (serviceReferExecutor == null) {
+                    int threads = ApplicationModel.getConfigManager().getDefaultConsumer()
+                            .map(ConsumerConfig::getReferThreadNum)
+                            .orElse(DEFAULT_REFER_THREAD_NUM);
+                    serviceReferExecutor = createBoundedExecutor(threads, "Dubbo-service-refer");
+                }
+            }
+        }
+        return serviceReferExecutor;
+    }
+
     @Override
     public ExecutorService getSharedExecutor() {
         return SHARED_EXECUTOR;
     }
 
+    /**
+     * At most the given number of threads, which exit once idle since they are only needed while starting up.
+     */
+    private ExecutorService createBoundedExecutor(int threads, String name) {
+        threads = Math.max(1, threads);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(name, true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private ExecutorService createExecutor(URL url) {
         return (ExecutorService) ExtensionLoader.getExtensionLoader(ThreadPool.class).getAdaptiveExtension().getExecutor(url);
     }
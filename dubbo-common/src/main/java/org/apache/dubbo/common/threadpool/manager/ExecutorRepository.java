@@ -57,6 +57,26 @@ public interface ExecutorRepository {
 
     ScheduledExecutorService getServiceExporterExecutor();
 
+    /**
+     * Get the executor exporting the services in parallel when the export is asynchronous, see
+     * {@link org.apache.dubbo.config.ProviderConfig#getExportThreadNum()}.
+     *
+     * @return
+     */
+    default ExecutorService getServiceExportExecutor() {
+        return getServiceExporterExecutor();
+    }
+
+    /**
+     * Get the executor initializing the references in parallel when the refer is asynchronous, see
+     * {@link org.apache.dubbo.config.ConsumerConfig#getReferThreadNum()}.
+     *
+     * @return
+     */
+    default ExecutorService getServiceReferExecutor() {
+        return getServiceExporterExecutor();
+    }
+
     /**
      * Get the default shared threadpool.
      *
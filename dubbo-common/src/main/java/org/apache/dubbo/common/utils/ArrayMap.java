@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.utils;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map of a few entries, such as the attachments of an invocation, backed by an array of keys and values searched
+ * linearly. Lookups compare the keys by identity first, which makes them as fast as hashing for the interned keys
+ * of the attachments, and a map only allocates its array. It switches to a {@link HashMap} beyond
+ * {@value #MAX_ARRAY_SIZE} entries.
+ * <p>
+ * Iterates in insertion order. Not thread safe. It is serialized as a {@link HashMap}, so that it is never
+ * required on the other side.
+ *
+ * @since 2.7.8
+ */
+public class ArrayMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 7309718251457092186L;
+
+    static final int MAX_ARRAY_SIZE = 16;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * key0, value0, key1, value1...
+     */
+    private Object[] table;
+
+    private int size;
+
+    /**
+     * The map used beyond {@link #MAX_ARRAY_SIZE} entries
+     */
+    private HashMap<K, V> overflow;
+
+    private int modCount;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    public ArrayMap() {
+        this.table = EMPTY;
+    }
+
+    public ArrayMap(int expectedSize) {
+        if (expectedSize > MAX_ARRAY_SIZE) {
+            this.overflow = new HashMap<>(expectedSize * 4 / 3 + 1);
+            this.table = EMPTY;
+        } else {
+            this.table = expectedSize <= 0 ? EMPTY : new Object[expectedSize << 1];
+        }
+    }
+
+    public ArrayMap(Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    private int indexOf(Object key) {
+        Object[] table = this.table;
+        int length = size << 1;
+        for (int i = 0; i < length; i += 2) {
+            if (table[i] == key) {
+                return i;
+            }
+        }
+        if (key != null) {
+            for (int i = 0; i < length; i += 2) {
+                if (key.equals(table[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (overflow != null) {
+            return overflow.get(key);
+        }
+        int i = indexOf(key);
+        return i < 0 ? null : (V) table[i + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return overflow != null ? overflow.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (overflow != null) {
+            return overflow.put(key, value);
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            V old = (V) table[i + 1];
+            table[i + 1] = value;
+            return old;
+        }
+        if (size == MAX_ARRAY_SIZE) {
+            HashMap<K, V> map = new HashMap<>(MAX_ARRAY_SIZE * 4);
+            for (int j = 0; j < size << 1; j += 2) {
+                map.put((K) table[j], (V) table[j + 1]);
+            }
+            map.put(key, value);
+            overflow = map;
+            table = EMPTY;
+            size = 0;
+            modCount++;
+            return null;
+        }
+        int length = size << 1;
+        if (length == table.length) {
+            table = Arrays.copyOf(table, Math.max(8, length << 1));
+        }
+        table[length] = key;
+        table[length + 1] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (overflow != null) {
+            return overflow.remove(key);
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        V old = (V) table[i + 1];
+        removeAt(i);
+        return old;
+    }
+
+    private void removeAt(int i) {
+        int length = size << 1;
+        System.arraycopy(table, i + 2, table, i, length - i - 2);
+        table[length - 2] = null;
+        table[length - 1] = null;
+        size--;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        if (overflow != null) {
+            overflow = null;
+        } else {
+            Arrays.fill(table, 0, size << 1, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return overflow != null ? overflow.size() : size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = entrySet;
+        if (entries == null) {
+            entries = new EntrySet();
+            entrySet = entries;
+        }
+        return entries;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return overflow != null ? overflow : new HashMap<>(this);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return overflow != null ? overflow.entrySet().iterator() : new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ArrayMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ArrayMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size << 1;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            checkModCount();
+            if (next >= size << 1) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next += 2;
+            return new Entry(last, table[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            checkModCount();
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class Entry implements Map.Entry<K, V> {
+
+        private final int index;
+
+        private final Object key;
+
+        Entry(int index, Object key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        /**
+         * Whether the key is still at the index of the entry, which changes when a previous entry is removed.
+         */
+        private boolean isAtIndex() {
+            return index < size << 1 && table[index] == key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K getKey() {
+            return (K) key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return isAtIndex() ? (V) table[index + 1] : get(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            if (!isAtIndex()) {
+                return put((K) key, value);
+            }
+            V old = (V) table[index + 1];
+            table[index + 1] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.utils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * The resolution caches of {@link ReflectUtils}, shared by the codec, the generic invocations and the config:
+ * <ul>
+ * <li>class names to classes, per ClassLoader, holding the classes weakly like {@link org.apache.dubbo.common.bytecode.Proxy}
+ * so that a ClassLoader can be collected once it is not used anymore</li>
+ * <li>parameter descriptors to the descriptors of each parameter, which does not depend on the ClassLoader</li>
+ * <li>method signatures to methods, per class</li>
+ * </ul>
+ * The classes and methods not found are cached for {@link #NOT_FOUND_TTL} millis, so that the classes defined later on
+ * are still found. Each cache is cleared once it holds {@link #MAX_ENTRIES} entries.
+ *
+ * @since 2.7.8
+ */
+final class ClassResolutionCache {
+
+    static final int MAX_ENTRIES = 4096;
+
+    static final long NOT_FOUND_TTL = TimeUnit.SECONDS.toMillis(10);
+
+    private static final Map<ClassLoader, ClassResolutionCache> CACHES = new WeakHashMap<>();
+
+    private static final ConcurrentMap<String, String[]> DESCRIPTORS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<ConcurrentMap<String, Object>> METHODS = new ClassValue<ConcurrentMap<String, Object>>() {
+        @Override
+        protected ConcurrentMap<String, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * the cache used last, most applications resolve everything with the same ClassLoader
+     */
+    private static volatile ClassResolutionCache last;
+
+    private final WeakReference<ClassLoader> classLoader;
+
+    /**
+     * class name -> WeakReference of the class, or NotFound
+     */
+    private final ConcurrentMap<String, Object> classes = new ConcurrentHashMap<>();
+
+    private ClassResolutionCache(ClassLoader classLoader) {
+        this.classLoader = new WeakReference<>(classLoader);
+    }
+
+    static ClassResolutionCache getCache(ClassLoader cl) {
+        ClassResolutionCache cache = last;
+        if (cache != null && cache.classLoader.get() == cl) {
+            return cache;
+        }
+        synchronized (CACHES) {
+            cache = CACHES.computeIfAbsent(cl, ClassResolutionCache::new);
+        }
+        last = cache;
+        return cache;
+    }
+
+    /**
+     * Equivalent to {@link Class#forName(String, boolean, ClassLoader)} with the ClassLoader of this cache.
+     */
+    @SuppressWarnings("unchecked")
+    Class<?> forName(String name) throws ClassNotFoundException {
+        Object cached = classes.get(name);
+        if (cached instanceof WeakReference) {
+            Class<?> clazz = ((WeakReference<Class<?>>) cached).get();
+            if (clazz != null) {
+                return clazz;
+            }
+        } else if (cached != null && ((NotFound) cached).isValid()) {
+            throw new ClassNotFoundException(name);
+        }
+
+        try {
+            Class<?> clazz = Class.forName(name, true, classLoader.get());
+            put(classes, name, new WeakReference<Class<?>>(clazz));
+            return clazz;
+        } catch (ClassNotFoundException e) {
+            put(classes, name, new NotFound());
+            throw e;
+        }
+    }
+
+    /**
+     * Splits the descriptor of parameter types, "I[Ljava/lang/String;" => ["I", "[Ljava/lang/String;"]
+     */
+    static String[] getDescriptors(String desc) {
+        String[] descriptors = DESCRIPTORS.get(desc);
+        if (descriptors == null) {
+            List<String> list = new ArrayList<>();
+            Matcher m = ReflectUtils.DESC_PATTERN.matcher(desc);
+            while (m.find()) {
+                list.add(m.group());
+            }
+            descriptors = list.toArray(StringUtils.EMPTY_STRING_ARRAY);
+            put(DESCRIPTORS, desc, descriptors);
+        }
+        return descriptors;
+    }
+
+    /**
+     * @return the method of the class with the signature, NotFound if there is none, or null if not cached
+     */
+    static Object getMethod(Class<?> clazz, String signature) {
+        Object cached = METHODS.get(clazz).get(signature);
+        return cached instanceof NotFound && !((NotFound) cached).isValid() ? null : cached;
+    }
+
+    static void putMethod(Class<?> clazz, String signature, Method method) {
+        put(METHODS.get(clazz), signature, method);
+    }
+
+    static void putMethodNotFound(Class<?> clazz, String signature) {
+        put(METHODS.get(clazz), signature, new NotFound());
+    }
+
+    private static <V> void put(ConcurrentMap<String, V> cache, String key, V value) {
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    /**
+     * a class or method not found
+     */
+    static final class NotFound {
+
+        private final long expireAt = System.currentTimeMillis() + NOT_FOUND_TTL;
+
+        boolean isValid() {
+            return System.currentTimeMillis() < expireAt;
+        }
+    }
+}
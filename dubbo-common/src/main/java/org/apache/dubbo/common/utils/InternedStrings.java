@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.utils;
+
+/**
+ * A small, lock free cache of the short strings that repeat again and again, such as the parameter values of the
+ * URLs of the providers of a service.
+ * <p>
+ * The cache is direct mapped: a slot holds the last string hashed to it and is simply overwritten on collision,
+ * so lookups never block and the memory is bounded. Slots are read and written racily, which is safe because
+ * strings are immutable.
+ */
+public final class InternedStrings {
+
+    private final String[] strings;
+
+    private final int mask;
+
+    private final int maxLength;
+
+    /**
+     * @param capacity  number of slots, rounded up to a power of two
+     * @param maxLength longest string, in chars, that is cached
+     */
+    public InternedStrings(int capacity, int maxLength) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (capacity == 1) {
+            size = 1;
+        }
+        this.strings = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the cached instance equal to the given string, caching it if there is none, so that repeated
+     * strings share one instance and its cached hash code.
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String cached = strings[index];
+        if (value.equals(cached)) {
+            return cached;
+        }
+        strings[index] = value;
+        return value;
+    }
+}
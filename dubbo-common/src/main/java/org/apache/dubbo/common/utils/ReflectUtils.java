@@ -44,10 +44,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -130,12 +127,6 @@ public final class ReflectUtils {
 
     public static final Pattern IS_HAS_CAN_METHOD_DESC_PATTERN = Pattern.compile("(?:is|has|can)([A-Z][_a-zA-Z0-9]*)\\(\\)Z");
 
-    private static final ConcurrentMap<String, Class<?>> DESC_CLASS_CACHE = new ConcurrentHashMap<String, Class<?>>();
-
-    private static final ConcurrentMap<String, Class<?>> NAME_CLASS_CACHE = new ConcurrentHashMap<String, Class<?>>();
-
-    private static final ConcurrentMap<String, Method> SIGNATURE_METHODS_CACHE = new ConcurrentHashMap<String, Method>();
-
     private static Map<Class<?>, Object> primitiveDefaults = new HashMap<>();
 
     static {
@@ -788,12 +779,7 @@ public final class ReflectUtils {
         if (cl == null) {
             cl = ClassUtils.getClassLoader();
         }
-        Class<?> clazz = NAME_CLASS_CACHE.get(name);
-        if (clazz == null) {
-            clazz = Class.forName(name, true, cl);
-            NAME_CLASS_CACHE.put(name, clazz);
-        }
-        return clazz;
+        return ClassResolutionCache.getCache(cl).forName(name);
     }
 
     /**
@@ -854,12 +840,7 @@ public final class ReflectUtils {
         if (cl == null) {
             cl = ClassUtils.getClassLoader();
         }
-        Class<?> clazz = DESC_CLASS_CACHE.get(desc);
-        if (clazz == null) {
-            clazz = Class.forName(desc, true, cl);
-            DESC_CLASS_CACHE.put(desc, clazz);
-        }
-        return clazz;
+        return ClassResolutionCache.getCache(cl).forName(desc);
     }
 
     /**
@@ -887,12 +868,12 @@ public final class ReflectUtils {
             return EMPTY_CLASS_ARRAY;
         }
 
-        List<Class<?>> cs = new ArrayList<Class<?>>();
-        Matcher m = DESC_PATTERN.matcher(desc);
-        while (m.find()) {
-            cs.add(desc2class(cl, m.group()));
+        String[] descriptors = ClassResolutionCache.getDescriptors(desc);
+        Class<?>[] cs = new Class<?>[descriptors.length];
+        for (int i = 0; i < descriptors.length; i++) {
+            cs[i] = desc2class(cl, descriptors[i]);
         }
-        return cs.toArray(EMPTY_CLASS_ARRAY);
+        return cs;
     }
 
     /**
@@ -907,14 +888,18 @@ public final class ReflectUtils {
      */
     public static Method findMethodByMethodSignature(Class<?> clazz, String methodName, String[] parameterTypes)
             throws NoSuchMethodException, ClassNotFoundException {
-        String signature = clazz.getName() + "." + methodName;
-        if (parameterTypes != null && parameterTypes.length > 0) {
-            signature += StringUtils.join(parameterTypes);
+        String signature = methodName;
+        if (parameterTypes != null) {
+            signature += "(" + StringUtils.join(parameterTypes, ",") + ")";
+        }
+        Object cached = ClassResolutionCache.getMethod(clazz, signature);
+        if (cached instanceof Method) {
+            return (Method) cached;
         }
-        Method method = SIGNATURE_METHODS_CACHE.get(signature);
-        if (method != null) {
-            return method;
+        if (cached != null) {
+            throw new NoSuchMethodException("No such method " + signature + " in class " + clazz);
         }
+        Method method;
         if (parameterTypes == null) {
             List<Method> finded = new ArrayList<Method>();
             for (Method m : clazz.getMethods()) {
@@ -923,6 +908,7 @@ public final class ReflectUtils {
                 }
             }
             if (finded.isEmpty()) {
+                ClassResolutionCache.putMethodNotFound(clazz, signature);
                 throw new NoSuchMethodException("No such method " + methodName + " in class " + clazz);
             }
             if (finded.size() > 1) {
@@ -936,10 +922,14 @@ public final class ReflectUtils {
             for (int i = 0; i < parameterTypes.length; i++) {
                 types[i] = ReflectUtils.name2class(parameterTypes[i]);
             }
-            method = clazz.getMethod(methodName, types);
-
+            try {
+                method = clazz.getMethod(methodName, types);
+            } catch (NoSuchMethodException e) {
+                ClassResolutionCache.putMethodNotFound(clazz, signature);
+                throw e;
+            }
         }
-        SIGNATURE_METHODS_CACHE.put(signature, method);
+        ClassResolutionCache.putMethod(clazz, signature, method);
         return method;
     }
 
@@ -17,6 +17,7 @@
 package org.apache.dubbo.config;
 
 import org.apache.dubbo.common.utils.StringUtils;
+import org.apache.dubbo.config.support.Parameter;
 
 /**
  * The service consumer default configuration
@@ -63,6 +64,11 @@ public class ConsumerConfig extends AbstractReferenceConfig {
      */
     private Integer shareconnections;
 
+    /**
+     * Thread num of the references initialized in parallel by DubboBootstrap#referAsync()
+     */
+    private Integer referThreadNum;
+
     @Override
     public void setTimeout(Integer timeout) {
         super.setTimeout(timeout);
@@ -132,4 +138,13 @@ public class ConsumerConfig extends AbstractReferenceConfig {
     public void setShareconnections(Integer shareconnections) {
         this.shareconnections = shareconnections;
     }
+
+    @Parameter(excluded = true)
+    public Integer getReferThreadNum() {
+        return referThreadNum;
+    }
+
+    public void setReferThreadNum(Integer referThreadNum) {
+        this.referThreadNum = referThreadNum;
+    }
 }
@@ -176,6 +176,11 @@ public class ProviderConfig extends AbstractServiceConfig {
      */
     private Boolean isDefault;
 
+    /**
+     * Thread num of the services exported in parallel by DubboBootstrap#exportAsync()
+     */
+    private Integer exportThreadNum;
+
     @Deprecated
     public void setProtocol(String protocol) {
         this.protocols = new ArrayList<>(Arrays.asList(new ProtocolConfig(protocol)));
@@ -447,4 +452,12 @@ public class ProviderConfig extends AbstractServiceConfig {
         this.wait = wait;
     }
 
+    @Parameter(excluded = true)
+    public Integer getExportThreadNum() {
+        return exportThreadNum;
+    }
+
+    public void setExportThreadNum(Integer exportThreadNum) {
+        this.exportThreadNum = exportThreadNum;
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompactParameterMapTest {
+
+    @Test
+    public void testSameAsMap() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("application", "demo");
+        parameters.put("interface", "org.apache.dubbo.DemoService");
+        parameters.put("sayHello.timeout", "3000");
+        parameters.put("empty", "");
+
+        Map<String, String> compact = CompactParameterMap.of(parameters);
+        Assertions.assertEquals(parameters, compact);
+        Assertions.assertEquals(compact, parameters);
+        Assertions.assertEquals(parameters.hashCode(), compact.hashCode());
+        Assertions.assertEquals(4, compact.size());
+        Assertions.assertEquals("demo", compact.get("application"));
+        Assertions.assertEquals("", compact.get("empty"));
+        Assertions.assertNull(compact.get("side"));
+        Assertions.assertTrue(compact.containsKey("sayHello.timeout"));
+        Assertions.assertFalse(compact.containsKey("timeout"));
+        Assertions.assertSame(compact, CompactParameterMap.of(compact));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> compact.put("side", "consumer"));
+    }
+
+    @Test
+    public void testCompactUrl() {
+        URL first = URL.valueOf("dubbo://10.0.0.1:20880/DemoService?application=demo&methods=sayHello,sayGoodbye"
+                + "&sayHello.timeout=3000&timestamp=1");
+        URL second = URL.valueOf("dubbo://10.0.0.2:20880/DemoService?application=demo&methods=sayHello,sayGoodbye"
+                + "&sayHello.timeout=3000&timestamp=2");
+
+        URL compactFirst = first.compact();
+        URL compactSecond = second.compact();
+        Assertions.assertEquals(first, compactFirst);
+        Assertions.assertEquals(first.toFullString(), compactFirst.toFullString());
+        Assertions.assertSame(compactFirst, compactFirst.compact());
+        Assertions.assertEquals(3000, compactFirst.getMethodParameter("sayHello", "timeout", 0));
+        // the values equal across the providers are shared
+        Assertions.assertSame(compactFirst.getParameter("methods"), compactSecond.getParameter("methods"));
+        Assertions.assertEquals("2", compactSecond.getParameter("timestamp"));
+
+        // the derived URLs are still compact, or copied as usual when their parameters change
+        Assertions.assertSame(compactFirst.getParameters(), compactFirst.setHost("10.0.0.3").getParameters());
+        Assertions.assertEquals("consumer", compactFirst.addParameter("side", "consumer").getParameter("side"));
+    }
+
+    @Test
+    public void testParsedUrl() {
+        URL url = URLStrParser.parseDecodedStr("dubbo://10.0.0.1:20880/DemoService?application=demo");
+        Assertions.assertSame(url, url.compact());
+        url = URLStrParser.parseDecodedStr("dubbo://10.0.0.1:20880/DemoService");
+        Assertions.assertSame(url, url.compact());
+        Assertions.assertTrue(url.getParameters().isEmpty());
+    }
+
+    @Test
+    public void testSerializeCompactUrl() throws Exception {
+        URL url = URL.valueOf("dubbo://10.0.0.1:20880/DemoService?application=demo&sayHello.timeout=3000").compact();
+        URL parsed = URLStrParser.parseDecodedStr("dubbo://10.0.0.1:20880/DemoService?application=demo");
+        for (URL compact : new URL[]{url, parsed}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(compact);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                URL read = (URL) in.readObject();
+                Assertions.assertEquals(compact, read);
+                Assertions.assertEquals(compact.toFullString(), read.toFullString());
+                Assertions.assertSame(HashMap.class, read.getParameters().getClass());
+                Assertions.assertEquals(compact.getMethodParameter("sayHello", "timeout", 0),
+                        read.getMethodParameter("sayHello", "timeout", 0));
+            }
+        }
+    }
+}
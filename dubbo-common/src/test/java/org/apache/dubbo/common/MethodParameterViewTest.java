@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MethodParameterViewTest {
+
+    @Test
+    public void testMethodParameters() {
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/DemoService?timeout=1000&retries=1&loadbalance=random"
+                + "&sayHello.timeout=3000&sayHello.retries=0&sayHello.sent=true&sayHello.loadbalance=leastactive"
+                + "&sayHello.actives=5&sayHello.async=true&sayHello.return=false&sayHello.sticky=true");
+
+        MethodParameterView view = url.getMethodParameterView("sayHello");
+        Assertions.assertSame(view, url.getMethodParameterView("sayHello"));
+        Assertions.assertEquals(3000, view.getTimeout(0));
+        Assertions.assertEquals(3000, view.getPositiveTimeout(1));
+        Assertions.assertEquals(0, view.getRetries(2));
+        Assertions.assertEquals(5, view.getActives(0));
+        Assertions.assertEquals(0, view.getExecutes(0));
+        Assertions.assertEquals(100, view.getWeight(100));
+        Assertions.assertTrue(view.isSent(false));
+        Assertions.assertTrue(view.isAsync(false));
+        Assertions.assertFalse(view.isReturn(true));
+        Assertions.assertTrue(view.isSticky(false));
+        Assertions.assertFalse(view.isDeprecated(false));
+        Assertions.assertEquals("leastactive", view.getLoadbalance("roundrobin"));
+
+        // the parameters of the URL
+        view = url.getMethodParameterView("sayGoodbye");
+        Assertions.assertEquals(1000, view.getTimeout(0));
+        Assertions.assertEquals(1, view.getRetries(2));
+        Assertions.assertFalse(view.isSent(false));
+        Assertions.assertEquals("random", view.getLoadbalance("roundrobin"));
+        Assertions.assertSame(url.getMethodParameterView(null), url.getMethodParameterView(null));
+        Assertions.assertEquals(1000, url.getMethodParameterView(null).getTimeout(0));
+    }
+
+    @Test
+    public void testSameAsUrl() {
+        URL url = URL.valueOf("dubbo://127.0.0.1:20880/DemoService?timeout=-1&sayHello.weight=0&sayHello.timeout=abc");
+
+        Assertions.assertEquals(url.getMethodPositiveParameter("sayGoodbye", "timeout", 1000),
+                url.getMethodParameterView("sayGoodbye").getPositiveTimeout(1000));
+        Assertions.assertEquals(url.getMethodParameter("sayHello", "weight", 100),
+                url.getMethodParameterView("sayHello").getWeight(100));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> url.getMethodParameterView("sayHello").getPositiveTimeout(0));
+        Assertions.assertThrows(NumberFormatException.class,
+                () -> url.getMethodParameterView("sayHello").getTimeout(0));
+    }
+}
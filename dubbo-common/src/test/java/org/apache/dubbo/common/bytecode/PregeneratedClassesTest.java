@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.bytecode;
+
+import org.apache.dubbo.common.threadpool.ThreadPool;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PregeneratedClassesTest {
+
+    @Test
+    public void testClassNames() {
+        assertEquals("org.apache.dubbo.common.bytecode.PregeneratedClassesTest$Bean$DubboWrapper",
+                PregeneratedClasses.wrapperClassName(Bean.class));
+        assertEquals("org.apache.dubbo.common.bytecode.PregeneratedClassesTest$Bean$DubboProxy",
+                PregeneratedClasses.proxyClassName(Bean.class));
+        assertEquals("org.apache.dubbo.common.threadpool.ThreadPool$Adaptive",
+                PregeneratedClasses.adaptiveClassName(ThreadPool.class));
+    }
+
+    @Test
+    public void testFind() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertNull(PregeneratedClasses.find(PregeneratedClasses.wrapperClassName(Bean.class), classLoader, Wrapper.class));
+        // not a wrapper
+        assertNull(PregeneratedClasses.find(Bean.class.getName(), classLoader, Wrapper.class));
+        assertSame(Bean.class, PregeneratedClasses.find(Bean.class.getName(), classLoader, Object.class));
+        assertNull(PregeneratedClasses.find(Bean.class.getName(), null, Object.class));
+    }
+
+    @Test
+    public void testWrapperFallback() {
+        // no pre-generated wrapper, generated at runtime
+        Wrapper wrapper = Wrapper.getWrapper(Bean.class);
+        assertEquals("name", wrapper.getPropertyNames()[0]);
+    }
+
+    @Test
+    public void testPregeneratedWrapper() {
+        assertTrue(Wrapper.getWrapper(PregeneratedBean.class) instanceof PregeneratedBean.DubboWrapper);
+    }
+
+    public static class Bean {
+
+        public String name;
+    }
+
+    public static class PregeneratedBean {
+
+        /**
+         * Named PregeneratedBean$DubboWrapper, as the build time generated wrappers
+         */
+        public static class DubboWrapper extends Wrapper {
+
+            @Override
+            public String[] getPropertyNames() {
+                return new String[0];
+            }
+
+            @Override
+            public Class<?> getPropertyType(String pn) {
+                return null;
+            }
+
+            @Override
+            public boolean hasProperty(String name) {
+                return false;
+            }
+
+            @Override
+            public Object getPropertyValue(Object instance, String pn) {
+                throw new NoSuchPropertyException(pn);
+            }
+
+            @Override
+            public void setPropertyValue(Object instance, String pn, Object pv) {
+                throw new NoSuchPropertyException(pn);
+            }
+
+            @Override
+            public String[] getMethodNames() {
+                return new String[0];
+            }
+
+            @Override
+            public String[] getDeclaredMethodNames() {
+                return new String[0];
+            }
+
+            @Override
+            public Object invokeMethod(Object instance, String mn, Class<?>[] types, Object[] args) {
+                throw new NoSuchMethodException(mn);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.extension;
+
+import org.apache.dubbo.common.extension.ext11_index.IndexedExt;
+import org.apache.dubbo.common.extension.ext11_index.impl.IndexedExtImpl1;
+import org.apache.dubbo.common.extension.ext11_index.impl.IndexedExtImpl2;
+import org.apache.dubbo.common.extension.ext11_index.impl.IndexedExtWrapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExtensionIndexTest {
+
+    private static final String CONFIGURATION_FILE = "META-INF/dubbo/internal/" + IndexedExt.class.getName();
+
+    @TempDir
+    Path classesDirectory;
+
+    private ClassLoader contextClassLoader;
+
+    private URLClassLoader indexedClassLoader;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Path file = classesDirectory.resolve(CONFIGURATION_FILE);
+        Files.createDirectories(file.getParent());
+        Files.write(file, Arrays.asList(
+                "# comment",
+                "impl1=" + IndexedExtImpl1.class.getName(),
+                "impl2,second=" + IndexedExtImpl2.class.getName() + " # comment",
+                IndexedExtWrapper.class.getName()), StandardCharsets.UTF_8);
+        // not an extension of Dubbo
+        Files.createDirectories(classesDirectory.resolve("META-INF/services"));
+        Files.write(classesDirectory.resolve("META-INF/services/" + Runnable.class.getName()),
+                Arrays.asList("foo.Bar"), StandardCharsets.UTF_8);
+
+        contextClassLoader = Thread.currentThread().getContextClassLoader();
+        indexedClassLoader = new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+        ExtensionLoader.resetExtensionLoader(IndexedExt.class);
+        indexedClassLoader.close();
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+        String index = new ExtensionIndexGenerator(classesDirectory, indexedClassLoader).generate();
+
+        assertThat(index, containsString("[" + CONFIGURATION_FILE + "]\n"
+                + "impl1=" + IndexedExtImpl1.class.getName() + "\n"
+                + "impl2,second=" + IndexedExtImpl2.class.getName() + "\n"
+                + "+" + IndexedExtWrapper.class.getName() + "\n"));
+        assertFalse(index.contains(Runnable.class.getName()));
+        assertTrue(Files.exists(classesDirectory.resolve(ExtensionIndex.RESOURCE)));
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        new ExtensionIndexGenerator(classesDirectory, indexedClassLoader).generate();
+
+        ExtensionIndex index = ExtensionIndex.getIndex(indexedClassLoader);
+        assertFalse(index.isExclusive());
+        assertTrue(index.isIndexed(indexedClassLoader.getResource(CONFIGURATION_FILE)));
+        assertFalse(index.isIndexed(getClass().getResource("/META-INF/dubbo/internal/" + ExtensionFactory.class.getName())));
+
+        List<ExtensionIndex.Entry> entries = index.getEntries(CONFIGURATION_FILE);
+        assertEquals(3, entries.size());
+        assertFalse(entries.get(0).eager);
+        assertFalse(entries.get(1).eager);
+        assertTrue(entries.get(2).eager);
+        assertEquals(IndexedExtWrapper.class.getName(), entries.get(2).line);
+    }
+
+    @Test
+    public void testLazyLoading() throws Exception {
+        new ExtensionIndexGenerator(classesDirectory, indexedClassLoader).generate();
+        // the configuration file of the indexed directory is not read any more
+        Files.delete(classesDirectory.resolve(CONFIGURATION_FILE));
+        Thread.currentThread().setContextClassLoader(indexedClassLoader);
+
+        ExtensionLoader<IndexedExt> loader = ExtensionLoader.getExtensionLoader(IndexedExt.class);
+        assertThat(loader.getSupportedExtensions(), containsInAnyOrder("impl1", "impl2", "second"));
+        assertTrue(IndexedExt.INITIALIZED.isEmpty());
+
+        assertEquals("wrapper:impl1:x", loader.getDefaultExtension().echo("x"));
+        assertFalse(IndexedExt.INITIALIZED.contains(IndexedExtImpl2.class.getSimpleName()));
+
+        assertEquals("impl2", loader.getExtensionName(IndexedExtImpl2.class));
+        assertTrue(IndexedExt.INITIALIZED.contains(IndexedExtImpl2.class.getSimpleName()));
+        assertEquals("wrapper:impl2:y", loader.getExtension("second").echo("y"));
+        assertTrue(loader.hasExtension("impl2"));
+    }
+}
@@ -421,6 +421,28 @@ public class ExtensionLoaderTest {
         Assertions.assertSame(list.get(1).getClass(), OrderActivateExtImpl2.class);
     }
 
+    @Test
+    public void testCachedActivateExtension() throws Exception {
+        ExtensionLoader<ActivateExt1> loader = getExtensionLoader(ActivateExt1.class);
+        URL url = URL.valueOf("test://localhost/test?foo=bar");
+        List<ActivateExt1> list = loader.getActivateExtension(url, new String[]{}, "value");
+        Assertions.assertTrue(list.isEmpty());
+
+        // the parameter of the activate key, by method
+        list = loader.getActivateExtension(url.addParameter("sayHello.value", "value"), new String[]{}, "value");
+        Assertions.assertEquals(1, list.size());
+        Assertions.assertSame(ValueActivateExtImpl.class, list.get(0).getClass());
+
+        // the other parameters are not taken into account
+        list.clear();
+        list = loader.getActivateExtension(url.addParameter("value", "value").addParameter("foo", "baz"),
+                new String[]{}, "value");
+        Assertions.assertEquals(1, list.size());
+        Assertions.assertSame(list.get(0), loader.getActivateExtension(url.addParameter("value", "value"),
+                new String[]{}, "value").get(0));
+        Assertions.assertTrue(loader.getActivateExtension(url, new String[]{}, "value").isEmpty());
+    }
+
     @Test
     public void testLoadDefaultActivateExtension() throws Exception {
         // test default
@@ -55,6 +55,24 @@ public class InternalThreadLocalTest {
         Thread.sleep(2000);
     }
 
+    @Test
+    public void testGetIfSet() {
+        final InternalThreadLocal<String> internalThreadLocal = new InternalThreadLocal<String>() {
+            @Override
+            protected String initialValue() throws Exception {
+                return "init";
+            }
+        };
+
+        Assertions.assertNull(internalThreadLocal.getIfSet(), "must not initialize the value");
+        Assertions.assertEquals("init", internalThreadLocal.get());
+        Assertions.assertEquals("init", internalThreadLocal.getIfSet());
+        internalThreadLocal.set("value");
+        Assertions.assertEquals("value", internalThreadLocal.getIfSet());
+        internalThreadLocal.remove();
+        Assertions.assertNull(internalThreadLocal.getIfSet());
+    }
+
     @Test
     public void testRemoveAll() throws InterruptedException {
         final InternalThreadLocal<Integer> internalThreadLocal = new InternalThreadLocal<Integer>();
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayMapTest {
+
+    @Test
+    public void testMap() {
+        Map<String, Object> map = new ArrayMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put("path", "DemoService"));
+        assertNull(map.put("version", "1.0.0"));
+        assertNull(map.put(null, "null"));
+        assertEquals("DemoService", map.put("path", "org.apache.dubbo.DemoService"));
+
+        assertEquals(3, map.size());
+        assertEquals("org.apache.dubbo.DemoService", map.get(new String("path")));
+        assertEquals("null", map.get(null));
+        assertTrue(map.containsKey("version"));
+        assertFalse(map.containsKey("group"));
+        assertEquals(Arrays.asList("path", "version", null), new ArrayList<>(map.keySet()));
+
+        Map<String, Object> hashMap = new HashMap<>(map);
+        assertEquals(hashMap, map);
+        assertEquals(map, hashMap);
+        assertEquals(hashMap.hashCode(), map.hashCode());
+
+        assertEquals("1.0.0", map.remove("version"));
+        assertNull(map.remove("version"));
+        assertEquals(Arrays.asList("path", null), new ArrayList<>(map.keySet()));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        Map<String, Object> map = new ArrayMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put("key" + i, i);
+        }
+        Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if ((Integer) entry.getValue() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue("odd");
+            }
+        }
+        assertEquals(2, map.size());
+        assertEquals("odd", map.get("key1"));
+        assertEquals("odd", map.get("key3"));
+
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (String key : map.keySet()) {
+                map.put(key + "x", "x");
+            }
+        });
+    }
+
+    @Test
+    public void testEntryAfterRemove() {
+        Map<String, Object> map = new ArrayMap<>();
+        map.put("path", "DemoService");
+        map.put("version", "1.0.0");
+        map.put("group", "test");
+        List<Map.Entry<String, Object>> entries = new ArrayList<>(map.entrySet());
+
+        map.remove("path");
+        Map.Entry<String, Object> version = entries.get(1);
+        assertEquals("version", version.getKey());
+        assertEquals("1.0.0", version.getValue());
+        assertEquals("1.0.0", version.setValue("2.0.0"));
+        assertEquals("2.0.0", map.get("version"));
+        assertEquals("test", map.get("group"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testOverflow() {
+        Map<String, Object> map = new ArrayMap<>(4);
+        Map<String, Object> expected = new HashMap<>();
+        for (int i = 0; i < ArrayMap.MAX_ARRAY_SIZE * 2; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        assertEquals(expected, map);
+        assertEquals(ArrayMap.MAX_ARRAY_SIZE * 2, map.size());
+        assertEquals(7, map.remove("key7"));
+        assertFalse(map.containsKey("key7"));
+
+        List<String> keys = new ArrayList<>();
+        map.forEach((k, v) -> keys.add(k));
+        assertEquals(ArrayMap.MAX_ARRAY_SIZE * 2 - 1, keys.size());
+    }
+
+    @Test
+    public void testSerializedAsHashMap() throws Exception {
+        Map<String, Object> map = new ArrayMap<>();
+        map.put("path", "DemoService");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object read = in.readObject();
+            assertSame(HashMap.class, read.getClass());
+            assertEquals(map, read);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class InternedStringsTest {
+
+    @Test
+    public void testLongStringsAreNotCached() {
+        InternedStrings strings = new InternedStrings(16, 4);
+        String value = new String("too long");
+        assertSame(value, strings.intern(value));
+        assertNotSame(value, strings.intern(new String("too long")));
+    }
+
+    @Test
+    public void testIntern() {
+        InternedStrings strings = new InternedStrings(16, 64);
+        String key = new String("interface");
+        assertSame(key, strings.intern(key));
+        assertSame(key, strings.intern(new String("interface")));
+        assertEquals(null, strings.intern(null));
+    }
+}
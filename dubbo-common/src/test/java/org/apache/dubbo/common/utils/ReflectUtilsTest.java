@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -41,6 +42,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -371,6 +373,35 @@ public class ReflectUtilsTest {
         }
     }
 
+    @Test
+    public void testFindMethodByMethodSignatureWithEmptyParameterTypes() throws Exception {
+        assertThrows(NoSuchMethodException.class,
+                () -> ReflectUtils.findMethodByMethodSignature(TestedClass.class, "method1", new String[0]));
+        // not mixed up with the lookup by name, nor with the cached miss
+        assertEquals("method1", ReflectUtils.findMethodByMethodSignature(TestedClass.class, "method1", null).getName());
+        assertThrows(NoSuchMethodException.class,
+                () -> ReflectUtils.findMethodByMethodSignature(TestedClass.class, "method1", new String[0]));
+    }
+
+    @Test
+    public void testName2ClassPerClassLoader() throws Exception {
+        CountingClassLoader classLoader = new CountingClassLoader();
+        assertEquals(String.class, ReflectUtils.forName(classLoader, "java.lang.String"));
+        assertEquals(String.class, ReflectUtils.forName(classLoader, "java.lang.String"));
+        assertEquals(1, classLoader.count("java.lang.String"));
+
+        // the classes not found are cached as well
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> ReflectUtils.forName(classLoader, "org.apache.dubbo.NotExisted"));
+        }
+        assertEquals(1, classLoader.count("org.apache.dubbo.NotExisted"));
+
+        // another ClassLoader resolves on its own
+        CountingClassLoader another = new CountingClassLoader();
+        assertEquals(String.class, ReflectUtils.forName(another, "java.lang.String"));
+        assertEquals(1, another.count("java.lang.String"));
+    }
+
     @Test
     public void testGetEmptyObject() throws Exception {
         assertTrue(ReflectUtils.getEmptyObject(Collection.class) instanceof Collection);
@@ -468,6 +499,25 @@ public class ReflectUtilsTest {
     public static class EmptyProperty {
     }
 
+    static class CountingClassLoader extends ClassLoader {
+
+        private final Map<String, Integer> counts = new ConcurrentHashMap<>();
+
+        CountingClassLoader() {
+            super(ReflectUtilsTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            counts.merge(name, 1, Integer::sum);
+            return super.loadClass(name, resolve);
+        }
+
+        int count(String name) {
+            return counts.getOrDefault(name, 0);
+        }
+    }
+
     static class TestedClass {
         public void method1(int x) {
         }
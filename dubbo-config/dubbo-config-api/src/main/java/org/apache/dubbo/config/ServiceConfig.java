@@ -62,6 +62,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -108,7 +110,7 @@ public class ServiceConfig<T> extends ServiceConfigBase<T> {
     /**
      * A random port cache, the different protocols who has no port specified have different random port
      */
-    private static final Map<String, Integer> RANDOM_PORT_MAP = new HashMap<String, Integer>();
+    private static final ConcurrentMap<String, Integer> RANDOM_PORT_MAP = new ConcurrentHashMap<>();
 
     /**
      * A delayed exposure service timer
@@ -654,8 +656,8 @@ public class ServiceConfig<T> extends ServiceConfigBase<T> {
             if (portToBind <= 0) {
                 portToBind = getRandomPort(name);
                 if (portToBind == null || portToBind < 0) {
-                    portToBind = getAvailablePort(defaultPort);
-                    putRandomPort(name, portToBind);
+                    // services may be exported in parallel, they all bind the port of the first one
+                    portToBind = putRandomPort(name, getAvailablePort(defaultPort));
                 }
             }
         }
@@ -703,12 +705,17 @@ public class ServiceConfig<T> extends ServiceConfigBase<T> {
         return RANDOM_PORT_MAP.getOrDefault(protocol, Integer.MIN_VALUE);
     }
 
-    private void putRandomPort(String protocol, Integer port) {
+    /**
+     * @return the random port of the protocol, the given one unless another service picked one before
+     */
+    private Integer putRandomPort(String protocol, Integer port) {
         protocol = protocol.toLowerCase();
-        if (!RANDOM_PORT_MAP.containsKey(protocol)) {
-            RANDOM_PORT_MAP.put(protocol, port);
-            logger.warn("Use random available port(" + port + ") for protocol " + protocol);
+        Integer previous = RANDOM_PORT_MAP.putIfAbsent(protocol, port);
+        if (previous != null) {
+            return previous;
         }
+        logger.warn("Use random available port(" + port + ") for protocol " + protocol);
+        return port;
     }
 
     private void postProcessConfig() {
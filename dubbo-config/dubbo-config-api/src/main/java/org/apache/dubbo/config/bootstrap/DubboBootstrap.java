@@ -25,7 +25,6 @@ import org.apache.dubbo.common.lang.ShutdownHookCallback;
 import org.apache.dubbo.common.lang.ShutdownHookCallbacks;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
-import org.apache.dubbo.common.threadpool.concurrent.ScheduledCompletableFuture;
 import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
 import org.apache.dubbo.common.utils.CollectionUtils;
 import org.apache.dubbo.common.utils.StringUtils;
@@ -40,6 +39,7 @@ import org.apache.dubbo.config.MonitorConfig;
 import org.apache.dubbo.config.ProtocolConfig;
 import org.apache.dubbo.config.ProviderConfig;
 import org.apache.dubbo.config.ReferenceConfig;
+import org.apache.dubbo.config.ReferenceConfigBase;
 import org.apache.dubbo.config.RegistryConfig;
 import org.apache.dubbo.config.ServiceConfig;
 import org.apache.dubbo.config.ServiceConfigBase;
@@ -66,19 +66,20 @@ import org.apache.dubbo.registry.client.DefaultServiceInstance;
 import org.apache.dubbo.registry.client.ServiceDiscovery;
 import org.apache.dubbo.registry.client.ServiceDiscoveryRegistry;
 import org.apache.dubbo.registry.client.ServiceInstance;
+import org.apache.dubbo.registry.integration.RegistryProtocol;
 import org.apache.dubbo.registry.support.AbstractRegistryFactory;
 import org.apache.dubbo.rpc.model.ApplicationModel;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -95,6 +96,9 @@ import static org.apache.dubbo.common.constants.CommonConstants.REGISTRY_SPLIT_P
 import static org.apache.dubbo.common.constants.CommonConstants.REMOTE_METADATA_STORAGE_TYPE;
 import static org.apache.dubbo.common.function.ThrowableAction.execute;
 import static org.apache.dubbo.common.utils.StringUtils.isNotEmpty;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.EXPORT;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.PHASE;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.REFER;
 import static org.apache.dubbo.metadata.WritableMetadataService.getExtension;
 import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils.setMetadataStorageType;
 import static org.apache.dubbo.remoting.Constants.CLIENT_KEY;
@@ -167,12 +171,14 @@ public class DubboBootstrap extends GenericEventListener {
 
     private volatile MetadataServiceExporter metadataServiceExporter;
 
-    private List<ServiceConfigBase<?>> exportedServices = new ArrayList<>();
+    private List<ServiceConfigBase<?>> exportedServices = Collections.synchronizedList(new ArrayList<>());
 
-    private List<Future<?>> asyncExportingFutures = new ArrayList<>();
+    private List<CompletableFuture<?>> asyncExportingFutures = new ArrayList<>();
 
     private List<CompletableFuture<Object>> asyncReferringFutures = new ArrayList<>();
 
+    private final StartupTimeline startupTimeline = new StartupTimeline();
+
     /**
      * See {@link ApplicationModel} and {@link ExtensionLoader} for why DubboBootstrap is designed to be singleton.
      */
@@ -505,17 +511,17 @@ public class DubboBootstrap extends GenericEventListener {
             return;
         }
 
-        ApplicationModel.initFrameworkExts();
+        startupTimeline.record(PHASE, "initFrameworkExts", ApplicationModel::initFrameworkExts);
 
-        startConfigCenter();
+        startupTimeline.record(PHASE, "startConfigCenter", this::startConfigCenter);
 
-        useRegistryAsConfigCenterIfNecessary();
+        startupTimeline.record(PHASE, "useRegistryAsConfigCenter", this::useRegistryAsConfigCenterIfNecessary);
 
-        loadRemoteConfigs();
+        startupTimeline.record(PHASE, "loadRemoteConfigs", this::loadRemoteConfigs);
 
-        checkGlobalConfigs();
+        startupTimeline.record(PHASE, "checkGlobalConfigs", this::checkGlobalConfigs);
 
-        initMetadataService();
+        startupTimeline.record(PHASE, "initMetadataService", this::initMetadataService);
 
         initEventListener();
 
@@ -754,31 +760,48 @@ public class DubboBootstrap extends GenericEventListener {
             if (logger.isInfoEnabled()) {
                 logger.info(NAME + " is starting...");
             }
-            // 1. export Dubbo Services
-            exportServices();
-
-            // Not only provider register
-            if (!isOnlyRegisterProvider() || hasExportedServices()) {
-                // 2. export MetadataService
-                exportMetadataService();
-                //3. Register the local ServiceInstance if required
-                registerServiceInstance();
+            // 1. export Dubbo Services, which are registered together once all of them are exported
+            RegistryProtocol.batchRegistrations();
+            try {
+                startupTimeline.record(PHASE, "exportServices", this::exportServices);
+            } catch (RuntimeException e) {
+                RegistryProtocol.registerBatched();
+                throw e;
+            }
+
+            // the services exported in parallel are published once all of them are exported
+            boolean exporting = !asyncExportingFutures.isEmpty();
+            if (!exporting) {
+                startupTimeline.record(PHASE, "registerServices", RegistryProtocol::registerBatched);
+                exportMetadataServiceAndRegisterServiceInstance();
             }
 
-            referServices();
-            if (asyncExportingFutures.size() > 0) {
+            startupTimeline.record(PHASE, "referServices", this::referServices);
+            if (exporting || !asyncReferringFutures.isEmpty()) {
                 new Thread(() -> {
                     try {
                         this.awaitFinish();
                     } catch (Exception e) {
-                        logger.warn(NAME + " exportAsync occurred an exception.");
+                        logger.warn(NAME + " exportAsync occurred an exception.", e);
                     }
+                    if (exporting) {
+                        try {
+                            startupTimeline.record(PHASE, "registerServices", RegistryProtocol::registerBatched);
+                        } catch (Exception e) {
+                            logger.error(NAME + " failed to register the services.", e);
+                        }
+                    }
+                    if (exporting && !destroyed.get()) {
+                        exportMetadataServiceAndRegisterServiceInstance();
+                    }
+                    startupTimeline.begin(PHASE, "ready").end();
                     ready.set(true);
                     if (logger.isInfoEnabled()) {
                         logger.info(NAME + " is ready.");
                     }
                 }).start();
             } else {
+                startupTimeline.begin(PHASE, "ready").end();
                 ready.set(true);
                 if (logger.isInfoEnabled()) {
                     logger.info(NAME + " is ready.");
@@ -791,6 +814,16 @@ public class DubboBootstrap extends GenericEventListener {
         return this;
     }
 
+    private void exportMetadataServiceAndRegisterServiceInstance() {
+        // Not only provider register
+        if (!isOnlyRegisterProvider() || hasExportedServices()) {
+            // 2. export MetadataService
+            startupTimeline.record(PHASE, "exportMetadataService", this::exportMetadataService);
+            //3. Register the local ServiceInstance if required
+            startupTimeline.record(PHASE, "registerServiceInstance", this::registerServiceInstance);
+        }
+    }
+
     private boolean hasExportedServices() {
         return !metadataService.getExportedURLs().isEmpty();
     }
@@ -824,11 +857,11 @@ public class DubboBootstrap extends GenericEventListener {
     public DubboBootstrap awaitFinish() throws Exception {
         logger.info(NAME + " waiting services exporting / referring ...");
         if (exportAsync && asyncExportingFutures.size() > 0) {
-            CompletableFuture future = CompletableFuture.allOf(asyncExportingFutures.toArray(new CompletableFuture[0]));
+            CompletableFuture<Void> future = CompletableFuture.allOf(asyncExportingFutures.toArray(new CompletableFuture[0]));
             future.get();
         }
         if (referAsync && asyncReferringFutures.size() > 0) {
-            CompletableFuture future = CompletableFuture.allOf(asyncReferringFutures.toArray(new CompletableFuture[0]));
+            CompletableFuture<Void> future = CompletableFuture.allOf(asyncReferringFutures.toArray(new CompletableFuture[0]));
             future.get();
         }
 
@@ -848,6 +881,14 @@ public class DubboBootstrap extends GenericEventListener {
         return ready.get();
     }
 
+    /**
+     * @return the timeline of the phases of the startup, and of each service export and refer
+     * @since 2.7.8
+     */
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
     public DubboBootstrap stop() throws IllegalStateException {
         destroy();
         return this;
@@ -942,14 +983,16 @@ public class DubboBootstrap extends GenericEventListener {
             serviceConfig.setBootstrap(this);
 
             if (exportAsync) {
-                ExecutorService executor = executorRepository.getServiceExporterExecutor();
-                Future<?> future = executor.submit(() -> {
-                    sc.export();
+                // the services are exported by up to ProviderConfig#getExportThreadNum() threads, overlapping their
+                // port binding, proxy generation, metadata publication and registration
+                ExecutorService executor = executorRepository.getServiceExportExecutor();
+                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+                    startupTimeline.record(EXPORT, sc.getUniqueServiceName(), sc::export);
                     exportedServices.add(sc);
-                });
+                }, executor);
                 asyncExportingFutures.add(future);
             } else {
-                sc.export();
+                startupTimeline.record(EXPORT, sc.getUniqueServiceName(), sc::export);
                 exportedServices.add(sc);
             }
         });
@@ -982,18 +1025,30 @@ public class DubboBootstrap extends GenericEventListener {
 
             if (rc.shouldInit()) {
                 if (referAsync) {
-                    CompletableFuture<Object> future = ScheduledCompletableFuture.submit(
-                            executorRepository.getServiceExporterExecutor(),
-                            () -> cache.get(rc)
+                    CompletableFuture<Object> future = CompletableFuture.supplyAsync(
+                            () -> refer(rc),
+                            executorRepository.getServiceReferExecutor()
                     );
                     asyncReferringFutures.add(future);
                 } else {
-                    cache.get(rc);
+                    refer(rc);
                 }
             }
         });
     }
 
+    private Object refer(ReferenceConfigBase<?> rc) {
+        StartupTimeline.Step step = startupTimeline.begin(REFER, rc.getUniqueServiceName());
+        boolean success = false;
+        try {
+            Object proxy = cache.get(rc);
+            success = true;
+            return proxy;
+        } finally {
+            step.end(success);
+        }
+    }
+
     private void unreferServices() {
         if (cache == null) {
             cache = ReferenceConfigCache.getCache();
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.config.bootstrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timeline of the startup of {@link DubboBootstrap}: the duration of each phase and of each service export and
+ * refer, in the order they were started. The steps of the services exported or referred asynchronously overlap.
+ *
+ * @since 2.7.8
+ */
+public class StartupTimeline {
+
+    public static final String PHASE = "phase";
+
+    public static final String EXPORT = "export";
+
+    public static final String REFER = "refer";
+
+    private final long startTimestamp = System.currentTimeMillis();
+
+    private final long origin = System.nanoTime();
+
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Starts a step, which must be ended by {@link Step#end()}.
+     *
+     * @param category {@link #PHASE}, {@link #EXPORT} or {@link #REFER}
+     * @param name     the name of the phase, or the unique name of the service
+     * @return the started step
+     */
+    public Step begin(String category, String name) {
+        Step step = new Step(category, name, Thread.currentThread().getName(), System.nanoTime(), origin);
+        synchronized (steps) {
+            steps.add(step);
+        }
+        return step;
+    }
+
+    /**
+     * Records the execution of the action as a step, also when it fails.
+     */
+    public void record(String category, String name, Runnable action) {
+        Step step = begin(category, name);
+        boolean success = false;
+        try {
+            action.run();
+            success = true;
+        } finally {
+            step.end(success);
+        }
+    }
+
+    /**
+     * @return the epoch millis the timeline started at, the offsets of the steps are relative to it
+     */
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    /**
+     * @return a copy of the steps, in the order they were started
+     */
+    public List<Step> getSteps() {
+        synchronized (steps) {
+            return new ArrayList<>(steps);
+        }
+    }
+
+    public static class Step {
+
+        private final String category;
+
+        private final String name;
+
+        private final String thread;
+
+        private final long startNanos;
+
+        private final long offsetNanos;
+
+        private volatile long durationNanos = -1;
+
+        private volatile boolean success;
+
+        Step(String category, String name, String thread, long startNanos, long origin) {
+            this.category = category;
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.offsetNanos = startNanos - origin;
+        }
+
+        public void end() {
+            end(true);
+        }
+
+        void end(boolean success) {
+            this.success = success;
+            this.durationNanos = System.nanoTime() - startNanos;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * @return the millis since the start of the timeline
+         */
+        public long getStart() {
+            return TimeUnit.NANOSECONDS.toMillis(offsetNanos);
+        }
+
+        /**
+         * @return the duration in millis, or -1 if the step has not ended yet
+         */
+        public long getDuration() {
+            long duration = durationNanos;
+            return duration < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(duration);
+        }
+
+        public boolean isEnded() {
+            return durationNanos >= 0;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+    }
+}
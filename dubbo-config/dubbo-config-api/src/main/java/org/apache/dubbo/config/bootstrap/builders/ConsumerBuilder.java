@@ -61,6 +61,11 @@ public class ConsumerBuilder extends AbstractReferenceBuilder<ConsumerConfig, Co
      */
     private Integer shareconnections;
 
+    /**
+     * Thread num of the references initialized in parallel
+     */
+    private Integer referThreadNum;
+
     public ConsumerBuilder isDefault(Boolean isDefault) {
         this.isDefault = isDefault;
         return getThis();
@@ -96,6 +101,11 @@ public class ConsumerBuilder extends AbstractReferenceBuilder<ConsumerConfig, Co
         return getThis();
     }
 
+    public ConsumerBuilder referThreadNum(Integer referThreadNum) {
+        this.referThreadNum = referThreadNum;
+        return getThis();
+    }
+
     public ConsumerConfig build() {
         ConsumerConfig consumer = new ConsumerConfig();
         super.build(consumer);
@@ -107,6 +117,7 @@ public class ConsumerBuilder extends AbstractReferenceBuilder<ConsumerConfig, Co
         consumer.setThreads(threads);
         consumer.setQueues(queues);
         consumer.setShareconnections(shareconnections);
+        consumer.setReferThreadNum(referThreadNum);
 
         return consumer;
     }
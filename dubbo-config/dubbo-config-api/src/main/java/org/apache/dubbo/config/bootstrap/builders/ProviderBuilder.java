@@ -140,6 +140,11 @@ public class ProviderBuilder extends AbstractServiceBuilder<ProviderConfig, Prov
      */
     private Boolean isDefault;
 
+    /**
+     * Thread num of the services exported in parallel
+     */
+    private Integer exportThreadNum;
+
     public ProviderBuilder host(String host) {
         this.host = host;
         return getThis();
@@ -255,6 +260,11 @@ public class ProviderBuilder extends AbstractServiceBuilder<ProviderConfig, Prov
         return getThis();
     }
 
+    public ProviderBuilder exportThreadNum(Integer exportThreadNum) {
+        this.exportThreadNum = exportThreadNum;
+        return getThis();
+    }
+
     public ProviderConfig build() {
         ProviderConfig provider = new ProviderConfig();
         super.build(provider);
@@ -282,6 +292,7 @@ public class ProviderBuilder extends AbstractServiceBuilder<ProviderConfig, Prov
         provider.setStatus(status);
         provider.setWait(wait);
         provider.setDefault(isDefault);
+        provider.setExportThreadNum(exportThreadNum);
 
         return provider;
     }
@@ -78,4 +78,11 @@ public class ConsumerConfigTest {
         consumer.setQueues(5);
         assertThat(consumer.getQueues(), equalTo(5));
     }
+
+    @Test
+    public void testReferThreadNum() throws Exception {
+        ConsumerConfig consumer = new ConsumerConfig();
+        consumer.setReferThreadNum(20);
+        assertThat(consumer.getReferThreadNum(), equalTo(20));
+    }
 }
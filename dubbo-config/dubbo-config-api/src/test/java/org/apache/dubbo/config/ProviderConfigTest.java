@@ -216,4 +216,14 @@ public class ProviderConfigTest {
         provider.setWait(10);
         assertThat(provider.getWait(), equalTo(10));
     }
+
+    @Test
+    public void testExportThreadNum() throws Exception {
+        ProviderConfig provider = new ProviderConfig();
+        provider.setExportThreadNum(20);
+        Map<String, String> parameters = new HashMap<String, String>();
+        ProviderConfig.appendParameters(parameters, provider);
+        assertThat(provider.getExportThreadNum(), equalTo(20));
+        assertThat(parameters, not(hasKey("export-thread-num")));
+    }
 }
@@ -18,6 +18,8 @@
 package org.apache.dubbo.config;
 
 import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.threadpool.manager.ExecutorRepository;
 import org.apache.dubbo.config.api.DemoService;
 import org.apache.dubbo.config.api.Greeting;
 import org.apache.dubbo.config.mock.MockProtocol2;
@@ -37,7 +39,12 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.apache.dubbo.common.constants.CommonConstants.ANYHOST_KEY;
@@ -261,4 +268,42 @@ public class ServiceConfigTest {
         Assertions.assertNotNull(service.toUrl().getParameter(APPLICATION_KEY));
         Assertions.assertEquals("app", service.toUrl().getParameter(APPLICATION_KEY));
     }
+
+    @Test
+    public void testParallelExportSharesRandomPort() throws Exception {
+        // the mocked protocol has no default port, every service asks for a random one
+        ExecutorService executor = ExtensionLoader.getExtensionLoader(ExecutorRepository.class)
+                .getDefaultExtension().getServiceExportExecutor();
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<ServiceConfig<DemoServiceImpl>> services = new ArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ServiceConfig<DemoServiceImpl> parallelService = new ServiceConfig<DemoServiceImpl>();
+            parallelService.setProvider(service.getProvider());
+            parallelService.setApplication(service.getApplication());
+            parallelService.setRegistry(service.getRegistry());
+            parallelService.setInterface(DemoService.class);
+            parallelService.setRef(new DemoServiceImpl());
+            parallelService.setGroup("parallel" + i);
+            services.add(parallelService);
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                parallelService.export();
+            }, executor));
+        }
+        startGate.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        String bindPort = services.get(0).toUrl().getParameter(BIND_PORT_KEY);
+        Assertions.assertNotNull(bindPort);
+        for (ServiceConfig<DemoServiceImpl> parallelService : services) {
+            assertThat(parallelService.getExportedUrls(), hasSize(1));
+            assertEquals(bindPort, parallelService.toUrl().getParameter(BIND_PORT_KEY));
+            parallelService.unexport();
+        }
+    }
 }
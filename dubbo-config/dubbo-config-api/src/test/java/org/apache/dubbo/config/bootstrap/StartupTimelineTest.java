@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.config.bootstrap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.EXPORT;
+import static org.apache.dubbo.config.bootstrap.StartupTimeline.PHASE;
+
+/**
+ * {@link StartupTimeline} Test
+ *
+ * @since 2.7.8
+ */
+public class StartupTimelineTest {
+
+    @Test
+    public void testRecord() throws Exception {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.record(PHASE, "initFrameworkExts", () -> sleep(20));
+        Assertions.assertThrows(IllegalStateException.class, () -> timeline.record(EXPORT, "demo/DemoService:1.0.0", () -> {
+            throw new IllegalStateException("bind failed");
+        }));
+        StartupTimeline.Step pending = timeline.begin(PHASE, "referServices");
+
+        List<StartupTimeline.Step> steps = timeline.getSteps();
+        Assertions.assertEquals(3, steps.size());
+
+        StartupTimeline.Step first = steps.get(0);
+        Assertions.assertEquals(PHASE, first.getCategory());
+        Assertions.assertEquals("initFrameworkExts", first.getName());
+        Assertions.assertEquals(Thread.currentThread().getName(), first.getThread());
+        Assertions.assertTrue(first.isEnded());
+        Assertions.assertTrue(first.isSuccess());
+        Assertions.assertTrue(first.getDuration() >= 20);
+
+        StartupTimeline.Step failed = steps.get(1);
+        Assertions.assertEquals(EXPORT, failed.getCategory());
+        Assertions.assertTrue(failed.isEnded());
+        Assertions.assertFalse(failed.isSuccess());
+        Assertions.assertTrue(failed.getStart() >= first.getStart() + first.getDuration());
+
+        Assertions.assertSame(pending, steps.get(2));
+        Assertions.assertFalse(pending.isEnded());
+        Assertions.assertEquals(-1, pending.getDuration());
+        pending.end();
+        Assertions.assertTrue(pending.isEnded());
+        Assertions.assertTrue(pending.isSuccess());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
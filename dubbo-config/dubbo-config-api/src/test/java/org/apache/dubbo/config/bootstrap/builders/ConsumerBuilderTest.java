@@ -72,6 +72,13 @@ class ConsumerBuilderTest {
         Assertions.assertEquals(300, builder.build().getShareconnections());
     }
 
+    @Test
+    void referThreadNum() {
+        ConsumerBuilder builder = new ConsumerBuilder();
+        builder.referThreadNum(20);
+        Assertions.assertEquals(20, builder.build().getReferThreadNum());
+    }
+
     @Test
     void build() {
         ConsumerBuilder builder = new ConsumerBuilder();
@@ -184,6 +184,13 @@ class ProviderBuilderTest {
         Assertions.assertTrue(builder.build().isDefault());
     }
 
+    @Test
+    void exportThreadNum() {
+        ProviderBuilder builder = new ProviderBuilder();
+        builder.exportThreadNum(20);
+        Assertions.assertEquals(20, builder.build().getExportThreadNum());
+    }
+
     @Test
     void build() {
         ProviderBuilder builder = new ProviderBuilder();
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static javax.lang.model.util.ElementFilter.fieldsIn;
+import static javax.lang.model.util.ElementFilter.methodsIn;
+
+/**
+ * Base of the generators of the Java sources of the classes otherwise generated at runtime by javassist.
+ * <p>
+ * The generators work on the same members as the runtime generators, {@link Class#getMethods()} and
+ * {@link Class#getFields()}, and refuse the types they can not reproduce exactly (generic hierarchies whose bridge
+ * methods are not visible here, private types), which are then left to the runtime generation.
+ *
+ * @since 2.7.8
+ */
+public abstract class AbstractSourceGenerator {
+
+    protected final ProcessingEnvironment processingEnv;
+
+    protected final Elements elements;
+
+    protected final Types types;
+
+    protected AbstractSourceGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    /**
+     * The binary name of the type, as returned by {@link Class#getName()}
+     */
+    protected String binaryName(TypeElement type) {
+        return elements.getBinaryName(type).toString();
+    }
+
+    protected String packageName(TypeElement type) {
+        return elements.getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * The simple name of a top level class generated next to the given type and named after its binary name
+     */
+    protected String generatedSimpleName(TypeElement type, String suffix) {
+        String packageName = packageName(type);
+        String binaryName = binaryName(type);
+        return (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + suffix;
+    }
+
+    /**
+     * The source name of the erasure of the type, as returned by {@link Class#getCanonicalName()}
+     */
+    protected String erasure(TypeMirror type) {
+        return types.erasure(type).toString();
+    }
+
+    protected String classLiteral(TypeMirror type) {
+        return erasure(type) + ".class";
+    }
+
+    /**
+     * The name of the type as returned by {@link Class#getName()}, used in the runtime parameter type checks
+     */
+    protected String runtimeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        switch (erased.getKind()) {
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) erased).getComponentType());
+            case DECLARED:
+                return binaryName((TypeElement) ((DeclaredType) erased).asElement());
+            default:
+                return erased.toString();
+        }
+    }
+
+    private String descriptor(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case DOUBLE:
+                return "D";
+            case FLOAT:
+                return "F";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case SHORT:
+                return "S";
+            case ARRAY:
+                return "[" + descriptor(((ArrayType) type).getComponentType());
+            default:
+                return "L" + runtimeName(type) + ";";
+        }
+    }
+
+    /**
+     * The public methods of the type and of its super types, like {@link Class#getMethods()}, except the ones
+     * declared by {@link Object}
+     */
+    protected List<ExecutableElement> publicMethods(TypeElement type) {
+        return methodsIn(elements.getAllMembers(type)).stream()
+                .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+                .filter(method -> !isObjectMember(method))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The public fields of the type and of its super types, like {@link Class#getFields()}
+     */
+    protected List<VariableElement> publicFields(TypeElement type) {
+        return fieldsIn(elements.getAllMembers(type)).stream()
+                .filter(field -> field.getModifiers().contains(Modifier.PUBLIC))
+                .collect(Collectors.toList());
+    }
+
+    protected boolean isObjectMember(Element member) {
+        Element owner = member.getEnclosingElement();
+        return owner instanceof TypeElement
+                && Object.class.getName().equals(((TypeElement) owner).getQualifiedName().toString());
+    }
+
+    protected boolean isDeclaredBy(ExecutableElement method, TypeElement type) {
+        return type.equals(method.getEnclosingElement());
+    }
+
+    /**
+     * Whether a source generated in the package of the type can reference it and all of its generic free
+     * hierarchy, see {@link AbstractSourceGenerator}
+     */
+    protected boolean isSupported(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.INTERFACE) {
+            return false;
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            NestingKind nesting = ((TypeElement) element).getNestingKind();
+            if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return !isGeneric(type.asType());
+    }
+
+    private boolean isGeneric(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        if (!declaredType.getTypeArguments().isEmpty()) {
+            return true;
+        }
+        for (TypeMirror superType : types.directSupertypes(declaredType)) {
+            if (isGeneric(superType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.bytecode.PregeneratedClasses;
+import org.apache.dubbo.common.extension.Adaptive;
+import org.apache.dubbo.common.extension.AdaptiveClassCodeGenerator;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.extension.SPI;
+import org.apache.dubbo.common.utils.StringUtils;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the source of the adaptive extension of an SPI, the same source {@link AdaptiveClassCodeGenerator}
+ * generates at runtime, from the element of the SPI instead of its class.
+ *
+ * @since 2.7.8
+ */
+public class AdaptiveSourceGenerator extends AbstractSourceGenerator {
+
+    private static final String CLASSNAME_INVOCATION = "org.apache.dubbo.rpc.Invocation";
+
+    private static final String CODE_PACKAGE = "package %s;\n";
+
+    private static final String CODE_IMPORTS = "import %s;\n";
+
+    private static final String CODE_CLASS_DECLARATION = "public class %s$Adaptive implements %s {\n";
+
+    private static final String CODE_METHOD_DECLARATION = "public %s %s(%s) %s {\n%s}\n";
+
+    private static final String CODE_METHOD_ARGUMENT = "%s arg%d";
+
+    private static final String CODE_METHOD_THROWS = "throws %s";
+
+    private static final String CODE_UNSUPPORTED = "throw new UnsupportedOperationException(\"The method %s of interface %s is not adaptive method!\");\n";
+
+    private static final String CODE_URL_NULL_CHECK = "if (arg%d == null) throw new IllegalArgumentException(\"url == null\");\n%s url = arg%d;\n";
+
+    private static final String CODE_EXT_NAME_ASSIGNMENT = "String extName = %s;\n";
+
+    private static final String CODE_EXT_NAME_NULL_CHECK = "if(extName == null) "
+            + "throw new IllegalStateException(\"Failed to get extension (%s) name from url (\" + url.toString() + \") use keys(%s)\");\n";
+
+    private static final String CODE_INVOCATION_ARGUMENT_NULL_CHECK = "if (arg%d == null) throw new IllegalArgumentException(\"invocation == null\"); "
+            + "String methodName = arg%d.getMethodName();\n";
+
+    private static final String CODE_EXTENSION_ASSIGNMENT = "%s extension = (%<s)%s.getExtensionLoader(%s.class).getExtension(extName);\n";
+
+    private static final String CODE_EXTENSION_METHOD_INVOKE_ARGUMENT = "arg%d";
+
+    public AdaptiveSourceGenerator(ProcessingEnvironment processingEnv) {
+        super(processingEnv);
+    }
+
+    public String getClassName(TypeElement type) {
+        return packageName(type) + "." + type.getSimpleName() + PregeneratedClasses.ADAPTIVE_SUFFIX;
+    }
+
+    /**
+     * @return the source of the adaptive extension, or null if the type is not an SPI with adaptive methods
+     */
+    public String generate(TypeElement type) {
+        SPI spi = type.getAnnotation(SPI.class);
+        if (spi == null || type.getKind() != ElementKind.INTERFACE || !isSupported(type)
+                || packageName(type).isEmpty()) {
+            return null;
+        }
+        List<ExecutableElement> methods = publicMethods(type);
+        if (methods.stream().noneMatch(method -> method.getAnnotation(Adaptive.class) != null)) {
+            return null;
+        }
+        String defaultExtName = spi.value().trim();
+        if (defaultExtName.isEmpty()) {
+            defaultExtName = null;
+        } else if (defaultExtName.contains(",")) {
+            // ExtensionLoader refuses it
+            return null;
+        }
+
+        try {
+            StringBuilder code = new StringBuilder();
+            code.append(String.format(CODE_PACKAGE, packageName(type)));
+            code.append(String.format(CODE_IMPORTS, ExtensionLoader.class.getName()));
+            code.append(String.format(CODE_CLASS_DECLARATION, type.getSimpleName(), erasure(type.asType())));
+            for (ExecutableElement method : methods) {
+                code.append(generateMethod(type, defaultExtName, method));
+            }
+            code.append("}");
+            return code.toString();
+        } catch (IllegalStateException e) {
+            // the runtime generation fails the same way, let it report the error
+            return null;
+        }
+    }
+
+    private String generateMethod(TypeElement type, String defaultExtName, ExecutableElement method) {
+        String methodReturnType = erasure(method.getReturnType());
+        String methodName = method.getSimpleName().toString();
+        String methodContent = generateMethodContent(type, defaultExtName, method);
+        List<? extends VariableElement> pts = method.getParameters();
+        String methodArgs = IntStream.range(0, pts.size())
+                .mapToObj(i -> String.format(CODE_METHOD_ARGUMENT, erasure(pts.get(i).asType()), i))
+                .collect(Collectors.joining(", "));
+        String methodThrows = method.getThrownTypes().isEmpty() ? "" : String.format(CODE_METHOD_THROWS,
+                method.getThrownTypes().stream().map(this::erasure).collect(Collectors.joining(", ")));
+        return String.format(CODE_METHOD_DECLARATION, methodReturnType, methodName, methodArgs, methodThrows, methodContent);
+    }
+
+    private String generateMethodContent(TypeElement type, String defaultExtName, ExecutableElement method) {
+        Adaptive adaptiveAnnotation = method.getAnnotation(Adaptive.class);
+        if (adaptiveAnnotation == null) {
+            return String.format(CODE_UNSUPPORTED, methodToString(method), binaryName(type));
+        }
+        StringBuilder code = new StringBuilder(512);
+        int urlTypeIndex = getUrlTypeIndex(method);
+        if (urlTypeIndex != -1) {
+            code.append(String.format(CODE_URL_NULL_CHECK, urlTypeIndex, URL.class.getName(), urlTypeIndex));
+        } else {
+            code.append(generateUrlAssignmentIndirectly(type, method));
+        }
+
+        String[] value = adaptiveAnnotation.value();
+        if (value.length == 0) {
+            value = new String[]{StringUtils.camelToSplitName(type.getSimpleName().toString(), ".")};
+        }
+
+        boolean hasInvocation = false;
+        List<? extends VariableElement> pts = method.getParameters();
+        for (int i = 0; i < pts.size(); i++) {
+            if (CLASSNAME_INVOCATION.equals(runtimeName(pts.get(i).asType()))) {
+                if (!hasInvocation) {
+                    code.append(String.format(CODE_INVOCATION_ARGUMENT_NULL_CHECK, i, i));
+                }
+                hasInvocation = true;
+            }
+        }
+
+        code.append(generateExtNameAssignment(value, hasInvocation, defaultExtName));
+        code.append(String.format(CODE_EXT_NAME_NULL_CHECK, binaryName(type), Arrays.toString(value)));
+        code.append(String.format(CODE_EXTENSION_ASSIGNMENT, binaryName(type), ExtensionLoader.class.getSimpleName(),
+                binaryName(type)));
+
+        String returnStatement = method.getReturnType().getKind() == TypeKind.VOID ? "" : "return ";
+        String args = IntStream.range(0, pts.size())
+                .mapToObj(i -> String.format(CODE_EXTENSION_METHOD_INVOKE_ARGUMENT, i))
+                .collect(Collectors.joining(", "));
+        code.append(returnStatement).append(String.format("extension.%s(%s);\n", method.getSimpleName(), args));
+        return code.toString();
+    }
+
+    private int getUrlTypeIndex(ExecutableElement method) {
+        List<? extends VariableElement> pts = method.getParameters();
+        for (int i = 0; i < pts.size(); ++i) {
+            if (URL.class.getName().equals(runtimeName(pts.get(i).asType()))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy of AdaptiveClassCodeGenerator#generateExtNameAssignment
+     */
+    private String generateExtNameAssignment(String[] value, boolean hasInvocation, String defaultExtName) {
+        String getNameCode = null;
+        for (int i = value.length - 1; i >= 0; --i) {
+            if (i == value.length - 1) {
+                if (null != defaultExtName) {
+                    if (!"protocol".equals(value[i])) {
+                        if (hasInvocation) {
+                            getNameCode = String.format("url.getMethodParameter(methodName, \"%s\", \"%s\")", value[i], defaultExtName);
+                        } else {
+                            getNameCode = String.format("url.getParameter(\"%s\", \"%s\")", value[i], defaultExtName);
+                        }
+                    } else {
+                        getNameCode = String.format("( url.getProtocol() == null ? \"%s\" : url.getProtocol() )", defaultExtName);
+                    }
+                } else {
+                    if (!"protocol".equals(value[i])) {
+                        if (hasInvocation) {
+                            getNameCode = String.format("url.getMethodParameter(methodName, \"%s\", \"%s\")", value[i], defaultExtName);
+                        } else {
+                            getNameCode = String.format("url.getParameter(\"%s\")", value[i]);
+                        }
+                    } else {
+                        getNameCode = "url.getProtocol()";
+                    }
+                }
+            } else {
+                if (!"protocol".equals(value[i])) {
+                    if (hasInvocation) {
+                        getNameCode = String.format("url.getMethodParameter(methodName, \"%s\", \"%s\")", value[i], defaultExtName);
+                    } else {
+                        getNameCode = String.format("url.getParameter(\"%s\", %s)", value[i], getNameCode);
+                    }
+                } else {
+                    getNameCode = String.format("url.getProtocol() == null ? (%s) : url.getProtocol()", getNameCode);
+                }
+            }
+        }
+        return String.format(CODE_EXT_NAME_ASSIGNMENT, getNameCode);
+    }
+
+    private String generateUrlAssignmentIndirectly(TypeElement type, ExecutableElement method) {
+        List<? extends VariableElement> pts = method.getParameters();
+        Map<String, Integer> getterReturnUrl = new HashMap<>();
+        for (int i = 0; i < pts.size(); ++i) {
+            TypeMirror parameterType = pts.get(i).asType();
+            if (parameterType.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            for (ExecutableElement m : publicMethods((TypeElement) ((DeclaredType) parameterType).asElement())) {
+                String name = m.getSimpleName().toString();
+                if ((name.startsWith("get") || name.length() > 3)
+                        && !m.getModifiers().contains(Modifier.STATIC)
+                        && m.getParameters().isEmpty()
+                        && URL.class.getName().equals(runtimeName(m.getReturnType()))) {
+                    getterReturnUrl.put(name, i);
+                }
+            }
+        }
+        if (getterReturnUrl.isEmpty()) {
+            throw new IllegalStateException("Failed to create adaptive class for interface " + binaryName(type)
+                    + ": not found url parameter or url attribute in parameters of method " + method.getSimpleName());
+        }
+        Integer index = getterReturnUrl.get("getUrl");
+        String getter = "getUrl";
+        if (index == null) {
+            Map.Entry<String, Integer> entry = getterReturnUrl.entrySet().iterator().next();
+            index = entry.getValue();
+            getter = entry.getKey();
+        }
+        String parameterType = runtimeName(pts.get(index).asType());
+        return String.format("if (arg%d == null) throw new IllegalArgumentException(\"%s argument == null\");\n",
+                index, parameterType)
+                + String.format("if (arg%d.%s() == null) throw new IllegalArgumentException(\"%s argument %s() == null\");\n",
+                index, getter, parameterType, getter)
+                + String.format("%s url = arg%d.%s();\n", URL.class.getName(), index, getter);
+    }
+
+    /**
+     * The same string as {@link java.lang.reflect.Method#toString()}
+     */
+    private String methodToString(ExecutableElement method) {
+        StringBuilder sb = new StringBuilder();
+        boolean isDefault = method.getModifiers().contains(Modifier.DEFAULT);
+        sb.append("public ");
+        if (isDefault) {
+            sb.append("default ");
+        } else if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+            sb.append("abstract ");
+        }
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            sb.append("static ");
+        }
+        sb.append(typeName(method.getReturnType())).append(' ')
+                .append(binaryName((TypeElement) method.getEnclosingElement())).append('.')
+                .append(method.getSimpleName()).append('(')
+                .append(method.getParameters().stream().map(p -> typeName(p.asType())).collect(Collectors.joining(",")))
+                .append(')');
+        if (!method.getThrownTypes().isEmpty()) {
+            sb.append(" throws ").append(method.getThrownTypes().stream().map(this::typeName).collect(Collectors.joining(",")));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The same string as {@link Class#getTypeName()}
+     */
+    private String typeName(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return typeName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        return runtimeName(erased);
+    }
+}
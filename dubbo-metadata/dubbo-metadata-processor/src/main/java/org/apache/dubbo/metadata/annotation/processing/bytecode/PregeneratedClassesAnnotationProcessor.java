@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.common.bytecode.PregeneratedClasses;
+import org.apache.dubbo.common.extension.SPI;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableSet;
+import static javax.lang.model.util.ElementFilter.typesIn;
+import static org.apache.dubbo.common.constants.CommonConstants.COMMA_SPLIT_PATTERN;
+import static org.apache.dubbo.metadata.annotation.processing.util.LoggerUtils.info;
+import static org.apache.dubbo.metadata.annotation.processing.util.LoggerUtils.warn;
+import static org.apache.dubbo.metadata.annotation.processing.util.ServiceAnnotationUtils.LEGACY_SERVICE_ANNOTATION_TYPE;
+import static org.apache.dubbo.metadata.annotation.processing.util.ServiceAnnotationUtils.SERVICE_ANNOTATION_TYPE;
+import static org.apache.dubbo.metadata.annotation.processing.util.ServiceAnnotationUtils.resolveServiceInterfaceName;
+
+/**
+ * The {@link Processor} generating at build time the classes Dubbo otherwise generates with javassist at startup,
+ * see {@link PregeneratedClasses}:
+ * <ul>
+ * <li>the wrappers of the classes annotated by Dubbo's @Service and of their service interfaces</li>
+ * <li>the consumer proxies of the interfaces referenced by Dubbo's @Reference</li>
+ * <li>the adaptive extensions of the interfaces annotated by {@link SPI}</li>
+ * </ul>
+ * More classes, e.g. the SPIs of Dubbo itself, can be listed with the options {@value #WRAPPERS_OPTION},
+ * {@value #PROXIES_OPTION} and {@value #ADAPTIVES_OPTION}; {@value #ENABLED_OPTION}=false turns the generation off.
+ *
+ * @see Processor
+ * @since 2.7.8
+ */
+public class PregeneratedClassesAnnotationProcessor extends AbstractProcessor {
+
+    public static final String ENABLED_OPTION = "dubbo.pregenerate";
+
+    public static final String WRAPPERS_OPTION = "dubbo.pregenerate.wrappers";
+
+    public static final String PROXIES_OPTION = "dubbo.pregenerate.proxies";
+
+    public static final String ADAPTIVES_OPTION = "dubbo.pregenerate.adaptives";
+
+    private static final Set<String> SERVICE_ANNOTATION_TYPES = unmodifiableSet(new HashSet<>(Arrays.asList(
+            SERVICE_ANNOTATION_TYPE,
+            LEGACY_SERVICE_ANNOTATION_TYPE,
+            "org.apache.dubbo.config.annotation.DubboService")));
+
+    private static final Set<String> REFERENCE_ANNOTATION_TYPES = unmodifiableSet(new HashSet<>(Arrays.asList(
+            "org.apache.dubbo.config.annotation.Reference",
+            "com.alibaba.dubbo.config.annotation.Reference",
+            "org.apache.dubbo.config.annotation.DubboReference")));
+
+    /**
+     * The interfaces added by AbstractProxyFactory to every consumer proxy
+     */
+    private static final List<String> INTERNAL_INTERFACES = Arrays.asList(
+            "org.apache.dubbo.rpc.service.EchoService",
+            "org.apache.dubbo.rpc.service.Destroyable");
+
+    private Elements elements;
+
+    private WrapperSourceGenerator wrapperGenerator;
+
+    private ProxySourceGenerator proxyGenerator;
+
+    private AdaptiveSourceGenerator adaptiveGenerator;
+
+    private final Set<String> generatedClasses = new HashSet<>();
+
+    private boolean enabled;
+
+    private boolean optionsProcessed;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.wrapperGenerator = new WrapperSourceGenerator(processingEnv);
+        this.proxyGenerator = new ProxySourceGenerator(processingEnv);
+        this.adaptiveGenerator = new AdaptiveSourceGenerator(processingEnv);
+        this.enabled = !"false".equalsIgnoreCase(processingEnv.getOptions().get(ENABLED_OPTION));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!enabled || roundEnv.processingOver()) {
+            return false;
+        }
+
+        if (!optionsProcessed) {
+            optionsProcessed = true;
+            getTypes(WRAPPERS_OPTION).forEach(this::generateWrapper);
+            getTypes(PROXIES_OPTION).forEach(this::generateProxy);
+            getTypes(ADAPTIVES_OPTION).forEach(this::generateAdaptive);
+        }
+
+        for (TypeElement annotation : annotations) {
+            String annotationType = annotation.getQualifiedName().toString();
+            Set<? extends Element> annotatedElements = roundEnv.getElementsAnnotatedWith(annotation);
+            if (SERVICE_ANNOTATION_TYPES.contains(annotationType)) {
+                typesIn(annotatedElements).forEach(this::processService);
+            } else if (REFERENCE_ANNOTATION_TYPES.contains(annotationType)) {
+                annotatedElements.forEach(this::processReference);
+            } else if (SPI.class.getName().equals(annotationType)) {
+                typesIn(annotatedElements).forEach(this::generateAdaptive);
+            }
+        }
+        return false;
+    }
+
+    private void processService(TypeElement serviceType) {
+        if (serviceType.getKind() != ElementKind.CLASS) {
+            return;
+        }
+        generateWrapper(serviceType);
+        for (AnnotationMirror annotation : serviceType.getAnnotationMirrors()) {
+            if (SERVICE_ANNOTATION_TYPES.contains(annotation.getAnnotationType().toString())
+                    && !serviceType.getInterfaces().isEmpty()) {
+                TypeElement interfaceType = elements.getTypeElement(resolveServiceInterfaceName(serviceType, annotation));
+                if (interfaceType != null) {
+                    generateWrapper(interfaceType);
+                }
+            }
+        }
+    }
+
+    private void processReference(Element element) {
+        TypeMirror type = element.asType();
+        if (element.getKind() == ElementKind.METHOD) {
+            // setter injection
+            List<? extends Element> parameters = ((ExecutableElement) element).getParameters();
+            if (parameters.size() != 1) {
+                return;
+            }
+            type = parameters.get(0).asType();
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            Element typeElement = ((DeclaredType) type).asElement();
+            if (typeElement.getKind() == ElementKind.INTERFACE) {
+                generateProxy((TypeElement) typeElement);
+            }
+        }
+    }
+
+    private void generateWrapper(TypeElement type) {
+        write(wrapperGenerator.getClassName(type), () -> wrapperGenerator.generate(type), type);
+    }
+
+    private void generateProxy(TypeElement type) {
+        List<TypeElement> interfaces = new ArrayList<>();
+        interfaces.add(type);
+        for (String internalInterface : INTERNAL_INTERFACES) {
+            TypeElement internalType = elements.getTypeElement(internalInterface);
+            if (internalType == null) {
+                return;
+            }
+            if (!internalType.equals(type)) {
+                interfaces.add(internalType);
+            }
+        }
+        write(proxyGenerator.getClassName(type), () -> proxyGenerator.generate(interfaces), type);
+    }
+
+    private void generateAdaptive(TypeElement type) {
+        write(adaptiveGenerator.getClassName(type), () -> adaptiveGenerator.generate(type), type);
+    }
+
+    private void write(String className, SourceSupplier source, TypeElement originatingType) {
+        if (!generatedClasses.add(className) || elements.getTypeElement(className) != null) {
+            // generated in a previous round, or already compiled
+            return;
+        }
+        String code = source.get();
+        if (code == null) {
+            info("The class %s can not be pre-generated, it will be generated at runtime", className);
+            return;
+        }
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className, originatingType);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(code);
+            }
+        } catch (IOException e) {
+            warn("Failed to write the pre-generated class %s : %s", className, e.getMessage());
+        }
+    }
+
+    private Set<TypeElement> getTypes(String option) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        String value = processingEnv.getOptions().get(option);
+        if (value == null || value.trim().isEmpty()) {
+            return types;
+        }
+        for (String typeName : COMMA_SPLIT_PATTERN.split(value.trim())) {
+            TypeElement type = elements.getTypeElement(typeName.trim());
+            if (type == null) {
+                warn("The type %s listed by the option %s is not found", typeName, option);
+            } else {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotationTypes = new HashSet<>(SERVICE_ANNOTATION_TYPES);
+        annotationTypes.addAll(REFERENCE_ANNOTATION_TYPES);
+        annotationTypes.add(SPI.class.getName());
+        return annotationTypes;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return new HashSet<>(Arrays.asList(ENABLED_OPTION, WRAPPERS_OPTION, PROXIES_OPTION, ADAPTIVES_OPTION));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latest();
+    }
+
+    private interface SourceSupplier {
+
+        String get();
+    }
+}
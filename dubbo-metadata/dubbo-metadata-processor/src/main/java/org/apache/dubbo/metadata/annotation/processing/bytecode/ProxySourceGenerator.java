@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.common.bytecode.PregeneratedClasses;
+import org.apache.dubbo.common.bytecode.Proxy;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the source of the {@link Proxy} of a set of interfaces, equivalent to the one Proxy#getProxy generates
+ * at runtime. The proxy is named after the first interface, its instances are of the nested class
+ * {@value PregeneratedClasses#PROXY_INSTANCE_SUFFIX}.
+ *
+ * @since 2.7.8
+ */
+public class ProxySourceGenerator extends AbstractSourceGenerator {
+
+    private static final String PROXY = Proxy.class.getName();
+
+    private static final String HANDLER = "java.lang.reflect.InvocationHandler";
+
+    public ProxySourceGenerator(ProcessingEnvironment processingEnv) {
+        super(processingEnv);
+    }
+
+    public String getClassName(TypeElement type) {
+        return binaryName(type) + PregeneratedClasses.PROXY_SUFFIX;
+    }
+
+    /**
+     * @return the source of the proxy, or null if the proxy of the interfaces must be generated at runtime
+     */
+    public String generate(List<TypeElement> interfaces) {
+        TypeElement first = interfaces.get(0);
+        String packageName = packageName(first);
+        for (TypeElement itf : interfaces) {
+            if (itf.getKind() != ElementKind.INTERFACE || !isSupported(itf)) {
+                return null;
+            }
+            if (!itf.getModifiers().contains(Modifier.PUBLIC) && !packageName.equals(packageName(itf))) {
+                return null;
+            }
+        }
+
+        StringBuilder methodLookups = new StringBuilder();
+        StringBuilder methodBodies = new StringBuilder();
+        // <name and parameter types, return type> of the methods already proxied
+        Map<String, String> worked = new HashMap<>();
+        List<String> implemented = new ArrayList<>();
+        int index = 0;
+        for (TypeElement itf : interfaces) {
+            String interfaceName = erasure(itf.asType());
+            implemented.add(interfaceName);
+            for (ExecutableElement method : publicMethods(itf)) {
+                if (method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                String name = method.getSimpleName().toString();
+                List<? extends VariableElement> parameters = method.getParameters();
+                StringBuilder key = new StringBuilder(name).append('(');
+                for (VariableElement parameter : parameters) {
+                    key.append(erasure(parameter.asType())).append(',');
+                }
+                String returnType = erasure(method.getReturnType());
+                String previousReturnType = worked.putIfAbsent(key.toString(), returnType);
+                if (previousReturnType != null) {
+                    if (!previousReturnType.equals(returnType)) {
+                        // clashing methods, the runtime generation decides
+                        return null;
+                    }
+                    continue;
+                }
+
+                methodLookups.append(index > 0 ? ",\n" : "")
+                        .append("                        ").append(interfaceName).append(".class.getMethod(")
+                        .append(quote(name));
+                StringBuilder declaration = new StringBuilder();
+                StringBuilder arguments = new StringBuilder();
+                for (int i = 0; i < parameters.size(); i++) {
+                    TypeMirror parameterType = parameters.get(i).asType();
+                    methodLookups.append(", ").append(classLiteral(parameterType));
+                    declaration.append(i > 0 ? ", " : "").append(erasure(parameterType)).append(" arg").append(i);
+                    arguments.append(i > 0 ? ", " : "").append("arg").append(i);
+                }
+                methodLookups.append(")");
+
+                methodBodies.append("\n        public ").append(returnType).append(' ').append(name)
+                        .append('(').append(declaration).append(") {\n")
+                        .append("            Object[] args = new Object[]{").append(arguments).append("};\n")
+                        .append("            Object ret;\n")
+                        .append("            try {\n")
+                        .append("                ret = handler.invoke(this, methods[").append(index).append("], args);\n")
+                        .append("            } catch (Throwable t) {\n")
+                        .append("                throw ").append(PROXY).append(".rethrow(t);\n")
+                        .append("            }\n");
+                if (method.getReturnType().getKind() != TypeKind.VOID) {
+                    methodBodies.append("            return ").append(asArgument(method.getReturnType(), "ret")).append(";\n");
+                }
+                methodBodies.append("        }\n");
+                index++;
+            }
+        }
+
+        String simpleName = generatedSimpleName(first, PregeneratedClasses.PROXY_SUFFIX);
+        String instanceName = PregeneratedClasses.PROXY_INSTANCE_SUFFIX.substring(1);
+        StringBuilder code = new StringBuilder(4096);
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n")
+                .append(" * Pre-generated {@link ").append(PROXY).append("} of {@link ").append(implemented.get(0)).append("}\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"rawtypes\", \"unchecked\", \"deprecation\"})\n")
+                .append("public class ").append(simpleName).append(" extends ").append(PROXY).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public Object newInstance(").append(HANDLER).append(" handler) {\n")
+                .append("        return new ").append(instanceName).append("(handler);\n")
+                .append("    }\n\n")
+                .append("    public static class ").append(instanceName).append(" implements ")
+                .append(String.join(", ", implemented)).append(" {\n\n")
+                .append("        public static final java.lang.reflect.Method[] methods;\n\n")
+                .append("        static {\n")
+                .append("            try {\n")
+                .append("                methods = new java.lang.reflect.Method[]{\n")
+                .append(methodLookups).append(index > 0 ? "\n" : "")
+                .append("                };\n")
+                .append("            } catch (java.lang.NoSuchMethodException e) {\n")
+                .append("                throw new ExceptionInInitializerError(e);\n")
+                .append("            }\n")
+                .append("        }\n\n")
+                .append("        private ").append(HANDLER).append(" handler;\n\n")
+                .append("        public ").append(instanceName).append("() {\n")
+                .append("        }\n\n")
+                .append("        public ").append(instanceName).append("(").append(HANDLER).append(" handler) {\n")
+                .append("            this.handler = handler;\n")
+                .append("        }\n")
+                .append(methodBodies)
+                .append("    }\n")
+                .append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * The conversion of the handler result, see Proxy#asArgument
+     */
+    private String asArgument(TypeMirror type, String name) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return name + " == null ? false : ((Boolean) " + name + ").booleanValue()";
+            case BYTE:
+                return name + " == null ? (byte) 0 : ((Byte) " + name + ").byteValue()";
+            case CHAR:
+                return name + " == null ? (char) 0 : ((Character) " + name + ").charValue()";
+            case DOUBLE:
+                return name + " == null ? (double) 0 : ((Double) " + name + ").doubleValue()";
+            case FLOAT:
+                return name + " == null ? (float) 0 : ((Float) " + name + ").floatValue()";
+            case INT:
+                return name + " == null ? (int) 0 : ((Integer) " + name + ").intValue()";
+            case LONG:
+                return name + " == null ? (long) 0 : ((Long) " + name + ").longValue()";
+            case SHORT:
+                return name + " == null ? (short) 0 : ((Short) " + name + ").shortValue()";
+            default:
+                return "(" + erasure(type) + ") " + name;
+        }
+    }
+}
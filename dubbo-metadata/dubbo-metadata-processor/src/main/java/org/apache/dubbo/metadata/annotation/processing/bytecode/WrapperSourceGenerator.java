@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.common.bytecode.PregeneratedClasses;
+import org.apache.dubbo.common.bytecode.Wrapper;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates the source of the {@link Wrapper} of a class, equivalent to the one Wrapper#makeWrapper generates at
+ * runtime.
+ *
+ * @since 2.7.8
+ */
+public class WrapperSourceGenerator extends AbstractSourceGenerator {
+
+    private static final Pattern GETTER_PATTERN = Pattern.compile("get([A-Z][_a-zA-Z0-9]*)");
+
+    private static final Pattern IS_HAS_CAN_PATTERN = Pattern.compile("(?:is|has|can)([A-Z][_a-zA-Z0-9]*)");
+
+    private static final Pattern SETTER_PATTERN = Pattern.compile("set([A-Z][_a-zA-Z0-9]*)");
+
+    private static final String WRAPPER = Wrapper.class.getName();
+
+    private static final String NO_SUCH_PROPERTY = "org.apache.dubbo.common.bytecode.NoSuchPropertyException";
+
+    private static final String NO_SUCH_METHOD = "org.apache.dubbo.common.bytecode.NoSuchMethodException";
+
+    public WrapperSourceGenerator(ProcessingEnvironment processingEnv) {
+        super(processingEnv);
+    }
+
+    public String getClassName(TypeElement type) {
+        return binaryName(type) + PregeneratedClasses.WRAPPER_SUFFIX;
+    }
+
+    /**
+     * @return the source of the wrapper, or null if the wrapper of the type must be generated at runtime
+     */
+    public String generate(TypeElement type) {
+        if (!isSupported(type)) {
+            return null;
+        }
+        String typeName = erasure(type.asType());
+        String className = binaryName(type);
+
+        StringBuilder setters = new StringBuilder();
+        StringBuilder getters = new StringBuilder();
+        StringBuilder invokers = new StringBuilder();
+        // <property name, property type>, in the order the runtime wrapper fills its HashMap
+        Map<String, TypeMirror> propertyTypes = new LinkedHashMap<>();
+        List<String> methodNames = new ArrayList<>();
+        List<String> declaredMethodNames = new ArrayList<>();
+
+        for (VariableElement field : publicFields(type)) {
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            String name = field.getSimpleName().toString();
+            if (!field.getModifiers().contains(Modifier.FINAL)) {
+                setters.append("        if (n.equals(").append(quote(name)).append(")) {\n")
+                        .append("            w.").append(name).append(" = ").append(arg(field.asType(), "v")).append(";\n")
+                        .append("            return;\n")
+                        .append("        }\n");
+            }
+            getters.append("        if (n.equals(").append(quote(name)).append(")) {\n")
+                    .append("            return w.").append(name).append(";\n")
+                    .append("        }\n");
+            propertyTypes.put(name, field.asType());
+        }
+
+        List<ExecutableElement> methods = publicMethods(type);
+        for (ExecutableElement method : methods) {
+            String name = method.getSimpleName().toString();
+            List<? extends VariableElement> parameters = method.getParameters();
+            invokers.append("            if (").append(quote(name)).append(".equals(n) && p.length == ").append(parameters.size());
+            if (isOverloaded(method, methods)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    invokers.append("\n                    && p[").append(i).append("].getName().equals(")
+                            .append(quote(runtimeName(parameters.get(i).asType()))).append(")");
+                }
+            }
+            invokers.append(") {\n");
+            String invocation = "w." + name + "(" + args(parameters, "v") + ")";
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                invokers.append("                ").append(invocation).append(";\n")
+                        .append("                return null;\n");
+            } else {
+                invokers.append("                return ").append(invocation).append(";\n");
+            }
+            invokers.append("            }\n");
+
+            methodNames.add(name);
+            if (isDeclaredBy(method, type)) {
+                declaredMethodNames.add(name);
+            }
+
+            Matcher matcher;
+            if (parameters.isEmpty() && (matcher = GETTER_PATTERN.matcher(name)).matches()) {
+                appendGetter(getters, propertyTypes, propertyName(matcher.group(1)), method);
+            } else if (parameters.isEmpty() && method.getReturnType().getKind() == TypeKind.BOOLEAN
+                    && (matcher = IS_HAS_CAN_PATTERN.matcher(name)).matches()) {
+                appendGetter(getters, propertyTypes, propertyName(matcher.group(1)), method);
+            } else if (parameters.size() == 1 && method.getReturnType().getKind() == TypeKind.VOID
+                    && (matcher = SETTER_PATTERN.matcher(name)).matches()) {
+                String propertyName = propertyName(matcher.group(1));
+                TypeMirror parameterType = parameters.get(0).asType();
+                setters.append("        if (n.equals(").append(quote(propertyName)).append(")) {\n")
+                        .append("            w.").append(name).append("(").append(arg(parameterType, "v")).append(");\n")
+                        .append("            return;\n")
+                        .append("        }\n");
+                propertyTypes.put(propertyName, parameterType);
+            }
+        }
+
+        String simpleName = generatedSimpleName(type, PregeneratedClasses.WRAPPER_SUFFIX);
+        String cast = "        " + typeName + " w;\n"
+                + "        try {\n"
+                + "            w = (" + typeName + ") o;\n"
+                + "        } catch (Throwable e) {\n"
+                + "            throw new IllegalArgumentException(e);\n"
+                + "        }\n";
+
+        StringBuilder code = new StringBuilder(4096);
+        String packageName = packageName(type);
+        if (!packageName.isEmpty()) {
+            code.append("package ").append(packageName).append(";\n\n");
+        }
+        code.append("/**\n")
+                .append(" * Pre-generated {@link ").append(WRAPPER).append("} of {@link ").append(typeName).append("}\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"rawtypes\", \"unchecked\", \"deprecation\", \"static-access\"})\n")
+                .append("public class ").append(simpleName).append(" extends ").append(WRAPPER).append(" {\n\n")
+                .append("    private static final java.util.Map<String, Class<?>> PROPERTY_TYPES = new java.util.HashMap<>();\n\n")
+                .append("    private static final String[] PROPERTY_NAMES;\n\n")
+                .append("    private static final String[] METHOD_NAMES = {").append(join(methodNames)).append("};\n\n")
+                .append("    private static final String[] DECLARED_METHOD_NAMES = {").append(join(declaredMethodNames)).append("};\n\n")
+                .append("    static {\n");
+        propertyTypes.forEach((name, propertyType) -> code.append("        PROPERTY_TYPES.put(").append(quote(name))
+                .append(", ").append(classLiteral(propertyType)).append(");\n"));
+        code.append("        PROPERTY_NAMES = PROPERTY_TYPES.keySet().toArray(new String[0]);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String[] getPropertyNames() {\n")
+                .append("        return PROPERTY_NAMES;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public boolean hasProperty(String n) {\n")
+                .append("        return PROPERTY_TYPES.containsKey(n);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Class<?> getPropertyType(String n) {\n")
+                .append("        return PROPERTY_TYPES.get(n);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String[] getMethodNames() {\n")
+                .append("        return METHOD_NAMES;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public String[] getDeclaredMethodNames() {\n")
+                .append("        return DECLARED_METHOD_NAMES;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void setPropertyValue(Object o, String n, Object v) {\n")
+                .append(cast)
+                .append(setters)
+                .append("        throw new ").append(NO_SUCH_PROPERTY).append("(\"Not found property \\\"\" + n + \"\\\" field or setter method in class ")
+                .append(className).append(".\");\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object getPropertyValue(Object o, String n) {\n")
+                .append(cast)
+                .append(getters)
+                .append("        throw new ").append(NO_SUCH_PROPERTY).append("(\"Not found property \\\"\" + n + \"\\\" field or setter method in class ")
+                .append(className).append(".\");\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object invokeMethod(Object o, String n, Class<?>[] p, Object[] v)\n")
+                .append("            throws ").append(NO_SUCH_METHOD).append(", java.lang.reflect.InvocationTargetException {\n")
+                .append(cast);
+        if (!methods.isEmpty()) {
+            code.append("        try {\n")
+                    .append(invokers)
+                    .append("        } catch (Throwable e) {\n")
+                    .append("            throw new java.lang.reflect.InvocationTargetException(e);\n")
+                    .append("        }\n");
+        }
+        code.append("        throw new ").append(NO_SUCH_METHOD).append("(\"Not found method \\\"\" + n + \"\\\" in class ")
+                .append(className).append(".\");\n")
+                .append("    }\n")
+                .append("}\n");
+        return code.toString();
+    }
+
+    private void appendGetter(StringBuilder getters, Map<String, TypeMirror> propertyTypes, String propertyName,
+                              ExecutableElement method) {
+        getters.append("        if (n.equals(").append(quote(propertyName)).append(")) {\n");
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            getters.append("            w.").append(method.getSimpleName()).append("();\n")
+                    .append("            return null;\n");
+        } else {
+            getters.append("            return w.").append(method.getSimpleName()).append("();\n");
+        }
+        getters.append("        }\n");
+        propertyTypes.put(propertyName, method.getReturnType());
+    }
+
+    private static boolean isOverloaded(ExecutableElement method, List<ExecutableElement> methods) {
+        for (ExecutableElement other : methods) {
+            if (other != method && other.getSimpleName().contentEquals(method.getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The conversion of the wrapper arguments, see Wrapper#arg
+     */
+    private String arg(TypeMirror type, String name) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "((Boolean) " + name + ").booleanValue()";
+            case BYTE:
+                return "((Byte) " + name + ").byteValue()";
+            case CHAR:
+                return "((Character) " + name + ").charValue()";
+            case DOUBLE:
+                return "((Number) " + name + ").doubleValue()";
+            case FLOAT:
+                return "((Number) " + name + ").floatValue()";
+            case INT:
+                return "((Number) " + name + ").intValue()";
+            case LONG:
+                return "((Number) " + name + ").longValue()";
+            case SHORT:
+                return "((Number) " + name + ").shortValue()";
+            default:
+                return "(" + erasure(type) + ") " + name;
+        }
+    }
+
+    private String args(List<? extends VariableElement> parameters, String name) {
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                args.append(", ");
+            }
+            args.append(arg(parameters.get(i).asType(), name + "[" + i + "]"));
+        }
+        return args.toString();
+    }
+
+    private static String propertyName(String name) {
+        return name.length() == 1 || Character.isLowerCase(name.charAt(1))
+                ? Character.toLowerCase(name.charAt(0)) + name.substring(1) : name;
+    }
+
+    private static String join(List<String> values) {
+        StringBuilder joined = new StringBuilder();
+        for (String value : values) {
+            if (joined.length() > 0) {
+                joined.append(", ");
+            }
+            joined.append(quote(value));
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.common.extension.AdaptiveClassCodeGenerator;
+import org.apache.dubbo.common.threadpool.ThreadPool;
+import org.apache.dubbo.metadata.annotation.processing.AbstractAnnotationProcessingTest;
+import org.apache.dubbo.metadata.tools.TestService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link AdaptiveSourceGenerator} Test
+ *
+ * @since 2.7.8
+ */
+public class AdaptiveSourceGeneratorTest extends AbstractAnnotationProcessingTest {
+
+    private AdaptiveSourceGenerator generator;
+
+    @Override
+    protected void addCompiledClasses(Set<Class<?>> classesToBeCompiled) {
+        classesToBeCompiled.add(TestService.class);
+    }
+
+    @Override
+    protected void beforeEach() {
+        generator = new AdaptiveSourceGenerator(processingEnv);
+    }
+
+    @Test
+    public void testGetClassName() {
+        assertEquals("org.apache.dubbo.common.threadpool.ThreadPool$Adaptive", generator.getClassName(getType(ThreadPool.class)));
+    }
+
+    @Test
+    public void testGenerate() {
+        // the same source as the one compiled by ExtensionLoader at runtime
+        assertEquals(new AdaptiveClassCodeGenerator(ThreadPool.class, "fixed").generate(),
+                generator.generate(getType(ThreadPool.class)));
+    }
+
+    @Test
+    public void testGenerateWithoutAdaptiveMethod() {
+        assertNull(generator.generate(getType(TestService.class)));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.metadata.annotation.processing.AbstractAnnotationProcessingTest;
+import org.apache.dubbo.metadata.tools.TestService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ProxySourceGenerator} Test
+ *
+ * @since 2.7.8
+ */
+public class ProxySourceGeneratorTest extends AbstractAnnotationProcessingTest {
+
+    private ProxySourceGenerator generator;
+
+    @Override
+    protected void addCompiledClasses(Set<Class<?>> classesToBeCompiled) {
+        classesToBeCompiled.add(TestService.class);
+    }
+
+    @Override
+    protected void beforeEach() {
+        generator = new ProxySourceGenerator(processingEnv);
+    }
+
+    @Test
+    public void testGetClassName() {
+        assertEquals("org.apache.dubbo.metadata.tools.TestService$DubboProxy", generator.getClassName(getType(TestService.class)));
+    }
+
+    @Test
+    public void testGenerate() {
+        String code = generator.generate(Arrays.asList(getType(TestService.class), getType(AutoCloseable.class)));
+        assertTrue(code.contains("public class TestService$DubboProxy extends org.apache.dubbo.common.bytecode.Proxy {"));
+        assertTrue(code.contains("public static class Instance implements org.apache.dubbo.metadata.tools.TestService, java.lang.AutoCloseable {"));
+        // the generic method is erased
+        assertTrue(code.contains("org.apache.dubbo.metadata.tools.TestService.class.getMethod(\"echo\", java.lang.String.class)"));
+        assertTrue(code.contains("java.lang.AutoCloseable.class.getMethod(\"close\")"));
+        assertTrue(code.contains("public java.lang.String testPrimitive(boolean arg0, int arg1) {"));
+        assertTrue(code.contains("return (org.apache.dubbo.metadata.annotation.processing.model.Model) ret;"));
+    }
+
+    @Test
+    public void testGenerateUnsupportedType() {
+        assertNull(generator.generate(singletonList(getType(Comparable.class))));
+    }
+}
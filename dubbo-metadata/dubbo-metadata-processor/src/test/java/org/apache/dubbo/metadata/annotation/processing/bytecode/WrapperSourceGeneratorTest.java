@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.metadata.annotation.processing.bytecode;
+
+import org.apache.dubbo.metadata.annotation.processing.AbstractAnnotationProcessingTest;
+import org.apache.dubbo.metadata.tools.DefaultTestService;
+import org.apache.dubbo.metadata.tools.TestService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link WrapperSourceGenerator} Test
+ *
+ * @since 2.7.8
+ */
+public class WrapperSourceGeneratorTest extends AbstractAnnotationProcessingTest {
+
+    private WrapperSourceGenerator generator;
+
+    @Override
+    protected void addCompiledClasses(Set<Class<?>> classesToBeCompiled) {
+        classesToBeCompiled.add(DefaultTestService.class);
+    }
+
+    @Override
+    protected void beforeEach() {
+        generator = new WrapperSourceGenerator(processingEnv);
+    }
+
+    @Test
+    public void testGetClassName() {
+        assertEquals("org.apache.dubbo.metadata.tools.TestService$DubboWrapper", generator.getClassName(getType(TestService.class)));
+    }
+
+    @Test
+    public void testGenerate() {
+        String code = generator.generate(getType(DefaultTestService.class));
+        assertTrue(code.startsWith("package org.apache.dubbo.metadata.tools;"));
+        assertTrue(code.contains("public class DefaultTestService$DubboWrapper extends org.apache.dubbo.common.bytecode.Wrapper {"));
+        assertTrue(code.contains("\"echo\""));
+        assertTrue(code.contains("\"testPrimitive\""));
+        // the private field is not a property
+        assertFalse(code.contains("\"name\""));
+
+        code = generator.generate(getType(TestService.class));
+        assertTrue(code.contains("public class TestService$DubboWrapper extends org.apache.dubbo.common.bytecode.Wrapper {"));
+    }
+
+    @Test
+    public void testGenerateUnsupportedType() {
+        // String implements Comparable<String>, left to the runtime generation
+        assertNull(generator.generate(getType(String.class)));
+    }
+}
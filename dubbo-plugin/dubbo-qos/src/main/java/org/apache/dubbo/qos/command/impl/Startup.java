@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.qos.command.impl;
+
+import org.apache.dubbo.config.bootstrap.DubboBootstrap;
+import org.apache.dubbo.config.bootstrap.StartupTimeline;
+import org.apache.dubbo.qos.command.BaseCommand;
+import org.apache.dubbo.qos.command.CommandContext;
+import org.apache.dubbo.qos.command.annotation.Cmd;
+import org.apache.dubbo.qos.textui.TTable;
+
+import com.alibaba.fastjson.JSON;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Cmd(name = "startup", summary = "show the startup timeline of the bootstrap phases, service exports and refers", example = {
+        "startup",
+        "startup json"
+})
+public class Startup implements BaseCommand {
+
+    @Override
+    public String execute(CommandContext commandContext, String[] args) {
+        StartupTimeline timeline = DubboBootstrap.getInstance().getStartupTimeline();
+        if (args != null && args.length > 0 && "json".equalsIgnoreCase(args[0])) {
+            return toJson(timeline);
+        }
+        return toTable(timeline);
+    }
+
+    String toJson(StartupTimeline timeline) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startTimestamp", timeline.getStartTimestamp());
+        result.put("steps", timeline.getSteps());
+        return JSON.toJSONString(result);
+    }
+
+    String toTable(StartupTimeline timeline) {
+        TTable tTable = new TTable(new TTable.ColumnDefine[]{
+                new TTable.ColumnDefine(TTable.Align.LEFT),
+                new TTable.ColumnDefine(TTable.Align.LEFT),
+                new TTable.ColumnDefine(TTable.Align.RIGHT),
+                new TTable.ColumnDefine(TTable.Align.RIGHT),
+                new TTable.ColumnDefine(TTable.Align.MIDDLE),
+                new TTable.ColumnDefine(TTable.Align.LEFT)
+        });
+
+        //Header
+        tTable.addRow("Category", "Name", "Start(ms)", "Duration(ms)", "OK", "Thread");
+
+        //Content
+        for (StartupTimeline.Step step : timeline.getSteps()) {
+            tTable.addRow(step.getCategory(), step.getName(), step.getStart(),
+                    step.isEnded() ? step.getDuration() : "-", step.isEnded() ? (step.isSuccess() ? "Y" : "N") : "-",
+                    step.getThread());
+        }
+        return tTable.rendering();
+    }
+}
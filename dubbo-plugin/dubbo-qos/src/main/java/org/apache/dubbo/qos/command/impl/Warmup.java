@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.qos.command.impl;
+
+import org.apache.dubbo.qos.command.BaseCommand;
+import org.apache.dubbo.qos.command.CommandContext;
+import org.apache.dubbo.qos.command.annotation.Cmd;
+import org.apache.dubbo.rpc.WarmupStatus;
+
+@Cmd(name = "warmup", summary = "show or set the warm-up progress in percent this provider reports to the consumers with warmup.adaptive", example = {
+        "warmup",
+        "warmup 50",
+        "warmup 100"
+})
+public class Warmup implements BaseCommand {
+
+    @Override
+    public String execute(CommandContext commandContext, String[] args) {
+        if (args == null || args.length == 0) {
+            return String.valueOf(WarmupStatus.getLocalProgress());
+        }
+        int progress;
+        try {
+            progress = Integer.parseInt(args[0].trim());
+        } catch (NumberFormatException e) {
+            progress = -1;
+        }
+        if (progress < 0 || progress > WarmupStatus.WARM) {
+            return "Invalid progress " + args[0] + ", it should be between 0 and 100";
+        }
+        WarmupStatus.setLocalProgress(progress);
+        return "OK";
+    }
+}
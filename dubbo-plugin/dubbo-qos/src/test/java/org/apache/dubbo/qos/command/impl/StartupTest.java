@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.qos.command.impl;
+
+import org.apache.dubbo.config.bootstrap.StartupTimeline;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StartupTest {
+
+    @Test
+    public void testOutput() throws Exception {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.record(StartupTimeline.PHASE, "startConfigCenter", () -> {
+        });
+        timeline.begin(StartupTimeline.REFER, "demo/DemoService");
+
+        Startup startup = new Startup();
+        String table = startup.toTable(timeline);
+        assertThat(table, containsString("startConfigCenter"));
+        assertThat(table, containsString("demo/DemoService"));
+
+        JSONObject json = JSON.parseObject(startup.toJson(timeline));
+        assertThat(json.getLong("startTimestamp"), equalTo(timeline.getStartTimestamp()));
+        JSONArray steps = json.getJSONArray("steps");
+        assertThat(steps.size(), equalTo(2));
+        assertThat(steps.getJSONObject(0).getString("name"), equalTo("startConfigCenter"));
+        assertThat(steps.getJSONObject(0).getBoolean("success"), equalTo(true));
+        assertThat(steps.getJSONObject(1).getString("category"), equalTo("refer"));
+        assertThat(steps.getJSONObject(1).getLong("duration"), equalTo(-1L));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.qos.command.impl;
+
+import org.apache.dubbo.rpc.WarmupStatus;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+public class WarmupTest {
+
+    @AfterEach
+    public void tearDown() {
+        WarmupStatus.setLocalProgress(WarmupStatus.WARM);
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        Warmup warmup = new Warmup();
+        assertThat(warmup.execute(null, new String[0]), equalTo("100"));
+        assertThat(warmup.execute(null, new String[]{"30"}), equalTo("OK"));
+        assertThat(warmup.execute(null, null), equalTo("30"));
+        assertThat(warmup.execute(null, new String[]{"101"}), startsWith("Invalid progress"));
+        assertThat(warmup.execute(null, new String[]{"abc"}), startsWith("Invalid progress"));
+        assertThat(WarmupStatus.getLocalProgress(), equalTo(30));
+    }
+}
@@ -58,6 +58,16 @@ public interface Constants {
      */
     String REGISTRY_FILESAVE_SYNC_KEY = "save.file";
 
+    /**
+     * The format of the registry cache file, "properties" by default or "binary", an append-only log which is
+     * updated with the changed services only
+     *
+     * @since 2.7.8
+     */
+    String REGISTRY_FILE_FORMAT_KEY = "file.format";
+
+    String BINARY_REGISTRY_FILE_FORMAT = "binary";
+
     /**
      * Whether to cache locally, default is true
      */
@@ -93,4 +103,57 @@ public interface Constants {
     String REGISTRY_RETRY_PERIOD_KEY = "retry.period";
 
     String SESSION_TIMEOUT_KEY = "session";
+
+    /**
+     * Quiet period in milliseconds a changed category waits for more changes before its listeners are notified,
+     * only the latest state is notified. Disabled by default.
+     *
+     * @since 2.7.8
+     */
+    String REGISTRY_NOTIFY_DELAY_KEY = "notify.delay";
+
+    /**
+     * Longest time in milliseconds a changed category is held back by {@link #REGISTRY_NOTIFY_DELAY_KEY} while
+     * the changes keep coming, five times the delay by default.
+     *
+     * @since 2.7.8
+     */
+    String REGISTRY_NOTIFY_MAX_DELAY_KEY = "notify.max.delay";
+
+    /**
+     * Longest time in milliseconds the service discovery registry waits for the exported URLs of new revisions of
+     * the service instances before it notifies the instances it knows, the others are notified once fetched.
+     *
+     * @since 2.7.8
+     */
+    String METADATA_FETCH_TIMEOUT_KEY = "metadata.fetch.timeout";
+
+    int DEFAULT_METADATA_FETCH_TIMEOUT = 5000;
+
+    /**
+     * The most instances of a revision asked for its exported URLs in a row
+     *
+     * @since 2.7.8
+     */
+    String METADATA_FETCH_ATTEMPTS_KEY = "metadata.fetch.attempts";
+
+    int DEFAULT_METADATA_FETCH_ATTEMPTS = 3;
+
+    /**
+     * The most revisions whose exported URLs are cached, property of the process
+     *
+     * @since 2.7.8
+     */
+    String METADATA_REVISION_CACHE_SIZE_KEY = "dubbo.metadata.revision.cache.size";
+
+    int DEFAULT_METADATA_REVISION_CACHE_SIZE = 256;
+
+    /**
+     * The threads fetching the exported URLs of the revisions in parallel, property of the process
+     *
+     * @since 2.7.8
+     */
+    String METADATA_FETCH_THREADS_KEY = "dubbo.metadata.fetch.threads";
+
+    int DEFAULT_METADATA_FETCH_THREADS = 8;
 }
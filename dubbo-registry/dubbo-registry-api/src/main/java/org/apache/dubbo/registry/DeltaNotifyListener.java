@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry;
+
+import org.apache.dubbo.common.URL;
+
+import java.util.List;
+
+/**
+ * A {@link NotifyListener} which also accepts the changes of a category of URLs since the previous notification,
+ * so that a few providers joining or leaving a large cluster only cost work proportional to the change.
+ * <p>
+ * The registries which are able to tell the changes call {@link #notifyDelta(String, List, List, List)} once the
+ * listener got the full notification of the category, all the others keep calling {@link #notify(List)}.
+ *
+ * @see org.apache.dubbo.registry.support.AbstractRegistry#notifyDelta(URL, NotifyListener, String, List, List, List)
+ * @since 2.7.8
+ */
+public interface DeltaNotifyListener extends NotifyListener {
+
+    /**
+     * Triggered when some of the URLs of a category changed.
+     *
+     * @param category the category of the URLs, e.g. providers
+     * @param added    the URLs added since the previous notification, a changed URL is removed and added again
+     * @param removed  the URLs removed since the previous notification
+     * @param urls     the full list of the category after the change, the same as {@link #notify(List)} would get
+     */
+    void notifyDelta(String category, List<URL> added, List<URL> removed, List<URL> urls);
+
+}
@@ -22,6 +22,7 @@ import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
 import org.apache.dubbo.common.utils.CollectionUtils;
 
+import java.util.Collection;
 import java.util.List;
 
 public class ListenerRegistryWrapper implements Registry {
@@ -99,6 +100,58 @@ public class ListenerRegistryWrapper implements Registry {
         }
     }
 
+    @Override
+    public void registerAll(Collection<URL> urls) {
+        try {
+            registry.registerAll(urls);
+        } finally {
+            if (CollectionUtils.isNotEmpty(listeners)) {
+                RuntimeException exception = null;
+                for (RegistryServiceListener listener : listeners) {
+                    if (listener != null) {
+                        for (URL url : urls) {
+                            try {
+                                listener.onRegister(url);
+                            } catch (RuntimeException t) {
+                                logger.error(t.getMessage(), t);
+                                exception = t;
+                            }
+                        }
+                    }
+                }
+                if (exception != null) {
+                    throw exception;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void unregisterAll(Collection<URL> urls) {
+        try {
+            registry.unregisterAll(urls);
+        } finally {
+            if (CollectionUtils.isNotEmpty(listeners)) {
+                RuntimeException exception = null;
+                for (RegistryServiceListener listener : listeners) {
+                    if (listener != null) {
+                        for (URL url : urls) {
+                            try {
+                                listener.onUnregister(url);
+                            } catch (RuntimeException t) {
+                                logger.error(t.getMessage(), t);
+                                exception = t;
+                            }
+                        }
+                    }
+                }
+                if (exception != null) {
+                    throw exception;
+                }
+            }
+        }
+    }
+
     @Override
     public void subscribe(URL url, NotifyListener listener) {
         try {
@@ -19,6 +19,8 @@ package org.apache.dubbo.registry;
 import org.apache.dubbo.common.Node;
 import org.apache.dubbo.common.URL;
 
+import java.util.Collection;
+
 /**
  * Registry. (SPI, Prototype, ThreadSafe)
  *
@@ -34,4 +36,30 @@ public interface Registry extends Node, RegistryService {
     default void reExportUnregister(URL url) {
         unregister(url);
     }
+
+    /**
+     * Register the urls as {@link #register(URL)} does each of them, registries which can write several urls in one
+     * request override it.
+     *
+     * @param urls the urls to register
+     * @since 2.7.8
+     */
+    default void registerAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            register(url);
+        }
+    }
+
+    /**
+     * Unregister the urls as {@link #unregister(URL)} does each of them, registries which can write several urls in
+     * one request override it.
+     *
+     * @param urls the urls to unregister
+     * @since 2.7.8
+     */
+    default void unregisterAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            unregister(url);
+        }
+    }
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ import org.apache.dubbo.registry.NotifyListener;
 import org.apache.dubbo.registry.Registry;
 import org.apache.dubbo.registry.client.event.ServiceInstancesChangedEvent;
 import org.apache.dubbo.registry.client.event.listener.ServiceInstancesChangedListener;
+import org.apache.dubbo.registry.client.metadata.RevisionExportedURLsCache;
 import org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils;
 import org.apache.dubbo.registry.client.metadata.SubscribedURLsSynthesizer;
 import org.apache.dubbo.registry.client.metadata.proxy.MetadataServiceProxyFactory;
@@ -40,7 +41,7 @@ import org.apache.dubbo.registry.support.FailbackRegistry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -49,14 +50,17 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.function.Supplier;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.toSet;
@@ -81,7 +85,12 @@ import static org.apache.dubbo.common.utils.CollectionUtils.isEmpty;
 import static org.apache.dubbo.common.utils.CollectionUtils.isNotEmpty;
 import static org.apache.dubbo.common.utils.StringUtils.isBlank;
 import static org.apache.dubbo.metadata.MetadataService.toURLs;
+import static org.apache.dubbo.registry.Constants.DEFAULT_METADATA_FETCH_ATTEMPTS;
+import static org.apache.dubbo.registry.Constants.DEFAULT_METADATA_FETCH_TIMEOUT;
+import static org.apache.dubbo.registry.Constants.METADATA_FETCH_ATTEMPTS_KEY;
+import static org.apache.dubbo.registry.Constants.METADATA_FETCH_TIMEOUT_KEY;
 import static org.apache.dubbo.registry.client.ServiceDiscoveryFactory.getExtension;
+import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils.ENDPOINTS;
 import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils.getExportedServicesRevision;
 import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils.getMetadataStorageType;
 import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataUtils.getProtocolPort;
@@ -112,7 +121,8 @@ import static org.apache.dubbo.registry.client.metadata.ServiceInstanceMetadataU
  * introduces a cache to optimize the calculation with "revisions". If the revisions of N
  * {@link ServiceInstance service instances} are same, {@link MetadataService} is invoked just only once, and then it
  * does return the exported {@link URL URLs} as a template by which others are
- * {@link #cloneExportedURLs(URL, Collection) cloned}.
+ * {@link #cloneExportedURLs(URL, String, Collection, Map) cloned}. The {@link RevisionExportedURLsCache cache} is shared by the
+ * registries, and the different revisions are fetched in parallel.
  * <p>
  * In contrast, current {@link ServiceInstance service instance} will not be registered to the registry whether any
  * Dubbo service is exported or not.
@@ -139,14 +149,23 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
 
     private final List<SubscribedURLsSynthesizer> subscribedURLsSynthesizers;
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * A cache for all URLs of services that the subscribed services exported, by revision
+     */
+    private final RevisionExportedURLsCache revisionCache = RevisionExportedURLsCache.getDefault();
+
+    private final int metadataFetchTimeout;
+
+    private final int metadataFetchAttempts;
 
     /**
-     * A cache for all URLs of services that the subscribed services exported
-     * The key is the service name
-     * The value is a nested {@link Map} whose key is the revision and value is all URLs of services
+     * The URLs notified to a subscription the last time
+     * The key is the subscription
+     * The value is a nested {@link Map} whose key is the service name, and value is a {@link Map} whose key is the
+     * revision, host and endpoints of an instance and value is the URLs of the instance
      */
-    private final Map<String, Map<String, List<URL>>> serviceRevisionExportedURLsCache = new LinkedHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Map<String, List<URL>>>> subscribedInstanceURLs =
+            new ConcurrentHashMap<>();
 
     public ServiceDiscoveryRegistry(URL registryURL) {
         super(registryURL);
@@ -156,6 +175,8 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
         String metadataStorageType = getMetadataStorageType(registryURL);
         this.writableMetadataService = WritableMetadataService.getExtension(metadataStorageType);
         this.subscribedURLsSynthesizers = initSubscribedURLsSynthesizers();
+        this.metadataFetchTimeout = registryURL.getParameter(METADATA_FETCH_TIMEOUT_KEY, DEFAULT_METADATA_FETCH_TIMEOUT);
+        this.metadataFetchAttempts = Math.max(registryURL.getParameter(METADATA_FETCH_ATTEMPTS_KEY, DEFAULT_METADATA_FETCH_ATTEMPTS), 1);
     }
 
     public ServiceDiscovery getServiceDiscovery() {
@@ -305,6 +326,7 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
     @Override
     public void doUnsubscribe(URL url, NotifyListener listener) {
         writableMetadataService.unsubscribeURL(url);
+        subscribedInstanceURLs.remove(createSubscriptionKey(url));
     }
 
     @Override
@@ -315,6 +337,7 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
     @Override
     public void destroy() {
         super.destroy();
+        subscribedInstanceURLs.clear();
         execute(() -> {
             // stop ServiceDiscovery
             serviceDiscovery.destroy();
@@ -345,7 +368,9 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
 
             @Override
             public void onEvent(ServiceInstancesChangedEvent event) {
-                subscribeURLs(url, listener, event.getServiceName(), new ArrayList<>(event.getServiceInstances()));
+                if (isSubscribed(url, listener)) {
+                    subscribeURLs(url, listener, event.getServiceName(), new ArrayList<>(event.getServiceInstances()));
+                }
             }
         });
     }
@@ -364,7 +389,19 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
     }
 
     private String createListenerId(URL url, ServiceInstancesChangedListener listener) {
-        return listener.getServiceName() + ":" + url.toString(VERSION_KEY, GROUP_KEY, PROTOCOL_KEY);
+        return listener.getServiceName() + ":" + createSubscriptionKey(url);
+    }
+
+    private String createSubscriptionKey(URL url) {
+        return url.toString(VERSION_KEY, GROUP_KEY, PROTOCOL_KEY);
+    }
+
+    /**
+     * @return <code>true</code> if the listener was not unsubscribed from the url in the meantime
+     */
+    private boolean isSubscribed(URL url, NotifyListener listener) {
+        Set<NotifyListener> listeners = getSubscribed().get(url);
+        return listeners != null && listeners.contains(listener);
     }
 
     /**
@@ -393,7 +430,7 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
         /**
          * Add the exported URLs from {@link MetadataService}
          */
-        subscribedURLs.addAll(getExportedURLs(subscribedURL, serviceInstances));
+        subscribedURLs.addAll(getExportedURLs(subscribedURL, listener, serviceName, serviceInstances));
 
         if (subscribedURLs.isEmpty()) { // If empty, try to synthesize
             /**
@@ -410,10 +447,13 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
      * {@link ServiceInstance service instances}
      *
      * @param subscribedURL the subscribed {@link URL url}
+     * @param listener      {@link NotifyListener}
+     * @param serviceName   the service name of the instances
      * @param instances     {@link ServiceInstance service instances}
      * @return the exported {@link URL URLs} if present, or <code>{@link Collections#emptyList() empty list}</code>
      */
-    private List<URL> getExportedURLs(URL subscribedURL, Collection<ServiceInstance> instances) {
+    private List<URL> getExportedURLs(URL subscribedURL, NotifyListener listener, String serviceName,
+                                      Collection<ServiceInstance> instances) {
 
         // local service instances could be mutable
         List<ServiceInstance> serviceInstances = instances.stream()
@@ -428,147 +468,154 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
             return emptyList();
         }
 
-        // Prepare revision exported URLs
-        prepareServiceRevisionExportedURLs(serviceInstances);
+        // Get the template URLs of the revisions, the instances of the revisions fetched late are notified afterwards
+        Map<String, List<URL>> revisionExportedURLs = getRevisionExportedURLs(serviceName, serviceInstances, () -> {
+            if (isSubscribed(subscribedURL, listener)) {
+                subscribeURLs(subscribedURL, listener, serviceName, serviceDiscovery.getInstances(serviceName));
+            }
+        });
 
         // Clone the subscribed URLs from the template URLs
-        List<URL> subscribedURLs = cloneExportedURLs(subscribedURL, serviceInstances);
-
-        // clear local service instances
-        serviceInstances.clear();
-
-        return subscribedURLs;
+        return cloneExportedURLs(subscribedURL, serviceName, serviceInstances, revisionExportedURLs);
     }
 
     /**
-     * Prepare the {@link #serviceRevisionExportedURLsCache} exclusively
-     *
-     * @param serviceInstances {@link ServiceInstance service instances}
-     * @see #expungeStaleRevisionExportedURLs(List)
-     * @see #initializeRevisionExportedURLs(List)
-     */
-    private void prepareServiceRevisionExportedURLs(List<ServiceInstance> serviceInstances) {
-        executeExclusively(() -> {
-            // 1. expunge stale
-            expungeStaleRevisionExportedURLs(serviceInstances);
-            // 2. Initialize
-            initializeRevisionExportedURLs(serviceInstances);
-        });
-    }
-
-    /**
-     * Initialize the {@link URL URLs} that {@link ServiceInstance service instances} exported into
-     * {@link #serviceRevisionExportedURLsCache the cache}.
+     * Get the template URLs of the revisions of the {@link ServiceInstance service instances} from
+     * {@link RevisionExportedURLsCache the cache}, the revisions missing are fetched in parallel from some of their
+     * instances and waited for {@link #metadataFetchTimeout} at most.
      * <p>
-     * Typically, the {@link URL URLs} that one {@link ServiceInstance service instance} exported can be get from
-     * the same instances' {@link MetadataService}, but the cost is very expensive if there are a lot of instances
-     * in this service. Thus, the exported {@link URL URls} should be cached  and stored into
-     * {@link #serviceRevisionExportedURLsCache the cache}.
-     * <p>
-     * In most cases, {@link #serviceRevisionExportedURLsCache the cache} only holds a single list of exported URLs for
-     * each service because there is no difference on the Dubbo services(interfaces) between the service instances.
-     * However, if there are one or more upgrading or increasing Dubbo services that are deploying on the some of
-     * instances, other instances still maintain the previous ones, in this way, there are two versions of the services,
-     * they are called "revisions", in other words, one revision associates a list of exported URLs that can be reused
-     * for other instances with same revision, and one service allows one or more revisions.
+     * There are several revisions when one or more Dubbo services are upgrading or increasing on some of the
+     * instances while the other instances still maintain the previous ones.
      *
+     * @param serviceName      the service name of the instances
      * @param serviceInstances {@link ServiceInstance service instances}
+     * @param lateFetched      run if some revisions which were not fetched in time are fetched
+     * @return the template URLs by revision, the revisions which could not be fetched in time are absent
      */
-    private void initializeRevisionExportedURLs(List<ServiceInstance> serviceInstances) {
-        // initialize the revision exported URLs that the selected service instance exported
-        initializeSelectedRevisionExportedURLs(serviceInstances);
-        // initialize the revision exported URLs that other service instances exported
-        serviceInstances.forEach(this::initializeRevisionExportedURLs);
-    }
+    private Map<String, List<URL>> getRevisionExportedURLs(String serviceName, List<ServiceInstance> serviceInstances,
+                                                           Runnable lateFetched) {
+        Map<String, List<ServiceInstance>> revisionInstances = new LinkedHashMap<>();
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            revisionInstances.computeIfAbsent(getExportedServicesRevision(serviceInstance), r -> new ArrayList<>())
+                    .add(serviceInstance);
+        }
 
-    /**
-     * Initialize the {@link URL URLs} that the {@link #selectServiceInstance(List) selected service instance} exported
-     * into {@link #serviceRevisionExportedURLsCache the cache}.
-     *
-     * @param serviceInstances {@link ServiceInstance service instances}
-     */
-    private void initializeSelectedRevisionExportedURLs(List<ServiceInstance> serviceInstances) {
-        // Try to initialize revision exported URLs until success
-        for (int i = 0; i < serviceInstances.size(); i++) {
-            // select a instance of {@link ServiceInstance}
-            ServiceInstance selectedInstance = selectServiceInstance(serviceInstances);
-            List<URL> revisionExportedURLs = initializeRevisionExportedURLs(selectedInstance);
-            if (isNotEmpty(revisionExportedURLs)) {    // If the result is valid
-                break;
+        Map<String, List<URL>> revisionExportedURLs = new HashMap<>();
+        Map<String, CompletableFuture<List<URL>>> fetches = new HashMap<>();
+        revisionInstances.forEach((revision, instances) -> {
+            List<URL> exportedURLs = revisionCache.get(serviceName, revision);
+            if (exportedURLs != null) {
+                revisionExportedURLs.put(revision, exportedURLs);
+            } else {
+                fetches.put(revision, revisionCache.fetch(serviceName, revision, selectServiceInstances(instances),
+                        this::getExportedURLs));
             }
+        });
+        if (fetches.isEmpty()) {
+            return revisionExportedURLs;
         }
-    }
-
-    /**
-     * Expunge the revision exported {@link URL URLs} in {@link #serviceRevisionExportedURLsCache the cache} if
-     * some revisions of {@link ServiceInstance service instance} had been out of date possibly
-     *
-     * @param serviceInstances {@link ServiceInstance service instances}
-     */
-    private void expungeStaleRevisionExportedURLs(List<ServiceInstance> serviceInstances) {
 
-        String serviceName = serviceInstances.get(0).getServiceName();
-        // revisionExportedURLsMap is mutable
-        Map<String, List<URL>> revisionExportedURLsMap = getRevisionExportedURLsMap(serviceName);
-
-        if (revisionExportedURLsMap.isEmpty()) { // if empty, return immediately
-            return;
+        CompletableFuture<Void> allFetched = CompletableFuture.allOf(fetches.values().toArray(new CompletableFuture[0]));
+        try {
+            allFetched.get(metadataFetchTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // the revisions fetched in time are notified now
         }
 
-        Set<String> existedRevisions = revisionExportedURLsMap.keySet(); // read-only
-        Set<String> currentRevisions = serviceInstances.stream()
-                .map(ServiceInstanceMetadataUtils::getExportedServicesRevision)
-                .collect(Collectors.toSet());
-        // staleRevisions = existedRevisions(copy) - currentRevisions
-        Set<String> staleRevisions = new HashSet<>(existedRevisions);
-        staleRevisions.removeAll(currentRevisions);
-        // remove exported URLs if staled
-        staleRevisions.forEach(revisionExportedURLsMap::remove);
+        List<CompletableFuture<List<URL>>> late = new ArrayList<>();
+        fetches.forEach((revision, fetch) -> {
+            if (!fetch.isDone()) {
+                late.add(fetch);
+            } else if (!fetch.isCompletedExceptionally() && isNotEmpty(fetch.join())) {
+                revisionExportedURLs.put(revision, fetch.join());
+            }
+        });
+        if (!late.isEmpty()) {
+            if (logger.isWarnEnabled()) {
+                logger.warn(format("The exported URLs of %d revisions of the service[name : %s] are not fetched " +
+                        "in %d ms, their instances will be notified once fetched", late.size(), serviceName, metadataFetchTimeout));
+            }
+            allFetched.whenComplete((v, t) -> {
+                if (late.stream().anyMatch(fetch -> !fetch.isCompletedExceptionally() && isNotEmpty(fetch.join()))) {
+                    lateFetched.run();
+                }
+            });
+        }
+        return revisionExportedURLs;
     }
 
     /**
-     * Clone the exported URLs that are based on {@link #getTemplateExportedURLs(URL, ServiceInstance) the template URLs}
-     * from the some of {@link ServiceInstance service instances} with different revisions
+     * Clone the exported URLs that are based on the template URLs of the revisions of the
+     * {@link ServiceInstance service instances}. The templates of a revision are filtered once for all its
+     * instances, and the URLs of an instance whose revision, host and endpoints did not change since the previous
+     * notification of the subscription are reused.
      *
-     * @param subscribedURL    the subscribed {@link URL url}
-     * @param serviceInstances {@link ServiceInstance service instances}
+     * @param subscribedURL        the subscribed {@link URL url}
+     * @param serviceName          the service name of the instances
+     * @param serviceInstances     {@link ServiceInstance service instances}
+     * @param revisionExportedURLs the template URLs by revision
      * @return non-null
      */
-    private List<URL> cloneExportedURLs(URL subscribedURL, Collection<ServiceInstance> serviceInstances) {
+    private List<URL> cloneExportedURLs(URL subscribedURL, String serviceName, Collection<ServiceInstance> serviceInstances,
+                                        Map<String, List<URL>> revisionExportedURLs) {
 
         if (isEmpty(serviceInstances)) {
             return emptyList();
         }
 
+        // the URLs of the instances of each service name the subscription belongs to are kept apart
+        ConcurrentMap<String, Map<String, List<URL>>> serviceInstanceURLs =
+                subscribedInstanceURLs.computeIfAbsent(createSubscriptionKey(subscribedURL), k -> new ConcurrentHashMap<>());
+        Map<String, List<URL>> previousInstanceURLs = serviceInstanceURLs.getOrDefault(serviceName, emptyMap());
+        Map<String, List<URL>> instanceURLs = new HashMap<>();
+        Map<String, List<URL>> revisionTemplateURLs = new HashMap<>();
+
         List<URL> clonedExportedURLs = new LinkedList<>();
 
         serviceInstances.forEach(serviceInstance -> {
 
-            String host = serviceInstance.getHost();
-
-            getTemplateExportedURLs(subscribedURL, serviceInstance)
-                    .stream()
-                    .map(templateURL -> templateURL.removeParameter(TIMESTAMP_KEY))
-                    .map(templateURL -> templateURL.removeParameter(PID_KEY))
-                    .map(templateURL -> {
-                        String protocol = templateURL.getProtocol();
-                        int port = getProtocolPort(serviceInstance, protocol);
-                        if (Objects.equals(templateURL.getHost(), host)
-                                && Objects.equals(templateURL.getPort(), port)) { // use templateURL if equals
-                            return templateURL;
-                        }
-
-                        URLBuilder clonedURLBuilder = from(templateURL) // remove the parameters from the template URL
-                                .setHost(host)  // reset the host
-                                .setPort(port); // reset the port
-
-                        return clonedURLBuilder.build();
-                    })
-                    .forEach(clonedExportedURLs::add);
+            String revision = getExportedServicesRevision(serviceInstance);
+            List<URL> exportedURLs = revisionExportedURLs.get(revision);
+            if (exportedURLs == null) { // not fetched yet
+                return;
+            }
+
+            String instanceKey = revision + "@" + serviceInstance.getHost() + "@" + serviceInstance.getMetadata().get(ENDPOINTS);
+            List<URL> urls = previousInstanceURLs.get(instanceKey);
+            if (urls == null) {
+                List<URL> templateURLs = revisionTemplateURLs.computeIfAbsent(revision,
+                        r -> getTemplateExportedURLs(subscribedURL, exportedURLs));
+                urls = cloneTemplateURLs(templateURLs, serviceInstance);
+            }
+            instanceURLs.put(instanceKey, urls);
+            clonedExportedURLs.addAll(urls);
         });
+
+        serviceInstanceURLs.put(serviceName, instanceURLs);
         return clonedExportedURLs;
     }
 
+    private List<URL> cloneTemplateURLs(List<URL> templateURLs, ServiceInstance serviceInstance) {
+        String host = serviceInstance.getHost();
+        return templateURLs.stream()
+                .map(templateURL -> {
+                    String protocol = templateURL.getProtocol();
+                    int port = getProtocolPort(serviceInstance, protocol);
+                    if (Objects.equals(templateURL.getHost(), host)
+                            && Objects.equals(templateURL.getPort(), port)) { // use templateURL if equals
+                        return templateURL;
+                    }
+
+                    URLBuilder clonedURLBuilder = from(templateURL) // remove the parameters from the template URL
+                            .setHost(host)  // reset the host
+                            .setPort(port); // reset the port
+
+                    return clonedURLBuilder.build();
+                })
+                .collect(Collectors.toList());
+    }
 
     /**
      * Select one {@link ServiceInstance} by {@link ServiceInstanceSelector the strategy} if there are more that one
@@ -590,140 +637,37 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
     }
 
     /**
-     * Get the template exported {@link URL urls} from the specified {@link ServiceInstance}.
-     * <p>
-     * First, put the revision {@link ServiceInstance service instance}
-     * associating {@link #getExportedURLs(ServiceInstance) exported URLs} into cache.
-     * <p>
-     * And then compare a new {@link ServiceInstance service instances'} revision with cached one,If they are equal,
-     * return the cached template {@link URL urls} immediately, or to get template {@link URL urls} that the provider
-     * {@link ServiceInstance instance} exported via executing {@link ##getExportedURLs(ServiceInstance) (ServiceInstance)}
-     * method.
-     * <p>
-     * Eventually, the retrieving result will be cached and returned.
-     *
-     * @param subscribedURL    the subscribed {@link URL url}
-     * @param selectedInstance the {@link ServiceInstance}
-     *                         associating with the {@link URL urls}
-     * @return non-null {@link List} of {@link URL urls}
+     * The {@link ServiceInstance service instances} of a revision asked for its exported URLs: the
+     * {@link #selectServiceInstance(List) selected} one, then the next ones up to {@link #metadataFetchAttempts}
      */
-    private List<URL> getTemplateExportedURLs(URL subscribedURL, ServiceInstance selectedInstance) {
-
-        List<URL> exportedURLs = getRevisionExportedURLs(selectedInstance);
-
-        if (isEmpty(exportedURLs)) {
-            return emptyList();
-        }
-
-        return filterSubscribedURLs(subscribedURL, exportedURLs);
-    }
-
-    /**
-     * Initialize the URLs that the specified {@link ServiceInstance service instance} exported
-     *
-     * @param serviceInstance the {@link ServiceInstance} exports the Dubbo Services
-     * @return the {@link URL URLs} that the {@link ServiceInstance} exported, it's calculated from
-     * The invocation to remote {@link MetadataService}, or get from {@link #serviceRevisionExportedURLsCache cache} if
-     * {@link ServiceInstanceMetadataUtils#getExportedServicesRevision(ServiceInstance) revision} is hit
-     */
-    private List<URL> initializeRevisionExportedURLs(ServiceInstance serviceInstance) {
-
-        if (serviceInstance == null) {
-            return emptyList();
-        }
-
-        String serviceName = serviceInstance.getServiceName();
-        // get the revision from the specified {@link ServiceInstance}
-        String revision = getExportedServicesRevision(serviceInstance);
-
-        Map<String, List<URL>> revisionExportedURLsMap = getRevisionExportedURLsMap(serviceName);
-
-        List<URL> revisionExportedURLs = revisionExportedURLsMap.get(revision);
-
-        boolean firstGet = false;
-
-        if (revisionExportedURLs == null) { // The hit is missing in cache
-
-            if (!revisionExportedURLsMap.isEmpty()) { // The case is that current ServiceInstance with the different revision
-                if (logger.isWarnEnabled()) {
-                    logger.warn(format("The ServiceInstance[id: %s, host : %s , port : %s] has different revision : %s" +
-                                    ", please make sure the service [name : %s] is changing or not.",
-                            serviceInstance.getId(),
-                            serviceInstance.getHost(),
-                            serviceInstance.getPort(),
-                            revision,
-                            serviceInstance.getServiceName()
-                    ));
-                }
-            } else { // Else, it's the first time to get the exported URLs
-                firstGet = true;
-            }
-
-            revisionExportedURLs = getExportedURLs(serviceInstance);
-
-            if (revisionExportedURLs != null) { // just allow the valid result into exportedURLsMap
-
-                revisionExportedURLsMap.put(revision, revisionExportedURLs);
-
-                if (logger.isDebugEnabled()) {
-                    logger.debug(format("Get the exported URLs[size : %s, first : %s] from the target service " +
-                                    "instance [id: %s , service : %s , host : %s , port : %s , revision : %s]",
-                            revisionExportedURLs.size(), firstGet,
-                            serviceInstance.getId(),
-                            serviceInstance.getServiceName(),
-                            serviceInstance.getHost(),
-                            serviceInstance.getPort(),
-                            revision
-                    ));
-                }
+    private List<ServiceInstance> selectServiceInstances(List<ServiceInstance> serviceInstances) {
+        ServiceInstance selectedInstance = selectServiceInstance(serviceInstances);
+        List<ServiceInstance> selectedInstances = new ArrayList<>(metadataFetchAttempts);
+        selectedInstances.add(selectedInstance);
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            if (selectedInstances.size() >= metadataFetchAttempts) {
+                break;
             }
-        } else { // Else, The cache is hit
-            if (logger.isDebugEnabled()) {
-                logger.debug(format("Get the exported URLs[size : %s] from cache, the instance" +
-                                "[id: %s , service : %s , host : %s , port : %s , revision : %s]",
-                        revisionExportedURLs.size(),
-                        serviceInstance.getId(),
-                        serviceInstance.getServiceName(),
-                        serviceInstance.getHost(),
-                        serviceInstance.getPort(),
-                        revision
-                ));
+            if (serviceInstance != selectedInstance) {
+                selectedInstances.add(serviceInstance);
             }
         }
-
-        return revisionExportedURLs;
-    }
-
-    private Map<String, List<URL>> getRevisionExportedURLsMap(String serviceName) {
-        return serviceRevisionExportedURLsCache.computeIfAbsent(serviceName, s -> new LinkedHashMap());
+        return selectedInstances;
     }
 
     /**
-     * Get all services {@link URL URLs} that the specified {@link ServiceInstance service instance} exported from cache
+     * Get the template exported {@link URL urls} of a revision for the subscription, without the parameters which
+     * differ between the instances
      *
-     * @param serviceInstance the {@link ServiceInstance} exports the Dubbo Services
-     * @return the same as {@link #getExportedURLs(ServiceInstance)}
+     * @param subscribedURL the subscribed {@link URL url}
+     * @param exportedURLs  the {@link URL urls} a {@link ServiceInstance} of the revision exported
+     * @return non-null {@link List} of {@link URL urls}
      */
-    private List<URL> getRevisionExportedURLs(ServiceInstance serviceInstance) {
-
-        if (serviceInstance == null) {
-            return emptyList();
-        }
-
-        String serviceName = serviceInstance.getServiceName();
-        // get the revision from the specified {@link ServiceInstance}
-        String revision = getExportedServicesRevision(serviceInstance);
-
-        return getRevisionExportedURLs(serviceName, revision);
-    }
-
-    private List<URL> getRevisionExportedURLs(String serviceName, String revision) {
-        return executeShared(() -> {
-            Map<String, List<URL>> revisionExportedURLsMap = getRevisionExportedURLsMap(serviceName);
-            List<URL> exportedURLs = revisionExportedURLsMap.get(revision);
-            // Get a copy from source in order to prevent the caller trying to change the cached data
-            return exportedURLs != null ? new ArrayList<>(exportedURLs) : emptyList();
-        });
+    private List<URL> getTemplateExportedURLs(URL subscribedURL, List<URL> exportedURLs) {
+        return filterSubscribedURLs(subscribedURL, exportedURLs).stream()
+                .map(templateURL -> templateURL.removeParameter(TIMESTAMP_KEY))
+                .map(templateURL -> templateURL.removeParameter(PID_KEY))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -763,26 +707,6 @@ public class ServiceDiscoveryRegistry extends FailbackRegistry {
         return exportedURLs;
     }
 
-    private void executeExclusively(Runnable runnable) {
-        Lock writeLock = lock.writeLock();
-        writeLock.lock();
-        try {
-            runnable.run();
-        } finally {
-            writeLock.unlock();
-        }
-    }
-
-    private <T> T executeShared(Supplier<T> supplier) {
-        Lock readLock = lock.readLock();
-        readLock.lock();
-        try {
-            return supplier.get();
-        } finally {
-            readLock.unlock();
-        }
-    }
-
     /**
      * Synthesize new subscribed {@link URL URLs} from old one
      *
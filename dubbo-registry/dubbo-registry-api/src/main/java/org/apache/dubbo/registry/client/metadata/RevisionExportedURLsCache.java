@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.client.metadata;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.config.ConfigurationUtils;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.utils.LRUCache;
+import org.apache.dubbo.common.utils.NamedThreadFactory;
+import org.apache.dubbo.registry.client.ServiceDiscoveryRegistry;
+import org.apache.dubbo.registry.client.ServiceInstance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+import static org.apache.dubbo.registry.Constants.DEFAULT_METADATA_FETCH_THREADS;
+import static org.apache.dubbo.registry.Constants.DEFAULT_METADATA_REVISION_CACHE_SIZE;
+import static org.apache.dubbo.registry.Constants.METADATA_FETCH_THREADS_KEY;
+import static org.apache.dubbo.registry.Constants.METADATA_REVISION_CACHE_SIZE_KEY;
+
+/**
+ * The {@link URL URLs} that the {@link ServiceInstance service instances} of a service exported, by revision of the
+ * instances, shared by all the {@link ServiceDiscoveryRegistry registries}. The instances of a revision export the
+ * same URLs but their host and ports, their URLs are the template of the URLs of every instance.
+ * <p>
+ * The URLs of a revision are fetched once whatever the registries and the subscriptions which need them at the same
+ * time, the fetches of different revisions run in parallel. The least recently used revisions are evicted beyond
+ * the capacity of the cache.
+ *
+ * @since 2.7.8
+ */
+public class RevisionExportedURLsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevisionExportedURLsCache.class);
+
+    private static volatile RevisionExportedURLsCache defaultCache;
+
+    // <service name and revision, exported urls>
+    private final Map<String, List<URL>> cache;
+
+    private final ConcurrentMap<String, CompletableFuture<List<URL>>> fetching = new ConcurrentHashMap<>();
+
+    private final Executor executor;
+
+    public RevisionExportedURLsCache(int capacity, Executor executor) {
+        this.cache = new LRUCache<>(capacity);
+        this.executor = executor;
+    }
+
+    /**
+     * The cache shared by the registries, its capacity and the threads of its fetches are given by the
+     * {@value org.apache.dubbo.registry.Constants#METADATA_REVISION_CACHE_SIZE_KEY} and
+     * {@value org.apache.dubbo.registry.Constants#METADATA_FETCH_THREADS_KEY} properties.
+     */
+    public static RevisionExportedURLsCache getDefault() {
+        if (defaultCache == null) {
+            synchronized (RevisionExportedURLsCache.class) {
+                if (defaultCache == null) {
+                    int capacity = Integer.parseInt(ConfigurationUtils.getProperty(METADATA_REVISION_CACHE_SIZE_KEY,
+                            String.valueOf(DEFAULT_METADATA_REVISION_CACHE_SIZE)));
+                    int threads = Integer.parseInt(ConfigurationUtils.getProperty(METADATA_FETCH_THREADS_KEY,
+                            String.valueOf(DEFAULT_METADATA_FETCH_THREADS)));
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), new NamedThreadFactory("DubboMetadataFetcher", true));
+                    // no thread is left once the instances stop changing
+                    executor.allowCoreThreadTimeOut(true);
+                    defaultCache = new RevisionExportedURLsCache(capacity, executor);
+                }
+            }
+        }
+        return defaultCache;
+    }
+
+    /**
+     * @return the URLs of the revision, null if they are not cached
+     */
+    public List<URL> get(String serviceName, String revision) {
+        return cache.get(toKey(serviceName, revision));
+    }
+
+    /**
+     * Fetch the URLs of the revision from its instances, one after the other until one of them returns some URLs.
+     * If the revision is being fetched already, the fetch in progress is returned.
+     *
+     * @param instances the instances to ask, in order
+     * @param fetcher   the URLs the instance exported, null if they can not be fetched
+     * @return the URLs of the revision, cached once fetched, null if no instance returned them, empty if the instances
+     * did not export any
+     */
+    public CompletableFuture<List<URL>> fetch(String serviceName, String revision, List<ServiceInstance> instances,
+                                              Function<ServiceInstance, List<URL>> fetcher) {
+        String key = toKey(serviceName, revision);
+        CompletableFuture<List<URL>> future = fetching.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> {
+            List<URL> exportedURLs = null;
+            for (ServiceInstance instance : instances) {
+                exportedURLs = fetcher.apply(instance);
+                if (exportedURLs != null && !exportedURLs.isEmpty()) {
+                    exportedURLs = Collections.unmodifiableList(exportedURLs);
+                    cache.put(k, exportedURLs);
+                    return exportedURLs;
+                }
+            }
+            if (logger.isWarnEnabled()) {
+                logger.warn(format("None of the %d instances asked returned the exported URLs of the service[name : %s]" +
+                        " revision : %s", instances.size(), serviceName, revision));
+            }
+            return exportedURLs;
+        }, executor));
+        future.whenComplete((exportedURLs, t) -> fetching.remove(key, future));
+        return future;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static String toKey(String serviceName, String revision) {
+        return serviceName + ":" + revision;
+    }
+}
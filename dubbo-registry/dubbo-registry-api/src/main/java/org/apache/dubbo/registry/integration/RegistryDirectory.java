@@ -29,7 +29,7 @@ import org.apache.dubbo.common.utils.NetUtils;
 import org.apache.dubbo.common.utils.StringUtils;
 import org.apache.dubbo.common.utils.UrlUtils;
 import org.apache.dubbo.registry.AddressListener;
-import org.apache.dubbo.registry.NotifyListener;
+import org.apache.dubbo.registry.DeltaNotifyListener;
 import org.apache.dubbo.registry.Registry;
 import org.apache.dubbo.remoting.Constants;
 import org.apache.dubbo.rpc.Invocation;
@@ -49,7 +49,6 @@ import org.apache.dubbo.rpc.model.ApplicationModel;
 import org.apache.dubbo.rpc.protocol.InvokerWrapper;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -91,7 +90,7 @@ import static org.apache.dubbo.rpc.cluster.Constants.ROUTER_KEY;
 /**
  * RegistryDirectory
  */
-public class RegistryDirectory<T> extends AbstractDirectory<T> implements NotifyListener {
+public class RegistryDirectory<T> extends AbstractDirectory<T> implements DeltaNotifyListener {
 
     private static final Logger logger = LoggerFactory.getLogger(RegistryDirectory.class);
 
@@ -130,6 +129,9 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
     // Set<invokerUrls> cache invokeUrls to invokers mapping.
     private volatile Set<URL> cachedInvokerUrls; // The initial value is null and the midway may be assigned to null, please use the local variable reference
 
+    // Map<providerUrl, key of urlInvokerMap>, to find the invoker of a removed provider url.
+    private volatile Map<URL, String> urlKeys; // The initial value is null and the midway may be assigned to null, please use the local variable reference
+
     private static final ConsumerConfigurationListener CONSUMER_CONFIGURATION_LISTENER = new ConsumerConfigurationListener();
     private ReferenceConfigurationListener serviceConfigurationListener;
 
@@ -244,8 +246,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
         /**
          * 3.x added for extend URL address
          */
-        ExtensionLoader<AddressListener> addressListenerExtensionLoader = ExtensionLoader.getExtensionLoader(AddressListener.class);
-        List<AddressListener> supportedListeners = addressListenerExtensionLoader.getActivateExtension(getUrl(), (String[]) null);
+        List<AddressListener> supportedListeners = getAddressListeners();
         if (supportedListeners != null && !supportedListeners.isEmpty()) {
             for (AddressListener addressListener : supportedListeners) {
                 providerURLs = addressListener.notify(providerURLs, getConsumerUrl(),this);
@@ -254,6 +255,81 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
         refreshOverrideAndInvoker(providerURLs);
     }
 
+    /**
+     * Refreshes only the invokers of the changed provider urls, the other notifications, or when the address
+     * listeners need the full list, go through {@link #notify(List)}.
+     */
+    @Override
+    public synchronized void notifyDelta(String category, List<URL> added, List<URL> removed, List<URL> urls) {
+        Map<String, Invoker<T>> oldUrlInvokerMap = this.urlInvokerMap; // local reference
+        Map<URL, String> oldUrlKeys = this.urlKeys; // local reference
+        Set<URL> oldCachedInvokerUrls = this.cachedInvokerUrls; // local reference
+        if (!PROVIDERS_CATEGORY.equals(category) || forbidden || oldUrlInvokerMap == null || oldUrlKeys == null
+                || oldCachedInvokerUrls == null || CollectionUtils.isNotEmpty(getAddressListeners())) {
+            notify(urls);
+            return;
+        }
+        List<URL> addedUrls = added.stream()
+                .filter(Objects::nonNull)
+                .filter(this::isValidCategory)
+                .filter(this::isNotCompatibleFor26x)
+                .collect(Collectors.toList());
+        if (addedUrls.stream().anyMatch(url -> EMPTY_PROTOCOL.equals(url.getProtocol()))) {
+            notify(urls);
+            return;
+        }
+
+        Map<String, Invoker<T>> newUrlInvokerMap = new HashMap<>(oldUrlInvokerMap);
+        Map<URL, String> newUrlKeys = new HashMap<>(oldUrlKeys);
+        Set<URL> newCachedInvokerUrls = new HashSet<>(oldCachedInvokerUrls);
+        Map<String, Invoker<T>> removedInvokers = new HashMap<>();
+        for (URL url : removed) {
+            newCachedInvokerUrls.remove(url);
+            String key = newUrlKeys.remove(url);
+            // the invoker may be shared with a duplicated provider url
+            if (key != null && !newUrlKeys.containsValue(key)) {
+                Invoker<T> invoker = newUrlInvokerMap.remove(key);
+                if (invoker != null) {
+                    removedInvokers.put(key, invoker);
+                }
+            }
+        }
+        if (newUrlInvokerMap.isEmpty() && addedUrls.isEmpty()) {
+            notify(urls);
+            return;
+        }
+
+        newCachedInvokerUrls.addAll(addedUrls);
+        List<Invoker<T>> addedInvokers = new ArrayList<>();
+        for (Map.Entry<String, Invoker<T>> entry : toInvokers(addedUrls, newUrlKeys).entrySet()) {
+            // a changed provider url may still merge into the url of the removed invoker
+            boolean kept = removedInvokers.remove(entry.getKey()) != null;
+            if (newUrlInvokerMap.put(entry.getKey(), entry.getValue()) == null && !kept) {
+                addedInvokers.add(entry.getValue());
+            }
+        }
+        if (newUrlInvokerMap.isEmpty()) {
+            logger.error(new IllegalStateException("urls to invokers error .invokerUrls.size :" + urls.size() + ", invoker.size :0. urls :" + urls
+                    .toString()));
+            return;
+        }
+
+        List<Invoker<T>> newInvokers = Collections.unmodifiableList(new ArrayList<>(newUrlInvokerMap.values()));
+        routerChain.setInvokers(newInvokers, addedInvokers, new ArrayList<>(removedInvokers.values()));
+        this.invokers = multiGroup ? toMergeInvokerList(newInvokers) : newInvokers;
+        this.urlInvokerMap = newUrlInvokerMap;
+        this.urlKeys = newUrlKeys;
+        this.cachedInvokerUrls = newCachedInvokerUrls;
+
+        for (Invoker<T> invoker : removedInvokers.values()) {
+            destroyInvoker(invoker);
+        }
+    }
+
+    private List<AddressListener> getAddressListeners() {
+        return ExtensionLoader.getExtensionLoader(AddressListener.class).getActivateExtension(getUrl(), (String[]) null);
+    }
+
     private String judgeCategory(URL url) {
         if (UrlUtils.isConfigurator(url)) {
             return CONFIGURATORS_CATEGORY;
@@ -309,7 +385,8 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             if (invokerUrls.isEmpty()) {
                 return;
             }
-            Map<String, Invoker<T>> newUrlInvokerMap = toInvokers(invokerUrls);// Translate url list to Invoker map
+            Map<URL, String> newUrlKeys = new HashMap<>();
+            Map<String, Invoker<T>> newUrlInvokerMap = toInvokers(invokerUrls, newUrlKeys);// Translate url list to Invoker map
 
             /**
              * If the calculation is wrong, it is not processed.
@@ -331,6 +408,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             routerChain.setInvokers(newInvokers);
             this.invokers = multiGroup ? toMergeInvokerList(newInvokers) : newInvokers;
             this.urlInvokerMap = newUrlInvokerMap;
+            this.urlKeys = newUrlKeys;
 
             try {
                 destroyUnusedInvokers(oldUrlInvokerMap, newUrlInvokerMap); // Close the unused Invoker
@@ -399,9 +477,10 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
      * Turn urls into invokers, and if url has been refer, will not re-reference.
      *
      * @param urls
+     * @param urlKeys collects the keys of the invokers of the urls
      * @return invokers
      */
-    private Map<String, Invoker<T>> toInvokers(List<URL> urls) {
+    private Map<String, Invoker<T>> toInvokers(List<URL> urls, Map<URL, String> urlKeys) {
         Map<String, Invoker<T>> newUrlInvokerMap = new HashMap<>();
         if (urls == null || urls.isEmpty()) {
             return newUrlInvokerMap;
@@ -433,7 +512,8 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
                         ExtensionLoader.getExtensionLoader(Protocol.class).getSupportedExtensions()));
                 continue;
             }
-            URL url = mergeUrl(providerUrl);
+            // thousands of providers share most of their parameters
+            URL url = mergeUrl(providerUrl).compact();
 
             String key = url.toFullString(); // The parameter urls are sorted
             if (keys.contains(key)) { // Repeated url
@@ -452,16 +532,18 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
                         enabled = url.getParameter(ENABLED_KEY, true);
                     }
                     if (enabled) {
-                        invoker = new InvokerDelegate<>(protocol.refer(serviceType, url), url, providerUrl);
+                        invoker = new InvokerDelegate<>(protocol.refer(serviceType, url), url, providerUrl.compact());
                     }
                 } catch (Throwable t) {
                     logger.error("Failed to refer invoker for interface:" + serviceType + ",url:(" + url + ")" + t.getMessage(), t);
                 }
                 if (invoker != null) { // Put new invoker in cache
                     newUrlInvokerMap.put(key, invoker);
+                    urlKeys.put(providerUrl, key);
                 }
             } else {
                 newUrlInvokerMap.put(key, invoker);
+                urlKeys.put(providerUrl, key);
             }
         }
         keys.clear();
@@ -543,6 +625,7 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             localUrlInvokerMap.clear();
         }
         invokers = null;
+        urlKeys = null;
     }
 
     /**
@@ -557,12 +640,11 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
             destroyAllInvokers();
             return;
         }
-        // check deleted invoker
+        // check deleted invoker, an invoker kept is always kept under the same url
         List<String> deleted = null;
         if (oldUrlInvokerMap != null) {
-            Collection<Invoker<T>> newInvokers = newUrlInvokerMap.values();
             for (Map.Entry<String, Invoker<T>> entry : oldUrlInvokerMap.entrySet()) {
-                if (!newInvokers.contains(entry.getValue())) {
+                if (newUrlInvokerMap.get(entry.getKey()) != entry.getValue()) {
                     if (deleted == null) {
                         deleted = new ArrayList<>();
                     }
@@ -576,20 +658,24 @@ public class RegistryDirectory<T> extends AbstractDirectory<T> implements Notify
                 if (url != null) {
                     Invoker<T> invoker = oldUrlInvokerMap.remove(url);
                     if (invoker != null) {
-                        try {
-                            invoker.destroy();
-                            if (logger.isDebugEnabled()) {
-                                logger.debug("destroy invoker[" + invoker.getUrl() + "] success. ");
-                            }
-                        } catch (Exception e) {
-                            logger.warn("destroy invoker[" + invoker.getUrl() + "] failed. " + e.getMessage(), e);
-                        }
+                        destroyInvoker(invoker);
                     }
                 }
             }
         }
     }
 
+    private void destroyInvoker(Invoker<T> invoker) {
+        try {
+            invoker.destroy();
+            if (logger.isDebugEnabled()) {
+                logger.debug("destroy invoker[" + invoker.getUrl() + "] success. ");
+            }
+        } catch (Exception e) {
+            logger.warn("destroy invoker[" + invoker.getUrl() + "] failed. " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Invoker<T>> doList(Invocation invocation) {
         if (forbidden) {
@@ -49,8 +49,11 @@ import org.apache.dubbo.rpc.protocol.InvokerWrapper;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -137,6 +140,13 @@ public class RegistryProtocol implements Protocol {
     private RegistryFactory registryFactory;
     private ProxyFactory proxyFactory;
 
+    private static final Object BATCH_LOCK = new Object();
+
+    /**
+     * The provider urls to register per registry url while the registrations are batched, null otherwise
+     */
+    private static Map<URL, BatchedRegistration> batchedRegistrations;
+
     private ConcurrentMap<URL, ReExportTask> reExportFailedTasks = new ConcurrentHashMap<>();
     private HashedWheelTimer retryTimer = new HashedWheelTimer(new NamedThreadFactory("DubboReexportTimer", true), DEFAULT_REGISTRY_RETRY_PERIOD, TimeUnit.MILLISECONDS, 128);
 
@@ -179,9 +189,73 @@ public class RegistryProtocol implements Protocol {
 
     private void register(URL registryUrl, URL registeredProviderUrl) {
         Registry registry = registryFactory.getRegistry(registryUrl);
+        synchronized (BATCH_LOCK) {
+            if (batchedRegistrations != null) {
+                batchedRegistrations.computeIfAbsent(registry.getUrl(), k -> new BatchedRegistration(registry))
+                        .urls.add(registeredProviderUrl);
+                return;
+            }
+        }
         registry.register(registeredProviderUrl);
     }
 
+    /**
+     * Defers the registrations of the services exported from now on to {@link #registerBatched()}, which sends them
+     * with one {@link Registry#registerAll(java.util.Collection)} per registry.
+     *
+     * @since 2.7.8
+     */
+    public static void batchRegistrations() {
+        synchronized (BATCH_LOCK) {
+            if (batchedRegistrations == null) {
+                batchedRegistrations = new LinkedHashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Registers the registrations deferred since {@link #batchRegistrations()}, the next ones are not deferred anymore.
+     *
+     * @throws IllegalStateException if a registry checked at startup failed to register them
+     * @since 2.7.8
+     */
+    public static void registerBatched() {
+        Map<URL, BatchedRegistration> batched;
+        synchronized (BATCH_LOCK) {
+            batched = batchedRegistrations;
+            batchedRegistrations = null;
+        }
+        if (batched == null) {
+            return;
+        }
+        RuntimeException exception = null;
+        for (BatchedRegistration registration : batched.values()) {
+            try {
+                registration.registry.registerAll(registration.urls);
+            } catch (RuntimeException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    private static void removeBatched(Registry registry, URL registeredProviderUrl) {
+        synchronized (BATCH_LOCK) {
+            if (batchedRegistrations != null) {
+                BatchedRegistration registration = batchedRegistrations.get(registry.getUrl());
+                if (registration != null) {
+                    registration.urls.remove(registeredProviderUrl);
+                }
+            }
+        }
+    }
+
     private void registerStatedUrl(URL registryUrl, URL registeredProviderUrl, boolean registered) {
         ProviderModel model = ApplicationModel.getProviderModel(registeredProviderUrl.getServiceKey());
         model.addStatedUrl(new ProviderModel.RegisterStatedURL(
@@ -770,6 +844,7 @@ public class RegistryProtocol implements Protocol {
             bounds.remove(key);
 
             Registry registry = RegistryProtocol.this.getRegistry(originInvoker);
+            removeBatched(registry, registerUrl);
             try {
                 registry.unregister(registerUrl);
             } catch (Throwable t) {
@@ -813,6 +888,17 @@ public class RegistryProtocol implements Protocol {
         }
     }
 
+    private static class BatchedRegistration {
+
+        private final Registry registry;
+
+        private final Set<URL> urls = new LinkedHashSet<>();
+
+        BatchedRegistration(Registry registry) {
+            this.registry = registry;
+        }
+    }
+
     // for unit test
     private static RegistryProtocol INSTANCE;
 
@@ -19,22 +19,58 @@ package org.apache.dubbo.registry.retry;
 
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.timer.Timeout;
+import org.apache.dubbo.common.utils.ConcurrentHashSet;
 import org.apache.dubbo.registry.support.FailbackRegistry;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 /**
- * FailedRegisteredTask
+ * FailedRegisteredTask, retries together the urls whose registration failed together
  */
 public final class FailedRegisteredTask extends AbstractRetryTask {
 
     private static final String NAME = "retry register";
 
+    private final Set<URL> urls;
+
     public FailedRegisteredTask(URL url, FailbackRegistry registry) {
-        super(url, registry, NAME);
+        this(Collections.singletonList(url), registry);
+    }
+
+    /**
+     * @param urls the urls to retry, not empty
+     * @since 2.7.8
+     */
+    public FailedRegisteredTask(Collection<URL> urls, FailbackRegistry registry) {
+        super(urls.iterator().next(), registry, NAME);
+        this.urls = new ConcurrentHashSet<>();
+        this.urls.addAll(urls);
+    }
+
+    /**
+     * Stop retrying the url
+     *
+     * @return true if no url is left to retry
+     */
+    public boolean remove(URL url) {
+        urls.remove(url);
+        return urls.isEmpty();
     }
 
     @Override
     protected void doRetry(URL url, FailbackRegistry registry, Timeout timeout) {
-        registry.doRegister(url);
-        registry.removeFailedRegisteredTask(url);
+        List<URL> retried = new ArrayList<>(urls);
+        if (retried.size() == 1) {
+            registry.doRegister(retried.get(0));
+        } else if (!retried.isEmpty()) {
+            registry.doRegisterAll(retried);
+        }
+        for (URL u : retried) {
+            registry.removeFailedRegisteredTask(u);
+        }
     }
 }
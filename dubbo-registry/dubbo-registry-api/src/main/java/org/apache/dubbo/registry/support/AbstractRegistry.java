@@ -25,6 +25,7 @@ import org.apache.dubbo.common.utils.ConfigUtils;
 import org.apache.dubbo.common.utils.NamedThreadFactory;
 import org.apache.dubbo.common.utils.StringUtils;
 import org.apache.dubbo.common.utils.UrlUtils;
+import org.apache.dubbo.registry.DeltaNotifyListener;
 import org.apache.dubbo.registry.NotifyListener;
 import org.apache.dubbo.registry.Registry;
 
@@ -41,6 +42,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -62,7 +64,9 @@ import static org.apache.dubbo.common.constants.RegistryConstants.CATEGORY_KEY;
 import static org.apache.dubbo.common.constants.RegistryConstants.DEFAULT_CATEGORY;
 import static org.apache.dubbo.common.constants.RegistryConstants.DYNAMIC_KEY;
 import static org.apache.dubbo.common.constants.RegistryConstants.EMPTY_PROTOCOL;
+import static org.apache.dubbo.registry.Constants.BINARY_REGISTRY_FILE_FORMAT;
 import static org.apache.dubbo.registry.Constants.REGISTRY_FILESAVE_SYNC_KEY;
+import static org.apache.dubbo.registry.Constants.REGISTRY_FILE_FORMAT_KEY;
 import static org.apache.dubbo.registry.Constants.REGISTRY__LOCAL_FILE_CACHE_ENABLED;
 
 /**
@@ -107,6 +111,10 @@ public abstract class AbstractRegistry implements Registry {
     // Local disk cache file
     // 本地磁盘缓存文件，缓存注册中心的数据
     private File file;
+    // The cache file in the binary format, null if it is in the properties format
+    private BinaryRegistryCache binaryCache;
+    // The keys changed since the binary cache file was saved
+    private final Set<String> unsavedKeys = new ConcurrentHashSet<>();
 
     public AbstractRegistry(URL url) {
         // 把url放到registryUrl中
@@ -129,6 +137,9 @@ public abstract class AbstractRegistry implements Registry {
                 }
             }
             this.file = file;
+            if (file != null && BINARY_REGISTRY_FILE_FORMAT.equals(url.getParameter(REGISTRY_FILE_FORMAT_KEY))) {
+                this.binaryCache = new BinaryRegistryCache(file);
+            }
             // When starting the subscription center,
             // we need to read the local cache file for future Registry fault tolerance processing.
             // 把文件里面的数据写入properties
@@ -204,11 +215,15 @@ public abstract class AbstractRegistry implements Registry {
                 }
                 // Save
                 try {
-                    if (!file.exists()) {
-                        file.createNewFile();
-                    }
-                    try (FileOutputStream outputFile = new FileOutputStream(file)) {
-                        properties.store(outputFile, "Dubbo Registry Cache");
+                    if (binaryCache != null) {
+                        saveBinaryCache();
+                    } else {
+                        if (!file.exists()) {
+                            file.createNewFile();
+                        }
+                        try (FileOutputStream outputFile = new FileOutputStream(file)) {
+                            properties.store(outputFile, "Dubbo Registry Cache");
+                        }
                     }
                 } finally {
                     lock.release();
@@ -231,7 +246,35 @@ public abstract class AbstractRegistry implements Registry {
         }
     }
 
+    private void saveBinaryCache() throws IOException {
+        Map<String, String> records = new LinkedHashMap<>();
+        for (String key : unsavedKeys) {
+            unsavedKeys.remove(key);
+            records.put(key, properties.getProperty(key, ""));
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            binaryCache.save(records, properties);
+        } catch (IOException e) {
+            unsavedKeys.addAll(records.keySet());
+            throw e;
+        }
+    }
+
     private void loadProperties() {
+        if (binaryCache != null) {
+            try {
+                binaryCache.load(properties);
+                if (logger.isInfoEnabled()) {
+                    logger.info("Load registry cache file " + file + ", services: " + properties.size());
+                }
+            } catch (Throwable e) {
+                logger.warn("Failed to load registry cache file " + file, e);
+            }
+            return;
+        }
         if (file != null && file.exists()) {
             InputStream in = null;
             try {
@@ -373,9 +416,7 @@ public abstract class AbstractRegistry implements Registry {
             if (logger.isInfoEnabled()) {
                 logger.info("Recover register url " + recoverRegistered);
             }
-            for (URL url : recoverRegistered) {
-                register(url);
-            }
+            registerAll(recoverRegistered);
         }
         // subscribe
         //把内存缓存中的subscribed取出来遍历进行订阅
@@ -467,6 +508,38 @@ public abstract class AbstractRegistry implements Registry {
         }
     }
 
+    /**
+     * Notify the changes of a category from the Provider side, the listeners which are no
+     * {@link DeltaNotifyListener} get the full list instead.
+     *
+     * @param url      consumer side url
+     * @param listener listener
+     * @param category category of the urls
+     * @param added    provider urls added since the previous notification
+     * @param removed  provider urls removed since the previous notification
+     * @param urls     provider latest urls of the category
+     */
+    protected void notifyDelta(URL url, NotifyListener listener, String category, List<URL> added, List<URL> removed,
+                               List<URL> urls) {
+        if (url == null) {
+            throw new IllegalArgumentException("notify url == null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("notify listener == null");
+        }
+        if (!(listener instanceof DeltaNotifyListener) || CollectionUtils.isEmpty(urls)) {
+            notify(url, listener, urls);
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("Notify changed urls for subscribe url " + url + ", category: " + category + ", added: " + added
+                    + ", removed: " + removed + ", total: " + urls.size());
+        }
+        notified.computeIfAbsent(url, u -> new ConcurrentHashMap<>()).put(category, urls);
+        ((DeltaNotifyListener) listener).notifyDelta(category, added, removed, urls);
+        saveProperties(url);
+    }
+
     private void saveProperties(URL url) {
         if (file == null) {
             return;
@@ -486,6 +559,9 @@ public abstract class AbstractRegistry implements Registry {
                 }
             }
             properties.setProperty(url.getServiceKey(), buf.toString());
+            if (binaryCache != null) {
+                unsavedKeys.add(url.getServiceKey());
+            }
             long version = lastCacheChanged.incrementAndGet();
             if (syncSaveFile) {
                 doSaveProperties(version);
@@ -502,10 +578,21 @@ public abstract class AbstractRegistry implements Registry {
         if (logger.isInfoEnabled()) {
             logger.info("Destroy registry:" + getUrl());
         }
-        Set<URL> destroyRegistered = new HashSet<>(getRegistered());
+        List<URL> destroyRegistered = new ArrayList<>();
+        for (URL url : getRegistered()) {
+            if (url.getParameter(DYNAMIC_KEY, true)) {
+                destroyRegistered.add(url);
+            }
+        }
         if (!destroyRegistered.isEmpty()) {
-            for (URL url : new HashSet<>(getRegistered())) {
-                if (url.getParameter(DYNAMIC_KEY, true)) {
+            try {
+                unregisterAll(destroyRegistered);
+                if (logger.isInfoEnabled()) {
+                    logger.info("Destroy unregister urls " + destroyRegistered);
+                }
+            } catch (Throwable e) {
+                logger.warn("Failed to unregister urls to registry " + getUrl() + " at once on destroy, unregister them one by one, cause: " + e.getMessage(), e);
+                for (URL url : destroyRegistered) {
                     try {
                         unregister(url);
                         if (logger.isInfoEnabled()) {
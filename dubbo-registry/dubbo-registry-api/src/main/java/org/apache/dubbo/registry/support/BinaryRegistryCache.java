@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+/**
+ * The registry cache file in the binary format: a header followed by an append-only log of records, one per
+ * changed service key, the last record of a key wins.
+ * <p>
+ * A record is <code>int keyLength, int valueLength, key, value, int crc32</code> with the key and the value in
+ * UTF-8. A change appends the record of the changed key only, instead of rewriting every service. The log is
+ * compacted into one record per key once the stale records take more room than the live ones. A torn record at
+ * the end of the file, left by a crash while appending, is dropped at load and the file rewritten.
+ * <p>
+ * Not thread safe, the callers hold the lock of the cache file.
+ */
+final class BinaryRegistryCache {
+
+    static final byte[] MAGIC = new byte[]{'D', 'R', 'C', 1};
+
+    /**
+     * The log is not compacted below this size
+     */
+    static final long COMPACT_THRESHOLD = 1024 * 1024;
+
+    private final File file;
+
+    // The size in bytes of the latest record of each key
+    private final Map<String, Integer> recordSizes = new HashMap<>();
+
+    private long liveBytes;
+
+    private long fileBytes;
+
+    // The file is not a valid log, the next save rewrites it
+    private boolean rewrite;
+
+    BinaryRegistryCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the records into the properties. A file in the properties format is loaded as such, and converted by the
+     * next save.
+     */
+    void load(Properties properties) throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] magic = new byte[MAGIC.length];
+            if (!readHeader(in, magic)) {
+                rewrite = true;
+                try (InputStream propertiesIn = new FileInputStream(file)) {
+                    properties.load(propertiesIn);
+                }
+                return;
+            }
+            long position = MAGIC.length;
+            long length = file.length();
+            CRC32 crc = new CRC32();
+            while (length - position >= 12) {
+                int keyLength = in.readInt();
+                int valueLength = in.readInt();
+                if (keyLength < 0 || valueLength < 0 || (long) keyLength + valueLength + 12 > length - position) {
+                    break;
+                }
+                byte[] key = new byte[keyLength];
+                byte[] value = new byte[valueLength];
+                in.readFully(key);
+                in.readFully(value);
+                crc.reset();
+                crc.update(key);
+                crc.update(value);
+                if ((int) crc.getValue() != in.readInt()) {
+                    break;
+                }
+                String k = new String(key, StandardCharsets.UTF_8);
+                properties.setProperty(k, new String(value, StandardCharsets.UTF_8));
+                setRecordSize(k, keyLength + valueLength + 12);
+                position += keyLength + valueLength + 12;
+            }
+            fileBytes = position;
+            rewrite = position != length;
+        } catch (EOFException e) {
+            rewrite = true;
+        }
+    }
+
+    private static boolean readHeader(DataInputStream in, byte[] magic) throws IOException {
+        try {
+            in.readFully(magic);
+        } catch (EOFException e) {
+            return false;
+        }
+        return Arrays.equals(MAGIC, magic);
+    }
+
+    /**
+     * Appends the changed records, or rewrites the whole file from the properties if it is not a valid log or the
+     * stale records outweigh the live ones.
+     *
+     * @param records changed keys and their values
+     * @param all     all the keys and their values, including the changed ones
+     */
+    void save(Map<String, String> records, Properties all) throws IOException {
+        if (rewrite || fileBytes < MAGIC.length || file.length() != fileBytes) {
+            // corrupted, deleted or written by another process meanwhile
+            compact(all);
+            return;
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            for (Map.Entry<String, String> record : records.entrySet()) {
+                fileBytes += write(out, record.getKey(), record.getValue());
+            }
+        }
+        if (fileBytes > COMPACT_THRESHOLD && fileBytes - MAGIC.length > 2 * liveBytes) {
+            compact(all);
+        }
+    }
+
+    private void compact(Properties all) throws IOException {
+        recordSizes.clear();
+        liveBytes = 0;
+        File tmp = new File(file.getPath() + ".tmp");
+        long bytes = MAGIC.length;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.write(MAGIC);
+            for (String key : all.stringPropertyNames()) {
+                bytes += write(out, key, all.getProperty(key));
+            }
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        fileBytes = bytes;
+        rewrite = false;
+    }
+
+    private int write(DataOutputStream out, String key, String value) throws IOException {
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        byte[] v = value.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(k);
+        crc.update(v);
+        out.writeInt(k.length);
+        out.writeInt(v.length);
+        out.write(k);
+        out.write(v);
+        out.writeInt((int) crc.getValue());
+        int size = k.length + v.length + 12;
+        setRecordSize(key, size);
+        return size;
+    }
+
+    private void setRecordSize(String key, int size) {
+        Integer previous = recordSizes.put(key, size);
+        liveBytes += size - (previous == null ? 0 : previous);
+    }
+
+    long getFileBytes() {
+        return fileBytes;
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.timer.HashedWheelTimer;
 import org.apache.dubbo.common.utils.CollectionUtils;
 import org.apache.dubbo.common.utils.NamedThreadFactory;
+import org.apache.dubbo.registry.DeltaNotifyListener;
 import org.apache.dubbo.registry.NotifyListener;
 import org.apache.dubbo.registry.retry.FailedNotifiedTask;
 import org.apache.dubbo.registry.retry.FailedRegisteredTask;
@@ -28,18 +29,29 @@ import org.apache.dubbo.registry.retry.FailedUnregisteredTask;
 import org.apache.dubbo.registry.retry.FailedUnsubscribedTask;
 import org.apache.dubbo.remoting.Constants;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.apache.dubbo.common.constants.CommonConstants.FILE_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.CATEGORY_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.DEFAULT_CATEGORY;
 import static org.apache.dubbo.registry.Constants.CONSUMER_PROTOCOL;
 import static org.apache.dubbo.registry.Constants.DEFAULT_REGISTRY_RETRY_PERIOD;
+import static org.apache.dubbo.registry.Constants.REGISTRY_NOTIFY_DELAY_KEY;
+import static org.apache.dubbo.registry.Constants.REGISTRY_NOTIFY_MAX_DELAY_KEY;
 import static org.apache.dubbo.registry.Constants.REGISTRY_RETRY_PERIOD_KEY;
 
 /**
@@ -67,12 +79,34 @@ public abstract class FailbackRegistry extends AbstractRegistry {
     // Timer for failure retry, regular check if there is a request for failure, and if there is, an unlimited retry
     private final HashedWheelTimer retryTimer;
 
+    /**
+     * The time in milliseconds a changed category waits for further changes before it is notified, 0 if the
+     * notifications are not coalesced
+     */
+    private final int notifyDelay;
+
+    /**
+     * The time in milliseconds a changed category is held back at most
+     */
+    private final int notifyMaxDelay;
+
+    // Executor of the coalesced notifications, null if they are not coalesced
+    private final ScheduledExecutorService notifyExecutor;
+
+    private final ConcurrentMap<Holder, PendingNotification> pendingNotified = new ConcurrentHashMap<Holder, PendingNotification>();
+
     public FailbackRegistry(URL url) {
         super(url);
         this.retryPeriod = url.getParameter(REGISTRY_RETRY_PERIOD_KEY, DEFAULT_REGISTRY_RETRY_PERIOD);
 
         // since the retry task will not be very much. 128 ticks is enough.
         retryTimer = new HashedWheelTimer(new NamedThreadFactory("DubboRegistryRetryTimer", true), retryPeriod, TimeUnit.MILLISECONDS, 128);
+
+        this.notifyDelay = Math.max(url.getParameter(REGISTRY_NOTIFY_DELAY_KEY, 0), 0);
+        this.notifyMaxDelay = Math.max(url.getParameter(REGISTRY_NOTIFY_MAX_DELAY_KEY, notifyDelay * 5), notifyDelay);
+        this.notifyExecutor = notifyDelay > 0
+                ? Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("DubboRegistryNotifyTimer", true))
+                : null;
     }
 
     public void removeFailedRegisteredTask(URL url) {
@@ -99,13 +133,32 @@ public abstract class FailbackRegistry extends AbstractRegistry {
     }
 
     private void addFailedRegistered(URL url) {
-        FailedRegisteredTask oldOne = failedRegistered.get(url);
-        if (oldOne != null) {
+        addFailedRegistered(Collections.singletonList(url));
+    }
+
+    /**
+     * Retry the registration of the urls together, but the ones which already have a retry task
+     */
+    private void addFailedRegistered(Collection<URL> urls) {
+        List<URL> retried = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            if (!failedRegistered.containsKey(url)) {
+                retried.add(url);
+            }
+        }
+        if (retried.isEmpty()) {
             return;
         }
-        FailedRegisteredTask newTask = new FailedRegisteredTask(url, this);
-        oldOne = failedRegistered.putIfAbsent(url, newTask);
-        if (oldOne == null) {
+        FailedRegisteredTask newTask = new FailedRegisteredTask(retried, this);
+        boolean empty = true;
+        for (URL url : retried) {
+            if (failedRegistered.putIfAbsent(url, newTask) == null) {
+                empty = false;
+            } else {
+                newTask.remove(url);
+            }
+        }
+        if (!empty) {
             // never has a retry task. then start a new task for retry.
             retryTimer.newTimeout(newTask, retryPeriod, TimeUnit.MILLISECONDS);
         }
@@ -113,19 +166,39 @@ public abstract class FailbackRegistry extends AbstractRegistry {
 
     private void removeFailedRegistered(URL url) {
         FailedRegisteredTask f = failedRegistered.remove(url);
-        if (f != null) {
+        // the task goes on retrying the other urls which failed with this one
+        if (f != null && f.remove(url)) {
             f.cancel();
         }
     }
 
     private void addFailedUnregistered(URL url) {
-        FailedUnregisteredTask oldOne = failedUnregistered.get(url);
-        if (oldOne != null) {
+        addFailedUnregistered(Collections.singletonList(url));
+    }
+
+    /**
+     * Retry the unregistration of the urls together, but the ones which already have a retry task
+     */
+    private void addFailedUnregistered(Collection<URL> urls) {
+        List<URL> retried = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            if (!failedUnregistered.containsKey(url)) {
+                retried.add(url);
+            }
+        }
+        if (retried.isEmpty()) {
             return;
         }
-        FailedUnregisteredTask newTask = new FailedUnregisteredTask(url, this);
-        oldOne = failedUnregistered.putIfAbsent(url, newTask);
-        if (oldOne == null) {
+        FailedUnregisteredTask newTask = new FailedUnregisteredTask(retried, this);
+        boolean empty = true;
+        for (URL url : retried) {
+            if (failedUnregistered.putIfAbsent(url, newTask) == null) {
+                empty = false;
+            } else {
+                newTask.remove(url);
+            }
+        }
+        if (!empty) {
             // never has a retry task. then start a new task for retry.
             retryTimer.newTimeout(newTask, retryPeriod, TimeUnit.MILLISECONDS);
         }
@@ -133,7 +206,8 @@ public abstract class FailbackRegistry extends AbstractRegistry {
 
     private void removeFailedUnregistered(URL url) {
         FailedUnregisteredTask f = failedUnregistered.remove(url);
-        if (f != null) {
+        // the task goes on retrying the other urls which failed with this one
+        if (f != null && f.remove(url)) {
             f.cancel();
         }
     }
@@ -260,6 +334,44 @@ public abstract class FailbackRegistry extends AbstractRegistry {
         }
     }
 
+    @Override
+    public void registerAll(Collection<URL> urls) {
+        List<URL> accepted = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            if (!acceptable(url)) {
+                logger.info("URL " + url + " will not be registered to Registry. Registry " + url + " does not accept service of this protocol type.");
+                continue;
+            }
+            super.register(url);
+            removeFailedRegistered(url);
+            removeFailedUnregistered(url);
+            accepted.add(url);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            // Sending the registration requests of all the urls at once to the server side
+            doRegisterAll(accepted);
+        } catch (Exception e) {
+            Throwable t = e;
+
+            // If the startup detection is opened for some of the urls, the Exception is thrown directly.
+            List<URL> unchecked = getUnchecked(accepted);
+            boolean skipFailback = t instanceof SkipFailbackWrapperException;
+            if (skipFailback) {
+                t = t.getCause();
+            } else if (!unchecked.isEmpty()) {
+                logger.error("Failed to register " + unchecked + ", waiting for retry, cause: " + t.getMessage(), t);
+                // Record the failed registration requests to a failed list, retry them together regularly
+                addFailedRegistered(unchecked);
+            }
+            if (skipFailback || unchecked.size() < accepted.size()) {
+                throw new IllegalStateException("Failed to register " + accepted + " to registry " + getUrl().getAddress() + ", cause: " + t.getMessage(), t);
+            }
+        }
+    }
+
     @Override
     public void reExportRegister(URL url) {
         if (!acceptable(url)) {
@@ -309,6 +421,52 @@ public abstract class FailbackRegistry extends AbstractRegistry {
         }
     }
 
+    @Override
+    public void unregisterAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            super.unregister(url);
+            removeFailedRegistered(url);
+            removeFailedUnregistered(url);
+        }
+        if (urls.isEmpty()) {
+            return;
+        }
+        try {
+            // Sending the cancellation requests of all the urls at once to the server side
+            doUnregisterAll(urls);
+        } catch (Exception e) {
+            Throwable t = e;
+
+            // If the startup detection is opened for some of the urls, the Exception is thrown directly.
+            List<URL> unchecked = getUnchecked(urls);
+            boolean skipFailback = t instanceof SkipFailbackWrapperException;
+            if (skipFailback) {
+                t = t.getCause();
+            } else if (!unchecked.isEmpty()) {
+                logger.error("Failed to unregister " + unchecked + ", waiting for retry, cause: " + t.getMessage(), t);
+                // Record the failed cancellation requests to a failed list, retry them together regularly
+                addFailedUnregistered(unchecked);
+            }
+            if (skipFailback || unchecked.size() < urls.size()) {
+                throw new IllegalStateException("Failed to unregister " + urls + " to registry " + getUrl().getAddress() + ", cause: " + t.getMessage(), t);
+            }
+        }
+    }
+
+    /**
+     * The urls whose failure is retried rather than thrown, as {@link #register(URL)} decides it for each url
+     */
+    private List<URL> getUnchecked(Collection<URL> urls) {
+        boolean check = getUrl().getParameter(Constants.CHECK_KEY, true);
+        List<URL> unchecked = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            if (!check || !url.getParameter(Constants.CHECK_KEY, true) || CONSUMER_PROTOCOL.equals(url.getProtocol())) {
+                unchecked.add(url);
+            }
+        }
+        return unchecked;
+    }
+
     @Override
     public void reExportUnregister(URL url) {
         super.unregister(url);
@@ -362,6 +520,10 @@ public abstract class FailbackRegistry extends AbstractRegistry {
     public void unsubscribe(URL url, NotifyListener listener) {
         super.unsubscribe(url, listener);
         removeFailedSubscribed(url, listener);
+        PendingNotification pending = pendingNotified.remove(new Holder(url, listener));
+        if (pending != null) {
+            pending.cancel();
+        }
         try {
             // Sending a canceling subscription request to the server side
             doUnsubscribe(url, listener);
@@ -394,6 +556,33 @@ public abstract class FailbackRegistry extends AbstractRegistry {
         if (listener == null) {
             throw new IllegalArgumentException("notify listener == null");
         }
+        if (notifyExecutor != null && CollectionUtils.isNotEmpty(urls)) {
+            // the categories which have never been notified go through at once, so that subscribe sees them
+            Map<String, List<URL>> delayed = new HashMap<>();
+            List<URL> immediate = new ArrayList<>();
+            for (URL u : urls) {
+                String category = u.getParameter(CATEGORY_KEY, DEFAULT_CATEGORY);
+                if (isNotified(url, category)) {
+                    delayed.computeIfAbsent(category, k -> new ArrayList<>()).add(u);
+                } else {
+                    immediate.add(u);
+                }
+            }
+            if (!delayed.isEmpty()) {
+                PendingNotification pending = getPendingNotification(url, listener);
+                for (Map.Entry<String, List<URL>> entry : delayed.entrySet()) {
+                    pending.add(entry.getKey(), entry.getValue());
+                }
+                if (immediate.isEmpty()) {
+                    return;
+                }
+                urls = immediate;
+            }
+        }
+        notifyNow(url, listener, urls);
+    }
+
+    private void notifyNow(URL url, NotifyListener listener, List<URL> urls) {
         try {
             doNotify(url, listener, urls);
         } catch (Exception t) {
@@ -407,6 +596,38 @@ public abstract class FailbackRegistry extends AbstractRegistry {
         super.notify(url, listener, urls);
     }
 
+    @Override
+    protected void notifyDelta(URL url, NotifyListener listener, String category, List<URL> added, List<URL> removed,
+                               List<URL> urls) {
+        if (url == null) {
+            throw new IllegalArgumentException("notify url == null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("notify listener == null");
+        }
+        if (notifyExecutor != null && CollectionUtils.isNotEmpty(urls) && isNotified(url, category)) {
+            getPendingNotification(url, listener).addDelta(category, added, removed, urls);
+            return;
+        }
+        notifyDeltaNow(url, listener, category, added, removed, urls);
+    }
+
+    private void notifyDeltaNow(URL url, NotifyListener listener, String category, List<URL> added, List<URL> removed,
+                                List<URL> urls) {
+        if (!(listener instanceof DeltaNotifyListener) || CollectionUtils.isEmpty(urls)) {
+            // straight to the full list, going through notify would delay it again
+            notifyNow(url, listener, urls);
+            return;
+        }
+        try {
+            super.notifyDelta(url, listener, category, added, removed, urls);
+        } catch (Exception t) {
+            // Record a failed notification of the full list, retry regularly
+            addFailedNotified(url, listener, urls);
+            logger.error("Failed to notify for subscribe " + url + ", waiting for retry, cause: " + t.getMessage(), t);
+        }
+    }
+
     @Override
     protected void recover() throws Exception {
         // register
@@ -415,9 +636,7 @@ public abstract class FailbackRegistry extends AbstractRegistry {
             if (logger.isInfoEnabled()) {
                 logger.info("Recover register url " + recoverRegistered);
             }
-            for (URL url : recoverRegistered) {
-                addFailedRegistered(url);
-            }
+            addFailedRegistered(recoverRegistered);
         }
         // subscribe
         Map<URL, Set<NotifyListener>> recoverSubscribed = new HashMap<URL, Set<NotifyListener>>(getSubscribed());
@@ -434,10 +653,26 @@ public abstract class FailbackRegistry extends AbstractRegistry {
         }
     }
 
+    private boolean isNotified(URL url, String category) {
+        Map<String, List<URL>> categoryNotified = getNotified().get(url);
+        return categoryNotified != null && categoryNotified.containsKey(category);
+    }
+
+    private PendingNotification getPendingNotification(URL url, NotifyListener listener) {
+        return pendingNotified.computeIfAbsent(new Holder(url, listener), h -> new PendingNotification(url, listener));
+    }
+
+    ConcurrentMap<Holder, PendingNotification> getPendingNotified() {
+        return pendingNotified;
+    }
+
     @Override
     public void destroy() {
         super.destroy();
         retryTimer.stop();
+        if (notifyExecutor != null) {
+            notifyExecutor.shutdownNow();
+        }
     }
 
     // ==== Template method ====
@@ -446,10 +681,146 @@ public abstract class FailbackRegistry extends AbstractRegistry {
 
     public abstract void doUnregister(URL url);
 
+    /**
+     * Register the urls in as few requests to the server as the registry can, one by one by default
+     *
+     * @since 2.7.8
+     */
+    public void doRegisterAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            doRegister(url);
+        }
+    }
+
+    /**
+     * Unregister the urls in as few requests to the server as the registry can, one by one by default
+     *
+     * @since 2.7.8
+     */
+    public void doUnregisterAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            doUnregister(url);
+        }
+    }
+
     public abstract void doSubscribe(URL url, NotifyListener listener);
 
     public abstract void doUnsubscribe(URL url, NotifyListener listener);
 
+    /**
+     * The latest state of the categories changed since the previous notification of a subscription, it is
+     * notified once no change came in for {@link #notifyDelay}, or {@link #notifyMaxDelay} after the first change.
+     */
+    class PendingNotification implements Runnable {
+
+        private final URL url;
+
+        private final NotifyListener listener;
+
+        private final Map<String, PendingCategory> categories = new LinkedHashMap<>();
+
+        private long firstChange;
+
+        private long lastChange;
+
+        private boolean scheduled;
+
+        private boolean cancelled;
+
+        PendingNotification(URL url, NotifyListener listener) {
+            this.url = url;
+            this.listener = listener;
+        }
+
+        synchronized void add(String category, List<URL> urls) {
+            PendingCategory pending = categories.computeIfAbsent(category, k -> new PendingCategory());
+            pending.urls = urls;
+            // the full list replaces any pending change
+            pending.added = null;
+            pending.removed = null;
+            changed();
+        }
+
+        synchronized void addDelta(String category, List<URL> added, List<URL> removed, List<URL> urls) {
+            PendingCategory pending = categories.get(category);
+            if (pending == null) {
+                pending = new PendingCategory();
+                pending.added = new LinkedHashSet<>(added);
+                pending.removed = new LinkedHashSet<>(removed);
+                categories.put(category, pending);
+            } else if (pending.added != null) {
+                // keep the net change since the previous notification
+                for (URL u : removed) {
+                    if (!pending.added.remove(u)) {
+                        pending.removed.add(u);
+                    }
+                }
+                for (URL u : added) {
+                    if (!pending.removed.remove(u)) {
+                        pending.added.add(u);
+                    }
+                }
+            }
+            pending.urls = urls;
+            changed();
+        }
+
+        private void changed() {
+            if (cancelled || notifyExecutor.isShutdown()) {
+                categories.clear();
+                return;
+            }
+            lastChange = System.currentTimeMillis();
+            if (!scheduled) {
+                firstChange = lastChange;
+                scheduled = true;
+                notifyExecutor.schedule(this, notifyDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            categories.clear();
+        }
+
+        @Override
+        public synchronized void run() {
+            if (cancelled) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            long due = Math.min(lastChange + notifyDelay, firstChange + notifyMaxDelay);
+            if (due > now) {
+                notifyExecutor.schedule(this, due - now, TimeUnit.MILLISECONDS);
+                return;
+            }
+            scheduled = false;
+            // detached first, a change added while notifying is scheduled again rather than lost
+            Map<String, PendingCategory> flushed = new LinkedHashMap<>(categories);
+            categories.clear();
+            // notified while holding the lock, so that a later state can never overtake this one
+            for (Map.Entry<String, PendingCategory> entry : flushed.entrySet()) {
+                PendingCategory pending = entry.getValue();
+                if (pending.added == null) {
+                    notifyNow(url, listener, pending.urls);
+                } else if (!pending.added.isEmpty() || !pending.removed.isEmpty()) {
+                    notifyDeltaNow(url, listener, entry.getKey(), new ArrayList<>(pending.added),
+                            new ArrayList<>(pending.removed), pending.urls);
+                }
+            }
+        }
+    }
+
+    private static class PendingCategory {
+
+        private List<URL> urls;
+
+        // null if the full list is to be notified
+        private Set<URL> added;
+
+        private Set<URL> removed;
+    }
+
     static class Holder {
 
         private final URL url;
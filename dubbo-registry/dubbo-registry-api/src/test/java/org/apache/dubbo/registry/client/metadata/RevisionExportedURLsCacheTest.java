@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.client.metadata;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.registry.client.DefaultServiceInstance;
+import org.apache.dubbo.registry.client.ServiceInstance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link RevisionExportedURLsCache} Test
+ *
+ * @since 2.7.8
+ */
+public class RevisionExportedURLsCacheTest {
+
+    private static final String SERVICE_NAME = "provider";
+
+    private static final List<URL> EXPORTED_URLS = Collections.singletonList(
+            URL.valueOf("dubbo://192.168.0.102:20880/org.apache.dubbo.demo.DemoService"));
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final ServiceInstance instance1 = new DefaultServiceInstance(SERVICE_NAME, "192.168.0.101", 20880);
+
+    private final ServiceInstance instance2 = new DefaultServiceInstance(SERVICE_NAME, "192.168.0.102", 20880);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFetchOnce() throws Exception {
+        RevisionExportedURLsCache cache = new RevisionExportedURLsCache(16, executor);
+        CountDownLatch fetching = new CountDownLatch(1);
+        AtomicInteger fetches = new AtomicInteger();
+
+        CompletableFuture<List<URL>> first = cache.fetch(SERVICE_NAME, "1", asList(instance1), instance -> {
+            fetches.incrementAndGet();
+            try {
+                fetching.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return EXPORTED_URLS;
+        });
+        // the revision is being fetched already
+        CompletableFuture<List<URL>> second = cache.fetch(SERVICE_NAME, "1", asList(instance2), instance -> {
+            fetches.incrementAndGet();
+            return EXPORTED_URLS;
+        });
+        assertSame(first, second);
+        assertNull(cache.get(SERVICE_NAME, "1"));
+
+        fetching.countDown();
+        assertEquals(EXPORTED_URLS, first.get(1, TimeUnit.SECONDS));
+        assertEquals(1, fetches.get());
+        assertEquals(EXPORTED_URLS, cache.get(SERVICE_NAME, "1"));
+    }
+
+    @Test
+    public void testFetchFromNextInstance() throws Exception {
+        RevisionExportedURLsCache cache = new RevisionExportedURLsCache(16, executor);
+
+        List<URL> exportedURLs = cache.fetch(SERVICE_NAME, "1", asList(instance1, instance2),
+                instance -> instance == instance1 ? null : EXPORTED_URLS).get(1, TimeUnit.SECONDS);
+        assertEquals(EXPORTED_URLS, exportedURLs);
+
+        // no instance returned the URLs, nothing is cached
+        assertNull(cache.fetch(SERVICE_NAME, "2", asList(instance1, instance2), instance -> null).get(1, TimeUnit.SECONDS));
+        assertNull(cache.get(SERVICE_NAME, "2"));
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        RevisionExportedURLsCache cache = new RevisionExportedURLsCache(2, executor);
+        cache.fetch(SERVICE_NAME, "1", asList(instance1), instance -> EXPORTED_URLS).get(1, TimeUnit.SECONDS);
+        cache.fetch(SERVICE_NAME, "2", asList(instance1), instance -> EXPORTED_URLS).get(1, TimeUnit.SECONDS);
+        cache.get(SERVICE_NAME, "1");
+        cache.fetch(SERVICE_NAME, "3", asList(instance1), instance -> EXPORTED_URLS).get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, cache.size());
+        assertEquals(EXPORTED_URLS, cache.get(SERVICE_NAME, "1"));
+        assertNull(cache.get(SERVICE_NAME, "2"));
+        assertEquals(EXPORTED_URLS, cache.get(SERVICE_NAME, "3"));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Properties;
+
+public class BinaryRegistryCacheTest {
+
+    @Test
+    public void testSaveAndLoad(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("registry.cache").toFile();
+        Properties properties = new Properties();
+        properties.setProperty("demo/DemoService", "dubbo://127.0.0.1:20880/DemoService");
+        properties.setProperty("demo/HelloService", "dubbo://127.0.0.1:20880/HelloService");
+        BinaryRegistryCache cache = new BinaryRegistryCache(file);
+        cache.save(Collections.singletonMap("demo/DemoService", properties.getProperty("demo/DemoService")), properties);
+        long length = file.length();
+
+        // only the changed key is appended
+        properties.setProperty("demo/DemoService", "dubbo://127.0.0.2:20880/DemoService");
+        cache.save(Collections.singletonMap("demo/DemoService", properties.getProperty("demo/DemoService")), properties);
+        Assertions.assertTrue(file.length() > length);
+        Assertions.assertEquals(file.length(), cache.getFileBytes());
+
+        Properties loaded = new Properties();
+        new BinaryRegistryCache(file).load(loaded);
+        Assertions.assertEquals(properties, loaded);
+    }
+
+    @Test
+    public void testTornRecord(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("registry.cache").toFile();
+        Properties properties = new Properties();
+        properties.setProperty("demo/DemoService", "dubbo://127.0.0.1:20880/DemoService");
+        BinaryRegistryCache cache = new BinaryRegistryCache(file);
+        cache.save(Collections.emptyMap(), properties);
+        long length = file.length();
+        properties.setProperty("demo/HelloService", "dubbo://127.0.0.1:20880/HelloService");
+        cache.save(Collections.singletonMap("demo/HelloService", properties.getProperty("demo/HelloService")), properties);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(file.length() - 2);
+        }
+
+        Properties loaded = new Properties();
+        BinaryRegistryCache reloaded = new BinaryRegistryCache(file);
+        reloaded.load(loaded);
+        Assertions.assertEquals(1, loaded.size());
+        Assertions.assertEquals(length, reloaded.getFileBytes());
+
+        // the next save rewrites the file
+        reloaded.save(Collections.emptyMap(), properties);
+        loaded = new Properties();
+        new BinaryRegistryCache(file).load(loaded);
+        Assertions.assertEquals(properties, loaded);
+    }
+
+    @Test
+    public void testCompact(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("registry.cache").toFile();
+        Properties properties = new Properties();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            value.append("dubbo://127.0.0.1:").append(20000 + i).append("/DemoService ");
+        }
+        BinaryRegistryCache cache = new BinaryRegistryCache(file);
+        for (int i = 0; i < 100; i++) {
+            properties.setProperty("demo/DemoService", value.toString() + i);
+            cache.save(Collections.singletonMap("demo/DemoService", properties.getProperty("demo/DemoService")), properties);
+        }
+        Assertions.assertTrue(file.length() <= BinaryRegistryCache.COMPACT_THRESHOLD + value.length() * 2);
+
+        Properties loaded = new Properties();
+        new BinaryRegistryCache(file).load(loaded);
+        Assertions.assertEquals(properties, loaded);
+    }
+
+    @Test
+    public void testLoadPropertiesFormat(@TempDir Path dir) throws Exception {
+        File file = dir.resolve("registry.cache").toFile();
+        Properties properties = new Properties();
+        properties.setProperty("demo/DemoService", "dubbo://127.0.0.1:20880/DemoService");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Dubbo Registry Cache");
+        }
+
+        Properties loaded = new Properties();
+        BinaryRegistryCache cache = new BinaryRegistryCache(file);
+        cache.load(loaded);
+        Assertions.assertEquals(properties, loaded);
+
+        cache.save(Collections.emptyMap(), loaded);
+        loaded = new Properties();
+        new BinaryRegistryCache(file).load(loaded);
+        Assertions.assertEquals(properties, loaded);
+    }
+}
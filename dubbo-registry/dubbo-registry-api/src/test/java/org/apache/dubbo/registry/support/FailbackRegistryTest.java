@@ -25,12 +25,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.dubbo.registry.Constants.CONSUMER_PROTOCOL;
+import static org.apache.dubbo.registry.Constants.REGISTRY_NOTIFY_DELAY_KEY;
 import static org.apache.dubbo.registry.Constants.REGISTRY_RETRY_PERIOD_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -183,6 +187,106 @@ public class FailbackRegistryTest {
         assertEquals(2, count.get());
     }
 
+    @Test
+    public void testNotifyCoalesced() throws Exception {
+        final List<List<URL>> notified = new CopyOnWriteArrayList<>();
+        NotifyListener listener = new NotifyListener() {
+            @Override
+            public void notify(List<URL> urls) {
+                notified.add(urls);
+            }
+        };
+        registry = new MockRegistry(registryUrl.addParameter(REGISTRY_NOTIFY_DELAY_KEY, 100), new CountDownLatch(0));
+        URL consumerUrl = serviceUrl.setProtocol(CONSUMER_PROTOCOL).addParameters(CollectionUtils.toStringMap("check", "false"));
+        registry.subscribe(consumerUrl, listener);
+        // the first notification is not held back
+        assertEquals(1, notified.size());
+
+        URL provider1 = URL.valueOf("dubbo://127.0.0.1:20881/demoservice");
+        URL provider2 = URL.valueOf("dubbo://127.0.0.1:20882/demoservice");
+        registry.notify(consumerUrl, listener, Arrays.asList(provider1));
+        registry.notify(consumerUrl, listener, Arrays.asList(provider1, provider2));
+        registry.notify(consumerUrl, listener, Arrays.asList(provider2));
+        assertEquals(1, notified.size());
+
+        for (int i = 0; i < trytimes; i++) {
+            if (notified.size() > 1) {
+                break;
+            }
+            Thread.sleep(sleeptime);
+        }
+        Thread.sleep(sleeptime);
+        assertEquals(2, notified.size());
+        assertEquals(Arrays.asList(provider2), notified.get(1));
+        registry.destroy();
+    }
+
+    @Test
+    public void testNotifyDeltaCoalescedToPlainListener() throws Exception {
+        final List<List<URL>> notified = new CopyOnWriteArrayList<>();
+        NotifyListener listener = new NotifyListener() {
+            @Override
+            public void notify(List<URL> urls) {
+                notified.add(urls);
+            }
+        };
+        registry = new MockRegistry(registryUrl.addParameter(REGISTRY_NOTIFY_DELAY_KEY, 100), new CountDownLatch(0));
+        URL consumerUrl = serviceUrl.setProtocol(CONSUMER_PROTOCOL).addParameters(CollectionUtils.toStringMap("check", "false"));
+        registry.subscribe(consumerUrl, listener);
+        assertEquals(1, notified.size());
+
+        URL provider1 = URL.valueOf("dubbo://127.0.0.1:20881/demoservice");
+        URL provider2 = URL.valueOf("dubbo://127.0.0.1:20882/demoservice");
+        registry.notifyDelta(consumerUrl, listener, "providers", Arrays.asList(provider1), Arrays.asList(serviceUrl),
+                Arrays.asList(provider1));
+        registry.notifyDelta(consumerUrl, listener, "providers", Arrays.asList(provider2), Collections.emptyList(),
+                Arrays.asList(provider1, provider2));
+        assertEquals(1, notified.size());
+
+        for (int i = 0; i < trytimes; i++) {
+            if (notified.size() > 1) {
+                break;
+            }
+            Thread.sleep(sleeptime);
+        }
+        Thread.sleep(sleeptime);
+        // the listener gets the latest full list once, not the deltas
+        assertEquals(2, notified.size());
+        assertEquals(Arrays.asList(provider1, provider2), notified.get(1));
+        registry.destroy();
+    }
+
+    @Test
+    public void testDoRetry_registerAll() throws Exception {
+        URL url1 = serviceUrl.addParameter("id", "1");
+        URL url2 = serviceUrl.addParameter("id", "2");
+        URL url3 = serviceUrl.addParameter("id", "3");
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        registry = new MockRegistry(registryUrl, latch);
+        registry.setBad(true);
+        registry.registerAll(Arrays.asList(url1, url2, url3));
+        assertEquals(3, registry.getFailedRegistered().size());
+        assertEquals(1, registry.registerAllTimes.get());
+
+        // registered again on its own, it leaves the retry of the others
+        registry.setBad(false);
+        registry.register(url3);
+        assertEquals(2, registry.getFailedRegistered().size());
+
+        for (int i = 0; i < trytimes; i++) {
+            if (latch.getCount() == 0)
+                break;
+            Thread.sleep(sleeptime);
+        }
+        assertEquals(0, latch.getCount());
+        assertEquals(0, registry.getFailedRegistered().size());
+        // the two urls left are retried together
+        assertEquals(2, registry.registerAllTimes.get());
+        assertEquals(3, registry.getRegistered().size());
+        registry.destroy();
+    }
+
     @Test
     public void testRecover() throws Exception {
         CountDownLatch countDownLatch = new CountDownLatch(4);
@@ -209,6 +313,7 @@ public class FailbackRegistryTest {
 
     private static class MockRegistry extends FailbackRegistry {
         CountDownLatch latch;
+        AtomicInteger registerAllTimes = new AtomicInteger();
         private boolean bad = false;
 
         /**
@@ -236,6 +341,12 @@ public class FailbackRegistryTest {
 
         }
 
+        @Override
+        public void doRegisterAll(Collection<URL> urls) {
+            registerAllTimes.incrementAndGet();
+            super.doRegisterAll(urls);
+        }
+
         @Override
         public void doUnregister(URL url) {
             if (bad) {
@@ -46,6 +46,7 @@ import org.mockito.Mockito;
 import javax.script.ScriptEngineManager;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -188,6 +189,35 @@ public class RegistryDirectoryTest {
         Assertions.assertEquals(1, invokers.size());
     }
 
+    @Test
+    public void testNotifyDelta() {
+        RegistryDirectory registryDirectory = getRegistryDirectory();
+        List<URL> serviceUrls = new ArrayList<URL>();
+        serviceUrls.add(SERVICEURL);
+        serviceUrls.add(SERVICEURL2);
+        registryDirectory.notify(serviceUrls);
+        Map<String, Invoker> urlInvokerMap = new HashMap<>(registryDirectory.getUrlInvokerMap());
+        Assertions.assertEquals(2, urlInvokerMap.size());
+
+        List<URL> currentUrls = new ArrayList<URL>();
+        currentUrls.add(SERVICEURL);
+        currentUrls.add(SERVICEURL3);
+        registryDirectory.notifyDelta(PROVIDERS_CATEGORY, Collections.singletonList(SERVICEURL3),
+                Collections.singletonList(SERVICEURL2), currentUrls);
+
+        Map<String, Invoker> notifiedUrlInvokerMap = registryDirectory.getUrlInvokerMap();
+        Assertions.assertEquals(2, notifiedUrlInvokerMap.size());
+        Assertions.assertEquals(2, registryDirectory.list(invocation).size());
+        for (Map.Entry<String, Invoker> entry : urlInvokerMap.entrySet()) {
+            if (entry.getValue().getUrl().getPort() == 9091) {
+                // the invoker of the unchanged url is not referred again
+                Assertions.assertSame(entry.getValue(), notifiedUrlInvokerMap.get(entry.getKey()));
+            } else {
+                Assertions.assertFalse(notifiedUrlInvokerMap.containsKey(entry.getKey()));
+            }
+        }
+    }
+
     @Test
     public void testNotified_WithDuplicateUrls() {
         List<URL> serviceUrls = new ArrayList<URL>();
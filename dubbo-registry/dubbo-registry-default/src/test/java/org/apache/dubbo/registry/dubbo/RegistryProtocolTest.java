@@ -20,6 +20,7 @@ import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.config.ConfigurationUtils;
 import org.apache.dubbo.common.extension.ExtensionLoader;
 import org.apache.dubbo.registry.NotifyListener;
+import org.apache.dubbo.registry.Registry;
 import org.apache.dubbo.registry.RegistryFactory;
 import org.apache.dubbo.registry.RegistryService;
 import org.apache.dubbo.registry.integration.RegistryProtocol;
@@ -43,6 +44,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static org.apache.dubbo.registry.integration.RegistryProtocol.DEFAULT_REGISTER_PROVIDER_KEYS;
@@ -51,6 +53,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * RegistryProtocolTest
@@ -116,6 +125,66 @@ public class RegistryProtocolTest {
 
     }
 
+    @Test
+    public void testBatchedRegistrations() {
+        Registry registry = mock(Registry.class);
+        when(registry.getUrl()).thenReturn(registryUrl);
+        RegistryFactory registryFactory = mock(RegistryFactory.class);
+        when(registryFactory.getRegistry(any(URL.class))).thenReturn(registry);
+
+        RegistryProtocol registryProtocol = getRegistryProtocol();
+        registryProtocol.setRegistryFactory(registryFactory);
+        ServiceDescriptor descriptor = ApplicationModel.getServiceRepository().registerService(DemoService.class);
+        ApplicationModel.getServiceRepository().registerProvider(service, new DemoServiceImpl(), descriptor, null, null);
+        try {
+            RegistryProtocol.batchRegistrations();
+            URL newRegistryUrl = registryUrl.addParameter(EXPORT_KEY, serviceUrl);
+            Exporter<?> exporter = registryProtocol.export(new MockInvoker<>(RegistryProtocolTest.class, newRegistryUrl));
+            Exporter<?> exporter2 = registryProtocol.export(new MockInvoker<>(RegistryProtocolTest.class,
+                    registryUrl.addParameter(EXPORT_KEY, serviceUrl.replace("9453", "9454"))));
+            verify(registry, never()).register(any(URL.class));
+
+            RegistryProtocol.registerBatched();
+            verify(registry, never()).register(any(URL.class));
+            verify(registry, times(1)).registerAll(argThatHasSize(2));
+
+            exporter.unexport();
+            exporter2.unexport();
+        } finally {
+            RegistryProtocol.registerBatched();
+            registryProtocol.setRegistryFactory(ExtensionLoader.getExtensionLoader(RegistryFactory.class).getAdaptiveExtension());
+        }
+    }
+
+    @Test
+    public void testBatchedRegistrationUnexported() {
+        Registry registry = mock(Registry.class);
+        when(registry.getUrl()).thenReturn(registryUrl);
+        RegistryFactory registryFactory = mock(RegistryFactory.class);
+        when(registryFactory.getRegistry(any(URL.class))).thenReturn(registry);
+
+        RegistryProtocol registryProtocol = getRegistryProtocol();
+        registryProtocol.setRegistryFactory(registryFactory);
+        ServiceDescriptor descriptor = ApplicationModel.getServiceRepository().registerService(DemoService.class);
+        ApplicationModel.getServiceRepository().registerProvider(service, new DemoServiceImpl(), descriptor, null, null);
+        try {
+            RegistryProtocol.batchRegistrations();
+            URL newRegistryUrl = registryUrl.addParameter(EXPORT_KEY, serviceUrl);
+            Exporter<?> exporter = registryProtocol.export(new MockInvoker<>(RegistryProtocolTest.class, newRegistryUrl));
+            exporter.unexport();
+
+            RegistryProtocol.registerBatched();
+            verify(registry, times(1)).registerAll(argThatHasSize(0));
+        } finally {
+            RegistryProtocol.registerBatched();
+            registryProtocol.setRegistryFactory(ExtensionLoader.getExtensionLoader(RegistryFactory.class).getAdaptiveExtension());
+        }
+    }
+
+    private static Collection<URL> argThatHasSize(int size) {
+        return argThat(urls -> urls != null && urls.size() == size);
+    }
+
 //    @Test
 //    public void testNotifyOverride() throws Exception {
 //        URL newRegistryUrl = registryUrl.addParameter(EXPORT_KEY, serviceUrl);
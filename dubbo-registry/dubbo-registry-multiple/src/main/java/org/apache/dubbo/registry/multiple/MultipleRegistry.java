@@ -27,6 +27,7 @@ import org.apache.dubbo.registry.RegistryFactory;
 import org.apache.dubbo.registry.support.AbstractRegistry;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -165,6 +166,26 @@ public class MultipleRegistry extends AbstractRegistry {
         }
     }
 
+    @Override
+    public void registerAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            super.register(url);
+        }
+        for (Registry registry : serviceRegistries.values()) {
+            registry.registerAll(urls);
+        }
+    }
+
+    @Override
+    public void unregisterAll(Collection<URL> urls) {
+        for (URL url : urls) {
+            super.unregister(url);
+        }
+        for (Registry registry : serviceRegistries.values()) {
+            registry.unregisterAll(urls);
+        }
+    }
+
     @Override
     public void subscribe(URL url, NotifyListener listener) {
         MultipleNotifyListenerWrapper multipleNotifyListenerWrapper = new MultipleNotifyListenerWrapper(listener);
@@ -36,6 +36,10 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPubSub;
 import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 import redis.clients.util.Pool;
 
 import java.util.ArrayList;
@@ -45,6 +49,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -87,6 +92,10 @@ public class RedisRegistry extends FailbackRegistry {
 
     private static final String REDIS_MASTER_NAME_KEY = "master-name";
 
+    private static final String REDIS_SCAN_COUNT_KEY = "scan.count";
+
+    private static final int DEFAULT_REDIS_SCAN_COUNT = 1000;
+
     private final ScheduledExecutorService expireExecutor = Executors.newScheduledThreadPool(1, new NamedThreadFactory("DubboRegistryExpireTimer", true));
 
     private final ScheduledFuture<?> expireFuture;
@@ -101,6 +110,9 @@ public class RedisRegistry extends FailbackRegistry {
 
     private final int expirePeriod;
 
+    // The COUNT hint of the SCAN and HSCAN commands
+    private final int scanCount;
+
     private volatile boolean admin = false;
 
     private boolean replicate;
@@ -190,6 +202,7 @@ public class RedisRegistry extends FailbackRegistry {
         }
         this.root = group;
 
+        this.scanCount = url.getParameter(REDIS_SCAN_COUNT_KEY, DEFAULT_REDIS_SCAN_COUNT);
         this.expirePeriod = url.getParameter(SESSION_TIMEOUT_KEY, DEFAULT_SESSION_TIMEOUT);
         this.expireFuture = expireExecutor.scheduleWithFixedDelay(() -> {
             try {
@@ -205,14 +218,26 @@ public class RedisRegistry extends FailbackRegistry {
             Pool<Jedis> jedisPool = entry.getValue();
             try {
                 try (Jedis jedis = jedisPool.getResource()) {
+                    // one round trip for all the registered urls, the keys which lost some of them are published afterwards
+                    String expire = String.valueOf(System.currentTimeMillis() + expirePeriod);
+                    List<String> keys = new ArrayList<>();
+                    List<Response<Long>> responses = new ArrayList<>();
+                    Pipeline pipeline = jedis.pipelined();
                     for (URL url : new HashSet<>(getRegistered())) {
                         if (url.getParameter(DYNAMIC_KEY, true)) {
                             String key = toCategoryPath(url);
-                            if (jedis.hset(key, url.toFullString(), String.valueOf(System.currentTimeMillis() + expirePeriod)) == 1) {
-                                jedis.publish(key, REGISTER);
-                            }
+                            keys.add(key);
+                            responses.add(pipeline.hset(key, url.toFullString(), expire));
+                        }
+                    }
+                    pipeline.sync();
+                    Set<String> added = new HashSet<>();
+                    for (int i = 0; i < keys.size(); i++) {
+                        if (responses.get(i).get() == 1) {
+                            added.add(keys.get(i));
                         }
                     }
+                    publish(jedis, added, REGISTER);
                     if (admin) {
                         clean(jedis);
                     }
@@ -228,32 +253,74 @@ public class RedisRegistry extends FailbackRegistry {
 
     // The monitoring center is responsible for deleting outdated dirty data
     private void clean(Jedis jedis) {
-        Set<String> keys = jedis.keys(root + ANY_VALUE);
-        if (CollectionUtils.isNotEmpty(keys)) {
-            for (String key : keys) {
-                Map<String, String> values = jedis.hgetAll(key);
-                if (CollectionUtils.isNotEmptyMap(values)) {
-                    boolean delete = false;
-                    long now = System.currentTimeMillis();
-                    for (Map.Entry<String, String> entry : values.entrySet()) {
-                        URL url = URL.valueOf(entry.getKey());
-                        if (url.getParameter(DYNAMIC_KEY, true)) {
-                            long expire = Long.parseLong(entry.getValue());
-                            if (expire < now) {
-                                jedis.hdel(key, entry.getKey());
-                                delete = true;
-                                if (logger.isWarnEnabled()) {
-                                    logger.warn("Delete expired key: " + key + " -> value: " + entry.getKey() + ", expire: " + new Date(expire) + ", now: " + new Date(now));
-                                }
+        Set<String> deleted = new HashSet<>();
+        for (String key : scanKeys(jedis, root + ANY_VALUE)) {
+            Map<String, String> values = scanHash(jedis, key);
+            if (CollectionUtils.isNotEmptyMap(values)) {
+                List<String> expired = new ArrayList<>();
+                long now = System.currentTimeMillis();
+                for (Map.Entry<String, String> entry : values.entrySet()) {
+                    URL url = URL.valueOf(entry.getKey());
+                    if (url.getParameter(DYNAMIC_KEY, true)) {
+                        long expire = Long.parseLong(entry.getValue());
+                        if (expire < now) {
+                            expired.add(entry.getKey());
+                            if (logger.isWarnEnabled()) {
+                                logger.warn("Delete expired key: " + key + " -> value: " + entry.getKey() + ", expire: " + new Date(expire) + ", now: " + new Date(now));
                             }
                         }
                     }
-                    if (delete) {
-                        jedis.publish(key, UNREGISTER);
-                    }
+                }
+                if (!expired.isEmpty()) {
+                    jedis.hdel(key, expired.toArray(new String[0]));
+                    deleted.add(key);
                 }
             }
         }
+        publish(jedis, deleted, UNREGISTER);
+    }
+
+    private void publish(Jedis jedis, Collection<String> keys, String message) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Pipeline pipeline = jedis.pipelined();
+        for (String key : keys) {
+            pipeline.publish(key, message);
+        }
+        pipeline.sync();
+    }
+
+    /**
+     * The keys matching the pattern, iterated by SCAN so that the server is never blocked by the whole keyspace
+     */
+    private Set<String> scanKeys(Jedis jedis, String pattern) {
+        Set<String> keys = new HashSet<>();
+        ScanParams params = new ScanParams().match(pattern).count(scanCount);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> result = jedis.scan(cursor, params);
+            keys.addAll(result.getResult());
+            cursor = result.getStringCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        return keys;
+    }
+
+    /**
+     * The fields of the hash, iterated by HSCAN
+     */
+    private Map<String, String> scanHash(Jedis jedis, String key) {
+        Map<String, String> values = new LinkedHashMap<>();
+        ScanParams params = new ScanParams().count(scanCount);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<Map.Entry<String, String>> result = jedis.hscan(key, cursor, params);
+            for (Map.Entry<String, String> entry : result.getResult()) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+            cursor = result.getStringCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        return values;
     }
 
     @Override
@@ -356,6 +423,81 @@ public class RedisRegistry extends FailbackRegistry {
         }
     }
 
+    @Override
+    public void doRegisterAll(Collection<URL> urls) {
+        String expire = String.valueOf(System.currentTimeMillis() + expirePeriod);
+        Map<String, Map<String, String>> values = new HashMap<>();
+        for (URL url : urls) {
+            values.computeIfAbsent(toCategoryPath(url), k -> new HashMap<>()).put(url.toFullString(), expire);
+        }
+        boolean success = false;
+        RpcException exception = null;
+        for (Map.Entry<String, Pool<Jedis>> entry : jedisPools.entrySet()) {
+            Pool<Jedis> jedisPool = entry.getValue();
+            try {
+                try (Jedis jedis = jedisPool.getResource()) {
+                    // one round trip for all the urls
+                    Pipeline pipeline = jedis.pipelined();
+                    for (Map.Entry<String, Map<String, String>> value : values.entrySet()) {
+                        pipeline.hmset(value.getKey(), value.getValue());
+                        pipeline.publish(value.getKey(), REGISTER);
+                    }
+                    pipeline.sync();
+                    success = true;
+                    if (!replicate) {
+                        break; //  If the server side has synchronized data, just write a single machine
+                    }
+                }
+            } catch (Throwable t) {
+                exception = new RpcException("Failed to register services to redis registry. registry: " + entry.getKey() + ", services: " + urls + ", cause: " + t.getMessage(), t);
+            }
+        }
+        if (exception != null) {
+            if (success) {
+                logger.warn(exception.getMessage(), exception);
+            } else {
+                throw exception;
+            }
+        }
+    }
+
+    @Override
+    public void doUnregisterAll(Collection<URL> urls) {
+        Map<String, List<String>> values = new HashMap<>();
+        for (URL url : urls) {
+            values.computeIfAbsent(toCategoryPath(url), k -> new ArrayList<>()).add(url.toFullString());
+        }
+        RpcException exception = null;
+        boolean success = false;
+        for (Map.Entry<String, Pool<Jedis>> entry : jedisPools.entrySet()) {
+            Pool<Jedis> jedisPool = entry.getValue();
+            try {
+                try (Jedis jedis = jedisPool.getResource()) {
+                    // one round trip for all the urls
+                    Pipeline pipeline = jedis.pipelined();
+                    for (Map.Entry<String, List<String>> value : values.entrySet()) {
+                        pipeline.hdel(value.getKey(), value.getValue().toArray(new String[0]));
+                        pipeline.publish(value.getKey(), UNREGISTER);
+                    }
+                    pipeline.sync();
+                    success = true;
+                    if (!replicate) {
+                        break; //  If the server side has synchronized data, just write a single machine
+                    }
+                }
+            } catch (Throwable t) {
+                exception = new RpcException("Failed to unregister services to redis registry. registry: " + entry.getKey() + ", services: " + urls + ", cause: " + t.getMessage(), t);
+            }
+        }
+        if (exception != null) {
+            if (success) {
+                logger.warn(exception.getMessage(), exception);
+            } else {
+                throw exception;
+            }
+        }
+    }
+
     @Override
     public void doSubscribe(final URL url, final NotifyListener listener) {
         String service = toServicePath(url);
@@ -376,7 +518,7 @@ public class RedisRegistry extends FailbackRegistry {
                 try (Jedis jedis = jedisPool.getResource()) {
                     if (service.endsWith(ANY_VALUE)) {
                         admin = true;
-                        Set<String> keys = jedis.keys(service);
+                        Set<String> keys = scanKeys(jedis, service);
                         if (CollectionUtils.isNotEmpty(keys)) {
                             Map<String, Set<String>> serviceKeys = new HashMap<>();
                             for (String key : keys) {
@@ -389,7 +531,7 @@ public class RedisRegistry extends FailbackRegistry {
                             }
                         }
                     } else {
-                        doNotify(jedis, jedis.keys(service + PATH_SEPARATOR + ANY_VALUE), url, Collections.singletonList(listener));
+                        doNotify(jedis, getCategoryKeys(jedis, service, url), url, Collections.singletonList(listener));
                     }
                     success = true;
                     break; // Just read one server's data
@@ -411,13 +553,50 @@ public class RedisRegistry extends FailbackRegistry {
     public void doUnsubscribe(URL url, NotifyListener listener) {
     }
 
+    /**
+     * The existing category keys of the service the url subscribes, the keyspace is only scanned for the wildcard
+     * category.
+     */
+    private Collection<String> getCategoryKeys(Jedis jedis, String service, URL url) {
+        String[] categories = url.getParameter(CATEGORY_KEY, new String[0]);
+        if (ArrayUtils.isEmpty(categories)) {
+            return Collections.emptyList();
+        }
+        if (Arrays.asList(categories).contains(ANY_VALUE)) {
+            return scanKeys(jedis, service + PATH_SEPARATOR + ANY_VALUE);
+        }
+        List<String> keys = new ArrayList<>(categories.length);
+        List<Response<Boolean>> exists = new ArrayList<>(categories.length);
+        Pipeline pipeline = jedis.pipelined();
+        for (String category : categories) {
+            String key = service + PATH_SEPARATOR + category;
+            keys.add(key);
+            exists.add(pipeline.exists(key));
+        }
+        pipeline.sync();
+        List<String> result = new ArrayList<>(categories.length);
+        for (int i = 0; i < keys.size(); i++) {
+            if (Boolean.TRUE.equals(exists.get(i).get())) {
+                result.add(keys.get(i));
+            }
+        }
+        return result;
+    }
+
     private void doNotify(Jedis jedis, String key) {
+        // the hash of the changed key is read once for all the subscriptions
+        Map<String, Map<String, String>> values = new HashMap<>();
         for (Map.Entry<URL, Set<NotifyListener>> entry : new HashMap<>(getSubscribed()).entrySet()) {
-            doNotify(jedis, Collections.singletonList(key), entry.getKey(), new HashSet<>(entry.getValue()));
+            doNotify(jedis, Collections.singletonList(key), entry.getKey(), new HashSet<>(entry.getValue()), values);
         }
     }
 
     private void doNotify(Jedis jedis, Collection<String> keys, URL url, Collection<NotifyListener> listeners) {
+        doNotify(jedis, keys, url, listeners, new HashMap<>());
+    }
+
+    private void doNotify(Jedis jedis, Collection<String> keys, URL url, Collection<NotifyListener> listeners,
+                          Map<String, Map<String, String>> loaded) {
         if (keys == null || keys.isEmpty()
                 || listeners == null || listeners.isEmpty()) {
             return;
@@ -438,7 +617,7 @@ public class RedisRegistry extends FailbackRegistry {
                 continue;
             }
             List<URL> urls = new ArrayList<>();
-            Map<String, String> values = jedis.hgetAll(key);
+            Map<String, String> values = loaded.computeIfAbsent(key, k -> scanHash(jedis, k));
             if (CollectionUtils.isNotEmptyMap(values)) {
                 for (Map.Entry<String, String> entry : values.entrySet()) {
                     URL u = URL.valueOf(entry.getKey());
@@ -609,7 +788,7 @@ public class RedisRegistry extends FailbackRegistry {
                                         if (service.endsWith(ANY_VALUE)) {
                                             if (first) {
                                                 first = false;
-                                                Set<String> keys = jedis.keys(service);
+                                                Set<String> keys = scanKeys(jedis, service);
                                                 if (CollectionUtils.isNotEmpty(keys)) {
                                                     for (String s : keys) {
                                                         doNotify(jedis, s);
@@ -32,6 +32,7 @@ import redis.embedded.RedisServerBuilder;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.dubbo.common.constants.RemotingConstants.BACKUP_KEY;
 import static org.hamcrest.CoreMatchers.is;
@@ -106,6 +107,26 @@ public class RedisRegistryTest {
         assertThat(subscribed.get(serviceUrl).size(), is(0));
     }
 
+    @Test
+    public void testSubscribeRegistered() {
+        URL providerUrl = URL.valueOf("dubbo://127.0.0.1:20880/" + service + "?methods=test1,test2");
+        redisRegistry.register(providerUrl);
+
+        final AtomicReference<List<URL>> notified = new AtomicReference<>();
+        NotifyListener listener = new NotifyListener() {
+            @Override
+            public void notify(List<URL> urls) {
+                notified.set(urls);
+            }
+        };
+        URL consumerUrl = URL.valueOf("consumer://127.0.0.1/" + service + "?category=providers,routers");
+        redisRegistry.subscribe(consumerUrl, listener);
+
+        // only the existing category keys are read
+        assertThat(notified.get().size(), is(1));
+        assertThat(notified.get().get(0), is(providerUrl));
+    }
+
     @Test
     public void testAvailable() {
         redisRegistry.register(serviceUrl);
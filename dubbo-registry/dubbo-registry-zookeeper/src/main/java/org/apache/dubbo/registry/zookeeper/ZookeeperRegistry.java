@@ -34,9 +34,12 @@ import org.apache.dubbo.remoting.zookeeper.ZookeeperTransporter;
 import org.apache.dubbo.rpc.RpcException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -65,6 +68,12 @@ public class ZookeeperRegistry extends FailbackRegistry {
     // 默认zookeeper根节点
     private final static String DEFAULT_ROOT = "dubbo";
 
+    /**
+     * Whether the category paths are watched through a local cache of their children shared by all the
+     * subscriptions of the zookeeper client, see {@link ZookeeperClient#addCachedChildListener(String, ChildListener)}
+     */
+    private final static String CACHED_WATCH_KEY = "cached.watch";
+
     // zookeeper根节点
     private final String root;
 
@@ -77,6 +86,8 @@ public class ZookeeperRegistry extends FailbackRegistry {
     // zookeeper客户端实例
     private final ZookeeperClient zkClient;
 
+    private final boolean cachedWatch;
+
     @Override
     public boolean isAvailable() {
         return zkClient.isConnected();
@@ -93,6 +104,7 @@ public class ZookeeperRegistry extends FailbackRegistry {
             group = PATH_SEPARATOR + group;
         }
         this.root = group;
+        this.cachedWatch = url.getParameter(CACHED_WATCH_KEY, false);
         // 创建zookeeper client
         zkClient = zookeeperTransporter.connect(url);
         // 添加状态监听器，当状态为重连的时候调用恢复方法
@@ -148,6 +160,39 @@ public class ZookeeperRegistry extends FailbackRegistry {
         }
     }
 
+    @Override
+    public void doRegisterAll(Collection<URL> urls) {
+        try {
+            // the dynamic urls are ephemeral nodes, the other ones persistent
+            List<String> ephemeralPaths = new ArrayList<>(urls.size());
+            List<String> persistentPaths = new ArrayList<>();
+            for (URL url : urls) {
+                if (url.getParameter(DYNAMIC_KEY, true)) {
+                    ephemeralPaths.add(toUrlPath(url));
+                } else {
+                    persistentPaths.add(toUrlPath(url));
+                }
+            }
+            zkClient.createAll(ephemeralPaths, true);
+            zkClient.createAll(persistentPaths, false);
+        } catch (Throwable e) {
+            throw new RpcException("Failed to register " + urls + " to zookeeper " + getUrl() + ", cause: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void doUnregisterAll(Collection<URL> urls) {
+        try {
+            List<String> paths = new ArrayList<>(urls.size());
+            for (URL url : urls) {
+                paths.add(toUrlPath(url));
+            }
+            zkClient.deleteAll(paths);
+        } catch (Throwable e) {
+            throw new RpcException("Failed to unregister " + urls + " to zookeeper " + getUrl() + ", cause: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public void doSubscribe(final URL url, final NotifyListener listener) {
         try {
@@ -178,11 +223,13 @@ public class ZookeeperRegistry extends FailbackRegistry {
                 List<URL> urls = new ArrayList<>();
                 for (String path : toCategoriesPath(url)) {
                     ConcurrentMap<NotifyListener, ChildListener> listeners = zkListeners.computeIfAbsent(url, k -> new ConcurrentHashMap<>());
-                    ChildListener zkListener = listeners.computeIfAbsent(listener, k -> (parentPath, currentChilds) -> ZookeeperRegistry.this.notify(url, k, toUrlsWithEmpty(url, parentPath, currentChilds)));
+                    RegistryChildListener zkListener = (RegistryChildListener) listeners.computeIfAbsent(listener, k -> new RegistryChildListener(url, k));
                     zkClient.create(path, false);
-                    List<String> children = zkClient.addChildListener(path, zkListener);
+                    List<String> children = cachedWatch
+                            ? zkClient.addCachedChildListener(path, zkListener)
+                            : zkClient.addChildListener(path, zkListener);
                     if (children != null) {
-                        urls.addAll(toUrlsWithEmpty(url, path, children));
+                        urls.addAll(zkListener.reset(path, children));
                     }
                 }
                 notify(url, listener, urls);
@@ -203,7 +250,11 @@ public class ZookeeperRegistry extends FailbackRegistry {
                     zkClient.removeChildListener(root, zkListener);
                 } else {
                     for (String path : toCategoriesPath(url)) {
-                        zkClient.removeChildListener(path, zkListener);
+                        if (cachedWatch) {
+                            zkClient.removeCachedChildListener(path, zkListener);
+                        } else {
+                            zkClient.removeChildListener(path, zkListener);
+                        }
                     }
                 }
             }
@@ -274,20 +325,30 @@ public class ZookeeperRegistry extends FailbackRegistry {
         List<URL> urls = new ArrayList<>();
         if (CollectionUtils.isNotEmpty(providers)) {
             for (String provider : providers) {
-                if (provider.contains(PROTOCOL_SEPARATOR_ENCODED)) {
-                    URL url = URLStrParser.parseEncodedStr(provider);
-                    if (UrlUtils.isMatch(consumer, url)) {
-                        urls.add(url);
-                    }
+                URL url = toUrl(consumer, provider);
+                if (url != null) {
+                    urls.add(url);
                 }
             }
         }
         return urls;
     }
 
-    private List<URL> toUrlsWithEmpty(URL consumer, String path, List<String> providers) {
-        List<URL> urls = toUrlsWithoutEmpty(consumer, providers);
-        if (urls == null || urls.isEmpty()) {
+    /**
+     * @return the url of the provider, or null if it is no url matching the consumer
+     */
+    private URL toUrl(URL consumer, String provider) {
+        if (provider.contains(PROTOCOL_SEPARATOR_ENCODED)) {
+            URL url = URLStrParser.parseEncodedStr(provider);
+            if (UrlUtils.isMatch(consumer, url)) {
+                return url;
+            }
+        }
+        return null;
+    }
+
+    private List<URL> withEmpty(URL consumer, String path, List<URL> urls) {
+        if (urls.isEmpty()) {
             int i = path.lastIndexOf(PATH_SEPARATOR);
             String category = i < 0 ? path : path.substring(i + 1);
             URL empty = URLBuilder.from(consumer)
@@ -319,4 +380,90 @@ public class ZookeeperRegistry extends FailbackRegistry {
         }
     }
 
+    /**
+     * Listens to the category paths of a subscription. Once the full list of a category has been notified, only the
+     * changes are notified, and only the children which were not there before are parsed.
+     */
+    private class RegistryChildListener implements ChildListener {
+
+        private final URL url;
+
+        private final NotifyListener listener;
+
+        /**
+         * category path -> (child -> its url, or null if it is no url matching the consumer)
+         */
+        private final Map<String, Map<String, URL>> children = new HashMap<>();
+
+        RegistryChildListener(URL url, NotifyListener listener) {
+            this.url = url;
+            this.listener = listener;
+        }
+
+        /**
+         * Takes the children of the path as they are when subscribing.
+         *
+         * @return the urls to notify in full
+         */
+        synchronized List<URL> reset(String path, List<String> currentChilds) {
+            Map<String, URL> current = toUrlMap(currentChilds, null, null);
+            children.put(path, current);
+            return withEmpty(url, path, toUrls(current));
+        }
+
+        @Override
+        public synchronized void childChanged(String path, List<String> currentChilds) {
+            Map<String, URL> previous = children.get(path);
+            List<URL> added = new ArrayList<>();
+            Map<String, URL> current = toUrlMap(currentChilds, previous, added);
+            children.put(path, current);
+
+            List<URL> urls = toUrls(current);
+            if (previous == null || urls.isEmpty() || previous.values().stream().noneMatch(Objects::nonNull)) {
+                // the first notification, or from or to an empty category
+                ZookeeperRegistry.this.notify(url, listener, withEmpty(url, path, urls));
+                return;
+            }
+            List<URL> removed = new ArrayList<>();
+            for (Map.Entry<String, URL> entry : previous.entrySet()) {
+                if (entry.getValue() != null && !current.containsKey(entry.getKey())) {
+                    removed.add(entry.getValue());
+                }
+            }
+            if (!added.isEmpty() || !removed.isEmpty()) {
+                String category = path.substring(path.lastIndexOf(PATH_SEPARATOR) + 1);
+                notifyDelta(url, listener, category, added, removed, urls);
+            }
+        }
+
+        private Map<String, URL> toUrlMap(List<String> currentChilds, Map<String, URL> previous, List<URL> added) {
+            if (currentChilds == null) {
+                return new LinkedHashMap<>();
+            }
+            Map<String, URL> current = new LinkedHashMap<>(currentChilds.size() * 4 / 3 + 1);
+            for (String child : currentChilds) {
+                URL childUrl;
+                if (previous != null && previous.containsKey(child)) {
+                    childUrl = previous.get(child);
+                } else {
+                    childUrl = toUrl(url, child);
+                    if (childUrl != null && added != null) {
+                        added.add(childUrl);
+                    }
+                }
+                current.put(child, childUrl);
+            }
+            return current;
+        }
+
+        private List<URL> toUrls(Map<String, URL> current) {
+            List<URL> urls = new ArrayList<>(current.size());
+            for (URL childUrl : current.values()) {
+                if (childUrl != null) {
+                    urls.add(childUrl);
+                }
+            }
+            return urls;
+        }
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.zookeeper.simulation;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.URLBuilder;
+import org.apache.dubbo.registry.NotifyListener;
+import org.apache.dubbo.registry.support.FailbackRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.dubbo.common.constants.CommonConstants.ANYHOST_VALUE;
+import static org.apache.dubbo.common.constants.RegistryConstants.CATEGORY_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.DEFAULT_CATEGORY;
+import static org.apache.dubbo.common.constants.RegistryConstants.EMPTY_PROTOCOL;
+
+/**
+ * A registry whose urls are kept by an in-memory {@link Server}, which notifies the subscribers synchronously.
+ * It shows the cost of the notifications on the consumer side without the one of a registry server.
+ */
+public class InMemoryRegistry extends FailbackRegistry {
+
+    private final Server server;
+
+    public InMemoryRegistry(URL url, Server server) {
+        super(url);
+        this.server = server;
+    }
+
+    @Override
+    public void doRegister(URL url) {
+        server.register(url);
+    }
+
+    @Override
+    public void doUnregister(URL url) {
+        server.unregister(url);
+    }
+
+    @Override
+    public void doSubscribe(URL url, NotifyListener listener) {
+        server.subscribe(this, url, listener);
+    }
+
+    @Override
+    public void doUnsubscribe(URL url, NotifyListener listener) {
+        server.unsubscribe(url, listener);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * The urls by service and category, shared by the registries of a simulation like a registry server.
+     */
+    public static class Server {
+
+        private final Map<String, Set<URL>> categories = new HashMap<>();
+
+        private final List<Subscription> subscriptions = new ArrayList<>();
+
+        synchronized void register(URL url) {
+            String key = toKey(url.getServiceInterface(), url.getParameter(CATEGORY_KEY, DEFAULT_CATEGORY));
+            if (categories.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(url)) {
+                changed(key);
+            }
+        }
+
+        synchronized void unregister(URL url) {
+            String key = toKey(url.getServiceInterface(), url.getParameter(CATEGORY_KEY, DEFAULT_CATEGORY));
+            Set<URL> urls = categories.get(key);
+            if (urls != null && urls.remove(url)) {
+                changed(key);
+            }
+        }
+
+        synchronized void subscribe(InMemoryRegistry registry, URL url, NotifyListener listener) {
+            Subscription subscription = new Subscription(registry, url, listener);
+            subscriptions.add(subscription);
+            List<URL> urls = new ArrayList<>();
+            for (String category : url.getParameter(CATEGORY_KEY, new String[]{DEFAULT_CATEGORY})) {
+                urls.addAll(subscription.toUrls(category, categories.get(toKey(url.getServiceInterface(), category))));
+            }
+            registry.notify(url, listener, urls);
+        }
+
+        synchronized void unsubscribe(URL url, NotifyListener listener) {
+            subscriptions.removeIf(s -> s.url.equals(url) && s.listener == listener);
+        }
+
+        private void changed(String key) {
+            for (Subscription subscription : subscriptions) {
+                for (String category : subscription.url.getParameter(CATEGORY_KEY, new String[]{DEFAULT_CATEGORY})) {
+                    if (key.equals(toKey(subscription.url.getServiceInterface(), category))) {
+                        subscription.registry.notify(subscription.url, subscription.listener,
+                                subscription.toUrls(category, categories.get(key)));
+                    }
+                }
+            }
+        }
+
+        private static String toKey(String service, String category) {
+            return service + "/" + category;
+        }
+    }
+
+    private static class Subscription {
+
+        private final InMemoryRegistry registry;
+
+        private final URL url;
+
+        private final NotifyListener listener;
+
+        Subscription(InMemoryRegistry registry, URL url, NotifyListener listener) {
+            this.registry = registry;
+            this.url = url;
+            this.listener = listener;
+        }
+
+        List<URL> toUrls(String category, Set<URL> urls) {
+            if (urls == null || urls.isEmpty()) {
+                List<URL> empty = new ArrayList<>(1);
+                empty.add(URLBuilder.from(url)
+                        .setProtocol(EMPTY_PROTOCOL)
+                        .setAddress(ANYHOST_VALUE)
+                        .addParameter(CATEGORY_KEY, category)
+                        .build());
+                return empty;
+            }
+            return new ArrayList<>(urls);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.zookeeper.simulation;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.registry.Registry;
+import org.apache.dubbo.registry.integration.RegistryDirectory;
+import org.apache.dubbo.registry.support.AbstractRegistry;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Protocol;
+import org.apache.dubbo.rpc.cluster.RouterChain;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Simulates N consumers subscribing M services of K providers each, and rounds of provider churn, against the
+ * registries made by a factory: an {@link InMemoryRegistry} to measure the consumer side alone, or a real registry
+ * client. Every consumer has its own registry and a {@link RegistryDirectory} per service, the providers are
+ * registered through another registry.
+ * <p>
+ * A round restarts some providers of every service on a new port, and ends once every directory holds the new
+ * providers. The {@link Report} gives the notification latencies of the rounds, the CPU time spent in the
+ * notifications of the directories, their heap and the writes of the registry cache files.
+ */
+public class RegistrySimulation {
+
+    private final int consumers;
+
+    private final int services;
+
+    private final int providers;
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    // the addresses every directory must end up with in the current round, by service
+    private volatile Map<String, Set<String>> expected = Collections.emptyMap();
+
+    private volatile int round;
+
+    private volatile long roundStart;
+
+    private volatile CountDownLatch converged;
+
+    private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+    private final AtomicLong notifications = new AtomicLong();
+
+    private final AtomicLong notifyCpuTime = new AtomicLong();
+
+    public RegistrySimulation(int consumers, int services, int providers) {
+        this.consumers = consumers;
+        this.services = services;
+        this.providers = providers;
+    }
+
+    /**
+     * @param registryFactory makes the registry of the given name, "providers" or "consumer-&lt;i&gt;"
+     * @param rounds          the rounds of churn
+     * @param churn           the providers of every service restarted by a round
+     * @param timeout         the time in milliseconds a round may take
+     */
+    public Report run(Function<String, Registry> registryFactory, int rounds, int churn, long timeout) throws InterruptedException {
+        Registry providerRegistry = registryFactory.apply("providers");
+        List<Registry> consumerRegistries = new ArrayList<>();
+        List<SimulatedDirectory> directories = new ArrayList<>();
+        Protocol protocol = new SimulatedProtocol();
+        Report report = new Report();
+        try {
+            // the generation of every provider, a restart moves it to a new port
+            int[][] generations = new int[services][providers];
+            Map<String, Set<String>> addresses = new HashMap<>();
+            for (int s = 0; s < services; s++) {
+                for (int p = 0; p < providers; p++) {
+                    providerRegistry.register(toProviderUrl(s, p, 0));
+                }
+                addresses.put(toService(s), toAddresses(s, generations[s]));
+            }
+
+            long heap = usedHeap();
+            startRound(0, addresses, consumers * services);
+            long start = System.nanoTime();
+            for (int c = 0; c < consumers; c++) {
+                Registry registry = registryFactory.apply("consumer-" + c);
+                consumerRegistries.add(registry);
+                for (int s = 0; s < services; s++) {
+                    directories.add(subscribe(registry, protocol, c, s));
+                }
+            }
+            await(timeout);
+            report.subscribeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            report.heapPerDirectory = (usedHeap() - heap) / directories.size();
+            latencies.clear();
+            notifications.set(0);
+            notifyCpuTime.set(0);
+            long cacheChanges = cacheChanges(consumerRegistries);
+
+            for (int r = 1; r <= rounds; r++) {
+                addresses = new HashMap<>();
+                for (int s = 0; s < services; s++) {
+                    for (int p = 0; p < churn && p < providers; p++) {
+                        generations[s][p]++;
+                    }
+                    addresses.put(toService(s), toAddresses(s, generations[s]));
+                }
+                startRound(r, addresses, directories.size());
+                for (int s = 0; s < services; s++) {
+                    for (int p = 0; p < churn && p < providers; p++) {
+                        providerRegistry.unregister(toProviderUrl(s, p, generations[s][p] - 1));
+                        providerRegistry.register(toProviderUrl(s, p, generations[s][p]));
+                    }
+                }
+                await(timeout);
+            }
+
+            report.rounds = rounds;
+            report.directories = directories.size();
+            synchronized (latencies) {
+                report.latencies = new ArrayList<>(latencies);
+            }
+            Collections.sort(report.latencies);
+            report.notifications = notifications.get();
+            report.notifyCpuTime = notifyCpuTime.get();
+            report.cacheChanges = cacheChanges(consumerRegistries) - cacheChanges;
+            report.cacheFileBytes = cacheFileBytes(consumerRegistries);
+            return report;
+        } finally {
+            for (SimulatedDirectory directory : directories) {
+                directory.destroy();
+            }
+            for (Registry registry : consumerRegistries) {
+                registry.destroy();
+            }
+            providerRegistry.destroy();
+        }
+    }
+
+    private SimulatedDirectory subscribe(Registry registry, Protocol protocol, int consumer, int service) {
+        String name = toService(service);
+        URL url = URL.valueOf(SimulatedProtocol.NAME + "://127.0.0.1/" + name + "?refer=" + URL.encode("interface=" + name));
+        SimulatedDirectory directory = new SimulatedDirectory(name, url);
+        directory.setProtocol(protocol);
+        directory.setRegistry(registry);
+        directory.setRouterChain(RouterChain.buildChain(url));
+        directory.subscribe(URL.valueOf("consumer://127.0.0.1/" + name + "?interface=" + name
+                + "&category=providers,configurators,routers&check=false&side=consumer&application=consumer-" + consumer));
+        return directory;
+    }
+
+    private void startRound(int round, Map<String, Set<String>> addresses, int directories) {
+        this.converged = new CountDownLatch(directories);
+        this.expected = addresses;
+        this.roundStart = System.nanoTime();
+        this.round = round;
+    }
+
+    private void await(long timeout) throws InterruptedException {
+        if (!converged.await(timeout, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Round " + round + " did not converge in " + timeout + " ms, "
+                    + converged.getCount() + " directories left");
+        }
+    }
+
+    private static String toService(int service) {
+        return "org.apache.dubbo.simulation.Service" + service;
+    }
+
+    private static String toAddress(int provider, int generation) {
+        return "10.0." + (provider / 250) + "." + (provider % 250 + 1) + ":" + (20880 + generation);
+    }
+
+    private static URL toProviderUrl(int service, int provider, int generation) {
+        String name = toService(service);
+        return URL.valueOf(SimulatedProtocol.NAME + "://" + toAddress(provider, generation) + "/" + name + "?interface=" + name
+                + "&side=provider&application=provider-" + provider + "&methods=sayHello,sayGoodbye&timeout=3000"
+                + "&timestamp=" + generation);
+    }
+
+    private Set<String> toAddresses(int service, int[] generations) {
+        Set<String> addresses = new HashSet<>();
+        for (int p = 0; p < providers; p++) {
+            addresses.add(toAddress(p, generations[p]));
+        }
+        return addresses;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long cacheChanges(List<Registry> registries) {
+        long changes = 0;
+        for (Registry registry : registries) {
+            if (registry instanceof AbstractRegistry) {
+                changes += ((AbstractRegistry) registry).getLastCacheChanged().get();
+            }
+        }
+        return changes;
+    }
+
+    private static long cacheFileBytes(List<Registry> registries) {
+        long bytes = 0;
+        for (Registry registry : registries) {
+            if (registry instanceof AbstractRegistry && ((AbstractRegistry) registry).getCacheFile() != null) {
+                bytes += ((AbstractRegistry) registry).getCacheFile().length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * A directory which measures its notifications and tells when it holds the expected providers.
+     */
+    private class SimulatedDirectory extends RegistryDirectory<Object> {
+
+        private final String service;
+
+        private int convergedRound = -1;
+
+        SimulatedDirectory(String service, URL url) {
+            super(Object.class, url);
+            this.service = service;
+        }
+
+        @Override
+        public synchronized void notify(List<URL> urls) {
+            long cpuTime = threadMXBean.getCurrentThreadCpuTime();
+            super.notify(urls);
+            notified(cpuTime);
+        }
+
+        @Override
+        public synchronized void notifyDelta(String category, List<URL> added, List<URL> removed, List<URL> urls) {
+            long cpuTime = threadMXBean.getCurrentThreadCpuTime();
+            super.notifyDelta(category, added, removed, urls);
+            notified(cpuTime);
+        }
+
+        private void notified(long cpuTime) {
+            notifyCpuTime.addAndGet(threadMXBean.getCurrentThreadCpuTime() - cpuTime);
+            notifications.incrementAndGet();
+            int current = round;
+            if (convergedRound >= current) {
+                return;
+            }
+            List<Invoker<Object>> invokers = getAllInvokers();
+            Set<String> addresses = new HashSet<>();
+            if (invokers != null) {
+                for (Invoker<Object> invoker : invokers) {
+                    addresses.add(invoker.getUrl().getAddress());
+                }
+            }
+            if (addresses.equals(expected.get(service))) {
+                convergedRound = current;
+                latencies.add(System.nanoTime() - roundStart);
+                converged.countDown();
+            }
+        }
+    }
+
+    public static class Report {
+
+        private int rounds;
+
+        private int directories;
+
+        private long subscribeMillis;
+
+        private long heapPerDirectory;
+
+        // the time in nanoseconds every directory took to hold the providers of a round, sorted
+        private List<Long> latencies;
+
+        private long notifications;
+
+        private long notifyCpuTime;
+
+        private long cacheChanges;
+
+        private long cacheFileBytes;
+
+        public int getConverged() {
+            return latencies.size();
+        }
+
+        public long getLatencyPercentile(double percentile) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.size()) - 1;
+            return latencies.get(Math.max(0, Math.min(index, latencies.size() - 1)));
+        }
+
+        public long getNotifications() {
+            return notifications;
+        }
+
+        public long getCacheChanges() {
+            return cacheChanges;
+        }
+
+        @Override
+        public String toString() {
+            return "directories: " + directories + ", subscribed in " + subscribeMillis + " ms"
+                    + ", heap per directory: " + heapPerDirectory + " bytes\n"
+                    + "rounds: " + rounds + ", converged: " + getConverged()
+                    + ", latency p50/p99/max: " + toMicros(getLatencyPercentile(50)) + "/" + toMicros(getLatencyPercentile(99))
+                    + "/" + toMicros(getLatencyPercentile(100)) + " us\n"
+                    + "notifications: " + notifications + ", cpu per notification: "
+                    + (notifications == 0 ? 0 : toMicros(notifyCpuTime / notifications)) + " us\n"
+                    + "cache file changes: " + cacheChanges + ", cache files: " + cacheFileBytes + " bytes";
+        }
+
+        private static long toMicros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.zookeeper.simulation;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.utils.NetUtils;
+import org.apache.dubbo.registry.zookeeper.ZookeeperRegistry;
+import org.apache.dubbo.remoting.zookeeper.curator.CuratorZookeeperTransporter;
+
+import org.apache.curator.test.TestingServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a small {@link RegistrySimulation}, a larger cluster is simulated with the system properties
+ * simulation.consumers, simulation.services, simulation.providers, simulation.rounds and simulation.churn, e.g.
+ * <pre>
+ * mvn test -Dtest=RegistrySimulationTest -Dsimulation.consumers=200 -Dsimulation.providers=500
+ * </pre>
+ */
+public class RegistrySimulationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrySimulationTest.class);
+
+    private static final int CONSUMERS = Integer.getInteger("simulation.consumers", 4);
+
+    private static final int SERVICES = Integer.getInteger("simulation.services", 3);
+
+    private static final int PROVIDERS = Integer.getInteger("simulation.providers", 10);
+
+    private static final int ROUNDS = Integer.getInteger("simulation.rounds", 3);
+
+    private static final int CHURN = Integer.getInteger("simulation.churn", 2);
+
+    private static final long TIMEOUT = Long.getLong("simulation.timeout", 30000);
+
+    @TempDir
+    File cacheDir;
+
+    @Test
+    public void testInMemoryRegistry() throws Exception {
+        InMemoryRegistry.Server server = new InMemoryRegistry.Server();
+        RegistrySimulation.Report report = new RegistrySimulation(CONSUMERS, SERVICES, PROVIDERS).run(name ->
+                new InMemoryRegistry(URL.valueOf("memory://127.0.0.1?file=" + cacheFile(name)), server), ROUNDS, CHURN, TIMEOUT);
+        logger.info("In memory registry\n" + report);
+
+        assertConverged(report);
+    }
+
+    @Test
+    public void testZookeeperRegistry() throws Exception {
+        int zkServerPort = NetUtils.getAvailablePort();
+        TestingServer zkServer = new TestingServer(zkServerPort, true);
+        try {
+            // a transporter by registry, as every application has its own session
+            RegistrySimulation.Report report = new RegistrySimulation(CONSUMERS, SERVICES, PROVIDERS).run(name ->
+                    new ZookeeperRegistry(URL.valueOf("zookeeper://127.0.0.1:" + zkServerPort + "?file=" + cacheFile(name)),
+                            new CuratorZookeeperTransporter()), ROUNDS, CHURN, TIMEOUT);
+            logger.info("Zookeeper registry\n" + report);
+
+            assertConverged(report);
+        } finally {
+            zkServer.stop();
+        }
+    }
+
+    private String cacheFile(String name) {
+        return new File(cacheDir, name + ".cache").getAbsolutePath();
+    }
+
+    private void assertConverged(RegistrySimulation.Report report) {
+        assertEquals(CONSUMERS * SERVICES * ROUNDS, report.getConverged());
+        assertTrue(report.getNotifications() >= report.getConverged());
+        assertTrue(report.getLatencyPercentile(100) <= TimeUnit.MILLISECONDS.toNanos(TIMEOUT));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.registry.zookeeper.simulation;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Exporter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Protocol;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+
+/**
+ * Refers the providers of a {@link RegistrySimulation} without connecting to them.
+ */
+public class SimulatedProtocol implements Protocol {
+
+    public static final String NAME = "simulation";
+
+    @Override
+    public int getDefaultPort() {
+        return 0;
+    }
+
+    @Override
+    public <T> Exporter<T> export(Invoker<T> invoker) throws RpcException {
+        throw new UnsupportedOperationException("The simulated providers are registered only");
+    }
+
+    @Override
+    public <T> Invoker<T> refer(Class<T> type, URL url) throws RpcException {
+        return new SimulatedInvoker<>(type, url);
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    static class SimulatedInvoker<T> implements Invoker<T> {
+
+        private final Class<T> type;
+
+        private final URL url;
+
+        private volatile boolean destroyed;
+
+        SimulatedInvoker(Class<T> type, URL url) {
+            this.type = type;
+            this.url = url;
+        }
+
+        @Override
+        public Class<T> getInterface() {
+            return type;
+        }
+
+        @Override
+        public Result invoke(Invocation invocation) throws RpcException {
+            throw new RpcException("The simulated provider " + url.getAddress() + " can not be invoked");
+        }
+
+        @Override
+        public URL getUrl() {
+            return url;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return !destroyed;
+        }
+
+        @Override
+        public void destroy() {
+            destroyed = true;
+        }
+    }
+}
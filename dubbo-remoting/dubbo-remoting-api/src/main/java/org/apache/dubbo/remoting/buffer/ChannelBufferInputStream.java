@@ -17,10 +17,13 @@
 
 package org.apache.dubbo.remoting.buffer;
 
+import org.apache.dubbo.common.io.ByteBufferReadable;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
-public class ChannelBufferInputStream extends InputStream {
+public class ChannelBufferInputStream extends InputStream implements ByteBufferReadable {
 
     private final ChannelBuffer buffer;
     private final int startIndex;
@@ -100,6 +103,19 @@ public class ChannelBufferInputStream extends InputStream {
         }
     }
 
+    @Override
+    public ByteBuffer readableBuffer() {
+        return buffer.toByteBuffer(buffer.readerIndex(), endIndex - buffer.readerIndex());
+    }
+
+    /**
+     * The channel buffer is released or reused once the message is decoded.
+     */
+    @Override
+    public boolean isAliasable() {
+        return false;
+    }
+
     private int skipBytes(int n) throws IOException {
         int nBytes = Math.min(available(), n);
         buffer.skipBytes(nBytes);
@@ -17,10 +17,13 @@
 
 package org.apache.dubbo.remoting.buffer;
 
+import org.apache.dubbo.common.io.ByteBufferWritable;
+
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
-public class ChannelBufferOutputStream extends OutputStream {
+public class ChannelBufferOutputStream extends OutputStream implements ByteBufferWritable {
 
     private final ChannelBuffer buffer;
     private final int startIndex;
@@ -56,6 +59,26 @@ public class ChannelBufferOutputStream extends OutputStream {
         buffer.writeByte((byte) b);
     }
 
+    @Override
+    public ByteBuffer writableBuffer(int length) {
+        buffer.ensureWritableBytes(length);
+        int index = buffer.writerIndex();
+        ByteBuffer nioBuffer;
+        if (buffer.hasArray()) {
+            nioBuffer = ByteBuffer.wrap(buffer.array(), buffer.arrayOffset() + index, length);
+        } else if (buffer.isDirect()) {
+            nioBuffer = buffer.toByteBuffer(index, length);
+            // a heap copy of a direct buffer (e.g. a composite one) would swallow the writes
+            if (!nioBuffer.isDirect()) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        buffer.writerIndex(index + length);
+        return nioBuffer;
+    }
+
     public ChannelBuffer buffer() {
         return buffer;
     }
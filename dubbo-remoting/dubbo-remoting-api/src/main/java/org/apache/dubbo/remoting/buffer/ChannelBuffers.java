@@ -90,6 +90,19 @@ public final class ChannelBuffers {
         return buffer;
     }
 
+    public static ChannelBuffer pooledBuffer(int capacity) {
+        return PooledChannelBufferFactory.getInstance().getBuffer(capacity);
+    }
+
+    /**
+     * Give the memory of a pooled buffer back to its pool, other buffers are left to the garbage collector.
+     */
+    public static void release(ChannelBuffer buffer) {
+        if (buffer instanceof PooledChannelBuffer) {
+            ((PooledChannelBuffer) buffer).release();
+        }
+    }
+
     public static boolean equals(ChannelBuffer bufferA, ChannelBuffer bufferB) {
         final int aLen = bufferA.readableBytes();
         if (aLen != bufferB.readableBytes()) {
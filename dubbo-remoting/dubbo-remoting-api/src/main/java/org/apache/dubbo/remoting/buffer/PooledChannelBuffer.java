@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A dynamic buffer whose memory is borrowed from a {@link PooledChannelBufferFactory} and given back by
+ * {@link #release()}. Growing within the size class of the current memory does not copy; buffers derived from
+ * this one (copies, {@link #readBytes(int)}) are unpooled and need no release.
+ */
+public class PooledChannelBuffer extends AbstractChannelBuffer {
+
+    private final PooledChannelBufferFactory pool;
+
+    private ChannelBuffer memory;
+
+    private int capacity;
+
+    private boolean released;
+
+    private PooledChannelBufferFactory.LeakTrace leakTrace;
+
+    PooledChannelBuffer(PooledChannelBufferFactory pool, int capacity) {
+        this.pool = pool;
+        this.capacity = capacity;
+        this.memory = pool.allocate(capacity);
+        this.leakTrace = pool.track(this);
+    }
+
+    /**
+     * Give the memory of this buffer back to its pool, the buffer must not be used afterwards.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        ChannelBuffer old = memory;
+        memory = ChannelBuffers.EMPTY_BUFFER;
+        capacity = 0;
+        clear();
+        if (leakTrace != null) {
+            leakTrace.close();
+            leakTrace = null;
+        }
+        pool.free(old);
+    }
+
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * @return the trace of this buffer if it is sampled by the leak detection and not released yet
+     */
+    PooledChannelBufferFactory.LeakTrace leakTrace() {
+        return leakTrace;
+    }
+
+    @Override
+    public void ensureWritableBytes(int minWritableBytes) {
+        if (minWritableBytes <= writableBytes()) {
+            return;
+        }
+        checkReleased();
+        int minNewCapacity = writerIndex() + minWritableBytes;
+        if (minNewCapacity <= memory.capacity()) {
+            capacity = minNewCapacity;
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, 1);
+        while (newCapacity < minNewCapacity) {
+            newCapacity <<= 1;
+        }
+        ChannelBuffer newMemory = pool.allocate(newCapacity);
+        newMemory.setBytes(0, memory, 0, writerIndex());
+        pool.free(memory);
+        memory = newMemory;
+        capacity = newCapacity;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public ChannelBuffer copy(int index, int length) {
+        checkIndex(index, length);
+        ChannelBuffer copy = factory().getBuffer(length);
+        copy.writeBytes(memory, index, length);
+        return copy;
+    }
+
+    /**
+     * The factory of the unpooled buffers derived from this one, so that they are never leaked.
+     */
+    @Override
+    public ChannelBufferFactory factory() {
+        return pool.unpooledFactory();
+    }
+
+    @Override
+    public byte getByte(int index) {
+        checkIndex(index, 1);
+        return memory.getByte(index);
+    }
+
+    @Override
+    public void getBytes(int index, byte[] dst, int dstIndex, int length) {
+        checkIndex(index, length);
+        memory.getBytes(index, dst, dstIndex, length);
+    }
+
+    @Override
+    public void getBytes(int index, ByteBuffer dst) {
+        int length = Math.min(capacity - index, dst.remaining());
+        checkIndex(index, length);
+        ByteBuffer window = dst.duplicate();
+        window.limit(window.position() + length);
+        memory.getBytes(index, window);
+        dst.position(dst.position() + length);
+    }
+
+    @Override
+    public void getBytes(int index, ChannelBuffer dst, int dstIndex, int length) {
+        checkIndex(index, length);
+        memory.getBytes(index, dst, dstIndex, length);
+    }
+
+    @Override
+    public void getBytes(int index, OutputStream dst, int length) throws IOException {
+        checkIndex(index, length);
+        memory.getBytes(index, dst, length);
+    }
+
+    @Override
+    public boolean isDirect() {
+        return memory.isDirect();
+    }
+
+    @Override
+    public void setByte(int index, int value) {
+        checkIndex(index, 1);
+        memory.setByte(index, value);
+    }
+
+    @Override
+    public void setBytes(int index, byte[] src, int srcIndex, int length) {
+        checkIndex(index, length);
+        memory.setBytes(index, src, srcIndex, length);
+    }
+
+    @Override
+    public void setBytes(int index, ByteBuffer src) {
+        checkIndex(index, src.remaining());
+        memory.setBytes(index, src);
+    }
+
+    @Override
+    public void setBytes(int index, ChannelBuffer src, int srcIndex, int length) {
+        checkIndex(index, length);
+        memory.setBytes(index, src, srcIndex, length);
+    }
+
+    @Override
+    public int setBytes(int index, InputStream src, int length) throws IOException {
+        checkIndex(index, length);
+        return memory.setBytes(index, src, length);
+    }
+
+    @Override
+    public ByteBuffer toByteBuffer(int index, int length) {
+        checkIndex(index, length);
+        return memory.toByteBuffer(index, length);
+    }
+
+    @Override
+    public void writeByte(int value) {
+        ensureWritableBytes(1);
+        super.writeByte(value);
+    }
+
+    @Override
+    public void writeBytes(byte[] src, int srcIndex, int length) {
+        ensureWritableBytes(length);
+        super.writeBytes(src, srcIndex, length);
+    }
+
+    @Override
+    public void writeBytes(ChannelBuffer src, int srcIndex, int length) {
+        ensureWritableBytes(length);
+        super.writeBytes(src, srcIndex, length);
+    }
+
+    @Override
+    public void writeBytes(ByteBuffer src) {
+        ensureWritableBytes(src.remaining());
+        super.writeBytes(src);
+    }
+
+    @Override
+    public int writeBytes(InputStream in, int length) throws IOException {
+        ensureWritableBytes(length);
+        return super.writeBytes(in, length);
+    }
+
+    @Override
+    public byte[] array() {
+        return memory.array();
+    }
+
+    @Override
+    public boolean hasArray() {
+        return memory.hasArray();
+    }
+
+    @Override
+    public int arrayOffset() {
+        return memory.arrayOffset();
+    }
+
+    private void checkIndex(int index, int length) {
+        if (released) {
+            throw new IllegalStateException("The buffer has been released");
+        }
+        if (index < 0 || length < 0 || index > capacity - length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + length + ", capacity: " + capacity);
+        }
+    }
+
+    private void checkReleased() {
+        if (released) {
+            throw new IllegalStateException("The buffer has been released");
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.buffer;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Factory of {@link PooledChannelBuffer}s, recycling the memory of released buffers.
+ * <p>
+ * Memory is handed out in power of two size classes, from {@value #MIN_POOLED_CAPACITY} bytes up to the max
+ * pooled capacity, bigger requests are allocated unpooled. Each thread first uses its own small cache of
+ * free buffers, then one of the shared arenas it is bound to. A sample of the allocated buffers is tracked so
+ * that buffers garbage collected without {@link PooledChannelBuffer#release()} are reported with the stack
+ * of their allocation.
+ * <p>
+ * Buffers obtained from this factory must be released by their owner once the bytes are consumed, e.g. after
+ * they were copied to the transport. The pool is therefore only used by the transports copying the encoded bytes
+ * into their own memory, i.e. grizzly: netty 4 encodes into the pooled {@code ByteBuf} of its own allocator, mina
+ * and netty 3 write the encoded buffer asynchronously and could not tell when to release it.
+ */
+public class PooledChannelBufferFactory implements ChannelBufferFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledChannelBufferFactory.class);
+
+    public static final int MIN_POOLED_CAPACITY = 256;
+
+    public static final int DEFAULT_MAX_POOLED_CAPACITY = 1024 * 1024;
+
+    public static final int DEFAULT_THREAD_CACHE_SIZE = 16;
+
+    public static final int DEFAULT_LEAK_SAMPLE_INTERVAL = 128;
+
+    private static final int MIN_SIZE_SHIFT = 8;
+
+    /**
+     * Upper bound of the memory kept free by an arena for one size class.
+     */
+    private static final int ARENA_CLASS_BYTES = 2 * 1024 * 1024;
+
+    /**
+     * Size classes above this one are only cached by the arenas, not by the threads.
+     */
+    private static final int MAX_THREAD_CACHED_CAPACITY = 32 * 1024;
+
+    private static final PooledChannelBufferFactory HEAP_INSTANCE = new PooledChannelBufferFactory(false);
+
+    private static final PooledChannelBufferFactory DIRECT_INSTANCE = new PooledChannelBufferFactory(true);
+
+    private final boolean direct;
+
+    private final int maxPooledCapacity;
+
+    private final int threadCacheSize;
+
+    private final Arena[] arenas;
+
+    private final AtomicInteger nextArena = new AtomicInteger();
+
+    private final ThreadLocal<ThreadCache> threadCaches = ThreadLocal.withInitial(ThreadCache::new);
+
+    private final LeakDetector leakDetector;
+
+    private final AtomicLong allocations = new AtomicLong();
+
+    private final AtomicLong poolHits = new AtomicLong();
+
+    public PooledChannelBufferFactory(boolean direct) {
+        this(direct, Runtime.getRuntime().availableProcessors() * 2, DEFAULT_MAX_POOLED_CAPACITY,
+                DEFAULT_THREAD_CACHE_SIZE, DEFAULT_LEAK_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * @param direct             allocate direct memory instead of heap arrays
+     * @param arenas             number of shared arenas
+     * @param maxPooledCapacity  biggest capacity recycled by the pool
+     * @param threadCacheSize    free buffers kept per thread and size class, 0 disables the thread caches
+     * @param leakSampleInterval track one buffer every that many allocations, 0 disables leak detection
+     */
+    public PooledChannelBufferFactory(boolean direct, int arenas, int maxPooledCapacity, int threadCacheSize,
+                                      int leakSampleInterval) {
+        if (arenas <= 0) {
+            throw new IllegalArgumentException("arenas: " + arenas);
+        }
+        if (maxPooledCapacity < MIN_POOLED_CAPACITY) {
+            throw new IllegalArgumentException("maxPooledCapacity: " + maxPooledCapacity);
+        }
+        this.direct = direct;
+        this.maxPooledCapacity = Integer.highestOneBit(maxPooledCapacity);
+        this.threadCacheSize = Math.max(threadCacheSize, 0);
+        this.arenas = new Arena[arenas];
+        for (int i = 0; i < arenas; i++) {
+            this.arenas[i] = new Arena(sizeClass(this.maxPooledCapacity) + 1);
+        }
+        this.leakDetector = new LeakDetector(leakSampleInterval);
+    }
+
+    public static PooledChannelBufferFactory getInstance() {
+        return HEAP_INSTANCE;
+    }
+
+    public static PooledChannelBufferFactory getDirectInstance() {
+        return DIRECT_INSTANCE;
+    }
+
+    @Override
+    public ChannelBuffer getBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        return new PooledChannelBuffer(this, capacity);
+    }
+
+    @Override
+    public ChannelBuffer getBuffer(byte[] array, int offset, int length) {
+        if (array == null) {
+            throw new NullPointerException("array");
+        }
+        if (offset < 0 || length < 0 || offset + length > array.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+        ChannelBuffer buf = getBuffer(length);
+        buf.writeBytes(array, offset, length);
+        return buf;
+    }
+
+    @Override
+    public ChannelBuffer getBuffer(ByteBuffer nioBuffer) {
+        ChannelBuffer buf = getBuffer(nioBuffer.remaining());
+        int pos = nioBuffer.position();
+        buf.writeBytes(nioBuffer);
+        nioBuffer.position(pos);
+        return buf;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * @return the number of memory allocations requested from this factory
+     */
+    public long getAllocations() {
+        return allocations.get();
+    }
+
+    /**
+     * @return the number of memory allocations served by recycled memory
+     */
+    public long getPoolHits() {
+        return poolHits.get();
+    }
+
+    /**
+     * @return the number of buffers detected as garbage collected without being released
+     */
+    public long getLeaks() {
+        return leakDetector.leaks.get();
+    }
+
+    /**
+     * The factory creating the unpooled buffers derived from pooled ones, see {@link PooledChannelBuffer#factory()}.
+     */
+    ChannelBufferFactory unpooledFactory() {
+        return direct ? DirectChannelBufferFactory.getInstance() : HeapChannelBufferFactory.getInstance();
+    }
+
+    /**
+     * Get memory of at least the given capacity, its indexes are meaningless.
+     */
+    ChannelBuffer allocate(int capacity) {
+        allocations.incrementAndGet();
+        if (capacity > maxPooledCapacity) {
+            return newMemory(capacity);
+        }
+        int sizeClass = sizeClass(capacity);
+        ChannelBuffer memory = threadCache().poll(sizeClass);
+        if (memory == null) {
+            memory = arena().poll(sizeClass);
+        }
+        if (memory == null) {
+            return newMemory(MIN_POOLED_CAPACITY << sizeClass);
+        }
+        poolHits.incrementAndGet();
+        return memory;
+    }
+
+    /**
+     * Give back memory obtained from {@link #allocate(int)}.
+     */
+    void free(ChannelBuffer memory) {
+        int capacity = memory.capacity();
+        if (capacity > maxPooledCapacity || Integer.bitCount(capacity) != 1 || capacity < MIN_POOLED_CAPACITY) {
+            return;
+        }
+        int sizeClass = sizeClass(capacity);
+        if (!threadCache().offer(sizeClass, memory)) {
+            arena().offer(sizeClass, memory);
+        }
+    }
+
+    LeakTrace track(PooledChannelBuffer buffer) {
+        return leakDetector.track(buffer);
+    }
+
+    private ChannelBuffer newMemory(int capacity) {
+        if (direct) {
+            return new ByteBufferBackedChannelBuffer(ByteBuffer.allocateDirect(capacity));
+        }
+        return new HeapChannelBuffer(capacity);
+    }
+
+    private ThreadCache threadCache() {
+        return threadCaches.get();
+    }
+
+    private Arena arena() {
+        ThreadCache cache = threadCache();
+        if (cache.arena == null) {
+            cache.arena = arenas[(nextArena.getAndIncrement() & Integer.MAX_VALUE) % arenas.length];
+        }
+        return cache.arena;
+    }
+
+    static int sizeClass(int capacity) {
+        if (capacity <= MIN_POOLED_CAPACITY) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_SHIFT;
+    }
+
+    private static final class Arena {
+
+        private final ConcurrentLinkedQueue<ChannelBuffer>[] free;
+
+        private final AtomicInteger[] sizes;
+
+        @SuppressWarnings("unchecked")
+        Arena(int sizeClasses) {
+            free = new ConcurrentLinkedQueue[sizeClasses];
+            sizes = new AtomicInteger[sizeClasses];
+            for (int i = 0; i < sizeClasses; i++) {
+                free[i] = new ConcurrentLinkedQueue<>();
+                sizes[i] = new AtomicInteger();
+            }
+        }
+
+        ChannelBuffer poll(int sizeClass) {
+            ChannelBuffer memory = free[sizeClass].poll();
+            if (memory != null) {
+                sizes[sizeClass].decrementAndGet();
+            }
+            return memory;
+        }
+
+        void offer(int sizeClass, ChannelBuffer memory) {
+            int max = Math.max(4, ARENA_CLASS_BYTES >> (sizeClass + MIN_SIZE_SHIFT));
+            if (sizes[sizeClass].incrementAndGet() > max) {
+                sizes[sizeClass].decrementAndGet();
+                return;
+            }
+            free[sizeClass].offer(memory);
+        }
+    }
+
+    private final class ThreadCache {
+
+        private Arena arena;
+
+        private final ChannelBuffer[][] stacks = new ChannelBuffer[sizeClass(maxPooledCapacity) + 1][];
+
+        private final int[] counts = new int[stacks.length];
+
+        ChannelBuffer poll(int sizeClass) {
+            int count = counts[sizeClass];
+            if (count == 0) {
+                return null;
+            }
+            ChannelBuffer[] stack = stacks[sizeClass];
+            ChannelBuffer memory = stack[--count];
+            stack[count] = null;
+            counts[sizeClass] = count;
+            return memory;
+        }
+
+        boolean offer(int sizeClass, ChannelBuffer memory) {
+            if (threadCacheSize == 0 || (MIN_POOLED_CAPACITY << sizeClass) > MAX_THREAD_CACHED_CAPACITY) {
+                return false;
+            }
+            ChannelBuffer[] stack = stacks[sizeClass];
+            if (stack == null) {
+                stack = stacks[sizeClass] = new ChannelBuffer[threadCacheSize];
+            }
+            int count = counts[sizeClass];
+            if (count == stack.length) {
+                return false;
+            }
+            stack[count] = memory;
+            counts[sizeClass] = count + 1;
+            return true;
+        }
+    }
+
+    private static final class LeakDetector {
+
+        private final int sampleInterval;
+
+        private final ReferenceQueue<PooledChannelBuffer> queue = new ReferenceQueue<>();
+
+        private final Set<LeakTrace> traces = ConcurrentHashMap.newKeySet();
+
+        private final AtomicLong leaks = new AtomicLong();
+
+        LeakDetector(int sampleInterval) {
+            this.sampleInterval = sampleInterval;
+        }
+
+        LeakTrace track(PooledChannelBuffer buffer) {
+            if (sampleInterval <= 0) {
+                return null;
+            }
+            reportLeaks();
+            if (ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+                return null;
+            }
+            LeakTrace trace = new LeakTrace(buffer, queue, traces);
+            traces.add(trace);
+            return trace;
+        }
+
+        private void reportLeaks() {
+            LeakTrace trace;
+            while ((trace = (LeakTrace) queue.poll()) != null) {
+                if (traces.remove(trace)) {
+                    leaks.incrementAndGet();
+                    logger.error("LEAK: a pooled ChannelBuffer was garbage collected before being released, "
+                            + "its memory is lost for the pool. Allocated at:", trace.allocation);
+                }
+            }
+        }
+    }
+
+    static final class LeakTrace extends WeakReference<PooledChannelBuffer> {
+
+        private final Throwable allocation = new Throwable("Pooled ChannelBuffer allocation");
+
+        private final Set<LeakTrace> traces;
+
+        LeakTrace(PooledChannelBuffer buffer, ReferenceQueue<PooledChannelBuffer> queue, Set<LeakTrace> traces) {
+            super(buffer, queue);
+            this.traces = traces;
+        }
+
+        void close() {
+            traces.remove(this);
+            clear();
+        }
+    }
+}
@@ -148,7 +148,7 @@ public class ExchangeCodec extends TelnetCodec {
             byte status = header[3];
             res.setStatus(status);
             try {
-                ObjectInput in = CodecSupport.deserialize(channel.getUrl(), is, proto);
+                ObjectInput in = CodecSupport.deserialize(channel, is, proto);
                 if (status == Response.OK) {
                     Object data;
                     if (res.isHeartbeat()) {
@@ -163,6 +163,7 @@ public class ExchangeCodec extends TelnetCodec {
                     res.setErrorMessage(in.readUTF());
                 }
             } catch (Throwable t) {
+                CodecSupport.decodeFailed(channel, proto);
                 res.setStatus(Response.CLIENT_ERROR);
                 res.setErrorMessage(StringUtils.toString(t));
             }
@@ -176,7 +177,7 @@ public class ExchangeCodec extends TelnetCodec {
                 req.setEvent(true);
             }
             try {
-                ObjectInput in = CodecSupport.deserialize(channel.getUrl(), is, proto);
+                ObjectInput in = CodecSupport.deserialize(channel, is, proto);
                 Object data;
                 if (req.isHeartbeat()) {
                     data = decodeHeartbeatData(channel, in);
@@ -187,6 +188,7 @@ public class ExchangeCodec extends TelnetCodec {
                 }
                 req.setData(data);
             } catch (Throwable t) {
+                CodecSupport.decodeFailed(channel, proto);
                 // bad request
                 req.setBroken(true);
                 req.setData(t);
@@ -231,20 +233,27 @@ public class ExchangeCodec extends TelnetCodec {
         int savedWriteIndex = buffer.writerIndex();
         buffer.writerIndex(savedWriteIndex + HEADER_LENGTH);
         ChannelBufferOutputStream bos = new ChannelBufferOutputStream(buffer);
-        ObjectOutput out = serialization.serialize(channel.getUrl(), bos);
-        if (req.isEvent()) {
-            encodeEventData(channel, out, req.getData());
-        } else {
-            encodeRequestData(channel, out, req.getData(), req.getVersion());
-        }
-        out.flushBuffer();
-        if (out instanceof Cleanable) {
-            ((Cleanable) out).cleanup();
+        ObjectOutput out = CodecSupport.serialize(channel, serialization, bos);
+        int len;
+        try {
+            if (req.isEvent()) {
+                encodeEventData(channel, out, req.getData());
+            } else {
+                encodeRequestData(channel, out, req.getData(), req.getVersion());
+            }
+            out.flushBuffer();
+            bos.flush();
+            bos.close();
+            len = bos.writtenBytes();
+            checkPayload(channel, len);
+        } catch (Throwable t) {
+            CodecSupport.encodeFailed(channel, serialization);
+            throw t;
+        } finally {
+            if (out instanceof Cleanable) {
+                ((Cleanable) out).cleanup();
+            }
         }
-        bos.flush();
-        bos.close();
-        int len = bos.writtenBytes();
-        checkPayload(channel, len);
         Bytes.int2bytes(len, header, 12);
 
         // write
@@ -274,26 +283,33 @@ public class ExchangeCodec extends TelnetCodec {
 
             buffer.writerIndex(savedWriteIndex + HEADER_LENGTH);
             ChannelBufferOutputStream bos = new ChannelBufferOutputStream(buffer);
-            ObjectOutput out = serialization.serialize(channel.getUrl(), bos);
-            // encode response data or error message.
-            if (status == Response.OK) {
-                if (res.isHeartbeat()) {
-                    encodeEventData(channel, out, res.getResult());
+            ObjectOutput out = CodecSupport.serialize(channel, serialization, bos);
+            int len;
+            try {
+                // encode response data or error message.
+                if (status == Response.OK) {
+                    if (res.isHeartbeat()) {
+                        encodeEventData(channel, out, res.getResult());
+                    } else {
+                        encodeResponseData(channel, out, res.getResult(), res.getVersion());
+                    }
                 } else {
-                    encodeResponseData(channel, out, res.getResult(), res.getVersion());
+                    out.writeUTF(res.getErrorMessage());
                 }
-            } else {
-                out.writeUTF(res.getErrorMessage());
-            }
-            out.flushBuffer();
-            if (out instanceof Cleanable) {
-                ((Cleanable) out).cleanup();
-            }
-            bos.flush();
-            bos.close();
+                out.flushBuffer();
+                bos.flush();
+                bos.close();
 
-            int len = bos.writtenBytes();
-            checkPayload(channel, len);
+                len = bos.writtenBytes();
+                checkPayload(channel, len);
+            } catch (Throwable t) {
+                CodecSupport.encodeFailed(channel, serialization);
+                throw t;
+            } finally {
+                if (out instanceof Cleanable) {
+                    ((Cleanable) out).cleanup();
+                }
+            }
             Bytes.int2bytes(len, header, 12);
             // write
             buffer.writerIndex(savedWriteIndex);
@@ -21,12 +21,16 @@ import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.extension.ExtensionLoader;
 import org.apache.dubbo.common.logger.Logger;
 import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.serialize.ChannelScopedSerialization;
 import org.apache.dubbo.common.serialize.ObjectInput;
+import org.apache.dubbo.common.serialize.ObjectOutput;
 import org.apache.dubbo.common.serialize.Serialization;
+import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.Constants;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +42,7 @@ import static org.apache.dubbo.common.serialize.Constants.NATIVE_JAVA_SERIALIZAT
 public class CodecSupport {
 
     private static final Logger logger = LoggerFactory.getLogger(CodecSupport.class);
+    private static final String CHANNEL_STATE_KEY_PREFIX = "serialization.channel.state.";
     private static Map<Byte, Serialization> ID_SERIALIZATION_MAP = new HashMap<Byte, Serialization>();
     private static Map<Byte, String> ID_SERIALIZATIONNAME_MAP = new HashMap<Byte, String>();
     private static Map<String, Byte> SERIALIZATIONNAME_ID_MAP = new HashMap<String, Byte>();
@@ -92,4 +97,71 @@ public class CodecSupport {
         Serialization s = getSerialization(url, proto);
         return s.deserialize(url, is);
     }
+
+    public static ObjectInput deserialize(Channel channel, InputStream is, byte proto) throws IOException {
+        URL url = channel.getUrl();
+        Serialization s = getSerialization(url, proto);
+        if (s instanceof ChannelScopedSerialization) {
+            ChannelScopedSerialization scoped = (ChannelScopedSerialization) s;
+            return scoped.deserialize(url, is, getChannelState(channel, scoped));
+        }
+        return s.deserialize(url, is);
+    }
+
+    public static ObjectOutput serialize(Channel channel, Serialization serialization, OutputStream os) throws IOException {
+        URL url = channel.getUrl();
+        if (serialization instanceof ChannelScopedSerialization) {
+            ChannelScopedSerialization scoped = (ChannelScopedSerialization) serialization;
+            return scoped.serialize(url, os, getChannelState(channel, scoped));
+        }
+        return serialization.serialize(url, os);
+    }
+
+    /**
+     * Reports that the message written with an output of {@link #serialize(Channel, Serialization, OutputStream)}
+     * won't be sent, before the output is cleaned up.
+     */
+    public static void encodeFailed(Channel channel, Serialization serialization) {
+        if (serialization instanceof ChannelScopedSerialization) {
+            ChannelScopedSerialization scoped = (ChannelScopedSerialization) serialization;
+            scoped.onEncodeFailure(channel.getAttribute(CHANNEL_STATE_KEY_PREFIX + scoped.getContentTypeId()));
+        }
+    }
+
+    /**
+     * Reports that the message read with an input of {@link #deserialize(Channel, InputStream, byte)} could not be
+     * decoded entirely.
+     */
+    public static void decodeFailed(Channel channel, byte proto) {
+        Serialization s = getSerializationById(proto);
+        if (s instanceof ChannelScopedSerialization) {
+            ChannelScopedSerialization scoped = (ChannelScopedSerialization) s;
+            scoped.onDecodeFailure(channel.getAttribute(CHANNEL_STATE_KEY_PREFIX + scoped.getContentTypeId()));
+        }
+    }
+
+    /**
+     * Whether messages of this serialization id depend on the messages received before them on the same channel,
+     * and therefore have to be decoded in order on the IO thread.
+     */
+    public static boolean isChannelScoped(byte proto) {
+        return getSerializationById(proto) instanceof ChannelScopedSerialization;
+    }
+
+    private static Object getChannelState(Channel channel, ChannelScopedSerialization serialization) {
+        String key = CHANNEL_STATE_KEY_PREFIX + serialization.getContentTypeId();
+        Object state = channel.getAttribute(key);
+        if (state == null) {
+            synchronized (channel) {
+                state = channel.getAttribute(key);
+                if (state == null) {
+                    state = serialization.createChannelState(channel.getUrl());
+                    if (state != null) {
+                        channel.setAttribute(key, state);
+                    }
+                }
+            }
+        }
+        return state;
+    }
 }
@@ -16,15 +16,18 @@
  */
 package org.apache.dubbo.remoting.transport.codec;
 
+import org.apache.dubbo.common.serialize.ChannelScopedSerialization;
 import org.apache.dubbo.common.serialize.Cleanable;
 import org.apache.dubbo.common.serialize.ObjectInput;
 import org.apache.dubbo.common.serialize.ObjectOutput;
+import org.apache.dubbo.common.serialize.Serialization;
 import org.apache.dubbo.common.utils.StringUtils;
 import org.apache.dubbo.remoting.Channel;
 import org.apache.dubbo.remoting.buffer.ChannelBuffer;
 import org.apache.dubbo.remoting.buffer.ChannelBufferInputStream;
 import org.apache.dubbo.remoting.buffer.ChannelBufferOutputStream;
 import org.apache.dubbo.remoting.transport.AbstractCodec;
+import org.apache.dubbo.remoting.transport.CodecSupport;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -40,19 +43,35 @@ public class TransportCodec extends AbstractCodec {
     @Override
     public void encode(Channel channel, ChannelBuffer buffer, Object message) throws IOException {
         OutputStream output = new ChannelBufferOutputStream(buffer);
-        ObjectOutput objectOutput = getSerialization(channel).serialize(channel.getUrl(), output);
-        encodeData(channel, objectOutput, message);
-        objectOutput.flushBuffer();
-        if (objectOutput instanceof Cleanable) {
-            ((Cleanable) objectOutput).cleanup();
+        Serialization serialization = getSerialization(channel);
+        ObjectOutput objectOutput = CodecSupport.serialize(channel, serialization, output);
+        try {
+            encodeData(channel, objectOutput, message);
+            objectOutput.flushBuffer();
+        } catch (Throwable t) {
+            CodecSupport.encodeFailed(channel, serialization);
+            throw t;
+        } finally {
+            if (objectOutput instanceof Cleanable) {
+                ((Cleanable) objectOutput).cleanup();
+            }
         }
     }
 
     @Override
     public Object decode(Channel channel, ChannelBuffer buffer) throws IOException {
         InputStream input = new ChannelBufferInputStream(buffer);
-        ObjectInput objectInput = getSerialization(channel).deserialize(channel.getUrl(), input);
-        Object object = decodeData(channel, objectInput);
+        Serialization serialization = getSerialization(channel);
+        ObjectInput objectInput = serialization instanceof ChannelScopedSerialization
+                ? CodecSupport.deserialize(channel, input, serialization.getContentTypeId())
+                : serialization.deserialize(channel.getUrl(), input);
+        Object object;
+        try {
+            object = decodeData(channel, objectInput);
+        } catch (Throwable t) {
+            CodecSupport.decodeFailed(channel, serialization.getContentTypeId());
+            throw t;
+        }
         if (objectInput instanceof Cleanable) {
             ((Cleanable) objectInput).cleanup();
         }
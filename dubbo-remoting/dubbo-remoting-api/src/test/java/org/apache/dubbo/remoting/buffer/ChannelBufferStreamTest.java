@@ -18,6 +18,8 @@ package org.apache.dubbo.remoting.buffer;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -101,4 +103,27 @@ public class ChannelBufferStreamTest {
 
         assertEquals(buf.readerIndex(), in.readBytes());
     }
+
+    @Test
+    public void testByteBufferAccess() throws Exception {
+        for (ChannelBuffer buf : new ChannelBuffer[]{ChannelBuffers.dynamicBuffer(2), ChannelBuffers.directBuffer(16)}) {
+            ChannelBufferOutputStream out = new ChannelBufferOutputStream(buf);
+            out.write(1);
+            ByteBuffer writable = out.writableBuffer(3);
+            assertEquals(3, writable.remaining());
+            writable.put(new byte[]{2, 3, 4});
+            out.write(5);
+            assertEquals(5, out.writtenBytes());
+
+            ChannelBufferInputStream in = new ChannelBufferInputStream(buf);
+            assertEquals(1, in.read());
+            ByteBuffer readable = in.readableBuffer();
+            assertEquals(4, readable.remaining());
+            assertEquals(2, readable.get());
+            assertEquals(4, in.available());
+            in.skip(3);
+            assertEquals(5, in.read());
+            assertFalse(in.isAliasable());
+        }
+    }
 }
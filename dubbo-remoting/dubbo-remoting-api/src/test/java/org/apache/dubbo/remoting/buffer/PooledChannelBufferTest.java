@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.remoting.buffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PooledChannelBufferTest extends AbstractChannelBufferTest {
+
+    private PooledChannelBuffer buffer;
+
+    @Override
+    protected ChannelBuffer newBuffer(int length) {
+        buffer = (PooledChannelBuffer) ChannelBuffers.pooledBuffer(length);
+
+        assertEquals(0, buffer.readerIndex());
+        assertEquals(0, buffer.writerIndex());
+        assertEquals(length, buffer.capacity());
+
+        return buffer;
+    }
+
+    @Override
+    protected ChannelBuffer[] components() {
+        return new ChannelBuffer[]{buffer};
+    }
+
+    @AfterEach
+    public void release() {
+        if (buffer != null) {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testSizeClass() {
+        assertEquals(0, PooledChannelBufferFactory.sizeClass(0));
+        assertEquals(0, PooledChannelBufferFactory.sizeClass(256));
+        assertEquals(1, PooledChannelBufferFactory.sizeClass(257));
+        assertEquals(2, PooledChannelBufferFactory.sizeClass(1024));
+        assertEquals(12, PooledChannelBufferFactory.sizeClass(1024 * 1024));
+    }
+
+    @Test
+    public void testMemoryIsRecycled() {
+        PooledChannelBufferFactory factory = new PooledChannelBufferFactory(false, 1, 4096, 4, 0);
+        PooledChannelBuffer first = (PooledChannelBuffer) factory.getBuffer(100);
+        first.writeBytes(new byte[]{1, 2, 3});
+        byte[] memory = first.array();
+        first.release();
+        assertTrue(first.isReleased());
+        Assertions.assertThrows(IllegalStateException.class, () -> first.getByte(0));
+
+        PooledChannelBuffer second = (PooledChannelBuffer) factory.getBuffer(200);
+        assertSame(memory, second.array());
+        assertEquals(0, second.writerIndex());
+        assertEquals(200, second.capacity());
+        assertEquals(2, factory.getAllocations());
+        assertEquals(1, factory.getPoolHits());
+        second.release();
+        // releasing twice must not put the memory twice in the pool
+        second.release();
+
+        PooledChannelBuffer third = (PooledChannelBuffer) factory.getBuffer(10);
+        PooledChannelBuffer fourth = (PooledChannelBuffer) factory.getBuffer(10);
+        assertNotSame(third.array(), fourth.array());
+    }
+
+    @Test
+    public void testGrowWithinAndAcrossSizeClasses() {
+        PooledChannelBufferFactory factory = new PooledChannelBufferFactory(false, 1, 4096, 4, 0);
+        PooledChannelBuffer buf = (PooledChannelBuffer) factory.getBuffer(10);
+        byte[] memory = buf.array();
+        for (int i = 0; i < 256; i++) {
+            buf.writeByte(i);
+        }
+        assertSame(memory, buf.array());
+        buf.writeByte(1);
+        assertNotSame(memory, buf.array());
+        for (int i = 0; i < 256; i++) {
+            assertEquals((byte) i, buf.readByte());
+        }
+        buf.release();
+    }
+
+    @Test
+    public void testUnpooledCapacity() {
+        PooledChannelBufferFactory factory = new PooledChannelBufferFactory(true, 1, 1024, 4, 0);
+        PooledChannelBuffer buf = (PooledChannelBuffer) factory.getBuffer(4096);
+        assertTrue(buf.isDirect());
+        buf.writeBytes(new byte[4096]);
+        buf.release();
+        factory.getBuffer(4096).release();
+        assertEquals(0, factory.getPoolHits());
+    }
+
+    @Test
+    public void testDerivedBuffersAreNotPooled() {
+        ChannelBuffer buf = ChannelBuffers.pooledBuffer(16);
+        buf.writeBytes(new byte[]{1, 2, 3, 4});
+        assertFalse(buf.copy() instanceof PooledChannelBuffer);
+        assertFalse(buf.readBytes(2) instanceof PooledChannelBuffer);
+        ChannelBuffers.release(buf);
+    }
+
+    @Test
+    public void testLeakDetection() {
+        PooledChannelBufferFactory factory = new PooledChannelBufferFactory(false, 1, 4096, 4, 1);
+        PooledChannelBuffer released = (PooledChannelBuffer) factory.getBuffer(10);
+        PooledChannelBufferFactory.LeakTrace releasedTrace = released.leakTrace();
+        PooledChannelBuffer leaked = (PooledChannelBuffer) factory.getBuffer(10);
+        PooledChannelBufferFactory.LeakTrace leakedTrace = leaked.leakTrace();
+        assertNotNull(releasedTrace);
+        assertNotNull(leakedTrace);
+        released.release();
+
+        // as the garbage collector does once the buffers are unreachable
+        releasedTrace.enqueue();
+        leakedTrace.enqueue();
+        factory.getBuffer(10).release();
+        assertEquals(1, factory.getLeaks());
+    }
+
+    @Test
+    public void testLeakDetectionDisabled() {
+        PooledChannelBufferFactory factory = new PooledChannelBufferFactory(false, 1, 4096, 4, 0);
+        PooledChannelBuffer buf = (PooledChannelBuffer) factory.getBuffer(10);
+        assertNull(buf.leakTrace());
+        buf.release();
+    }
+}
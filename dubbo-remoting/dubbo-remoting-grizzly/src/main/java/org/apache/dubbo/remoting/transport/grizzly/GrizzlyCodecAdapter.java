@@ -64,9 +64,9 @@ public class GrizzlyCodecAdapter extends BaseFilter {
     public NextAction handleWrite(FilterChainContext context) throws IOException {
         Connection<?> connection = context.getConnection();
         GrizzlyChannel channel = GrizzlyChannel.getOrAddChannel(connection, url, handler);
+        // the message is copied into grizzly's own memory below, so the encoding buffer can be recycled
+        ChannelBuffer channelBuffer = ChannelBuffers.pooledBuffer(1024);
         try {
-            ChannelBuffer channelBuffer = ChannelBuffers.dynamicBuffer(1024); // Do not need to close
-
             Object msg = context.getMessage();
             codec.encode(channel, channelBuffer, msg);
 
@@ -77,6 +77,7 @@ public class GrizzlyCodecAdapter extends BaseFilter {
             buffer.allowBufferDispose(true);
             context.setMessage(buffer);
         } finally {
+            ChannelBuffers.release(channelBuffer);
             GrizzlyChannel.removeChannelIfDisconnected(connection);
         }
         return context.getInvokeAction();
@@ -18,6 +18,7 @@ package org.apache.dubbo.remoting.zookeeper;
 
 import org.apache.dubbo.common.URL;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -27,10 +28,55 @@ public interface ZookeeperClient {
 
     void delete(String path);
 
+    /**
+     * Creates the nodes like {@link #create(String, boolean)} does each of them, but in as few requests as possible.
+     *
+     * @since 2.7.8
+     */
+    default void createAll(Collection<String> paths, boolean ephemeral) {
+        for (String path : paths) {
+            create(path, ephemeral);
+        }
+    }
+
+    /**
+     * Deletes the nodes like {@link #delete(String)} does each of them, but in as few requests as possible.
+     *
+     * @since 2.7.8
+     */
+    default void deleteAll(Collection<String> paths) {
+        for (String path : paths) {
+            delete(path);
+        }
+    }
+
     List<String> getChildren(String path);
 
     List<String> addChildListener(String path, ChildListener listener);
 
+    /**
+     * Listens to the children of the path like {@link #addChildListener(String, ChildListener)}, but through a
+     * local cache of the children which is shared by all the listeners of the path, and which fetches the
+     * changed children only. The clients without such a cache listen to the children directly.
+     *
+     * @param path:    directory. All of child of path will be listened.
+     * @param listener
+     * @return the current children, null if the path does not exist
+     * @since 2.7.8
+     */
+    default List<String> addCachedChildListener(String path, ChildListener listener) {
+        return addChildListener(path, listener);
+    }
+
+    /**
+     * Removes a listener added by {@link #addCachedChildListener(String, ChildListener)}.
+     *
+     * @since 2.7.8
+     */
+    default void removeCachedChildListener(String path, ChildListener listener) {
+        removeChildListener(path, listener);
+    }
+
     /**
      * @param path:    directory. All of child of path will be listened.
      * @param listener
@@ -28,6 +28,8 @@ import org.apache.dubbo.remoting.zookeeper.support.AbstractZookeeperClient;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.CuratorWatcher;
+import org.apache.curator.framework.api.transaction.CuratorOp;
+import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCache;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.curator.framework.recipes.cache.TreeCacheListener;
@@ -37,13 +39,18 @@ import org.apache.curator.retry.RetryNTimes;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException.NoNodeException;
 import org.apache.zookeeper.KeeperException.NodeExistsException;
+import org.apache.zookeeper.KeeperException.NotEmptyException;
 import org.apache.zookeeper.WatchedEvent;
 import org.apache.zookeeper.Watcher;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -57,11 +64,14 @@ public class CuratorZookeeperClient extends AbstractZookeeperClient<CuratorZooke
     static final Charset CHARSET = Charset.forName("UTF-8");
     private final CuratorFramework client;
     private Map<String, TreeCache> treeCacheMap = new ConcurrentHashMap<>();
+    // The caches of the children listened by cached child listeners, by path
+    private final Map<String, ChildrenCache> childrenCaches = new ConcurrentHashMap<>();
+    private final int timeout;
 
     public CuratorZookeeperClient(URL url) {
         super(url);
+        timeout = url.getParameter(TIMEOUT_KEY, DEFAULT_CONNECTION_TIMEOUT_MS);
         try {
-            int timeout = url.getParameter(TIMEOUT_KEY, DEFAULT_CONNECTION_TIMEOUT_MS);
             int sessionExpireMs = url.getParameter(ZK_SESSION_EXPIRE_KEY, DEFAULT_SESSION_TIMEOUT_MS);
             CuratorFrameworkFactory.Builder builder = CuratorFrameworkFactory.builder()
                     .connectString(url.getBackupAddress())
@@ -154,6 +164,39 @@ public class CuratorZookeeperClient extends AbstractZookeeperClient<CuratorZooke
         }
     }
 
+    @Override
+    protected boolean createInTransaction(List<String> paths, boolean ephemeral) {
+        CreateMode mode = ephemeral ? CreateMode.EPHEMERAL : CreateMode.PERSISTENT;
+        try {
+            List<CuratorOp> operations = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                operations.add(client.transactionOp().create().withMode(mode).forPath(path));
+            }
+            client.transaction().forOperations(operations);
+            return true;
+        } catch (NodeExistsException e) {
+            return false;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected boolean deleteInTransaction(List<String> paths) {
+        try {
+            List<CuratorOp> operations = new ArrayList<>(paths.size());
+            for (String path : paths) {
+                operations.add(client.transactionOp().delete().forPath(path));
+            }
+            client.transaction().forOperations(operations);
+            return true;
+        } catch (NoNodeException | NotEmptyException e) {
+            return false;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<String> getChildren(String path) {
         try {
@@ -196,9 +239,47 @@ public class CuratorZookeeperClient extends AbstractZookeeperClient<CuratorZooke
 
     @Override
     public void doClose() {
+        for (ChildrenCache cache : childrenCaches.values()) {
+            cache.close();
+        }
         client.close();
     }
 
+    @Override
+    public List<String> addCachedChildListener(String path, ChildListener listener) {
+        ChildrenCache cache;
+        synchronized (childrenCaches) {
+            cache = childrenCaches.get(path);
+            if (cache == null) {
+                cache = new ChildrenCache(path);
+                try {
+                    cache.start();
+                } catch (Exception e) {
+                    cache.close();
+                    throw new IllegalStateException("Add children cache for path:" + path, e);
+                }
+                childrenCaches.put(path, cache);
+            }
+            cache.listeners.add(listener);
+        }
+        if (cache.isInitialized()) {
+            return cache.getChildren();
+        }
+        // not loaded in time, the listener gets the children once they are
+        return getChildren(path);
+    }
+
+    @Override
+    public void removeCachedChildListener(String path, ChildListener listener) {
+        synchronized (childrenCaches) {
+            ChildrenCache cache = childrenCaches.get(path);
+            if (cache != null && cache.listeners.remove(listener) && cache.listeners.isEmpty()) {
+                childrenCaches.remove(path);
+                cache.close();
+            }
+        }
+    }
+
     @Override
     public CuratorZookeeperClient.CuratorWatcherImpl createTargetChildListener(String path, ChildListener listener) {
         return new CuratorZookeeperClient.CuratorWatcherImpl(client, listener, path);
@@ -338,6 +419,78 @@ public class CuratorZookeeperClient extends AbstractZookeeperClient<CuratorZooke
         }
     }
 
+    /**
+     * The children of a path, kept up to date by a {@link TreeCache} of depth 1 which fetches the added children
+     * only, and notified to all the listeners of the path at once.
+     */
+    private class ChildrenCache implements TreeCacheListener {
+
+        private final String path;
+
+        private final TreeCache treeCache;
+
+        private final Set<ChildListener> listeners = new CopyOnWriteArraySet<>();
+
+        private final CountDownLatch initialized = new CountDownLatch(1);
+
+        ChildrenCache(String path) {
+            this.path = path;
+            this.treeCache = TreeCache.newBuilder(client, path).setCacheData(false).setMaxDepth(1).build();
+            treeCache.getListenable().addListener(this);
+        }
+
+        void start() throws Exception {
+            treeCache.start();
+            initialized.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        boolean isInitialized() {
+            return initialized.getCount() == 0;
+        }
+
+        List<String> getChildren() {
+            Map<String, ChildData> children = treeCache.getCurrentChildren(path);
+            return children == null ? null : new ArrayList<>(children.keySet());
+        }
+
+        void close() {
+            treeCache.close();
+        }
+
+        @Override
+        public void childEvent(CuratorFramework client, TreeCacheEvent event) throws Exception {
+            switch (event.getType()) {
+                case INITIALIZED:
+                    initialized.countDown();
+                    notifyListeners();
+                    break;
+                case NODE_ADDED:
+                case NODE_REMOVED:
+                    // the loading of the children is notified once by INITIALIZED
+                    if (isInitialized() && !path.equals(event.getData().getPath())) {
+                        notifyListeners();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void notifyListeners() {
+            List<String> children = getChildren();
+            if (children == null) {
+                return;
+            }
+            for (ChildListener listener : listeners) {
+                try {
+                    listener.childChanged(path, children);
+                } catch (Throwable t) {
+                    logger.error("Failed to notify the children of " + path + ", cause: " + t.getMessage(), t);
+                }
+            }
+        }
+    }
+
     private class CuratorConnectionStateListener implements ConnectionStateListener {
         private final long UNKNOWN_SESSION_ID = -1L;
 
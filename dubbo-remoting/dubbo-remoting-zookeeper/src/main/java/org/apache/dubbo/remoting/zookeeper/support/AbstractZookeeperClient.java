@@ -25,6 +25,8 @@ import org.apache.dubbo.remoting.zookeeper.DataListener;
 import org.apache.dubbo.remoting.zookeeper.StateListener;
 import org.apache.dubbo.remoting.zookeeper.ZookeeperClient;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -51,6 +53,9 @@ public abstract class AbstractZookeeperClient<TargetDataListener, TargetChildLis
 
     private final Set<String>  persistentExistNodePath = new ConcurrentHashSet<>();
 
+    // the most operations of a transaction, which the server receives as one packet
+    private static final int MAX_TRANSACTION_SIZE = 128;
+
     public AbstractZookeeperClient(URL url) {
         this.url = url;
     }
@@ -91,6 +96,48 @@ public abstract class AbstractZookeeperClient<TargetDataListener, TargetChildLis
         }
     }
 
+    @Override
+    public void createAll(Collection<String> paths, boolean ephemeral) {
+        List<String> created = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            if (!ephemeral && persistentExistNodePath.contains(path)) {
+                continue;
+            }
+            // the parents are created one by one, once
+            int i = path.lastIndexOf('/');
+            if (i > 0) {
+                create(path.substring(0, i), false);
+            }
+            created.add(path);
+        }
+        for (int i = 0; i < created.size(); i += MAX_TRANSACTION_SIZE) {
+            List<String> batch = created.subList(i, Math.min(i + MAX_TRANSACTION_SIZE, created.size()));
+            if (batch.size() == 1 || !createInTransaction(batch, ephemeral)) {
+                // some node exists, which create(String, boolean) copes with
+                for (String path : batch) {
+                    create(path, ephemeral);
+                }
+            } else if (!ephemeral) {
+                persistentExistNodePath.addAll(batch);
+            }
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<String> paths) {
+        List<String> deleted = new ArrayList<>(paths);
+        persistentExistNodePath.removeAll(deleted);
+        for (int i = 0; i < deleted.size(); i += MAX_TRANSACTION_SIZE) {
+            List<String> batch = deleted.subList(i, Math.min(i + MAX_TRANSACTION_SIZE, deleted.size()));
+            if (batch.size() == 1 || !deleteInTransaction(batch)) {
+                // some node is missing or has children, which delete(String) copes with
+                for (String path : batch) {
+                    deletePath(path);
+                }
+            }
+        }
+    }
+
     @Override
     public void addStateListener(StateListener listener) {
         stateListeners.add(listener);
@@ -217,6 +264,25 @@ public abstract class AbstractZookeeperClient<TargetDataListener, TargetChildLis
 
     protected abstract String doGetContent(String path);
 
+    /**
+     * Creates the nodes, whose parents exist, in one transaction
+     *
+     * @return false if some node exists or transactions are not supported, nothing is created then
+     */
+    protected boolean createInTransaction(List<String> paths, boolean ephemeral) {
+        return false;
+    }
+
+    /**
+     * Deletes the nodes in one transaction
+     *
+     * @return false if some node does not exist or has children, or transactions are not supported, nothing is
+     * deleted then
+     */
+    protected boolean deleteInTransaction(List<String> paths) {
+        return false;
+    }
+
     /**
      * we invoke the zookeeper client to delete the node
      * @param path the node path
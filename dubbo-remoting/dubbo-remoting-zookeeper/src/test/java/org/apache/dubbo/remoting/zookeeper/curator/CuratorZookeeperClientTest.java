@@ -32,9 +32,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -76,6 +79,26 @@ public class CuratorZookeeperClientTest {
         assertThat(children.size(), is(2));
     }
 
+    @Test
+    public void testCreateAllAndDeleteAll() {
+        String path = "/dubbo/org.apache.dubbo.demo.DemoService/providers";
+        curatorClient.create(path + "/provider2", true);
+
+        // provider2 exists, the nodes are then created one by one
+        curatorClient.createAll(Arrays.asList(path + "/provider1", path + "/provider2", path + "/provider3"), true);
+        assertEquals(new HashSet<>(Arrays.asList("provider1", "provider2", "provider3")), new HashSet<>(curatorClient.getChildren(path)));
+
+        curatorClient.createAll(Arrays.asList(path + "/provider4", path + "/provider5"), true);
+        assertThat(curatorClient.getChildren(path).size(), is(5));
+
+        curatorClient.deleteAll(Arrays.asList(path + "/provider1", path + "/provider2"));
+        assertEquals(new HashSet<>(Arrays.asList("provider3", "provider4", "provider5")), new HashSet<>(curatorClient.getChildren(path)));
+
+        // provider1 is missing
+        curatorClient.deleteAll(Arrays.asList(path + "/provider1", path + "/provider3", path + "/provider4", path + "/provider5"));
+        assertThat(curatorClient.getChildren(path).size(), is(0));
+    }
+
     @Test
     public void testChildrenListener() throws InterruptedException {
         String path = "/dubbo/org.apache.dubbo.demo.DemoService/providers";
@@ -93,6 +116,28 @@ public class CuratorZookeeperClientTest {
     }
 
 
+    @Test
+    public void testCachedChildListener() throws InterruptedException {
+        String path = "/dubbo/org.apache.dubbo.demo.DemoService/providers";
+        curatorClient.create(path + "/provider1", false);
+        final CountDownLatch countDownLatch = new CountDownLatch(2);
+        final AtomicReference<List<String>> notified = new AtomicReference<>();
+        ChildListener listener1 = (parentPath, children) -> {
+            notified.set(children);
+            countDownLatch.countDown();
+        };
+        ChildListener listener2 = (parentPath, children) -> countDownLatch.countDown();
+
+        assertThat(curatorClient.addCachedChildListener(path, listener1), is(Arrays.asList("provider1")));
+        assertThat(curatorClient.addCachedChildListener(path, listener2), is(Arrays.asList("provider1")));
+        curatorClient.create(path + "/provider2", false);
+        countDownLatch.await();
+        assertThat(new HashSet<>(notified.get()), is(new HashSet<>(Arrays.asList("provider1", "provider2"))));
+
+        curatorClient.removeCachedChildListener(path, listener1);
+        curatorClient.removeCachedChildListener(path, listener2);
+    }
+
     @Test
     public void testWithInvalidServer() {
         Assertions.assertThrows(IllegalStateException.class, () -> {
@@ -16,8 +16,9 @@
  */
 package org.apache.dubbo.rpc;
 
+import org.apache.dubbo.common.utils.ArrayMap;
+
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -53,7 +54,7 @@ public class AppResponse implements Result {
 
     private Throwable exception;
 
-    private Map<String, Object> attachments = new HashMap<>();
+    private Map<String, Object> attachments = new ArrayMap<>();
 
     public AppResponse() {
     }
@@ -133,12 +134,12 @@ public class AppResponse implements Result {
      * @param map contains all key-value pairs to append
      */
     public void setAttachments(Map<String, String> map) {
-        this.attachments = map == null ? new HashMap<>() : new HashMap<>(map);
+        this.attachments = map == null ? new ArrayMap<>() : new ArrayMap<>(map);
     }
 
     @Override
     public void setObjectAttachments(Map<String, Object> map) {
-        this.attachments = map == null ? new HashMap<>() : map;
+        this.attachments = map == null ? new ArrayMap<>() : map;
     }
 
     public void addAttachments(Map<String, String> map) {
@@ -146,7 +147,7 @@ public class AppResponse implements Result {
             return;
         }
         if (this.attachments == null) {
-            this.attachments = new HashMap<>();
+            this.attachments = new ArrayMap<>();
         }
         this.attachments.putAll(map);
     }
@@ -157,7 +158,7 @@ public class AppResponse implements Result {
             return;
         }
         if (this.attachments == null) {
-            this.attachments = new HashMap<>();
+            this.attachments = new ArrayMap<>();
         }
         this.attachments.putAll(map);
     }
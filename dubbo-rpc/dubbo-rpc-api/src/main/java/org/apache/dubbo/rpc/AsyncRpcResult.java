@@ -193,9 +193,21 @@ public class AsyncRpcResult implements Result {
 
     public Result whenCompleteWithContext(BiConsumer<Result, Throwable> fn) {
         this.responseFuture = this.responseFuture.whenComplete((v, t) -> {
-            beforeContext.accept(v, t);
-            fn.accept(v, t);
-            afterContext.accept(v, t);
+            // the contexts are switched by reference, no context is created for a thread which has none bound
+            RpcContext tmpContext = RpcContext.peekContext();
+            RpcContext tmpServerContext = RpcContext.peekServerContext();
+            if (tmpContext == storedContext && tmpServerContext == storedServerContext) {
+                fn.accept(v, t);
+                return;
+            }
+            RpcContext.restoreContext(storedContext);
+            RpcContext.restoreServerContext(storedServerContext);
+            try {
+                fn.accept(v, t);
+            } finally {
+                RpcContext.restoreContext(tmpContext);
+                RpcContext.restoreServerContext(tmpServerContext);
+            }
         });
         return this;
     }
@@ -280,24 +292,6 @@ public class AsyncRpcResult implements Result {
         this.executor = executor;
     }
 
-    /**
-     * tmp context to use when the thread switch to Dubbo thread.
-     */
-    private RpcContext tmpContext;
-
-    private RpcContext tmpServerContext;
-    private BiConsumer<Result, Throwable> beforeContext = (appResponse, t) -> {
-        tmpContext = RpcContext.getContext();
-        tmpServerContext = RpcContext.getServerContext();
-        RpcContext.restoreContext(storedContext);
-        RpcContext.restoreServerContext(storedServerContext);
-    };
-
-    private BiConsumer<Result, Throwable> afterContext = (appResponse, t) -> {
-        RpcContext.restoreContext(tmpContext);
-        RpcContext.restoreServerContext(tmpServerContext);
-    };
-
     /**
      * Some utility methods used to quickly generate default AsyncRpcResult instance.
      */
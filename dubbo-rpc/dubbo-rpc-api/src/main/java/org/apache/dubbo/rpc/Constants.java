@@ -62,6 +62,21 @@ public interface Constants {
 
     String ACTIVES_KEY = "actives";
 
+    /**
+     * To let the load balances take the warm-up progress and latency of the providers into account
+     */
+    String WARMUP_ADAPTIVE_KEY = "warmup.adaptive";
+
+    /**
+     * The warm-up progress in percent a provider attaches to its responses until it is warm
+     */
+    String WARMUP_PROGRESS_KEY = "warmup.progress";
+
+    /**
+     * The warm-up progress in percent a provider starts with, 100 by default
+     */
+    String WARMUP_PROGRESS_PROPERTY = "dubbo.warmup.progress";
+
     String ID_KEY = "id";
 
     String ASYNC_KEY = "async";
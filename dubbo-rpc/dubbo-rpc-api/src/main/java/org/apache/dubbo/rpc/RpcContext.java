@@ -19,6 +19,7 @@ package org.apache.dubbo.rpc;
 import org.apache.dubbo.common.Experimental;
 import org.apache.dubbo.common.URL;
 import org.apache.dubbo.common.threadlocal.InternalThreadLocal;
+import org.apache.dubbo.common.utils.ArrayMap;
 import org.apache.dubbo.common.utils.CollectionUtils;
 import org.apache.dubbo.common.utils.NetUtils;
 import org.apache.dubbo.common.utils.StringUtils;
@@ -26,9 +27,9 @@ import org.apache.dubbo.common.utils.StringUtils;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
@@ -71,8 +72,8 @@ public class RpcContext {
         }
     };
 
-    protected final Map<String, Object> attachments = new HashMap<>();
-    private final Map<String, Object> values = new HashMap<String, Object>();
+    protected final Map<String, Object> attachments = new ArrayMap<>();
+    private final Map<String, Object> values = new ArrayMap<>();
 
     private List<URL> urls;
 
@@ -118,6 +119,15 @@ public class RpcContext {
         return SERVER_LOCAL.get();
     }
 
+    /**
+     * get server side context if it is bound to the current thread, a new one is never created.
+     *
+     * @return server context, or null
+     */
+    static RpcContext peekServerContext() {
+        return SERVER_LOCAL.getIfSet();
+    }
+
     public static void restoreServerContext(RpcContext oldServerContext) {
         SERVER_LOCAL.set(oldServerContext);
     }
@@ -140,6 +150,15 @@ public class RpcContext {
         return LOCAL.get();
     }
 
+    /**
+     * get context if it is bound to the current thread, a new one is never created.
+     *
+     * @return context, or null
+     */
+    static RpcContext peekContext() {
+        return LOCAL.getIfSet();
+    }
+
     public boolean canRemove() {
         return remove;
     }
@@ -561,6 +580,29 @@ public class RpcContext {
         return attachments;
     }
 
+    /**
+     * customized for internal use.
+     * <p>
+     * Merges the attachments of the invocation into the context attachments, except the excluded keys. They are
+     * copied right away, so the context does not see the attachments added to the invocation afterwards, e.g. by
+     * the filters following {@link org.apache.dubbo.rpc.filter.ContextFilter}.
+     *
+     * @param attachment   attachments of the invocation
+     * @param excludedKeys keys not to inherit
+     * @return context
+     */
+    public RpcContext inheritObjectAttachments(Map<String, Object> attachment, Set<String> excludedKeys) {
+        if (attachment != null && attachment.size() > 0) {
+            for (Map.Entry<String, Object> entry : attachment.entrySet()) {
+                String key = entry.getKey();
+                if (!excludedKeys.contains(key)) {
+                    this.attachments.put(key, entry.getValue());
+                }
+            }
+        }
+        return this;
+    }
+
     /**
      * set attachments
      *
@@ -568,7 +610,7 @@ public class RpcContext {
      * @return context
      */
     public RpcContext setAttachments(Map<String, String> attachment) {
-        this.attachments.clear();
+        clearAttachments();
         if (attachment != null && attachment.size() > 0) {
             this.attachments.putAll(attachment);
         }
@@ -583,7 +625,7 @@ public class RpcContext {
      */
     @Experimental("Experiment api for supporting Object transmission")
     public RpcContext setObjectAttachments(Map<String, Object> attachment) {
-        this.attachments.clear();
+        clearAttachments();
         if (attachment != null && attachment.size() > 0) {
             this.attachments.putAll(attachment);
         }
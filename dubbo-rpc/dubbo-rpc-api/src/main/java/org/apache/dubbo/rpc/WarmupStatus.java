@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.config.ConfigurationUtils;
+import org.apache.dubbo.common.utils.StringUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.dubbo.common.constants.CommonConstants.TIMESTAMP_KEY;
+import static org.apache.dubbo.rpc.Constants.WARMUP_PROGRESS_PROPERTY;
+
+/**
+ * Warm-up statistics. (API, Cached, ThreadSafe)
+ * <p>
+ * On the provider side, the warm-up progress this process reports to its consumers, which starts at
+ * {@code dubbo.warmup.progress} and is moved by the warmup QoS command. On the consumer side, per provider, the last
+ * progress it reported and its latency compared with the one of the whole service.
+ *
+ * @see org.apache.dubbo.rpc.filter.WarmupFilter
+ * @see org.apache.dubbo.rpc.cluster.loadbalance.AbstractLoadBalance
+ * @since 2.7.8
+ */
+public class WarmupStatus {
+
+    public static final int WARM = 100;
+
+    /**
+     * The samples a provider needs before its latency is compared with the one of the service
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    private static final double PROVIDER_ALPHA = 0.1;
+
+    private static final double SERVICE_ALPHA = 0.02;
+
+    private static final ConcurrentMap<String, WarmupStatus> PROVIDER_STATISTICS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, Latency> SERVICE_LATENCIES = new ConcurrentHashMap<>();
+
+    private static volatile int localProgress = parseProgress(ConfigurationUtils.getProperty(WARMUP_PROGRESS_PROPERTY));
+
+    private final long timestamp;
+
+    private final Latency latency = new Latency(PROVIDER_ALPHA);
+
+    private final Latency serviceLatency;
+
+    private volatile int progress = WARM;
+
+    private WarmupStatus(long timestamp, Latency serviceLatency) {
+        this.timestamp = timestamp;
+        this.serviceLatency = serviceLatency;
+    }
+
+    /**
+     * @return the warm-up progress of this process, in percent
+     */
+    public static int getLocalProgress() {
+        return localProgress;
+    }
+
+    /**
+     * @param progress the warm-up progress of this process, in percent
+     */
+    public static void setLocalProgress(int progress) {
+        localProgress = Math.min(Math.max(progress, 0), WARM);
+    }
+
+    /**
+     * @return the progress, or {@link #WARM} if it is not a valid one
+     */
+    public static int parseProgress(String progress) {
+        if (StringUtils.isEmpty(progress)) {
+            return WARM;
+        }
+        try {
+            return Math.min(Math.max(Integer.parseInt(progress.trim()), 0), WARM);
+        } catch (NumberFormatException e) {
+            return WARM;
+        }
+    }
+
+    /**
+     * @param url the url of a provider
+     * @return status
+     */
+    public static WarmupStatus getStatus(URL url) {
+        String uri = url.toIdentityString();
+        long timestamp = url.getParameter(TIMESTAMP_KEY, 0L);
+        WarmupStatus status = PROVIDER_STATISTICS.get(uri);
+        if (status != null && status.timestamp == timestamp) {
+            return status;
+        }
+        // a provider restarted at the same address warms up again
+        return PROVIDER_STATISTICS.compute(uri, (k, v) -> v != null && v.timestamp == timestamp ? v
+                : new WarmupStatus(timestamp, SERVICE_LATENCIES.computeIfAbsent(url.getServiceKey(), s -> new Latency(SERVICE_ALPHA))));
+    }
+
+    /**
+     * @param url the url of a provider
+     */
+    public static void removeStatus(URL url) {
+        PROVIDER_STATISTICS.remove(url.toIdentityString());
+    }
+
+    /**
+     * Record a response of the provider
+     *
+     * @param progress the warm-up progress the provider reported
+     * @param elapsed  the latency of the call in nanoseconds
+     */
+    public void record(int progress, long elapsed) {
+        this.progress = progress;
+        latency.update(elapsed);
+        serviceLatency.update(elapsed);
+    }
+
+    /**
+     * @return the last warm-up progress the provider reported, in percent
+     */
+    public int getProgress() {
+        return progress;
+    }
+
+    /**
+     * @return the latency of the service divided by the one of the provider, at most 1, and 1 until the provider has
+     * answered enough calls
+     */
+    public double getLatencyRatio() {
+        if (latency.getSamples() < MIN_SAMPLES) {
+            return 1;
+        }
+        double own = latency.getValue();
+        double service = serviceLatency.getValue();
+        return own <= service ? 1 : service / own;
+    }
+
+    /**
+     * Exponentially weighted moving average of latencies
+     */
+    private static class Latency {
+
+        private final double alpha;
+
+        private final AtomicLong samples = new AtomicLong();
+
+        private volatile double value;
+
+        Latency(double alpha) {
+            this.alpha = alpha;
+        }
+
+        void update(long sample) {
+            // concurrent updates may overwrite each other, which does not matter to an average
+            if (samples.incrementAndGet() == 1) {
+                value = sample;
+            } else {
+                value += alpha * (sample - value);
+            }
+        }
+
+        long getSamples() {
+            return samples.get();
+        }
+
+        double getValue() {
+            return value;
+        }
+    }
+}
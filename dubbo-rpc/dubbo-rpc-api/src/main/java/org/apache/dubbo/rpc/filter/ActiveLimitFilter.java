@@ -26,7 +26,7 @@ import org.apache.dubbo.rpc.RpcException;
 import org.apache.dubbo.rpc.RpcStatus;
 
 import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER;
-import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
+import static org.apache.dubbo.common.constants.RegistryConstants.ZONE_KEY;
 import static org.apache.dubbo.rpc.Constants.ACTIVES_KEY;
 
 /**
@@ -38,10 +38,12 @@ import static org.apache.dubbo.rpc.Constants.ACTIVES_KEY;
  *      If there are more than configured (in this example 2) is trying to invoke remote method, then rest of invocation
  *      will wait for configured timeout(default is 0 second) before invocation gets kill by dubbo.
  * </pre>
+ * It is also active, without limit unless <b>actives</b> is set, for the providers having a <b>zone</b>: the locality
+ * router relies on the active calls and failures it counts.
  *
  * @see Filter
  */
-@Activate(group = CONSUMER, value = ACTIVES_KEY)
+@Activate(group = CONSUMER, value = {ACTIVES_KEY, ZONE_KEY})
 public class ActiveLimitFilter implements Filter, Filter.Listener {
 
     private static final String ACTIVELIMIT_FILTER_START_TIME = "activelimit_filter_start_time";
@@ -50,10 +52,10 @@ public class ActiveLimitFilter implements Filter, Filter.Listener {
     public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
         URL url = invoker.getUrl();
         String methodName = invocation.getMethodName();
-        int max = invoker.getUrl().getMethodParameter(methodName, ACTIVES_KEY, 0);
+        int max = invoker.getUrl().getMethodParameterView(methodName).getActives(0);
         final RpcStatus rpcStatus = RpcStatus.getStatus(invoker.getUrl(), invocation.getMethodName());
         if (!RpcStatus.beginCount(url, methodName, max)) {
-            long timeout = invoker.getUrl().getMethodParameter(invocation.getMethodName(), TIMEOUT_KEY, 0);
+            long timeout = invoker.getUrl().getMethodParameterView(methodName).getTimeout(0);
             long start = System.currentTimeMillis();
             long remain = timeout;
             synchronized (rpcStatus) {
@@ -85,7 +87,7 @@ public class ActiveLimitFilter implements Filter, Filter.Listener {
     public void onResponse(Result appResponse, Invoker<?> invoker, Invocation invocation) {
         String methodName = invocation.getMethodName();
         URL url = invoker.getUrl();
-        int max = invoker.getUrl().getMethodParameter(methodName, ACTIVES_KEY, 0);
+        int max = invoker.getUrl().getMethodParameterView(methodName).getActives(0);
 
         RpcStatus.endCount(url, methodName, getElapsed(invocation), true);
         notifyFinish(RpcStatus.getStatus(url, methodName), max);
@@ -95,7 +97,7 @@ public class ActiveLimitFilter implements Filter, Filter.Listener {
     public void onError(Throwable t, Invoker<?> invoker, Invocation invocation) {
         String methodName = invocation.getMethodName();
         URL url = invoker.getUrl();
-        int max = invoker.getUrl().getMethodParameter(methodName, ACTIVES_KEY, 0);
+        int max = invoker.getUrl().getMethodParameterView(methodName).getActives(0);
 
         if (t instanceof RpcException) {
             RpcException rpcException = (RpcException) t;
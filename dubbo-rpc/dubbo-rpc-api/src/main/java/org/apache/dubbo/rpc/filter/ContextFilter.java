@@ -28,9 +28,7 @@ import org.apache.dubbo.rpc.RpcInvocation;
 import org.apache.dubbo.rpc.TimeoutCountDown;
 import org.apache.dubbo.rpc.support.RpcUtils;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -81,18 +79,6 @@ public class ContextFilter implements Filter, Filter.Listener {
 
     @Override
     public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
-        Map<String, Object> attachments = invocation.getObjectAttachments();
-        if (attachments != null) {
-            Map<String, Object> newAttach = new HashMap<>(attachments.size());
-            for (Map.Entry<String, Object> entry : attachments.entrySet()) {
-                String key = entry.getKey();
-                if (!UNLOADING_KEYS.contains(key)) {
-                    newAttach.put(key, entry.getValue());
-                }
-            }
-            attachments = newAttach;
-        }
-
         RpcContext context = RpcContext.getContext();
         context.setInvoker(invoker)
                 .setInvocation(invocation)
@@ -112,13 +98,8 @@ public class ContextFilter implements Filter, Filter.Listener {
 
         // merged from dubbox
         // we may already added some attachments into RpcContext before this filter (e.g. in rest protocol)
-        if (attachments != null) {
-            if (context.getObjectAttachments() != null) {
-                context.getObjectAttachments().putAll(attachments);
-            } else {
-                context.setObjectAttachments(attachments);
-            }
-        }
+        // copied into the context without the unloading keys, the attachments added by the following filters are not seen
+        context.inheritObjectAttachments(invocation.getObjectAttachments(), UNLOADING_KEYS);
 
         if (invocation instanceof RpcInvocation) {
             ((RpcInvocation) invocation).setInvoker(invoker);
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter;
+
+import org.apache.dubbo.common.extension.Activate;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.WarmupStatus;
+
+import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER;
+import static org.apache.dubbo.common.constants.CommonConstants.PROVIDER;
+import static org.apache.dubbo.common.constants.CommonConstants.PROVIDER_SIDE;
+import static org.apache.dubbo.common.constants.CommonConstants.SIDE_KEY;
+import static org.apache.dubbo.rpc.Constants.WARMUP_ADAPTIVE_KEY;
+import static org.apache.dubbo.rpc.Constants.WARMUP_PROGRESS_KEY;
+
+/**
+ * WarmupFilter is active for the services configured with <b>warmup.adaptive</b>. On the provider side, it attaches
+ * the warm-up progress of the process to the responses until the process is warm. On the consumer side, it records per
+ * provider the progress reported and the latency observed, which the load balances weigh the provider with while it
+ * warms up.
+ *
+ * @see WarmupStatus
+ */
+@Activate(group = {PROVIDER, CONSUMER}, value = WARMUP_ADAPTIVE_KEY)
+public class WarmupFilter implements Filter, Filter.Listener {
+
+    private static final String WARMUP_FILTER_START_TIME = "warmup_filter_start_time";
+
+    @Override
+    public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+        if (!isProviderSide(invoker)) {
+            invocation.put(WARMUP_FILTER_START_TIME, System.nanoTime());
+        }
+        return invoker.invoke(invocation);
+    }
+
+    @Override
+    public void onResponse(Result appResponse, Invoker<?> invoker, Invocation invocation) {
+        if (isProviderSide(invoker)) {
+            int progress = WarmupStatus.getLocalProgress();
+            if (progress < WarmupStatus.WARM) {
+                appResponse.setAttachment(WARMUP_PROGRESS_KEY, String.valueOf(progress));
+            }
+            return;
+        }
+
+        Object start = invocation.get(WARMUP_FILTER_START_TIME);
+        if (start != null) {
+            int progress = WarmupStatus.parseProgress(appResponse.getAttachment(WARMUP_PROGRESS_KEY));
+            WarmupStatus.getStatus(invoker.getUrl()).record(progress, System.nanoTime() - (Long) start);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t, Invoker<?> invoker, Invocation invocation) {
+        // a failure tells nothing about the warm-up of the provider
+    }
+
+    private boolean isProviderSide(Invoker<?> invoker) {
+        return PROVIDER_SIDE.equals(invoker.getUrl().getParameter(SIDE_KEY));
+    }
+}
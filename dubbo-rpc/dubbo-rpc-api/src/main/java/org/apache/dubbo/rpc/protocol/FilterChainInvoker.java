@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.protocol;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.ListenableFilter;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcException;
+
+import java.util.List;
+
+/**
+ * A node of a filter chain. The filters of the chain and its nodes are shared arrays, the node at index i invokes
+ * filters[i] with the node i + 1 as the next invoker, the last one being the filtered invoker, instead of nesting
+ * one wrapper per filter.
+ *
+ * @since 2.7.8
+ */
+final class FilterChainInvoker<T> implements Invoker<T> {
+
+    private final Invoker<T> invoker;
+
+    private final Filter[] filters;
+
+    private final Invoker<T>[] nodes;
+
+    private final int index;
+
+    private FilterChainInvoker(Invoker<T> invoker, Filter[] filters, Invoker<T>[] nodes, int index) {
+        this.invoker = invoker;
+        this.filters = filters;
+        this.nodes = nodes;
+        this.index = index;
+    }
+
+    /**
+     * @return the head of the chain, or the invoker itself if there is no filter
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Invoker<T> build(Invoker<T> invoker, List<Filter> filters) {
+        if (filters.isEmpty()) {
+            return invoker;
+        }
+        Filter[] chain = filters.toArray(new Filter[0]);
+        Invoker<T>[] nodes = new Invoker[chain.length + 1];
+        nodes[chain.length] = invoker;
+        for (int i = 0; i < chain.length; i++) {
+            nodes[i] = new FilterChainInvoker<>(invoker, chain, nodes, i);
+        }
+        return nodes[0];
+    }
+
+    @Override
+    public Class<T> getInterface() {
+        return invoker.getInterface();
+    }
+
+    @Override
+    public URL getUrl() {
+        return invoker.getUrl();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return invoker.isAvailable();
+    }
+
+    @Override
+    public Result invoke(Invocation invocation) throws RpcException {
+        Filter filter = filters[index];
+        Result asyncResult;
+        try {
+            asyncResult = filter.invoke(nodes[index + 1], invocation);
+        } catch (Exception e) {
+            if (filter instanceof ListenableFilter) {
+                ListenableFilter listenableFilter = ((ListenableFilter) filter);
+                try {
+                    Filter.Listener listener = listenableFilter.listener(invocation);
+                    if (listener != null) {
+                        listener.onError(e, invoker, invocation);
+                    }
+                } finally {
+                    listenableFilter.removeListener(invocation);
+                }
+            } else if (filter instanceof Filter.Listener) {
+                Filter.Listener listener = (Filter.Listener) filter;
+                listener.onError(e, invoker, invocation);
+            }
+            throw e;
+        }
+        if (!(filter instanceof ListenableFilter) && !(filter instanceof Filter.Listener)) {
+            return asyncResult;
+        }
+        return asyncResult.whenCompleteWithContext((r, t) -> {
+            if (filter instanceof ListenableFilter) {
+                ListenableFilter listenableFilter = ((ListenableFilter) filter);
+                Filter.Listener listener = listenableFilter.listener(invocation);
+                try {
+                    if (listener != null) {
+                        if (t == null) {
+                            listener.onResponse(r, invoker, invocation);
+                        } else {
+                            listener.onError(t, invoker, invocation);
+                        }
+                    }
+                } finally {
+                    listenableFilter.removeListener(invocation);
+                }
+            } else {
+                Filter.Listener listener = (Filter.Listener) filter;
+                if (t == null) {
+                    listener.onResponse(r, invoker, invocation);
+                } else {
+                    listener.onError(t, invoker, invocation);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        invoker.destroy();
+    }
+
+    @Override
+    public String toString() {
+        return invoker.toString();
+    }
+}
@@ -157,7 +157,7 @@ public class RpcUtils {
         if (Boolean.TRUE.toString().equals(inv.getAttachment(ASYNC_KEY))) {
             isAsync = true;
         } else {
-            isAsync = url.getMethodParameter(getMethodName(inv), ASYNC_KEY, false);
+            isAsync = url.getMethodParameterView(getMethodName(inv)).isAsync(false);
         }
         return isAsync;
     }
@@ -199,7 +199,7 @@ public class RpcUtils {
         if (Boolean.FALSE.toString().equals(inv.getAttachment(RETURN_KEY))) {
             isOneway = true;
         } else {
-            isOneway = !url.getMethodParameter(getMethodName(inv), RETURN_KEY, true);
+            isOneway = !url.getMethodParameterView(getMethodName(inv)).isReturn(true);
         }
         return isOneway;
     }
@@ -230,7 +230,9 @@ public class RpcUtils {
         if (genericTimeout != null) {
             timeout = convertToNumber(genericTimeout, defaultTimeout);
         } else if (url != null) {
-            timeout = url.getMethodPositiveParameter(methodName, TIMEOUT_KEY, defaultTimeout);
+            timeout = defaultTimeout > 0 && defaultTimeout <= Integer.MAX_VALUE
+                    ? url.getMethodParameterView(methodName).getPositiveTimeout((int) defaultTimeout)
+                    : url.getMethodPositiveParameter(methodName, TIMEOUT_KEY, defaultTimeout);
         }
         return timeout;
     }
@@ -21,12 +21,11 @@ import org.apache.dubbo.common.URL;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 public class RpcContextTest {
 
@@ -202,4 +201,87 @@ public class RpcContextTest {
         rpcContext.setObjectAttachments(map);
         Assertions.assertEquals(map, rpcContext.getObjectAttachments());
     }
+
+    @Test
+    public void testInheritObjectAttachments() {
+        RpcContext rpcContext = RpcContext.getContext();
+        rpcContext.clearAttachments();
+        rpcContext.setAttachment("contextKey", "contextValue");
+        rpcContext.setAttachment("sharedKey", "contextValue");
+
+        Map<String, Object> invocationAttachments = new HashMap<>();
+        invocationAttachments.put("sharedKey", "invocationValue");
+        invocationAttachments.put("invocationKey", "invocationValue");
+        invocationAttachments.put("excludedKey", "excludedValue");
+        rpcContext.inheritObjectAttachments(invocationAttachments, Collections.singleton("excludedKey"));
+
+        Assertions.assertEquals("contextValue", rpcContext.getAttachment("contextKey"));
+        Assertions.assertEquals("invocationValue", rpcContext.getAttachment("sharedKey"));
+        Assertions.assertEquals("invocationValue", rpcContext.getObjectAttachment("invocationKey"));
+        Assertions.assertNull(rpcContext.getAttachment("excludedKey"));
+
+        Map<String, Object> attachments = rpcContext.getObjectAttachments();
+        Assertions.assertEquals(3, attachments.size());
+        Assertions.assertEquals("invocationValue", attachments.get("sharedKey"));
+        Assertions.assertFalse(attachments.containsKey("excludedKey"));
+
+        rpcContext.removeAttachment("invocationKey");
+        Assertions.assertNull(rpcContext.getAttachment("invocationKey"));
+        Assertions.assertEquals(3, invocationAttachments.size());
+
+        rpcContext.inheritObjectAttachments(invocationAttachments, Collections.emptySet());
+        rpcContext.clearAttachments();
+        Assertions.assertNull(rpcContext.getAttachment("invocationKey"));
+        Assertions.assertTrue(rpcContext.getObjectAttachments().isEmpty());
+    }
+
+    @Test
+    public void testInheritedObjectAttachmentsSnapshot() {
+        RpcContext rpcContext = RpcContext.getContext();
+        rpcContext.clearAttachments();
+
+        Map<String, Object> invocationAttachments = new HashMap<>();
+        invocationAttachments.put("invocationKey", "invocationValue");
+        rpcContext.inheritObjectAttachments(invocationAttachments, Collections.emptySet());
+
+        // added to the invocation after it was inherited, e.g. by a later filter
+        invocationAttachments.put("laterKey", "laterValue");
+        invocationAttachments.put("invocationKey", "laterValue");
+        Assertions.assertNull(rpcContext.getAttachment("laterKey"));
+        Assertions.assertEquals("invocationValue", rpcContext.getAttachment("invocationKey"));
+        Assertions.assertEquals(1, rpcContext.getObjectAttachments().size());
+        rpcContext.clearAttachments();
+    }
+
+    @Test
+    public void testWhenCompleteWithContext() throws Exception {
+        RpcContext.removeContext();
+        RpcContext.removeServerContext();
+        RpcContext context = RpcContext.getContext();
+        RpcContext serverContext = RpcContext.getServerContext();
+        CompletableFuture<AppResponse> future = new CompletableFuture<>();
+        AsyncRpcResult result = new AsyncRpcResult(future, new RpcInvocation());
+
+        RpcContext[] callbackContexts = new RpcContext[2];
+        result.whenCompleteWithContext((v, t) -> {
+            callbackContexts[0] = RpcContext.getContext();
+            callbackContexts[1] = RpcContext.getServerContext();
+        });
+
+        RpcContext[] threadContexts = new RpcContext[2];
+        Thread thread = new Thread(() -> {
+            future.complete(new AppResponse("value"));
+            threadContexts[0] = RpcContext.peekContext();
+            threadContexts[1] = RpcContext.peekServerContext();
+        });
+        thread.start();
+        thread.join();
+
+        Assertions.assertSame(context, callbackContexts[0]);
+        Assertions.assertSame(serverContext, callbackContexts[1]);
+        // the contexts of the completing thread are unbound again, none was created for it
+        Assertions.assertNull(threadContexts[0]);
+        Assertions.assertNull(threadContexts[1]);
+        Assertions.assertEquals("value", result.get().getValue());
+    }
 }
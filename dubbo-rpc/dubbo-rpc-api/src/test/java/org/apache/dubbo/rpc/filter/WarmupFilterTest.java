@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.filter;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.WarmupStatus;
+import org.apache.dubbo.rpc.support.MockInvocation;
+import org.apache.dubbo.rpc.support.MyInvoker;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.apache.dubbo.common.constants.CommonConstants.CONSUMER;
+import static org.apache.dubbo.common.constants.CommonConstants.PROVIDER;
+import static org.apache.dubbo.rpc.Constants.WARMUP_PROGRESS_KEY;
+
+public class WarmupFilterTest {
+
+    WarmupFilter warmupFilter = new WarmupFilter();
+
+    @Test
+    public void testActivate() {
+        ExtensionLoader<Filter> loader = ExtensionLoader.getExtensionLoader(Filter.class);
+        URL url = URL.valueOf("test://test:11/test?warmup.adaptive=true");
+
+        List<Filter> providerFilters = loader.getActivateExtension(url, "service.filter", PROVIDER);
+        Assertions.assertTrue(providerFilters.stream().anyMatch(f -> f instanceof WarmupFilter));
+        Assertions.assertTrue(providerFilters.stream().anyMatch(f -> f instanceof TimeoutFilter));
+
+        List<Filter> consumerFilters = loader.getActivateExtension(url, "reference.filter", CONSUMER);
+        Assertions.assertTrue(consumerFilters.stream().anyMatch(f -> f instanceof WarmupFilter));
+
+        URL plain = URL.valueOf("test://test:11/test");
+        Assertions.assertFalse(loader.getActivateExtension(plain, "service.filter", PROVIDER).stream()
+                .anyMatch(f -> f instanceof WarmupFilter));
+    }
+
+    @Test
+    public void testProviderAttachesProgress() throws Exception {
+        URL url = URL.valueOf("test://test:11/test?side=provider&warmup.adaptive=true");
+        Invoker<WarmupFilterTest> invoker = new MyInvoker<WarmupFilterTest>(url);
+        Invocation invocation = new MockInvocation();
+
+        try {
+            WarmupStatus.setLocalProgress(40);
+            Result result = warmupFilter.invoke(invoker, invocation).get();
+            warmupFilter.onResponse(result, invoker, invocation);
+            Assertions.assertEquals("40", result.getAttachment(WARMUP_PROGRESS_KEY));
+
+            WarmupStatus.setLocalProgress(WarmupStatus.WARM);
+            result = warmupFilter.invoke(invoker, invocation).get();
+            warmupFilter.onResponse(result, invoker, invocation);
+            Assertions.assertNull(result.getAttachment(WARMUP_PROGRESS_KEY));
+        } finally {
+            WarmupStatus.setLocalProgress(WarmupStatus.WARM);
+        }
+    }
+
+    @Test
+    public void testConsumerRecordsProgress() throws Exception {
+        URL url = URL.valueOf("test://test:12/test?side=consumer&warmup.adaptive=true&timestamp=1");
+        Invoker<WarmupFilterTest> invoker = new MyInvoker<WarmupFilterTest>(url);
+        RpcInvocation invocation = new RpcInvocation();
+        invocation.setMethodName("echo");
+
+        Result result = warmupFilter.invoke(invoker, invocation).get();
+        result.setAttachment(WARMUP_PROGRESS_KEY, "30");
+        warmupFilter.onResponse(result, invoker, invocation);
+        Assertions.assertEquals(30, WarmupStatus.getStatus(url).getProgress());
+
+        result = warmupFilter.invoke(invoker, invocation).get();
+        warmupFilter.onResponse(result, invoker, invocation);
+        Assertions.assertEquals(WarmupStatus.WARM, WarmupStatus.getStatus(url).getProgress());
+
+        // restarted at the same address
+        Assertions.assertEquals(WarmupStatus.WARM, WarmupStatus.getStatus(url.addParameter("timestamp", 2)).getProgress());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.rpc.protocol;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.rpc.Filter;
+import org.apache.dubbo.rpc.Invocation;
+import org.apache.dubbo.rpc.Invoker;
+import org.apache.dubbo.rpc.Result;
+import org.apache.dubbo.rpc.RpcContext;
+import org.apache.dubbo.rpc.RpcException;
+import org.apache.dubbo.rpc.RpcInvocation;
+import org.apache.dubbo.rpc.filter.ContextFilter;
+import org.apache.dubbo.rpc.support.DemoService;
+import org.apache.dubbo.rpc.support.MyInvoker;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.dubbo.common.constants.CommonConstants.TIMEOUT_KEY;
+
+public class FilterChainInvokerTest {
+
+    private final URL url = URL.valueOf("test://localhost/" + DemoService.class.getName());
+
+    @Test
+    public void testEmptyChain() {
+        Invoker<DemoService> invoker = new MyInvoker<>(url);
+        Assertions.assertSame(invoker, FilterChainInvoker.build(invoker, Collections.emptyList()));
+    }
+
+    @Test
+    public void testChainOrder() {
+        List<String> invoked = new ArrayList<>();
+        Invoker<DemoService> invoker = new MyInvoker<>(url);
+        Invoker<DemoService> chain = FilterChainInvoker.build(invoker, Arrays.asList(
+                new RecordingFilter("a", invoked), new RecordingFilter("b", invoked), new RecordingFilter("c", invoked)));
+
+        Assertions.assertSame(url, chain.getUrl());
+        Assertions.assertSame(DemoService.class, chain.getInterface());
+        Result result = chain.invoke(new RpcInvocation("echo", DemoService.class.getName(),
+                new Class<?>[0], new Object[0]));
+        Assertions.assertEquals("alibaba", result.getValue());
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "c:response", "b:response", "a:response"), invoked);
+    }
+
+    @Test
+    public void testListenerOnError() {
+        List<String> invoked = new ArrayList<>();
+        Invoker<DemoService> chain = FilterChainInvoker.build(new MyInvoker<>(url), Arrays.asList(
+                new RecordingFilter("a", invoked), new FailingFilter()));
+
+        Assertions.assertThrows(RpcException.class, () -> chain.invoke(new RpcInvocation("echo",
+                DemoService.class.getName(), new Class<?>[0], new Object[0])));
+        Assertions.assertEquals(Arrays.asList("a", "a:error"), invoked);
+    }
+
+    @Test
+    public void testContextAttachmentsOfFollowingFilters() {
+        Map<String, Object> contextAttachments = new HashMap<>();
+        Invoker<DemoService> invoker = new MyInvoker<DemoService>(url) {
+            @Override
+            public Result invoke(Invocation invocation) throws RpcException {
+                contextAttachments.putAll(RpcContext.getContext().getObjectAttachments());
+                return super.invoke(invocation);
+            }
+        };
+        Filter attachingFilter = (next, invocation) -> {
+            invocation.setAttachment("following", "filter");
+            return next.invoke(invocation);
+        };
+        Invoker<DemoService> chain = FilterChainInvoker.build(invoker,
+                Arrays.asList(new ContextFilter(), attachingFilter));
+
+        RpcInvocation invocation = new RpcInvocation("echo", DemoService.class.getName(),
+                new Class<?>[0], new Object[0]);
+        invocation.setAttachment("consumer", "value");
+        invocation.setAttachment(TIMEOUT_KEY, "1000");
+        RpcContext.removeContext();
+        chain.invoke(invocation);
+
+        Assertions.assertEquals("filter", invocation.getAttachment("following"));
+        Assertions.assertEquals(Collections.singletonMap("consumer", "value"), contextAttachments);
+    }
+
+    private static class RecordingFilter implements Filter, Filter.Listener {
+
+        private final String name;
+
+        private final List<String> invoked;
+
+        RecordingFilter(String name, List<String> invoked) {
+            this.name = name;
+            this.invoked = invoked;
+        }
+
+        @Override
+        public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+            invoked.add(name);
+            return invoker.invoke(invocation);
+        }
+
+        @Override
+        public void onResponse(Result appResponse, Invoker<?> invoker, Invocation invocation) {
+            invoked.add(name + ":response");
+        }
+
+        @Override
+        public void onError(Throwable t, Invoker<?> invoker, Invocation invocation) {
+            invoked.add(name + ":error");
+        }
+    }
+
+    private static class FailingFilter implements Filter {
+
+        @Override
+        public Result invoke(Invoker<?> invoker, Invocation invocation) throws RpcException {
+            throw new RpcException("failed");
+        }
+    }
+}
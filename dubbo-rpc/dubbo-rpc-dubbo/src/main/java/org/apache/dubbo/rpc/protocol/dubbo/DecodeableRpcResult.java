@@ -77,8 +77,7 @@ public class DecodeableRpcResult extends AppResponse implements Codec, Decodeabl
             log.debug("Decoding in thread -- [" + thread.getName() + "#" + thread.getId() + "]");
         }
 
-        ObjectInput in = CodecSupport.getSerialization(channel.getUrl(), serializationType)
-                .deserialize(channel.getUrl(), input);
+        ObjectInput in = CodecSupport.deserialize(channel, input, serializationType);
 
         byte flag = in.readByte();
         switch (flag) {
@@ -116,6 +115,7 @@ public class DecodeableRpcResult extends AppResponse implements Codec, Decodeabl
             try {
                 decode(channel, inputStream);
             } catch (Throwable e) {
+                CodecSupport.decodeFailed(channel, serializationType);
                 if (log.isWarnEnabled()) {
                     log.warn("Decode rpc result failed: " + e.getMessage(), e);
                 }
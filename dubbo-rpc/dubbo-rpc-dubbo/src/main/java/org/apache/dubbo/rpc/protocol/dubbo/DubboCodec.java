@@ -79,27 +79,28 @@ public class DubboCodec extends ExchangeCodec {
                 if (status == Response.OK) {
                     Object data;
                     if (res.isEvent()) {
-                        ObjectInput in = CodecSupport.deserialize(channel.getUrl(), is, proto);
+                        ObjectInput in = CodecSupport.deserialize(channel, is, proto);
                         data = decodeEventData(channel, in);
                     } else {
                         DecodeableRpcResult result;
-                        if (channel.getUrl().getParameter(DECODE_IN_IO_THREAD_KEY, DEFAULT_DECODE_IN_IO_THREAD)) {
+                        if (isDecodeInIOThread(channel, proto)) {
                             result = new DecodeableRpcResult(channel, res, is,
                                     (Invocation) getRequestData(id), proto);
                             result.decode();
                         } else {
                             result = new DecodeableRpcResult(channel, res,
-                                    new UnsafeByteArrayInputStream(readMessageData(is)),
+                                    new UnsafeByteArrayInputStream(readMessageData(is), true),
                                     (Invocation) getRequestData(id), proto);
                         }
                         data = result;
                     }
                     res.setResult(data);
                 } else {
-                    ObjectInput in = CodecSupport.deserialize(channel.getUrl(), is, proto);
+                    ObjectInput in = CodecSupport.deserialize(channel, is, proto);
                     res.setErrorMessage(in.readUTF());
                 }
             } catch (Throwable t) {
+                CodecSupport.decodeFailed(channel, proto);
                 if (log.isWarnEnabled()) {
                     log.warn("Decode response failed: " + t.getMessage(), t);
                 }
@@ -118,21 +119,22 @@ public class DubboCodec extends ExchangeCodec {
             try {
                 Object data;
                 if (req.isEvent()) {
-                    ObjectInput in = CodecSupport.deserialize(channel.getUrl(), is, proto);
+                    ObjectInput in = CodecSupport.deserialize(channel, is, proto);
                     data = decodeEventData(channel, in);
                 } else {
                     DecodeableRpcInvocation inv;
-                    if (channel.getUrl().getParameter(DECODE_IN_IO_THREAD_KEY, DEFAULT_DECODE_IN_IO_THREAD)) {
+                    if (isDecodeInIOThread(channel, proto)) {
                         inv = new DecodeableRpcInvocation(channel, req, is, proto);
                         inv.decode();
                     } else {
                         inv = new DecodeableRpcInvocation(channel, req,
-                                new UnsafeByteArrayInputStream(readMessageData(is)), proto);
+                                new UnsafeByteArrayInputStream(readMessageData(is), true), proto);
                     }
                     data = inv;
                 }
                 req.setData(data);
             } catch (Throwable t) {
+                CodecSupport.decodeFailed(channel, proto);
                 if (log.isWarnEnabled()) {
                     log.warn("Decode request failed: " + t.getMessage(), t);
                 }
@@ -145,6 +147,12 @@ public class DubboCodec extends ExchangeCodec {
         }
     }
 
+    private boolean isDecodeInIOThread(Channel channel, byte proto) {
+        // channel scoped serializations depend on the previous messages, they must be decoded in order
+        return channel.getUrl().getParameter(DECODE_IN_IO_THREAD_KEY, DEFAULT_DECODE_IN_IO_THREAD)
+                || CodecSupport.isChannelScoped(proto);
+    }
+
     private byte[] readMessageData(InputStream is) throws IOException {
         if (is.available() > 0) {
             byte[] result = new byte[is.available()];
@@ -96,7 +96,7 @@ public class DubboInvoker<T> extends AbstractInvoker<T> {
             boolean isOneway = RpcUtils.isOneway(getUrl(), invocation);
             int timeout = calculateTimeout(invocation, methodName);
             if (isOneway) {
-                boolean isSent = getUrl().getMethodParameter(methodName, Constants.SENT_KEY, false);
+                boolean isSent = getUrl().getMethodParameterView(methodName).isSent(false);
                 currentClient.send(inv, isSent);
                 return AsyncRpcResult.newDefaultAsyncResult(invocation);
             } else {
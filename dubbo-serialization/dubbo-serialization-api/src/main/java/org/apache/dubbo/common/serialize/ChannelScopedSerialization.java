@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize;
+
+import org.apache.dubbo.common.URL;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Serialization that keeps state across the messages of one connection, e.g. a dictionary of the type
+ * descriptions already sent to the peer.
+ * <p>
+ * The transport creates the state once per channel with {@link #createChannelState(URL)} and passes it to
+ * every serialize / deserialize on that channel. Messages of a channel must be decoded in the order they were
+ * received. The codec {@link Cleanable#cleanup() cleans up} every {@link ObjectOutput} once it is done with it,
+ * and reports the messages it failed to encode or decode, so the state can be brought back in sync with the peer.
+ */
+public interface ChannelScopedSerialization extends Serialization {
+
+    /**
+     * Create the state kept by the transport for one channel.
+     *
+     * @param url URL address of the channel
+     * @return channel state, or null if this serialization can't keep state in the current environment
+     */
+    Object createChannelState(URL url);
+
+    /**
+     * Get a serialization implementation instance bound to the channel state
+     *
+     * @param url URL address for the remote service
+     * @param output the underlying output stream
+     * @param channelState state created by {@link #createChannelState(URL)}, may be null
+     * @return serializer
+     * @throws IOException
+     */
+    ObjectOutput serialize(URL url, OutputStream output, Object channelState) throws IOException;
+
+    /**
+     * Get a deserialization implementation instance bound to the channel state
+     *
+     * @param url URL address for the remote service
+     * @param input the underlying input stream
+     * @param channelState state created by {@link #createChannelState(URL)}, may be null
+     * @return deserializer
+     * @throws IOException
+     */
+    ObjectInput deserialize(URL url, InputStream input, Object channelState) throws IOException;
+
+    /**
+     * The message being encoded with the channel state by the current thread won't reach the peer, e.g. it failed
+     * to encode or exceeds the payload limit. Called before the output is cleaned up.
+     *
+     * @param channelState state created by {@link #createChannelState(URL)}, may be null
+     */
+    default void onEncodeFailure(Object channelState) {
+    }
+
+    /**
+     * The last message read with the channel state could not be decoded entirely.
+     *
+     * @param channelState state created by {@link #createChannelState(URL)}, may be null
+     */
+    default void onDecodeFailure(Object channelState) {
+    }
+}
@@ -33,4 +33,5 @@ public interface Constants {
 
     byte PROTOBUF_SERIALIZATION_ID = 22;
     byte KRYO_SERIALIZATION2_ID = 25;
+    byte HESSIAN2_DICTIONARY_SERIALIZATION_ID = 26;
 }
@@ -16,7 +16,10 @@
  */
 package org.apache.dubbo.common.serialize;
 
+import org.apache.dubbo.common.utils.ArrayMap;
+
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -54,7 +57,8 @@ public interface ObjectOutput extends DataOutput {
     }
 
     default void writeAttachments(Map<String, Object> attachments) throws IOException {
-        writeObject(attachments);
+        // a HashMap as written by the previous versions, which do not know the ArrayMap
+        writeObject(attachments instanceof ArrayMap ? new HashMap<>(attachments) : attachments);
     }
 
 }
\ No newline at end of file
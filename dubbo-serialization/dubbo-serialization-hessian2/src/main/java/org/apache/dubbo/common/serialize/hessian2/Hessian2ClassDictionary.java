@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.hessian2;
+
+import org.apache.dubbo.common.logger.Logger;
+import org.apache.dubbo.common.logger.LoggerFactory;
+import org.apache.dubbo.common.serialize.Cleanable;
+import org.apache.dubbo.common.serialize.ObjectInput;
+import org.apache.dubbo.common.serialize.ObjectOutput;
+
+import com.alibaba.com.caucho.hessian.io.Hessian2Input;
+import com.alibaba.com.caucho.hessian.io.Hessian2Output;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class definitions shared by all the messages of one channel.
+ * <p>
+ * Hessian2 writes the class name and field names of every bean type once per stream. The dictionary keeps
+ * the class references of the output and the class definitions of the input alive across the messages of a
+ * channel, so a type is only described the first time it crosses the connection and referenced by id after.
+ * <p>
+ * Every message starts with one flag byte:
+ * <ul>
+ * <li>{@link #CONTINUE}: the message may reference the class definitions of the previous messages</li>
+ * <li>{@link #RESET}: the peer drops its class definitions before reading the message</li>
+ * <li>{@link #STANDALONE}: the message is a plain hessian2 stream and doesn't touch the dictionary</li>
+ * </ul>
+ * plus the {@link #RESET_REQUEST} bit when the sender failed to decode a message of the receiver.
+ * <p>
+ * The output is reset when a message failed to encode, when the peer requests it and when the dictionary reaches
+ * its size limit. A message encoded concurrently with another one on the same channel is written standalone.
+ * After a decode failure the input rejects the messages continuing the dictionary until the peer resets it.
+ */
+public class Hessian2ClassDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(Hessian2ClassDictionary.class);
+
+    static final byte CONTINUE = 0;
+
+    static final byte RESET = 1;
+
+    static final byte STANDALONE = 2;
+
+    static final byte RESET_REQUEST = 4;
+
+    private static final Field CLASS_REFS_FIELD = findField(Hessian2Output.class, "_classRefs", HashMap.class);
+
+    private static final Field CLASS_DEFS_FIELD = findField(Hessian2Input.class, "_classDefs", ArrayList.class);
+
+    private final int maxClasses;
+
+    private final Hessian2Output output;
+
+    private final Hessian2Input input;
+
+    private final HashMap<Object, Object> classRefs = new HashMap<>();
+
+    private final ArrayList<Object> classDefs = new ArrayList<>();
+
+    /**
+     * The thread encoding a message with the dictionary, until its output is cleaned up.
+     */
+    private final AtomicReference<Thread> writer = new AtomicReference<>();
+
+    /**
+     * Whether the next message written with the dictionary has to reset it.
+     */
+    private volatile boolean outputReset;
+
+    /**
+     * Whether the class definitions of the input may differ from the class references of the peer's output.
+     */
+    private volatile boolean inputOutOfSync;
+
+    /**
+     * Whether the last message was read with the dictionary, only accessed by the thread decoding the channel.
+     */
+    private boolean readingDictionary;
+
+    public Hessian2ClassDictionary(int maxClasses) {
+        this.maxClasses = maxClasses;
+        output = new Hessian2Output(null);
+        output.setSerializerFactory(Hessian2SerializerFactory.SERIALIZER_FACTORY);
+        output.setCloseStreamOnClose(true);
+        input = new Hessian2Input(null);
+        input.setSerializerFactory(Hessian2SerializerFactory.SERIALIZER_FACTORY);
+        input.setCloseStreamOnClose(true);
+    }
+
+    /**
+     * @return whether the hessian-lite on the classpath exposes the class tables needed by the dictionary
+     */
+    static boolean isSupported() {
+        return CLASS_REFS_FIELD != null && CLASS_DEFS_FIELD != null;
+    }
+
+    ObjectOutput serialize(OutputStream os) throws IOException {
+        int resetRequest = inputOutOfSync ? RESET_REQUEST : 0;
+        Thread current = Thread.currentThread();
+        Thread owner = writer.get();
+        boolean reset;
+        if (owner == null && writer.compareAndSet(null, current)) {
+            reset = classRefs.size() >= maxClasses;
+        } else if (owner == current) {
+            // the previous message of this thread was never cleaned up, the peer may not know its classes
+            reset = true;
+        } else {
+            os.write(STANDALONE | resetRequest);
+            return new Hessian2ObjectOutput(os);
+        }
+
+        try {
+            if (outputReset) {
+                outputReset = false;
+                reset = true;
+            }
+            if (reset) {
+                classRefs.clear();
+            }
+            os.write((reset ? RESET : CONTINUE) | resetRequest);
+            // init() clears the class table of the output, let it clear a scratch one
+            CLASS_REFS_FIELD.set(output, new HashMap<>());
+            output.init(os);
+            CLASS_REFS_FIELD.set(output, classRefs);
+        } catch (IOException | IllegalAccessException | RuntimeException e) {
+            outputReset = true;
+            writer.set(null);
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+        return new DictionaryObjectOutput(output);
+    }
+
+    ObjectInput deserialize(InputStream is) throws IOException {
+        int flag = is.read();
+        if (flag < 0 || flag > (STANDALONE | RESET_REQUEST)) {
+            throw new IOException("Unexpected hessian2 class dictionary flag: " + flag);
+        }
+        if ((flag & RESET_REQUEST) != 0) {
+            // the peer can't read the messages of our output anymore
+            outputReset = true;
+        }
+        int mode = flag & ~RESET_REQUEST;
+        readingDictionary = mode != STANDALONE;
+        if (mode == STANDALONE) {
+            return new Hessian2ObjectInput(is);
+        }
+        if (mode == RESET) {
+            classDefs.clear();
+            inputOutOfSync = false;
+        } else if (mode != CONTINUE) {
+            throw new IOException("Unexpected hessian2 class dictionary flag: " + flag);
+        } else if (inputOutOfSync) {
+            throw new IOException("Hessian2 class dictionary is out of sync after a decode failure, "
+                    + "the message is rejected until the peer resets it");
+        }
+        try {
+            CLASS_DEFS_FIELD.set(input, new ArrayList<>());
+            input.init(is);
+            CLASS_DEFS_FIELD.set(input, classDefs);
+        } catch (IllegalAccessException e) {
+            inputOutOfSync = true;
+            throw new IOException(e);
+        }
+        return new DictionaryObjectInput(input);
+    }
+
+    /**
+     * The message of the current thread won't reach the peer, the next one resets the dictionary.
+     */
+    void encodeFailed() {
+        if (writer.get() == Thread.currentThread()) {
+            outputReset = true;
+        }
+    }
+
+    /**
+     * The last message was not read entirely, the class definitions it carried may be missing.
+     */
+    void decodeFailed() {
+        if (readingDictionary) {
+            inputOutOfSync = true;
+        }
+    }
+
+    static ObjectOutput serializeStandalone(OutputStream os) throws IOException {
+        os.write(STANDALONE);
+        return new Hessian2ObjectOutput(os);
+    }
+
+    static ObjectInput deserializeStandalone(InputStream is) throws IOException {
+        int flag = is.read();
+        if ((flag & ~RESET_REQUEST) != STANDALONE) {
+            throw new IOException("Hessian2 class dictionary message can only be read with its channel, flag: " + flag);
+        }
+        return new Hessian2ObjectInput(is);
+    }
+
+    private static Field findField(Class<?> type, String name, Class<?> valueType) {
+        try {
+            Field field = type.getDeclaredField(name);
+            if (!field.getType().isAssignableFrom(valueType)) {
+                throw new NoSuchFieldException(name + " can't hold a " + valueType.getName());
+            }
+            field.setAccessible(true);
+            return field;
+        } catch (Throwable t) {
+            logger.warn("Hessian2 class dictionary is disabled, can't access " + type.getName() + "." + name
+                    + ", all messages will be written standalone. cause: " + t.getMessage());
+            return null;
+        }
+    }
+
+    private class DictionaryObjectOutput extends Hessian2ObjectOutput implements Cleanable {
+
+        private final Thread owner = Thread.currentThread();
+
+        DictionaryObjectOutput(Hessian2Output h2o) {
+            super(h2o);
+        }
+
+        /**
+         * The codec is done with the message, it reported a failure before if the message won't be sent.
+         */
+        @Override
+        public void cleanup() {
+            writer.compareAndSet(owner, null);
+        }
+    }
+
+    private class DictionaryObjectInput extends Hessian2ObjectInput {
+
+        DictionaryObjectInput(Hessian2Input h2i) {
+            super(h2i);
+        }
+
+        @Override
+        public Object readObject() throws IOException {
+            try {
+                return super.readObject();
+            } catch (IndexOutOfBoundsException e) {
+                throw unknownClass(e);
+            }
+        }
+
+        @Override
+        public <T> T readObject(Class<T> cls) throws IOException, ClassNotFoundException {
+            try {
+                return super.readObject(cls);
+            } catch (IndexOutOfBoundsException e) {
+                throw unknownClass(e);
+            }
+        }
+
+        private IOException unknownClass(IndexOutOfBoundsException e) {
+            inputOutOfSync = true;
+            return new IOException("Unknown hessian2 class id, " + classDefs.size()
+                    + " classes are defined in the dictionary of the channel, cause: " + e.getMessage(), e);
+        }
+    }
+}
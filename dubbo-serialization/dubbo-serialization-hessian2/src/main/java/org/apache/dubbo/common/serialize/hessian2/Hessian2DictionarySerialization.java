@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.hessian2;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.serialize.ChannelScopedSerialization;
+import org.apache.dubbo.common.serialize.ObjectInput;
+import org.apache.dubbo.common.serialize.ObjectOutput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.apache.dubbo.common.serialize.Constants.HESSIAN2_DICTIONARY_SERIALIZATION_ID;
+
+/**
+ * Hessian2 serialization sharing class definitions across the messages of a connection, see
+ * {@link Hessian2ClassDictionary}. Both sides need this extension, it is selected by the provider:
+ *
+ * <pre>
+ *     e.g. &lt;dubbo:protocol serialization="hessian2-dict" /&gt;
+ * </pre>
+ */
+public class Hessian2DictionarySerialization implements ChannelScopedSerialization {
+
+    public static final String MAX_CLASSES_KEY = "hessian2.dictionary.max.classes";
+
+    public static final int DEFAULT_MAX_CLASSES = 1024;
+
+    @Override
+    public byte getContentTypeId() {
+        return HESSIAN2_DICTIONARY_SERIALIZATION_ID;
+    }
+
+    @Override
+    public String getContentType() {
+        return "x-application/hessian2-dict";
+    }
+
+    @Override
+    public Object createChannelState(URL url) {
+        if (!Hessian2ClassDictionary.isSupported()) {
+            return null;
+        }
+        int maxClasses = url == null ? DEFAULT_MAX_CLASSES : url.getParameter(MAX_CLASSES_KEY, DEFAULT_MAX_CLASSES);
+        return new Hessian2ClassDictionary(maxClasses);
+    }
+
+    @Override
+    public ObjectOutput serialize(URL url, OutputStream out) throws IOException {
+        return Hessian2ClassDictionary.serializeStandalone(out);
+    }
+
+    @Override
+    public ObjectInput deserialize(URL url, InputStream is) throws IOException {
+        return Hessian2ClassDictionary.deserializeStandalone(is);
+    }
+
+    @Override
+    public ObjectOutput serialize(URL url, OutputStream out, Object channelState) throws IOException {
+        if (channelState instanceof Hessian2ClassDictionary) {
+            return ((Hessian2ClassDictionary) channelState).serialize(out);
+        }
+        return serialize(url, out);
+    }
+
+    @Override
+    public ObjectInput deserialize(URL url, InputStream is, Object channelState) throws IOException {
+        if (channelState instanceof Hessian2ClassDictionary) {
+            return ((Hessian2ClassDictionary) channelState).deserialize(is);
+        }
+        return deserialize(url, is);
+    }
+
+    @Override
+    public void onEncodeFailure(Object channelState) {
+        if (channelState instanceof Hessian2ClassDictionary) {
+            ((Hessian2ClassDictionary) channelState).encodeFailed();
+        }
+    }
+
+    @Override
+    public void onDecodeFailure(Object channelState) {
+        if (channelState instanceof Hessian2ClassDictionary) {
+            ((Hessian2ClassDictionary) channelState).decodeFailed();
+        }
+    }
+}
@@ -43,6 +43,13 @@ public class Hessian2ObjectInput implements ObjectInput {
         mH2i.init(is);
     }
 
+    /**
+     * Read with an already initialized input, used by {@link Hessian2ClassDictionary}.
+     */
+    Hessian2ObjectInput(Hessian2Input h2i) {
+        mH2i = h2i;
+    }
+
     @Override
     public boolean readBool() throws IOException {
         return mH2i.readBoolean();
@@ -17,11 +17,13 @@
 package org.apache.dubbo.common.serialize.hessian2;
 
 import org.apache.dubbo.common.serialize.ObjectOutput;
+import org.apache.dubbo.common.utils.ArrayMap;
 
 import com.alibaba.com.caucho.hessian.io.Hessian2Output;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
 
 /**
  * Hessian2 object output implementation
@@ -42,6 +44,13 @@ public class Hessian2ObjectOutput implements ObjectOutput {
         mH2o.init(os);
     }
 
+    /**
+     * Write with an already initialized output, used by {@link Hessian2ClassDictionary}.
+     */
+    Hessian2ObjectOutput(Hessian2Output h2o) {
+        mH2o = h2o;
+    }
+
     @Override
     public void writeBool(boolean v) throws IOException {
         mH2o.writeBoolean(v);
@@ -97,6 +106,24 @@ public class Hessian2ObjectOutput implements ObjectOutput {
         mH2o.writeObject(obj);
     }
 
+    @Override
+    public void writeAttachments(Map<String, Object> attachments) throws IOException {
+        if (!(attachments instanceof ArrayMap)) {
+            writeObject(attachments);
+            return;
+        }
+        // an untyped map, read as a HashMap on the other side, written from the entries without copying them
+        if (mH2o.addRef(attachments)) {
+            return;
+        }
+        mH2o.writeMapBegin(null);
+        for (Map.Entry<String, Object> entry : attachments.entrySet()) {
+            mH2o.writeObject(entry.getKey());
+            mH2o.writeObject(entry.getValue());
+        }
+        mH2o.writeMapEnd();
+    }
+
     @Override
     public void flushBuffer() throws IOException {
         mH2o.flushBuffer();
@@ -16,6 +16,8 @@
  */
 package org.apache.dubbo.common.serialize.protobuf.support;
 
+import org.apache.dubbo.common.io.ByteBufferReadable;
+import org.apache.dubbo.common.io.ByteBufferWritable;
 import org.apache.dubbo.common.serialize.protobuf.support.wrapper.MapValue;
 import org.apache.dubbo.common.serialize.protobuf.support.wrapper.ThrowablePB.StackTraceElementProto;
 import org.apache.dubbo.common.serialize.protobuf.support.wrapper.ThrowablePB.ThrowableProto;
@@ -24,6 +26,7 @@ import com.google.common.base.Strings;
 import com.google.protobuf.BoolValue;
 import com.google.protobuf.BytesValue;
 import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.DoubleValue;
 import com.google.protobuf.Empty;
 import com.google.protobuf.ExtensionRegistryLite;
@@ -43,6 +46,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -111,16 +115,33 @@ public class ProtobufUtils {
 
     static void serialize(Object value, OutputStream os) throws IOException {
         MessageLite messageLite = (MessageLite) value;
+        if (os instanceof ByteBufferWritable) {
+            // same format as writeDelimitedTo, encoded straight into the memory of the stream
+            int size = messageLite.getSerializedSize();
+            int length = CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+            ByteBuffer buffer = ((ByteBufferWritable) os).writableBuffer(length);
+            if (buffer != null) {
+                CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+                output.writeUInt32NoTag(size);
+                messageLite.writeTo(output);
+                output.flush();
+                output.checkNoSpaceLeft();
+                return;
+            }
+        }
         messageLite.writeDelimitedTo(os);
     }
 
     @SuppressWarnings("unchecked")
-    static <T> T deserialize(InputStream is, Class<T> requestClass) throws InvalidProtocolBufferException {
+    static <T> T deserialize(InputStream is, Class<T> requestClass) throws IOException {
         MessageMarshaller<?> marshaller = marshallers.get(requestClass);
         if (marshaller == null) {
             throw new IllegalStateException(String.format("Protobuf classes should be registered in advance before " +
                     "do serialization, class name: %s", requestClass.getName()));
         }
+        if (is instanceof ByteBufferReadable) {
+            return (T) marshaller.parse((ByteBufferReadable) is, is);
+        }
         return (T) marshaller.parse(is);
     }
 
@@ -192,6 +213,28 @@ public class ProtobufUtils {
 //            return parseFrom(cis);
         }
 
+        /**
+         * Parse a delimited message in place, without pulling the bytes through the input stream.
+         */
+        public T parse(ByteBufferReadable readable, InputStream stream) throws IOException {
+            ByteBuffer buffer = readable.readableBuffer();
+            if (!buffer.hasRemaining()) {
+                // same as parseDelimitedFrom at the end of the stream
+                return null;
+            }
+            CodedInputStream cis = CodedInputStream.newInstance(buffer);
+            if (readable.isAliasable()) {
+                cis.enableAliasing(true);
+            }
+            cis.setSizeLimit(Integer.MAX_VALUE);
+            int size = cis.readRawVarint32();
+            int oldLimit = cis.pushLimit(size);
+            T message = parseFrom(cis);
+            cis.popLimit(oldLimit);
+            stream.skip(cis.getTotalBytesRead());
+            return message;
+        }
+
         private T parseFrom(CodedInputStream stream) throws InvalidProtocolBufferException {
             T message = parser.parseFrom(stream, globalRegistry);
             try {
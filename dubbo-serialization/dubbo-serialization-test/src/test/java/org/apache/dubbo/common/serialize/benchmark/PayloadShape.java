@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.benchmark;
+
+import org.apache.dubbo.common.serialize.model.media.Image;
+import org.apache.dubbo.common.serialize.model.media.Media;
+import org.apache.dubbo.common.serialize.model.media.MediaContent;
+import org.apache.dubbo.common.serialize.model.person.BigPerson;
+import org.apache.dubbo.common.serialize.model.person.FullAddress;
+import org.apache.dubbo.common.serialize.model.person.PersonInfo;
+import org.apache.dubbo.common.serialize.model.person.PersonStatus;
+import org.apache.dubbo.common.serialize.model.person.Phone;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The DTO shapes measured by {@link SerializationBenchmark} and {@link SerializationComparison}.
+ */
+public enum PayloadShape {
+
+    /**
+     * Nested object graph with a small list, similar to a typical query response.
+     */
+    NESTED {
+        @Override
+        public Object create() {
+            Media media = new Media("uri://media", "title", 1280, 720, "mp4", 93419235, 3477897, 94523,
+                    true, newPersons(), Media.Player.FLASH, "1999-2011");
+            return new MediaContent(media, newImages(10));
+        }
+    },
+
+    /**
+     * Deeper nested object graph with enums and several levels of beans.
+     */
+    PERSON {
+        @Override
+        public Object create() {
+            BigPerson bigPerson = new BigPerson();
+            bigPerson.setPersonId("superman111");
+            bigPerson.setLoginName("superman");
+            bigPerson.setStatus(PersonStatus.ENABLED);
+            bigPerson.setEmail("sm@1.com");
+            bigPerson.setPenName("pname");
+
+            ArrayList<Phone> phones = new ArrayList<Phone>();
+            phones.add(new Phone("86", "0571", "87654321", "001"));
+            phones.add(new Phone("86", "0571", "87654322", "002"));
+
+            PersonInfo pi = new PersonInfo();
+            pi.setPhones(phones);
+            pi.setFax(new Phone("86", "0571", "87654321", null));
+            pi.setFullAddress(new FullAddress("CN", "zj", "3480", "wensanlu", "315000"));
+            pi.setMobileNo("13584652131");
+            pi.setMale(true);
+            pi.setDepartment("b2b");
+            pi.setHomepageUrl("www.capcom.com");
+            pi.setJobTitle("qa");
+            pi.setName("superman");
+            bigPerson.setInfoProfile(pi);
+            return bigPerson;
+        }
+    },
+
+    /**
+     * A large list of small beans, e.g. a paged listing.
+     */
+    LARGE_LIST {
+        @Override
+        public Object create() {
+            return newImages(1000);
+        }
+    },
+
+    /**
+     * String keyed map of beans.
+     */
+    MAP {
+        @Override
+        public Object create() {
+            Map<String, Image> map = new HashMap<String, Image>();
+            for (Image image : newImages(200)) {
+                map.put(image.getUri(), image);
+            }
+            return map;
+        }
+    },
+
+    /**
+     * Primitive arrays, e.g. metrics or feature vectors.
+     */
+    PRIMITIVE_ARRAYS {
+        @Override
+        public Object create() {
+            return new PrimitiveArrays(1024);
+        }
+    },
+
+    /**
+     * Dates and decimals, e.g. order or billing records.
+     */
+    DATE_DECIMAL {
+        @Override
+        public Object create() {
+            List<Trade> trades = new ArrayList<Trade>();
+            long now = 1590000000000L;
+            for (int i = 0; i < 100; i++) {
+                trades.add(new Trade(i, "SYM" + (i % 10), new BigDecimal("1024.125").add(BigDecimal.valueOf(i)),
+                        BigDecimal.valueOf(i * 100L, 2), new Date(now + i), new Date(now + i * 1000L)));
+            }
+            return trades;
+        }
+    };
+
+    /**
+     * Create a new instance of this payload; every call returns an equal but distinct object graph.
+     */
+    public abstract Object create();
+
+    private static List<String> newPersons() {
+        List<String> persons = new ArrayList<String>();
+        persons.add("jerry");
+        persons.add("tom");
+        persons.add("lucy");
+        return persons;
+    }
+
+    private static List<Image> newImages(int count) {
+        List<Image> images = new ArrayList<Image>(count);
+        for (int i = 0; i < count; ++i) {
+            images.add(new Image("url" + i, (i % 2 == 0) ? "title" + i : null, 34 + i, 2323 + i,
+                    (i % 2 == 0) ? Image.Size.SMALL : Image.Size.LARGE));
+        }
+        return images;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.benchmark;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Benchmark payload made only of primitive arrays.
+ */
+public class PrimitiveArrays implements Serializable {
+
+    private static final long serialVersionUID = -2436719384021843302L;
+
+    private int[] ints;
+
+    private long[] longs;
+
+    private double[] doubles;
+
+    private byte[] bytes;
+
+    public PrimitiveArrays() {
+    }
+
+    public PrimitiveArrays(int length) {
+        ints = new int[length];
+        longs = new long[length];
+        doubles = new double[length];
+        bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            ints[i] = i * 31;
+            longs[i] = i * 1000003L;
+            doubles[i] = i * 0.5d;
+            bytes[i] = (byte) i;
+        }
+    }
+
+    public int[] getInts() {
+        return ints;
+    }
+
+    public void setInts(int[] ints) {
+        this.ints = ints;
+    }
+
+    public long[] getLongs() {
+        return longs;
+    }
+
+    public void setLongs(long[] longs) {
+        this.longs = longs;
+    }
+
+    public double[] getDoubles() {
+        return doubles;
+    }
+
+    public void setDoubles(double[] doubles) {
+        this.doubles = doubles;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PrimitiveArrays that = (PrimitiveArrays) o;
+        return Arrays.equals(ints, that.ints)
+                && Arrays.equals(longs, that.longs)
+                && Arrays.equals(doubles, that.doubles)
+                && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(ints);
+        result = 31 * result + Arrays.hashCode(longs);
+        result = 31 * result + Arrays.hashCode(doubles);
+        result = 31 * result + Arrays.hashCode(bytes);
+        return result;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.benchmark;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.serialize.ObjectInput;
+import org.apache.dubbo.common.serialize.ObjectOutput;
+import org.apache.dubbo.common.serialize.Serialization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of every java-bean capable {@link Serialization} extension over the {@link PayloadShape}s.
+ * <p>
+ * Run a single combination from the IDE, or use {@link SerializationComparison} to run the whole matrix
+ * and print the comparison table (throughput, bytes on wire and allocation per operation).
+ * <p>
+ * protobuf and protobuf-json only accept generated protobuf messages and are therefore not part of the matrix.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"hessian2", "fastjson", "fst", "kryo", "kryo2", "protostuff", "avro", "gson", "java", "compactedjava", "nativejava"})
+    public String serialization;
+
+    @Param({"NESTED", "PERSON", "LARGE_LIST", "MAP", "PRIMITIVE_ARRAYS", "DATE_DECIMAL"})
+    public String shape;
+
+    private final URL url = new URL("dubbo", "127.0.0.1", 20880);
+
+    private Serialization codec;
+
+    private Object payload;
+
+    private Class<?> payloadType;
+
+    private byte[] serialized;
+
+    private ByteArrayOutputStream output;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, ClassNotFoundException {
+        codec = ExtensionLoader.getExtensionLoader(Serialization.class).getExtension(serialization);
+        payload = PayloadShape.valueOf(shape).create();
+        payloadType = payload.getClass();
+        output = new ByteArrayOutputStream(64 * 1024);
+        serialized = serialize(codec, url, payload, output);
+        // fail fast instead of measuring a codec that cannot handle the shape
+        deserialize(codec, url, serialized, payloadType);
+    }
+
+    /**
+     * @return the number of bytes written, the bytes are not copied out of the stream
+     */
+    @Benchmark
+    public int serialize() throws IOException {
+        return write(codec, url, payload, output);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        return deserialize(codec, url, serialized, payloadType);
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException, ClassNotFoundException {
+        return deserialize(codec, url, serialize(codec, url, payload, output), payloadType);
+    }
+
+    static byte[] serialize(Serialization codec, URL url, Object payload, ByteArrayOutputStream output) throws IOException {
+        write(codec, url, payload, output);
+        return output.toByteArray();
+    }
+
+    private static int write(Serialization codec, URL url, Object payload, ByteArrayOutputStream output) throws IOException {
+        output.reset();
+        ObjectOutput objectOutput = codec.serialize(url, output);
+        objectOutput.writeObject(payload);
+        objectOutput.flushBuffer();
+        return output.size();
+    }
+
+    static Object deserialize(Serialization codec, URL url, byte[] bytes, Class<?> type) throws IOException, ClassNotFoundException {
+        ObjectInput objectInput = codec.deserialize(url, new ByteArrayInputStream(bytes));
+        return objectInput.readObject(type);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.benchmark;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.extension.ExtensionLoader;
+import org.apache.dubbo.common.serialize.Serialization;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the compatibility matrix and the {@link SerializationBenchmark} for every serialization and prints
+ * a markdown comparison table to stdout.
+ * <pre>
+ *     mvn -pl dubbo-serialization/dubbo-serialization-test test-compile exec:java \
+ *         -Dexec.classpathScope=test -Dexec.mainClass=org.apache.dubbo.common.serialize.benchmark.SerializationComparison
+ * </pre>
+ * Pass serialization names as arguments to restrict the run, e.g. {@code hessian2 kryo}.
+ */
+public class SerializationComparison {
+
+    private static final String[] SERIALIZATIONS = {"hessian2", "fastjson", "fst", "kryo", "kryo2", "protostuff",
+            "avro", "gson", "java", "compactedjava", "nativejava"};
+
+    private static final String ALLOC_NORM = "·gc.alloc.rate.norm";
+
+    private static final URL URL = new URL("dubbo", "127.0.0.1", 20880);
+
+    public static void main(String[] args) throws RunnerException {
+        String[] serializations = args.length > 0 ? args : SERIALIZATIONS;
+
+        Map<String, Map<PayloadShape, Compatibility>> matrix = compatibilityMatrix(serializations);
+        printCompatibility(matrix, System.out);
+
+        List<RunResult> results = new ArrayList<RunResult>();
+        for (Map.Entry<String, Map<PayloadShape, Compatibility>> entry : matrix.entrySet()) {
+            List<String> shapes = new ArrayList<String>();
+            for (Map.Entry<PayloadShape, Compatibility> shape : entry.getValue().entrySet()) {
+                if (shape.getValue().isSupported()) {
+                    shapes.add(shape.getKey().name());
+                }
+            }
+            if (shapes.isEmpty()) {
+                continue;
+            }
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(SerializationBenchmark.class.getName())
+                    .param("serialization", entry.getKey())
+                    .param("shape", shapes.toArray(new String[0]))
+                    .addProfiler(GCProfiler.class);
+            results.addAll(new Runner(options.build()).run());
+        }
+        printResults(matrix, results, System.out);
+    }
+
+    /**
+     * Round trip every shape through every serialization, recording the serialized size or the failure.
+     */
+    public static Map<String, Map<PayloadShape, Compatibility>> compatibilityMatrix(String... serializations) {
+        ExtensionLoader<Serialization> loader = ExtensionLoader.getExtensionLoader(Serialization.class);
+        Map<String, Map<PayloadShape, Compatibility>> matrix = new LinkedHashMap<String, Map<PayloadShape, Compatibility>>();
+        for (String name : serializations) {
+            Map<PayloadShape, Compatibility> row = new LinkedHashMap<PayloadShape, Compatibility>();
+            for (PayloadShape shape : PayloadShape.values()) {
+                row.put(shape, check(loader.getExtension(name), shape));
+            }
+            matrix.put(name, row);
+        }
+        return matrix;
+    }
+
+    static Compatibility check(Serialization serialization, PayloadShape shape) {
+        Object payload = shape.create();
+        try {
+            byte[] bytes = SerializationBenchmark.serialize(serialization, URL, payload, new ByteArrayOutputStream());
+            Object result = SerializationBenchmark.deserialize(serialization, URL, bytes, payload.getClass());
+            if (!payload.equals(result)) {
+                return new Compatibility(bytes.length, "not equal after round trip");
+            }
+            return new Compatibility(bytes.length, null);
+        } catch (Throwable t) {
+            return new Compatibility(-1, t.getClass().getSimpleName());
+        }
+    }
+
+    private static void printCompatibility(Map<String, Map<PayloadShape, Compatibility>> matrix, PrintStream out) {
+        out.println();
+        out.println("| serialization | " + join(Arrays.asList(PayloadShape.values())) + " |");
+        out.println(separator(PayloadShape.values().length + 1));
+        for (Map.Entry<String, Map<PayloadShape, Compatibility>> entry : matrix.entrySet()) {
+            out.println("| " + entry.getKey() + " | " + join(entry.getValue().values()) + " |");
+        }
+        out.println();
+    }
+
+    private static void printResults(Map<String, Map<PayloadShape, Compatibility>> matrix,
+                                     Collection<RunResult> results, PrintStream out) {
+        out.println();
+        out.println("| serialization | shape | benchmark | ops/s | bytes on wire | alloc B/op |");
+        out.println(separator(6));
+        for (RunResult result : results) {
+            String serialization = result.getParams().getParam("serialization");
+            String shape = result.getParams().getParam("shape");
+            String benchmark = result.getParams().getBenchmark();
+            benchmark = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            Result alloc = result.getSecondaryResults().get(ALLOC_NORM);
+            out.println(String.format("| %s | %s | %s | %.0f | %d | %s |", serialization, shape, benchmark,
+                    result.getPrimaryResult().getScore(),
+                    matrix.get(serialization).get(PayloadShape.valueOf(shape)).getBytes(),
+                    alloc == null ? "n/a" : String.format("%.0f", alloc.getScore())));
+        }
+        out.println();
+    }
+
+    private static String join(Collection<?> values) {
+        StringBuilder buf = new StringBuilder();
+        for (Object value : values) {
+            if (buf.length() > 0) {
+                buf.append(" | ");
+            }
+            buf.append(value);
+        }
+        return buf.toString();
+    }
+
+    private static String separator(int columns) {
+        StringBuilder buf = new StringBuilder("|");
+        for (int i = 0; i < columns; i++) {
+            buf.append(" --- |");
+        }
+        return buf.toString();
+    }
+
+    /**
+     * One cell of the compatibility matrix.
+     */
+    public static class Compatibility {
+
+        private final int bytes;
+
+        private final String failure;
+
+        Compatibility(int bytes, String failure) {
+            this.bytes = bytes;
+            this.failure = failure;
+        }
+
+        public boolean isSupported() {
+            return failure == null;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return isSupported() ? bytes + " B" : "FAIL (" + failure + ")";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SerializationComparisonTest {
+
+    @Test
+    public void testHessian2SupportsAllShapes() {
+        Map<String, Map<PayloadShape, SerializationComparison.Compatibility>> matrix =
+                SerializationComparison.compatibilityMatrix("hessian2");
+        for (Map.Entry<PayloadShape, SerializationComparison.Compatibility> entry : matrix.get("hessian2").entrySet()) {
+            assertTrue(entry.getValue().isSupported(), entry.getKey() + ": " + entry.getValue());
+            assertTrue(entry.getValue().getBytes() > 0);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.benchmark;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Benchmark payload with dates and decimals, as found in most order / billing DTOs.
+ */
+public class Trade implements Serializable {
+
+    private static final long serialVersionUID = 7581284620316498817L;
+
+    private long id;
+
+    private String symbol;
+
+    private BigDecimal price;
+
+    private BigDecimal quantity;
+
+    private Date createTime;
+
+    private Date settleTime;
+
+    public Trade() {
+    }
+
+    public Trade(long id, String symbol, BigDecimal price, BigDecimal quantity, Date createTime, Date settleTime) {
+        this.id = id;
+        this.symbol = symbol;
+        this.price = price;
+        this.quantity = quantity;
+        this.createTime = createTime;
+        this.settleTime = settleTime;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigDecimal getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(BigDecimal quantity) {
+        this.quantity = quantity;
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(Date createTime) {
+        this.createTime = createTime;
+    }
+
+    public Date getSettleTime() {
+        return settleTime;
+    }
+
+    public void setSettleTime(Date settleTime) {
+        this.settleTime = settleTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Trade trade = (Trade) o;
+        if (id != trade.id) return false;
+        if (symbol != null ? !symbol.equals(trade.symbol) : trade.symbol != null) return false;
+        if (price != null ? price.compareTo(trade.price) != 0 : trade.price != null) return false;
+        if (quantity != null ? quantity.compareTo(trade.quantity) != 0 : trade.quantity != null) return false;
+        if (createTime != null ? !createTime.equals(trade.createTime) : trade.createTime != null) return false;
+        return settleTime != null ? settleTime.equals(trade.settleTime) : trade.settleTime == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (id ^ (id >>> 32));
+        result = 31 * result + (symbol != null ? symbol.hashCode() : 0);
+        result = 31 * result + (createTime != null ? createTime.hashCode() : 0);
+        result = 31 * result + (settleTime != null ? settleTime.hashCode() : 0);
+        return result;
+    }
+}
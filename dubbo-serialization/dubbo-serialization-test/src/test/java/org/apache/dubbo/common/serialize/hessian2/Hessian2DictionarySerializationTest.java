@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.hessian2;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.serialize.Cleanable;
+import org.apache.dubbo.common.serialize.ObjectInput;
+import org.apache.dubbo.common.serialize.ObjectOutput;
+import org.apache.dubbo.common.serialize.model.person.FullAddress;
+import org.apache.dubbo.common.serialize.model.person.Phone;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class Hessian2DictionarySerializationTest {
+
+    private final URL url = new URL("dubbo", "127.0.0.1", 20880);
+    private final Hessian2DictionarySerialization serialization = new Hessian2DictionarySerialization();
+    private Object senderState;
+    private Object receiverState;
+
+    @BeforeEach
+    public void setUp() {
+        senderState = serialization.createChannelState(url);
+        receiverState = serialization.createChannelState(url);
+        assumeTrue(senderState != null, "hessian-lite doesn't expose its class tables");
+    }
+
+    @Test
+    public void testClassDefinitionSentOnce() throws Exception {
+        Phone phone = new Phone("86", "0571", "87654321", "001");
+
+        byte[] first = write(phone, true);
+        byte[] second = write(phone, true);
+        assertTrue(second.length < first.length, first.length + " vs " + second.length);
+        assertEquals(Hessian2ClassDictionary.CONTINUE, second[0]);
+
+        assertEquals(phone, read(first, Phone.class));
+        assertEquals(phone, read(second, Phone.class));
+    }
+
+    @Test
+    public void testResetAfterAbandonedMessage() throws Exception {
+        Phone phone = new Phone("86", "0571", "87654321", "001");
+        FullAddress address = new FullAddress("CN", "zj", "3480", "wensanlu", "315000");
+
+        byte[] first = write(phone, true);
+        // failed to encode, so never received by the peer
+        write(address, false);
+        byte[] third = write(address, true);
+        assertEquals(Hessian2ClassDictionary.RESET, third[0]);
+
+        assertEquals(phone, read(first, Phone.class));
+        assertEquals(address, read(third, FullAddress.class));
+    }
+
+    @Test
+    public void testStandalone() throws Exception {
+        Phone phone = new Phone("86", "0571", "87654321", "001");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutput output = serialization.serialize(url, bos);
+        output.writeObject(phone);
+        output.flushBuffer();
+        byte[] bytes = bos.toByteArray();
+        assertEquals(Hessian2ClassDictionary.STANDALONE, bytes[0]);
+
+        assertEquals(phone, serialization.deserialize(url, new ByteArrayInputStream(bytes)).readObject(Phone.class));
+        assertEquals(phone, read(bytes, Phone.class));
+
+        byte[] scoped = write(phone, true);
+        assertThrows(IOException.class, () -> serialization.deserialize(url, new ByteArrayInputStream(scoped)));
+    }
+
+    @Test
+    public void testAbandonedMessageReleasesTheDictionary() throws Exception {
+        Phone phone = new Phone("86", "0571", "87654321", "001");
+
+        byte[] first = write(phone, true);
+        write(phone, false);
+        // another thread takes the dictionary over instead of writing standalone
+        byte[][] second = new byte[1][];
+        Thread thread = new Thread(() -> {
+            try {
+                second[0] = write(phone, true);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertEquals(Hessian2ClassDictionary.RESET, second[0][0]);
+
+        assertEquals(phone, read(first, Phone.class));
+        assertEquals(phone, read(second[0], Phone.class));
+    }
+
+    @Test
+    public void testUnknownClassId() throws Exception {
+        Phone phone = new Phone("86", "0571", "87654321", "001");
+
+        write(phone, true);
+        byte[] second = write(phone, true);
+        assertEquals(Hessian2ClassDictionary.CONTINUE, second[0]);
+
+        // the receiver never got the class definition
+        assertThrows(IOException.class, () -> read(second, Phone.class));
+    }
+
+    @Test
+    public void testResetRequestedAfterDecodeFailure() throws Exception {
+        Phone phone = new Phone("86", "0571", "87654321", "001");
+
+        byte[] first = write(phone, true);
+        byte[] second = write(phone, true);
+        serialization.deserialize(url, new ByteArrayInputStream(first), receiverState);
+        serialization.onDecodeFailure(receiverState);
+        assertThrows(IOException.class, () -> read(second, Phone.class));
+
+        // the receiver asks for a reset with its next message, e.g. the error response
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutput reply = serialization.serialize(url, bos, receiverState);
+        reply.writeUTF("bad request");
+        reply.flushBuffer();
+        ((Cleanable) reply).cleanup();
+        byte[] replyBytes = bos.toByteArray();
+        assertEquals(Hessian2ClassDictionary.RESET_REQUEST, replyBytes[0] & Hessian2ClassDictionary.RESET_REQUEST);
+        assertEquals("bad request", serialization.deserialize(url, new ByteArrayInputStream(replyBytes), senderState).readUTF());
+
+        byte[] third = write(phone, true);
+        assertEquals(Hessian2ClassDictionary.RESET, third[0]);
+        assertEquals(phone, read(third, Phone.class));
+        assertEquals(phone, read(write(phone, true), Phone.class));
+    }
+
+    private byte[] write(Object value, boolean sent) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutput output = serialization.serialize(url, bos, senderState);
+        output.writeObject(value);
+        output.flushBuffer();
+        if (!sent) {
+            serialization.onEncodeFailure(senderState);
+        }
+        if (output instanceof Cleanable) {
+            ((Cleanable) output).cleanup();
+        }
+        return bos.toByteArray();
+    }
+
+    private <T> T read(byte[] bytes, Class<T> type) throws IOException, ClassNotFoundException {
+        ObjectInput input = serialization.deserialize(url, new ByteArrayInputStream(bytes), receiverState);
+        return input.readObject(type);
+    }
+}
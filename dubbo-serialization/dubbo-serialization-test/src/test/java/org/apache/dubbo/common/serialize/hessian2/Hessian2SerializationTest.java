@@ -19,13 +19,17 @@ package org.apache.dubbo.common.serialize.hessian2;
 import org.apache.dubbo.common.serialize.ObjectInput;
 import org.apache.dubbo.common.serialize.ObjectOutput;
 import org.apache.dubbo.common.serialize.base.AbstractSerializationPersonFailTest;
+import org.apache.dubbo.common.utils.ArrayMap;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -202,6 +206,29 @@ public class Hessian2SerializationTest extends AbstractSerializationPersonFailTe
     public void test_ByteWrap() throws Exception {
     }
 
+    @Test
+    public void test_ArrayMapAttachments() throws Exception {
+        Map<String, Object> attachments = new ArrayMap<>();
+        attachments.put("path", "DemoService");
+        attachments.put("timeout", 3000);
+
+        ObjectOutput objectOutput = serialization.serialize(url, byteArrayOutputStream);
+        objectOutput.writeAttachments(attachments);
+        objectOutput.writeAttachments(attachments);
+        objectOutput.writeUTF("end");
+        objectOutput.flushBuffer();
+
+        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(
+                byteArrayOutputStream.toByteArray());
+        ObjectInput deserialize = serialization.deserialize(url, byteArrayInputStream);
+
+        Map<String, Object> read = deserialize.readAttachments();
+        assertEquals(HashMap.class, read.getClass());
+        assertEquals(attachments, read);
+        assertEquals(attachments, deserialize.readAttachments());
+        assertEquals("end", deserialize.readUTF());
+    }
+
     // FIXME
     @Disabled("Bad Stream read other type data")
     @Test
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dubbo.common.serialize.protobuf.support;
+
+import org.apache.dubbo.common.URL;
+import org.apache.dubbo.common.io.UnsafeByteArrayInputStream;
+import org.apache.dubbo.common.io.UnsafeByteArrayOutputStream;
+import org.apache.dubbo.common.serialize.ObjectInput;
+import org.apache.dubbo.common.serialize.ObjectOutput;
+import org.apache.dubbo.common.serialize.Serialization;
+import org.apache.dubbo.common.serialize.protobuf.support.model.GooglePB;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GenericProtobufDirectBufferTest {
+    private final URL url = new URL("protocol", "1.1.1.1", 1234);
+    private final Serialization serialization = new GenericProtobufSerialization();
+
+    @Test
+    public void testSameBytesAsStream() throws Exception {
+        ProtobufUtils.marshaller(GooglePB.PBRequestType.getDefaultInstance());
+        GooglePB.PBRequestType request = buildMessage();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        write(serialization.serialize(url, stream), request);
+        UnsafeByteArrayOutputStream direct = new UnsafeByteArrayOutputStream(1);
+        write(serialization.serialize(url, direct), request);
+
+        assertArrayEquals(stream.toByteArray(), direct.toByteArray());
+
+        ObjectInput input = serialization.deserialize(url, new ByteArrayInputStream(direct.toByteArray()));
+        assertRead(input, request);
+    }
+
+    @Test
+    public void testReadInPlace() throws Exception {
+        ProtobufUtils.marshaller(GooglePB.PBRequestType.getDefaultInstance());
+        GooglePB.PBRequestType request = buildMessage();
+
+        UnsafeByteArrayOutputStream output = new UnsafeByteArrayOutputStream();
+        write(serialization.serialize(url, output), request);
+        byte[] bytes = output.toByteArray();
+
+        assertRead(serialization.deserialize(url, new UnsafeByteArrayInputStream(bytes)), request);
+        assertRead(serialization.deserialize(url, new UnsafeByteArrayInputStream(bytes, true)), request);
+    }
+
+    private void write(ObjectOutput output, GooglePB.PBRequestType request) throws Exception {
+        output.writeUTF("2.0.2");
+        output.writeObject(request);
+        output.writeInt(Integer.MAX_VALUE);
+        output.writeAttachments(Collections.singletonMap("key", "value"));
+        output.flushBuffer();
+    }
+
+    private void assertRead(ObjectInput input, GooglePB.PBRequestType request) throws Exception {
+        assertEquals("2.0.2", input.readUTF());
+        assertEquals(request, input.readObject(GooglePB.PBRequestType.class));
+        assertEquals(Integer.MAX_VALUE, input.readInt());
+        Map<String, Object> attachments = input.readAttachments();
+        assertEquals("value", attachments.get("key"));
+    }
+
+    private GooglePB.PBRequestType buildMessage() {
+        return GooglePB.PBRequestType.newBuilder()
+                .setAge(15).setCash(10).setMoney(16.0).setNum(100L)
+                .setMsg(ByteString.copyFromUtf8("payload"))
+                .build();
+    }
+}